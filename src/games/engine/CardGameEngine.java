@@ -29,8 +29,13 @@ import games.engine.util.CardPile;
 import games.engine.util.CardPileCollection;
 import games.engine.util.CardPileParameter;
 import games.engine.util.CardPlayer;
+import games.engine.util.CardShuffler;
+import games.engine.util.DealGenerator;
+import games.engine.util.GameRandom;
 import games.engine.util.PlayingCard;
+import games.engine.util.PlayingCardAlias;
 import games.engine.util.PlayingCardRanking;
+import games.engine.util.ShufflePool;
 import games.engine.util.CardPileParameter.Visibility;
 import games.engine.util.CardPileParameter.Visible;
 
@@ -54,6 +59,10 @@ public final class CardGameEngine {
 	private final CardPileCollection commonPiles;
 	private CardPlayer currentPlayer;
 	private int turnNumber;
+	private long stamp;			// increased by changes to anything but the piles
+	private final GameRandom random;	// seeds each hand
+	private GameRandom playRandom;		// random picks during the current hand
+	private long handSeed;				// seed of the current hand
 	
 /*------------------------------------------------
  	Constructor(s)
@@ -65,7 +74,25 @@ public final class CardGameEngine {
 						  final CardGameBoard board,
 						  final CardDealer dealer,
 						  final CardPlayer...players) {
+		this(name, components, ranking, board, dealer, new GameRandom(), players);
+	}
+	
+	/**
+	 * Constructs a new engine whose hands are seeded from the specified random stream.
+	 * Two engines created with streams of the same seed deal and play identically,
+	 * given the same actions.
+	 * 
+	 * @param random the random stream each hand is seeded from
+	 */
+	public CardGameEngine(final String name,
+						  final EngineComponentCollecion components,
+						  final PlayingCardRanking ranking,
+						  final CardGameBoard board,
+						  final CardDealer dealer,
+						  final GameRandom random,
+						  final CardPlayer...players) {
 		this.name = name;
+		this.random = random;
 		this.components = components;
 		this.ranking = ranking;
 		this.board = board;
@@ -76,6 +103,33 @@ public final class CardGameEngine {
 		this.reset();
 	}
 	
+	/*
+	 * Constructs an engine in the same state as the specified engine, with branches of its piles
+	 * and copies of its random streams, so the branch plays on as the engine would and the
+	 * engine is left untouched.
+	 */
+	private CardGameEngine(final CardGameEngine that) {
+		this.name = that.name;
+		this.components = that.components;
+		this.ranking = that.ranking;
+		this.board = that.board.branch();
+		this.players = new CardPlayer[that.players.length];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = that.players[i].branch();
+			if (that.players[i] == that.currentPlayer) {
+				this.currentPlayer = players[i];
+			}
+		}
+		this.commonPiles = board.getCommonPiles();
+		this.dealer = that.dealer.branch(commonPiles, players);
+		this.turnNumber = that.turnNumber;
+		this.stamp = that.stamp;
+		this.random = that.random.copy();
+		this.playRandom = that.playRandom.copy();
+		this.handSeed = that.handSeed;
+		this.conditionList = new ArrayList<String>(that.conditionList);
+	}
+	
 /*------------------------------------------------
     Accessors
  ------------------------------------------------*/
@@ -112,6 +166,7 @@ public final class CardGameEngine {
 	 */
 	void setCurrentPlayer(final CardPlayer player) {
 		currentPlayer = player;
+		++stamp;
 		if (player.equals(players[0])) {
 			++turnNumber;
 		}
@@ -156,6 +211,29 @@ public final class CardGameEngine {
 		return turnNumber;
 	}
 	
+	/**
+	 * Returns the modification stamp of this engine.
+	 * The stamp changes whenever any card pile, the current player, or a player's phase or outcome changes,
+	 * so a view or cache that saw the same stamp before can skip refreshing.
+	 * 
+	 * @return the modification stamp of this engine
+	 * @see CardPile#getStamp()
+	 */
+	public long getStamp() {
+		long sum = stamp + commonPiles.getStamp();
+		for (final CardPlayer p : players) {
+			sum += p.getPlayerPiles().getStamp();
+		}
+		return sum;
+	}
+	
+	/**
+	 * Records a change to the state of this engine that is not a change to a card pile.
+	 */
+	void touch() {
+		++stamp;
+	}
+	
 	/**
 	 * Returns the <tt>CardGameBoard</tt> in use.
 	 * 
@@ -208,23 +286,139 @@ public final class CardGameEngine {
 /*------------------------------------------------
 	Utility Methods
  ------------------------------------------------*/
+	/**
+	 * Returns a new <tt>CardGameEngine</tt> in the same state as this one.
+	 * Play can continue independently in either engine. The cost of a branch depends
+	 * on how the card piles are stored; with <tt>CardPile.Storage.PERSISTENT</tt> the
+	 * two engines share their cards until a pile changes.
+	 * 
+	 * @return a branch of this card game engine
+	 */
+	public CardGameEngine branch() {
+		return new CardGameEngine(this);
+	}
+	
+	/**
+	 * Returns the seed of the random stream this engine draws the seed of each hand from.
+	 * 
+	 * @return the seed of this engine
+	 */
+	public long getSeed() {
+		return random.getSeed();
+	}
+	
+	/**
+	 * Returns the seed of the current hand. Passing it to <tt>reset(long)</tt>
+	 * deals the same cards again, and makes the same random picks given the same actions.
+	 * 
+	 * @return the seed of the current hand
+	 */
+	public long getHandSeed() {
+		return handSeed;
+	}
+	
+	/**
+	 * Sets the algorithm used to shuffle the deck before each hand.
+	 * 
+	 * @param shuffler the shuffling algorithm
+	 */
+	public void setShuffler(final CardShuffler shuffler) {
+		dealer.setShuffler(shuffler);
+	}
+	
+	/**
+	 * Sets whether each new hand is taken from the pool of decks shuffled ahead of time, shared by every
+	 * engine with a deck of this size and this shuffling algorithm. A hand taken from the pool is seeded
+	 * by the pool instead of the stream of this engine; <tt>getHandSeed()</tt> still replays it.
+	 * When no order is ready the deck is shuffled as usual.
+	 * 
+	 * @param use true to take hands from the shared pool, false to always shuffle inline
+	 * @see ShufflePool#getInstance(games.engine.util.Deck, CardShuffler)
+	 */
+	public void useShufflePool(final boolean use) {
+		dealer.setShufflePool(use ? ShufflePool.getInstance(board.getDeck(), dealer.getShuffler()) : null);
+	}
+	
 	/**
 	 * Resets this <tt>CardGameEngine</tt> to the default state.
+	 * The next hand is taken from the shuffle pool if one is ready, and adopts its seed;
+	 * otherwise it is seeded from the random stream of this engine.
 	 */
 	public void reset() {
+		final ShufflePool.Shuffle shuffle = dealer.pollShuffle();
+		if (shuffle == null) {
+			this.reset(random.nextLong());
+			return;
+		}
+		// Deal the deck shuffled ahead of time, as the hand with its seed
+		final GameRandom hand = new GameRandom(shuffle.getSeed());
+		this.clear(shuffle.getSeed());
+		dealer.reset(shuffle);
+		hand.split();
+		playRandom = hand.split();
+	}
+	
+	/**
+	 * Resets this <tt>CardGameEngine</tt> to the default state, replaying the hand with the specified seed.
+	 * Dealing and random picks during play use independent streams split from the hand seed.
+	 * 
+	 * @param handSeed the seed of the hand to play
+	 */
+	public void reset(final long handSeed) {
+		final GameRandom hand = new GameRandom(handSeed);
+		this.clear(handSeed);
+		dealer.reset(hand.split());
+		playRandom = hand.split();
+	}
+	
+	/**
+	 * Resets this <tt>CardGameEngine</tt> to the default state, ready to deal the specified deal.
+	 * Random picks during play are seeded from the seed of the deal.
+	 * 
+	 * @param deal a deal from the generator of this engine
+	 * @throws IllegalArgumentException if the deal is not of this engine's deck
+	 * @see #createDealGenerator()
+	 */
+	public void reset(final DealGenerator.Deal deal) throws IllegalArgumentException {
+		final GameRandom hand = new GameRandom(deal.getSeed());
+		this.clear(deal.getSeed());
+		dealer.reset(deal.getOrder());
+		hand.split();
+		playRandom = hand.split();
+	}
+	
+	/**
+	 * Returns a <tt>DealGenerator</tt> for the deck and deal of this engine.
+	 * Groups containing a card the rules refer to by alias are never interchanged.
+	 * 
+	 * @return a new deal generator for this engine
+	 */
+	public DealGenerator createDealGenerator() {
+		final List<PlayingCard> named = new ArrayList<PlayingCard>();
+		for (final PlayingCardAlias alias : components.getAliases().toArray()) {
+			named.add(alias.getPlayingCard());
+		}
+		return new DealGenerator(board.getDeck(), dealer, ranking, named.toArray(new PlayingCard[named.size()]));
+	}
+	
+	/*
+	 * Clears every pile and returns the players and turn to the start of a hand.
+	 */
+	private void clear(final long handSeed) {
+		this.handSeed = handSeed;
 		for (final CardPlayer p : players) {
 			p.reset();
 			for (final CardPile pile : p.getPlayerPiles().toArray()) {
-				pile.removeAll();
+				pile.clear();
 			}
 		}
 		for (final CardPile pile : commonPiles.toArray()) {
-			pile.removeAll();
+			pile.clear();
 		}
-		dealer.reset();
 		currentPlayer = players[0];
 		turnNumber = 0;
 		conditionList.clear();
+		++stamp;
 	}
 	
 	/**
@@ -779,7 +973,7 @@ public final class CardGameEngine {
 			card = pile.getBottom();
 			break;
 		case "random":
-			card = pile.getRandom();
+			card = pile.getRandom(playRandom);
 			break;
 		default:
 			if (parts[2].startsWith("top-")) {
@@ -0,0 +1,491 @@
+/***********************************************************************//**
+* @file			CompiledRules.java
+* @author		Kurt E. Clothier
+* @date			October 19, 2026
+*
+* @breif		Resolved components of a rules plugin, stored in a rule pack
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameDefinition
+* @see			games.engine.plugin.RulePack
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+package games.engine;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.CardDealer;
+import games.engine.util.CardDealerPair;
+import games.engine.util.CardDealerSet;
+import games.engine.util.CardPileCollection;
+import games.engine.util.CardPlayer;
+import games.engine.util.Deck;
+
+/******************************************************************//**
+ * The CompiledRules Class
+ * - The conditions, actions, controlled actions, phases and deal plan
+ *   of a validated <tt>GameDefinition</tt>, with every reference
+ *   between them resolved to a position in its set
+ * - Written into a rule pack when it is compiled, and read back by
+ *   <tt>EngineFactory</tt> in place of the factories, so a game loaded
+ *   from a current pack is neither tokenized nor validated again
+ * - Components of included libraries are not stored; they come from
+ *   the <tt>RuleLibrary</tt>, and the number of each is checked so a
+ *   changed library is noticed
+ * - Format, big endian:
+ *   <pre>
+ *   short   number of libraries; for each:
+ *     string  filename
+ *     int     number of conditions, actions, and controlled actions
+ *   byte    direction of play
+ *   int     number of conditions; for each:
+ *     string  name
+ *     short   number of statements; for each, short number of parts, then each part
+ *   int     number of actions; for each:
+ *     string  name, description, operation
+ *     short   number of parameters, then each parameter
+ *   int     number of controlled actions; for each:
+ *     string  name
+ *     int     times to repeat
+ *     condition, then short true action and short false action, or -1
+ *   int     number of phases; for each:
+ *     string  name
+ *     performables started with
+ *     short   number of allowed actions, or -1; for each:
+ *       condition, or -1; performable; performables done in response
+ *     performables ended with
+ *   int     start phase
+ *   byte    direction of deal, collate, shuffle
+ *   short   number of player piles dealt; for each, string name and int cards
+ *   short   number of common piles dealt; for each, string name and int cards
+ *   </pre>
+ *   where a condition is an int position and a byte, 1 if inverted;
+ *   a performable is a byte, 1 for a controlled action, and an int
+ *   position; performables are a short count, or -1 for none, then
+ *   each performable; and each string is an int length followed by
+ *   UTF-8 bytes
+ ********************************************************************/
+public final class CompiledRules {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final byte ACTION = 0;
+	private static final byte CONTROLLED_ACTION = 1;
+
+	final EngineComponentSet<Condition> conditions;
+	final EngineComponentSet<Action> actions;
+	final EngineComponentSet<ControlledAction> cActions;
+	final EngineComponentSet<Phase> phases;
+	final Phase startPhase;
+	final Engine.DirectionOfPlay direction;
+	private final CardDealer.Direction dealDirection;
+	private final boolean collate;
+	private final boolean shuffle;
+	private final CardDealerSet playerPairs;
+	private final CardDealerSet commonPairs;
+
+	/* Construct the resolved components read from a pack */
+	private CompiledRules(final EngineComponentSet<Condition> conditions,
+						  final EngineComponentSet<Action> actions,
+						  final EngineComponentSet<ControlledAction> cActions,
+						  final EngineComponentSet<Phase> phases,
+						  final Phase startPhase,
+						  final Engine.DirectionOfPlay direction,
+						  final CardDealer.Direction dealDirection, final boolean collate, final boolean shuffle,
+						  final CardDealerSet playerPairs, final CardDealerSet commonPairs) {
+		this.conditions = conditions;
+		this.actions = actions;
+		this.cActions = cActions;
+		this.phases = phases;
+		this.startPhase = startPhase;
+		this.direction = direction;
+		this.dealDirection = dealDirection;
+		this.collate = collate;
+		this.shuffle = shuffle;
+		this.playerPairs = playerPairs;
+		this.commonPairs = commonPairs;
+	}
+
+	/*
+	 * Create the dealer of the game, dealing the specified deck to the specified piles,
+	 * without checking that the piles exist.
+	 */
+	CardDealer createDealer(final CardPileCollection commonPiles, final Deck deck, final CardPlayer[] players) {
+		return new CardDealer(commonPiles, deck, players, dealDirection, collate, shuffle, playerPairs, commonPairs);
+	}
+
+/*------------------------------------------------
+ 	Writing
+ ------------------------------------------------*/
+	/**
+	 * Returns the resolved components of the specified game, in the form stored in a rule pack.
+	 *
+	 * @param definition a game definition, created and validated from its rules plugin
+	 * @return the resolved components
+	 */
+	public static byte[] write(final GameDefinition definition) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			final DataOutputStream out = new DataOutputStream(bytes);
+			final EngineComponentCollecion components = definition.getComponents();
+			final EngineComponentSet<Condition> conditions = components.getConditions();
+			final EngineComponentSet<Action> actions = components.getActions();
+			final EngineComponentSet<ControlledAction> cActions = components.getControlledActions();
+			final Map<String, Integer> conditionNdx = positions(conditions);
+			final Map<String, Integer> actionNdx = positions(actions);
+			final Map<String, Integer> cActionNdx = positions(cActions);
+
+			// Only the components defined by the rules follow those of the libraries
+			final List<RuleLibrary> libraries = definition.getLibraries();
+			int libConditions = 0;
+			int libActions = 0;
+			int libCActions = 0;
+			out.writeShort(libraries.size());
+			for (final RuleLibrary library : libraries) {
+				writeString(out, library.getName());
+				out.writeInt(library.getConditions().getSize());
+				out.writeInt(library.getActions().getSize());
+				out.writeInt(library.getControlledActions().getSize());
+				libConditions += library.getConditions().getSize();
+				libActions += library.getActions().getSize();
+				libCActions += library.getControlledActions().getSize();
+			}
+			out.writeByte(definition.getDirection().ordinal());
+
+			out.writeInt(conditions.getSize() - libConditions);
+			for (int i = libConditions; i < conditions.getSize(); i++) {
+				final Condition condition = conditions.get(i);
+				writeString(out, condition.getName());
+				final ConditionalStatement[] statements = condition.getStatements();
+				out.writeShort(statements.length);
+				for (final ConditionalStatement statement : statements) {
+					writeStrings(out, statement.getParts());
+				}
+			}
+
+			out.writeInt(actions.getSize() - libActions);
+			for (int i = libActions; i < actions.getSize(); i++) {
+				final Action action = actions.get(i);
+				writeString(out, action.getName());
+				writeString(out, action.getDescription());
+				writeString(out, action.getOperation().name());
+				writeStrings(out, action.getParams());
+			}
+
+			out.writeInt(cActions.getSize() - libCActions);
+			for (int i = libCActions; i < cActions.getSize(); i++) {
+				final ControlledAction cAction = cActions.get(i);
+				writeString(out, cAction.getName());
+				out.writeInt(cAction.getNumberOfRepetitions());
+				writeCondition(out, cAction.getCondition(), conditionNdx);
+				out.writeShort(actionNdx.get(cAction.getTrueAction().getName()));
+				out.writeShort(cAction.hasFalseAction() ? actionNdx.get(cAction.getFalseAction().getName()) : -1);
+			}
+
+			final EngineComponentSet<Phase> phases = components.getPhases();
+			out.writeInt(phases.getSize());
+			for (int i = 0; i < phases.getSize(); i++) {
+				final Phase phase = phases.get(i);
+				writeString(out, phase.getName());
+				writePerformables(out, phase.getStartActions(), actionNdx, cActionNdx);
+				final EngineComponentSet<AllowedAction> allowed = phase.getAllowedActions();
+				out.writeShort(allowed == null ? -1 : allowed.getSize());
+				for (int a = 0; allowed != null && a < allowed.getSize(); a++) {
+					final AllowedAction action = allowed.get(a);
+					writeCondition(out, action.getPrecondition(), conditionNdx);
+					writePerformable(out, action.getPerformable(), actionNdx, cActionNdx);
+					writePerformables(out, action.getResponseActions(), actionNdx, cActionNdx);
+				}
+				writePerformables(out, phase.getEndActions(), actionNdx, cActionNdx);
+			}
+			out.writeInt(positions(phases).get(definition.getStartPhase().getName()));
+
+			final CardDealer dealer = definition.getDealer();
+			out.writeByte(dealer.getDirection().ordinal());
+			out.writeBoolean(dealer.isCollated());
+			out.writeBoolean(dealer.isShuffled());
+			writePairs(out, dealer.getPlayerPairs());
+			writePairs(out, dealer.getCommonPairs());
+			out.flush();
+		} catch (IOException e) {
+			// Not thrown by a ByteArrayOutputStream
+			throw new IllegalStateException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+/*------------------------------------------------
+ 	Reading
+ ------------------------------------------------*/
+	/*
+	 * Reads the resolved components of the specified rules plugin, which includes the specified
+	 * libraries. Nothing is validated; the pack was validated when it was compiled.
+	 *
+	 * @throws PluginException if the data is damaged, or the libraries have changed since
+	 */
+	static CompiledRules read(final Plugin rules, final ByteBuffer data, final List<RuleLibrary> libraries) throws PluginException {
+		try {
+			final ByteBuffer in = data.duplicate();
+			final int numLibraries = in.getShort();
+			if (numLibraries != libraries.size()) {
+				throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+			}
+			int libConditions = 0;
+			int libActions = 0;
+			int libCActions = 0;
+			for (final RuleLibrary library : libraries) {
+				if (!readString(in).equals(library.getName()) ||
+					in.getInt() != library.getConditions().getSize() ||
+					in.getInt() != library.getActions().getSize() ||
+					in.getInt() != library.getControlledActions().getSize()) {
+					throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+				}
+				libConditions += library.getConditions().getSize();
+				libActions += library.getActions().getSize();
+				libCActions += library.getControlledActions().getSize();
+			}
+			final Engine.DirectionOfPlay direction = Engine.DirectionOfPlay.values()[in.get()];
+
+			final Condition[] conditions = new Condition[libConditions + in.getInt()];
+			int ndx = 0;
+			for (final RuleLibrary library : libraries) {
+				for (int i = 0; i < library.getConditions().getSize(); i++) {
+					conditions[ndx++] = library.getConditions().get(i);
+				}
+			}
+			while (ndx < conditions.length) {
+				final String name = readString(in);
+				final ConditionalStatement[] statements = new ConditionalStatement[in.getShort()];
+				for (int s = 0; s < statements.length; s++) {
+					statements[s] = new ConditionalStatement(readStrings(in));
+				}
+				conditions[ndx++] = new Condition(name, statements);
+			}
+
+			final Action[] actions = new Action[libActions + in.getInt()];
+			ndx = 0;
+			for (final RuleLibrary library : libraries) {
+				for (int i = 0; i < library.getActions().getSize(); i++) {
+					actions[ndx++] = library.getActions().get(i);
+				}
+			}
+			while (ndx < actions.length) {
+				final String name = readString(in);
+				final String description = readString(in);
+				final Operation operation = Operation.valueOf(readString(in));
+				actions[ndx++] = new Action(name, description, operation, readStrings(in));
+			}
+
+			final ControlledAction[] cActions = new ControlledAction[libCActions + in.getInt()];
+			ndx = 0;
+			for (final RuleLibrary library : libraries) {
+				for (int i = 0; i < library.getControlledActions().getSize(); i++) {
+					cActions[ndx++] = library.getControlledActions().get(i);
+				}
+			}
+			while (ndx < cActions.length) {
+				final String name = readString(in);
+				final int repeat = in.getInt();
+				final Condition condition = readCondition(in, conditions);
+				final Action tAction = actions[in.getShort()];
+				final int fAction = in.getShort();
+				cActions[ndx++] = new ControlledAction(name, repeat, condition, tAction, fAction < 0 ? null : actions[fAction]);
+			}
+
+			final Phase[] phases = new Phase[in.getInt()];
+			for (int p = 0; p < phases.length; p++) {
+				final String name = readString(in);
+				final EngineComponentSet<Performable> startActions = readPerformables(in, actions, cActions);
+				final int numAllowed = in.getShort();
+				EngineComponentSet<AllowedAction> allowedActions = null;
+				if (numAllowed >= 0) {
+					final AllowedAction[] allowed = new AllowedAction[numAllowed];
+					for (int a = 0; a < allowed.length; a++) {
+						final Condition precondition = readCondition(in, conditions);
+						final Performable performable = readPerformable(in, actions, cActions);
+						allowed[a] = new AllowedAction(performable, precondition, readPerformables(in, actions, cActions));
+					}
+					allowedActions = new EngineComponentSet<AllowedAction>(allowed);
+				}
+				phases[p] = new Phase(name, startActions, allowedActions, readPerformables(in, actions, cActions));
+			}
+			final Phase startPhase = phases[in.getInt()];
+
+			final CardDealer.Direction dealDirection = CardDealer.Direction.values()[in.get()];
+			final boolean collate = in.get() != 0;
+			final boolean shuffle = in.get() != 0;
+			final CardDealerSet playerPairs = readPairs(in);
+			final CardDealerSet commonPairs = readPairs(in);
+			if (in.hasRemaining()) {
+				throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+			}
+			return new CompiledRules(new EngineComponentSet<Condition>(conditions),
+									 new EngineComponentSet<Action>(actions),
+									 new EngineComponentSet<ControlledAction>(cActions),
+									 new EngineComponentSet<Phase>(phases),
+									 startPhase, direction, dealDirection, collate, shuffle, playerPairs, commonPairs);
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw PluginException.create(PluginException.Type.MISMATCH, e, rules, "Rule pack");
+		}
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the position of each component of the specified set, by name.
+	 */
+	private static <T extends EngineComponent> Map<String, Integer> positions(final EngineComponentSet<T> set) {
+		final Map<String, Integer> positions = new HashMap<String, Integer>(set.getSize() * 2);
+		for (int i = 0; i < set.getSize(); i++) {
+			positions.put(set.get(i).getName(), i);
+		}
+		return positions;
+	}
+
+	/*
+	 * Writes a condition as its position, or -1 if there is none, and whether it is inverted.
+	 */
+	private static void writeCondition(final DataOutputStream out, final Condition condition,
+									   final Map<String, Integer> positions) throws IOException {
+		out.writeInt(condition == null ? -1 : positions.get(condition.getName()));
+		out.writeBoolean(condition != null && condition.isInverted());
+	}
+
+	/*
+	 * Reads a condition written by writeCondition.
+	 */
+	private static Condition readCondition(final ByteBuffer in, final Condition[] conditions) {
+		final int ndx = in.getInt();
+		final boolean isInverted = in.get() != 0;
+		if (ndx < 0) {
+			return null;
+		}
+		return isInverted ? new Condition(true, conditions[ndx]) : conditions[ndx];
+	}
+
+	/*
+	 * Writes an action or controlled action as its kind and its position.
+	 */
+	private static void writePerformable(final DataOutputStream out, final Performable performable,
+										 final Map<String, Integer> actions, final Map<String, Integer> cActions) throws IOException {
+		if (performable instanceof ControlledAction) {
+			out.writeByte(CONTROLLED_ACTION);
+			out.writeInt(cActions.get(((ControlledAction)performable).getName()));
+		}
+		else {
+			out.writeByte(ACTION);
+			out.writeInt(actions.get(((Action)performable).getName()));
+		}
+	}
+
+	/*
+	 * Reads a performable written by writePerformable.
+	 */
+	private static Performable readPerformable(final ByteBuffer in, final Action[] actions, final ControlledAction[] cActions) {
+		return in.get() == CONTROLLED_ACTION ? cActions[in.getInt()] : actions[in.getInt()];
+	}
+
+	/*
+	 * Writes a set of performables, or -1 if there is none.
+	 */
+	private static void writePerformables(final DataOutputStream out, final EngineComponentSet<Performable> set,
+										  final Map<String, Integer> actions, final Map<String, Integer> cActions) throws IOException {
+		out.writeShort(set == null ? -1 : set.getSize());
+		for (int i = 0; set != null && i < set.getSize(); i++) {
+			writePerformable(out, set.get(i), actions, cActions);
+		}
+	}
+
+	/*
+	 * Reads a set of performables written by writePerformables.
+	 */
+	private static EngineComponentSet<Performable> readPerformables(final ByteBuffer in, final Action[] actions,
+																	final ControlledAction[] cActions) {
+		final int size = in.getShort();
+		if (size < 0) {
+			return null;
+		}
+		final Performable[] performables = new Performable[size];
+		for (int i = 0; i < size; i++) {
+			performables[i] = readPerformable(in, actions, cActions);
+		}
+		return new EngineComponentSet<Performable>(performables);
+	}
+
+	/*
+	 * Writes the piles and numbers of cards of a deal.
+	 */
+	private static void writePairs(final DataOutputStream out, final CardDealerSet pairs) throws IOException {
+		out.writeShort(pairs.getSize());
+		for (int i = 0; i < pairs.getSize(); i++) {
+			writeString(out, pairs.getCardPileName(i));
+			out.writeInt(pairs.getNumCardsToDeal(i));
+		}
+	}
+
+	/*
+	 * Reads the pairs written by writePairs.
+	 */
+	private static CardDealerSet readPairs(final ByteBuffer in) {
+		final CardDealerSet pairs = new CardDealerSet(in.getShort());
+		for (int i = 0; i < pairs.getSize(); i++) {
+			pairs.add(new CardDealerPair(readString(in), in.getInt()));
+		}
+		return pairs;
+	}
+
+	/*
+	 * Writes an array of strings as its length followed by each string.
+	 */
+	private static void writeStrings(final DataOutputStream out, final String[] strings) throws IOException {
+		out.writeShort(strings.length);
+		for (final String string : strings) {
+			writeString(out, string);
+		}
+	}
+
+	/*
+	 * Reads an array of strings written by writeStrings.
+	 */
+	private static String[] readStrings(final ByteBuffer in) {
+		final String[] strings = new String[in.getShort()];
+		for (int i = 0; i < strings.length; i++) {
+			strings[i] = readString(in);
+		}
+		return strings;
+	}
+
+	/*
+	 * Writes a string as its length in bytes followed by its UTF-8 bytes.
+	 */
+	private static void writeString(final DataOutputStream out, final String string) throws IOException {
+		final byte[] bytes = string.getBytes(Plugin.CHARSET);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * Reads a string written by writeString.
+	 */
+	private static String readString(final ByteBuffer in) {
+		final byte[] bytes = new byte[in.getInt()];
+		in.get(bytes);
+		return new String(bytes, Plugin.CHARSET);
+	}
+}
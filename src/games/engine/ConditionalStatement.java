@@ -15,6 +15,8 @@
 
 package games.engine;
 
+import java.util.Arrays;
+
 import games.engine.plugin.PluginPattern;
 
 public final class ConditionalStatement {
@@ -36,6 +38,13 @@ public final class ConditionalStatement {
 		this.parts = statement.split(PluginPattern.WHITESPACE.toString());
 	}
 	
+	/*
+	 * Constructs a statement from the parts of one already split, as stored in a rule pack.
+	 */
+	ConditionalStatement(final String[] parts) {
+		this.parts = Arrays.copyOf(parts, parts.length);
+	}
+	
 /*------------------------------------------------
  	Accessors
  ------------------------------------------------*/
@@ -48,6 +57,13 @@ public final class ConditionalStatement {
 		return parts.length;
 	}
 	
+	/*
+	 * Returns the parts that make up this statement.
+	 */
+	String[] getParts() {
+		return Arrays.copyOf(parts, parts.length);
+	}
+	
 	/**
 	 * Returns <tt>true</tt> if this <tt>ConditionalStatement</tt> is inverted.
 	 * 
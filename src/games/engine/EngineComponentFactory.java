@@ -14,12 +14,20 @@
 ****************************************************************************/
 package games.engine;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
 import games.engine.plugin.Plugin;
 import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginKeyword;
 import games.engine.plugin.PluginPattern;
+import games.engine.plugin.PluginSection;
 import games.engine.util.PlayingCardAlias;
-import games.engine.util.PlayingCardFactory;
+import games.engine.util.PlayingCardCatalog;
 
 /******************************************************************//**
  * The EngineComponentFactory Enum
@@ -46,24 +54,24 @@ public enum EngineComponentFactory {
 	 * Create and return an <tt>EngineComponentSet</tt> of <tt>PlayingCardAliases</tt>.
 	 * 
 	 * @param plugin rules plugin to be searched
+	 * @param builder the builder of the game's card catalog
 	 * @return an <tt>EngineComponentSet</tt> of <tt>PlayingCardAliases</tt>
 	 * @throws PluginException if the Alias keyword is found with invalid parameters
 	 */
-	public EngineComponentSet<PlayingCardAlias> createAliases (final Plugin plugin) throws PluginException {
+	public EngineComponentSet<PlayingCardAlias> createAliases (final Plugin plugin, final PlayingCardCatalog.Builder builder) throws PluginException {
 		plugin.checkType(Plugin.Type.RULES);
 		final int numAlias = plugin.getNumberOf(PluginKeyword.ALIAS);
 		final PlayingCardAlias[] aliases = new PlayingCardAlias[numAlias];
 		int ndx = 0;
-		final PlayingCardFactory factory = PlayingCardFactory.getInstance();
 		for (int i = 0; i < aliases.length; i++) {
 			ndx = plugin.getIndexOf(PluginKeyword.ALIAS, ndx + 1);
 			String[] parts = plugin.getLine(ndx).split(PluginPattern.WHITESPACE.toString());
 			switch (parts.length) {
 			case 3:
-				aliases[i] = new PlayingCardAlias(parts[1], factory.createPlayingCard(factory.createFace(parts[2]), null));
+				aliases[i] = new PlayingCardAlias(parts[1], builder.createPlayingCard(builder.createFace(parts[2]), null));
 				break;
 			case 4:
-				aliases[i] = new PlayingCardAlias(parts[1], factory.createPlayingCard(factory.createFace(parts[2]), factory.createGroup(parts[3])));
+				aliases[i] = new PlayingCardAlias(parts[1], builder.createPlayingCard(builder.createFace(parts[2]), builder.createGroup(parts[3])));
 				break;
 			default:
 				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.ALIAS.toString());
@@ -80,21 +88,32 @@ public enum EngineComponentFactory {
 	 * @throws PluginException if the components are ill formatted, or missing keywords
 	 */
 	public EngineComponentSet<Action> createActions(final Plugin plugin) throws PluginException {
-		plugin.checkType(Plugin.Type.RULES);
-		final int numActions = plugin.getNumberOf(PluginKeyword.ACTION);
-		final Action[] actions = new Action[numActions];
+		return this.createActions(plugin, Collections.<RuleLibrary>emptyList());
+	}
+	
+	/**
+	 * Create and return an <tt>EngineComponentSet</tt> of <tt>Actions</tt>, including
+	 * those of the specified libraries.
+	 * 
+	 * @param plugin the rules or library plugin being searched
+	 * @param libraries libraries included by the plugin
+	 * @return set of actions
+	 * @throws PluginException if the components are ill formatted, missing keywords, or defined twice
+	 */
+	public EngineComponentSet<Action> createActions(final Plugin plugin, final List<RuleLibrary> libraries) throws PluginException {
+		EngineComponentFactory.checkComponents(plugin, libraries, PluginKeyword.ACTION, PluginKeyword.END_ACTION);
+		final List<PluginSection> sections = plugin.getSections(PluginKeyword.ACTION);
+		final Action[] actions = new Action[sections.size()];
 		int actionNdx = 0;
-		// Loop through plugin file, look for acitons...
-		final int endNdx = plugin.checkIndexOf(PluginKeyword.END_ACTION);
-		int ndx = plugin.checkIndexOf(PluginKeyword.ACTION);
-		StringBuilder name = new StringBuilder();
-		while (ndx < endNdx) {
-			
-			name.setLength(0);
-			name.append(plugin.checkParamsFor(PluginKeyword.ACTION, ndx++));
+		// Each action is its name, an operation, and an optional description
+		for (final PluginSection section : sections) {
+			if (section.getSize() < 2 || section.getSize() > 3) {
+				throw PluginException.create(PluginException.Type.MISMATCH, plugin, "Invalid Action formatting or similar");
+			}
+			final String name = section.checkName();
 
 			// Split the second line into operation and parameters
-			String[] line2 = plugin.getLine(ndx++).split(PluginPattern.WHITESPACE.toString(), 2);
+			String[] line2 = section.getLine(1).split(PluginPattern.WHITESPACE.toString(), 2);
 			
 			// Make sure this line starts with a valid operation
 			final Operation operation = Engine.stringToEnumMember(line2[0], Operation.class); 
@@ -107,18 +126,14 @@ public enum EngineComponentFactory {
 				throw PluginException.create(PluginException.Type.INVALID_OPERATION_PARAMS, plugin, line2[0]);
 			}
 			// Check if there is an optional description
-			if (ndx == plugin.getIndexOf(PluginKeyword.ACTION, ndx) || ndx == endNdx) {
-				actions[actionNdx++] = new Action(name.toString(), operation, params);
+			if (section.getSize() == 2) {
+				actions[actionNdx++] = new Action(name, operation, params);
 			}
 			else {
-				actions[actionNdx++] = new Action(name.toString(), plugin.getLine(ndx++), operation, params);
+				actions[actionNdx++] = new Action(name, section.getLine(2), operation, params);
 			}
 		}
-		// Check that the keywords are used properly
-		if (actionNdx != numActions) {
-			throw PluginException.create(PluginException.Type.MISMATCH, plugin, "Invalid Action formatting or similar");
-		}
-		return new EngineComponentSet<Action>(actions);
+		return EngineComponentFactory.include(plugin, actions, libraries, RuleLibrary::getActions);
 	}
 	
 	/**
@@ -129,37 +144,36 @@ public enum EngineComponentFactory {
 	 * @throws PluginException if the components are ill formatted, or missing keywords
 	 */
 	public EngineComponentSet<Condition> createConditions(final Plugin plugin) throws PluginException {
-		plugin.checkType(Plugin.Type.RULES);
-		final int numConditions = plugin.getNumberOf(PluginKeyword.CONDITION);
-		final Condition[] conditions = new Condition[numConditions];
+		return this.createConditions(plugin, Collections.<RuleLibrary>emptyList());
+	}
+	
+	/**
+	 * Create and return an <tt>EngineComponentSet</tt> of <tt>Conditions</tt>, including
+	 * those of the specified libraries. Conditions of the plugin may embed those of the libraries.
+	 * 
+	 * @param plugin the rules or library plugin being searched
+	 * @param libraries libraries included by the plugin
+	 * @return set of conditions
+	 * @throws PluginException if the components are ill formatted, missing keywords, or defined twice
+	 */
+	public EngineComponentSet<Condition> createConditions(final Plugin plugin, final List<RuleLibrary> libraries) throws PluginException {
+		EngineComponentFactory.checkComponents(plugin, libraries, PluginKeyword.CONDITION, PluginKeyword.END_CONDITION);
+		final List<PluginSection> sections = plugin.getSections(PluginKeyword.CONDITION);
+		final Condition[] conditions = new Condition[sections.size()];
 		int conditionNdx = 0;
-		// Loop through plugin file, look for conditions...
-		final int endNdx = plugin.checkIndexOf(PluginKeyword.END_CONDITION);
-		int ndx = plugin.checkIndexOf(PluginKeyword.CONDITION);
-		StringBuilder name = new StringBuilder();
-		int nextNdx = 0;
-		int numStatements = 0;
-		while (ndx < endNdx) {
-			
-			name.setLength(0);
-			name.append(plugin.checkParamsFor(PluginKeyword.CONDITION, ndx++));
-			nextNdx = plugin.getIndexOf(PluginKeyword.CONDITION, ndx);
-			if (nextNdx < 0) {	// If no more Condition keywords are found...
-				nextNdx = endNdx;
-			}
-			numStatements = nextNdx - ndx;
+		// Each condition is its name followed by its statements
+		for (final PluginSection section : sections) {
+			final String name = section.checkName();
 			
 			// Read statemebts from the plugin
-			ConditionalStatement[] statements = new ConditionalStatement[numStatements];
-			for (int i = 0; i < numStatements; i++) {
-				statements[i] = new ConditionalStatement(plugin.getLine(ndx++));
+			ConditionalStatement[] statements = new ConditionalStatement[section.getSize() - 1];
+			for (int i = 0; i < statements.length; i++) {
+				statements[i] = new ConditionalStatement(section.getLine(i + 1));
 			}
-			conditions[conditionNdx++] = new Condition(name.toString(), statements);
-		}
-		// Check that the keywords are used properly
-		if (conditionNdx != numConditions) {
-			throw PluginException.create(PluginException.Type.MISMATCH, plugin, "Invalid Condition formatting or similar");
+			conditions[conditionNdx++] = new Condition(name, statements);
 		}
+		final EngineComponentSet<Condition> included = EngineComponentFactory.include(plugin, conditions, libraries, RuleLibrary::getConditions);
+		
 		// Validate Conditional Statements
 		for (final Condition c : conditions) {
 			for (final ConditionalStatement s : c.getStatements()) {
@@ -170,21 +184,12 @@ public enum EngineComponentFactory {
 					throw PluginException.create(PluginException.Type.INVALID_CONDITIONAL_STATEMENT, plugin, c.getName(), s.toString());
 				}
 				// Check for Operation or embedded Condition
-				if (!s.containsOperation()) {
-					boolean throwException = true;
-					for (int i = 0; i < conditions.length; i++) {
-						if (s.getOperationOrCondition().equals(conditions[i].getName())) {
-							throwException = false;
-							break;
-						}
-					}
-					if (throwException) {
-						throw PluginException.create(PluginException.Type.INVALID_CONDITIONAL_STATEMENT, plugin, c.getName(), s.toString());
-					}
+				if (!s.containsOperation() && !included.contains(s.getOperationOrCondition())) {
+					throw PluginException.create(PluginException.Type.INVALID_CONDITIONAL_STATEMENT, plugin, c.getName(), s.toString());
 				}
 			}
 		}		
-		return new EngineComponentSet<Condition>(conditions);
+		return included;
 	}
 	
 	/**
@@ -199,18 +204,36 @@ public enum EngineComponentFactory {
 	public EngineComponentSet<ControlledAction> createControlledActions(final Plugin plugin, 
 																		final EngineComponentSet<Condition> conditions, 
 																		final EngineComponentSet<Action> actions) throws PluginException {
-		plugin.checkType(Plugin.Type.RULES);
-		final int numActions = plugin.getNumberOf(PluginKeyword.CONTROLLED_ACTION);
-		final ControlledAction[] cActions = new ControlledAction[numActions];
+		return this.createControlledActions(plugin, conditions, actions, Collections.<RuleLibrary>emptyList());
+	}
+	
+	/**
+	 * Create and return an <tt>EngineComponentSet</tt> of <tt>ControlledActions</tt>, including
+	 * those of the specified libraries.
+	 * 
+	 * @param plugin the rules or library plugin being searched
+	 * @param conditions set of known conditions, including those of the libraries
+	 * @param actions set of known performable actions, including those of the libraries
+	 * @param libraries libraries included by the plugin
+	 * @return set of controlled actions (conditional)
+	 * @throws PluginException if the components are ill formatted, missing keywords, or defined twice
+	 */
+	public EngineComponentSet<ControlledAction> createControlledActions(final Plugin plugin, 
+																		final EngineComponentSet<Condition> conditions, 
+																		final EngineComponentSet<Action> actions,
+																		final List<RuleLibrary> libraries) throws PluginException {
+		EngineComponentFactory.checkComponents(plugin, libraries, PluginKeyword.CONTROLLED_ACTION, PluginKeyword.END_CONTROLLED_ACTION);
+		final List<PluginSection> sections = plugin.getSections(PluginKeyword.CONTROLLED_ACTION);
+		final ControlledAction[] cActions = new ControlledAction[sections.size()];
 		int actionNdx = 0;
-		// Loop through plugin file, look for acitons...
-		final int endNdx = plugin.checkIndexOf(PluginKeyword.END_CONTROLLED_ACTION);
-		int ndx = plugin.checkIndexOf(PluginKeyword.CONTROLLED_ACTION);
-		StringBuilder name = new StringBuilder();
-		while (ndx < endNdx) {
-			
-			name.setLength(0);
-			name.append(plugin.checkParamsFor(PluginKeyword.CONTROLLED_ACTION, ndx++));
+		// Each controlled action is its name, its condition and actions, and an optional repeat
+		for (final PluginSection section : sections) {
+			if (section.getSize() < 2 || section.getSize() > 3 ||
+				(section.getSize() == 3 && !plugin.lineStartsWith(PluginKeyword.REPEAT, section.getStart() + 2))) {
+				throw PluginException.create(PluginException.Type.MISMATCH, plugin, "Invalid ControlledAction formatting or similar");
+			}
+			final String name = section.checkName();
+			int ndx = section.getStart() + 1;
 
 			// Split the second line into parts
 			String[] parts = plugin.getLine(ndx++).split(PluginPattern.WHITESPACE.toString());
@@ -232,66 +255,60 @@ public enum EngineComponentFactory {
 			}
 			
 			// Should this action be repeated?
-			if (plugin.lineStartsWith(PluginKeyword.REPEAT, ndx)) {
+			if (section.getSize() == 3) {
 				switch (parts.length) {
 				case 2:
 					// condition tAction
-					cActions[actionNdx++] = new ControlledAction(name.toString(), plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
+					cActions[actionNdx++] = new ControlledAction(name, plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
 																 conditions.get(parts[0]), actions.get(parts[1]));
 					break;
 				case 3:
 					if (Engine.stringToEnumMember(parts[0], Condition.Logic.values()) == Condition.Logic.NOT) {
 						// not condition tAction
-						cActions[actionNdx++] = new ControlledAction(name.toString(), plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
+						cActions[actionNdx++] = new ControlledAction(name, plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
 																	 new Condition(true, conditions.get(parts[1])), actions.get(parts[2]));
 					}
 					else {
 						// condition tAction fAction
-						cActions[actionNdx++] = new ControlledAction(name.toString(), plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
+						cActions[actionNdx++] = new ControlledAction(name, plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
 																	 conditions.get(parts[0]), actions.get(parts[1]), actions.get(parts[2]));
 					}
 					break;
 				case 4:
 				default:
 					// not condition tAction fAction
-					cActions[actionNdx++] = new ControlledAction(name.toString(), plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
+					cActions[actionNdx++] = new ControlledAction(name, plugin.checkNumericParams(PluginKeyword.REPEAT, ndx),
 																 new Condition(true, conditions.get(parts[1])), 
 																 actions.get(parts[2]), actions.get(parts[3]));
 					break;
 				}
-				++ndx;
-				
 			}
 			else {
 				switch (parts.length) {
 				case 2:
 					// condition tAction
-					cActions[actionNdx++] = new ControlledAction(name.toString(), conditions.get(parts[0]), actions.get(parts[1]));
+					cActions[actionNdx++] = new ControlledAction(name, conditions.get(parts[0]), actions.get(parts[1]));
 					break;
 				case 3:
 					if (Engine.stringToEnumMember(parts[0], Condition.Logic.values()) == Condition.Logic.NOT) {
 						// not condition tAction
-						cActions[actionNdx++] = new ControlledAction(name.toString(), new Condition(true, conditions.get(parts[1])), actions.get(parts[2]));
+						cActions[actionNdx++] = new ControlledAction(name, new Condition(true, conditions.get(parts[1])), actions.get(parts[2]));
 					}
 					else {
 						// condition tAction fAction
-						cActions[actionNdx++] = new ControlledAction(name.toString(), conditions.get(parts[0]), actions.get(parts[1]), actions.get(parts[2]));
+						cActions[actionNdx++] = new ControlledAction(name, conditions.get(parts[0]), actions.get(parts[1]), actions.get(parts[2]));
 					}
 					break;
 				case 4:
 				default:
 					// not condition tAction fAction
-					cActions[actionNdx++] = new ControlledAction(name.toString(), new Condition(true, conditions.get(parts[1])), 
+					cActions[actionNdx++] = new ControlledAction(name, new Condition(true, conditions.get(parts[1])), 
 																	actions.get(parts[2]), actions.get(parts[3]));
 					break;
 				}
 			}
 		}
-		// Check that the keywords are used properly
-		if (actionNdx != numActions) {
-			throw PluginException.create(PluginException.Type.MISMATCH, plugin, "Invalid ControlledAction formatting or similar");
-		}
-		return new EngineComponentSet<ControlledAction>(cActions);
+		return EngineComponentFactory.include(plugin, cActions, libraries, RuleLibrary::getControlledActions);
 	}
 	
 	/**
@@ -307,17 +324,15 @@ public enum EngineComponentFactory {
 	public EngineComponentSet<Phase> createPhases(final Plugin plugin, final EngineComponentSet<Action> actions, final EngineComponentSet<Condition> cons,
 																	   final EngineComponentSet<ControlledAction> cActions) throws PluginException {
 		plugin.checkType(Plugin.Type.RULES);
-		final int numPhases = plugin.getNumberOf(PluginKeyword.PHASE);
-		if (numPhases == 0) {
+		final List<PluginSection> sections = plugin.getSections(PluginKeyword.PHASE);
+		if (sections.isEmpty()) {
 			throw PluginException.create(PluginException.Type.MISSING_KEYWORD, plugin, PluginKeyword.PHASE.toString());
 		}
-		final Phase[] phases = new Phase[numPhases];
-		int endNdx = 0;
-		int ndx = 0;
-		for (int i = 0; i < numPhases; i++) {
-			ndx = plugin.getIndexOf(PluginKeyword.PHASE, ndx + 1);
-			endNdx = plugin.getIndexOf(PluginKeyword.END_PHASE, ndx);
-			phases[i] = EngineComponentFactory.createPhase(plugin.divide(ndx, endNdx), actions, cons, cActions);
+		final Phase[] phases = new Phase[sections.size()];
+		for (int i = 0; i < phases.length; i++) {
+			final PluginSection section = sections.get(i);
+			plugin.checkClosed(section);
+			phases[i] = EngineComponentFactory.createPhase(plugin.divide(section.getStart(), section.getEnd()), actions, cons, cActions);
 		}
 		return new EngineComponentSet<Phase>(phases);
 	}
@@ -477,4 +492,63 @@ public enum EngineComponentFactory {
 		}
 		return numActions == 0 ? null : new EngineComponentSet<Performable>(doActions);
 	}
+	
+	/*
+	 * Check the type of the plugin, and that its components opened by the specified keyword are closed.
+	 * Rules must define the components unless they include a library; a library need not define any.
+	 * 
+	 * @param plugin the rules or library plugin being searched
+	 * @param libraries libraries included by the plugin
+	 * @param open keyword starting each component
+	 * @param close keyword after the last component
+	 * @throws PluginException if the plugin is of another type, or missing keywords
+	 */
+	private static void checkComponents(final Plugin plugin, final List<RuleLibrary> libraries,
+										final PluginKeyword open, final PluginKeyword close) throws PluginException {
+		final boolean isLibrary = plugin.getFilename().getType() == Plugin.Type.LIBRARY;
+		if (!isLibrary) {
+			plugin.checkType(Plugin.Type.RULES);
+		}
+		if ((!isLibrary && libraries.isEmpty()) || plugin.contains(open) || plugin.contains(close)) {
+			plugin.checkIndexOf(close);
+			plugin.checkIndexOf(open);
+		}
+	}
+	
+	/*
+	 * Return a set of the components of each library, in order, followed by those defined by the plugin.
+	 * 
+	 * @param plugin the plugin defining the components
+	 * @param defined the components defined by the plugin
+	 * @param libraries libraries included by the plugin
+	 * @param set the set of a library holding components of this kind
+	 * @return set of the included and defined components
+	 * @throws PluginException if a component name is defined more than once
+	 */
+	private static <T extends EngineComponent> EngineComponentSet<T> include(final Plugin plugin, final T[] defined, final List<RuleLibrary> libraries,
+																			 final Function<RuleLibrary, EngineComponentSet<T>> set) throws PluginException {
+		if (libraries.isEmpty()) {
+			return new EngineComponentSet<T>(defined);
+		}
+		int size = defined.length;
+		for (final RuleLibrary library : libraries) {
+			size += set.apply(library).getSize();
+		}
+		final T[] components = Arrays.copyOf(defined, size);
+		int ndx = 0;
+		for (final RuleLibrary library : libraries) {
+			final EngineComponentSet<T> included = set.apply(library);
+			for (int i = 0; i < included.getSize(); i++) {
+				components[ndx++] = included.get(i);
+			}
+		}
+		System.arraycopy(defined, 0, components, ndx, defined.length);
+		final Set<String> names = new HashSet<String>(size * 2);
+		for (final T component : components) {
+			if (!names.add(component.getName().toLowerCase(Plugin.LOCALE))) {
+				throw PluginException.create(PluginException.Type.INVALID_COMPONENT, plugin, component.getName());
+			}
+		}
+		return new EngineComponentSet<T>(components);
+	}
 }
\ No newline at end of file
@@ -14,6 +14,14 @@
 ****************************************************************************/
 package games.engine;
 
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import games.engine.plugin.Plugin;
 import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginKeyword;
@@ -21,6 +29,7 @@ import games.engine.util.CardDealer;
 import games.engine.util.CardDealerFactory;
 import games.engine.util.CardGameBoard;
 import games.engine.util.CardGameBoardFactory;
+import games.engine.util.CardPile;
 import games.engine.util.CardPileCollection;
 import games.engine.util.CardPileFactory;
 import games.engine.util.CardPileParameter;
@@ -28,7 +37,9 @@ import games.engine.util.CardPlayer;
 import games.engine.util.Deck;
 import games.engine.util.DeckFactory;
 import games.engine.util.GamePlayer;
+import games.engine.util.GameRandom;
 import games.engine.util.PlayingCardAlias;
+import games.engine.util.PlayingCardCatalog;
 import games.engine.util.PlayingCardFactory;
 import games.engine.util.PlayingCardRanking;
 
@@ -44,6 +55,10 @@ public enum EngineFactory {
 	/** An instance of this component factory */
 	INSTANCE;
 	
+	/* The definition of each rules plugin in use, or the definition being created */
+	private final Map<Plugin, CompletableFuture<GameDefinition>> definitions =
+			Collections.synchronizedMap(new WeakHashMap<Plugin, CompletableFuture<GameDefinition>>());
+	
 	/* Constructs this <tt>EngineFactory</tt> when first used. */
 	private EngineFactory() {}
 	
@@ -54,53 +69,204 @@ public enum EngineFactory {
 	}
 	
 	public CardGameEngine createCardGameEngine(final Plugin plugin, final GamePlayer...gamePlayers) throws PluginException {
+		return this.createCardGameEngine(plugin, CardPile.Storage.ARRAY, gamePlayers);
+	}
+	
+	/**
+	 * Create a <tt>CardGameEngine</tt> whose card piles use the specified type of storage.
+	 * Engines that will be branched often should use <tt>CardPile.Storage.PERSISTENT</tt>.
+	 * 
+	 * @param plugin the rules plugin for the game
+	 * @param storage how the cards in each card pile are stored
+	 * @param gamePlayers the players of the game
+	 * @return a new card game engine
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public CardGameEngine createCardGameEngine(final Plugin plugin, final CardPile.Storage storage, final GamePlayer...gamePlayers) throws PluginException {
+		return this.createCardGameEngine(plugin, storage, new GameRandom(), gamePlayers);
+	}
+	
+	/**
+	 * Create a <tt>CardGameEngine</tt> whose hands are seeded from the specified random stream.
+	 * Engines created from streams with the same seed deal and play identically, given the same actions,
+	 * so a game can be replayed, or a batch of games run deterministically on any number of threads.
+	 * 
+	 * @param plugin the rules plugin for the game
+	 * @param storage how the cards in each card pile are stored
+	 * @param random the random stream each hand is seeded from
+	 * @param gamePlayers the players of the game
+	 * @return a new card game engine
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public CardGameEngine createCardGameEngine(final Plugin plugin, final CardPile.Storage storage, final GameRandom random,
+											   final GamePlayer...gamePlayers) throws PluginException {
+		return this.getGameDefinition(plugin).createEngine(storage, random, gamePlayers);
+	}
+	
+	/**
+	 * Returns the <tt>GameDefinition</tt> of the specified rules plugin, creating it the first time.
+	 * Definitions are kept for as long as their plugin is, so every engine created from a
+	 * cached plugin shares one definition. Threads asking for the same plugin wait for one
+	 * definition; other games are created meanwhile. The <tt>PluginCache</tt> returns a new rules plugin when its board, deck, or
+	 * a library it includes is edited, so a game created from the cache is always current.
+	 * 
+	 * @param plugin the rules plugin for the game
+	 * @return the definition of the game
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public GameDefinition getGameDefinition(final Plugin plugin) throws PluginException {
+		// Claim the plugin atomically, then create its definition without holding the map
+		final CompletableFuture<GameDefinition> created = new CompletableFuture<GameDefinition>();
+		final CompletableFuture<GameDefinition> definition = definitions.computeIfAbsent(plugin, rules -> created);
+		if (definition == created) {
+			try {
+				created.complete(this.createGameDefinition(plugin));
+			} catch (PluginException | RuntimeException e) {
+				// Not kept, so a later request tries again
+				definitions.remove(plugin, created);
+				created.completeExceptionally(e);
+			}
+		}
+		return EngineFactory.join(definition);
+	}
+	
+	/**
+	 * Create a <tt>GameDefinition</tt>, parsing and validating every part of the game that
+	 * does not change during play. Tables created from it share those parts.
+	 * If the plugin was loaded from a current <tt>RulePack</tt>, its components, phases and
+	 * deal plan are read as they were resolved when the pack was compiled, without validation.
+	 * 
+	 * @param plugin the rules plugin for the game
+	 * @return a new game definition
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public GameDefinition createGameDefinition(final Plugin plugin) throws PluginException {
 		plugin.checkType(Plugin.Type.RULES);
 		
-		// Create Engine Components
-		EngineComponentFactory comFactory = EngineComponentFactory.getInstance();
-		EngineComponentSet<Action> actions = comFactory.createActions(plugin);
-		EngineComponentSet<Condition> conditions = comFactory.createConditions(plugin);
-		EngineComponentSet<ControlledAction> cActions = comFactory.createControlledActions(plugin, conditions, actions);
-		EngineComponentSet<Phase> phases = comFactory.createPhases(plugin, actions, conditions, cActions);
-		EngineComponentSet<PlayingCardAlias> aliases = comFactory.createAliases(plugin);
-		EngineComponentCollecion components = new EngineComponentCollecion(conditions, actions, cActions, phases, aliases);
+		// The cards and the board do not depend on the components, or on each other:
+		// load and validate them in the background while the components are created
+		final PlayingCardCatalog.Builder cardBuilder = new PlayingCardCatalog.Builder();
+		final CompletableFuture<Cards> cardsLoad = EngineFactory.async(() -> this.createCards(plugin, cardBuilder));
+		final CompletableFuture<Plugin> boardLoad = EngineFactory.async(() -> plugin.open(Plugin.Type.BOARD, plugin.checkParamsFor(PluginKeyword.BOARD)));
+		final CompletableFuture<Plugin[]> pilesLoad = boardLoad.thenApplyAsync(board -> EngineFactory.call(() -> CardPileFactory.INSTANCE.createPlugins(board)));
 		
-		// Create CardPile collections
-		final Plugin boardPlugin = new Plugin(Plugin.Type.BOARD, plugin.checkParamsFor(PluginKeyword.BOARD));
-		final CardPileFactory pileFactory = CardPileFactory.getInstance();
-		final Plugin[] pilePlugins = pileFactory.createPlugins(boardPlugin);
-		
-		// Create Card Players using the passed game players...
-		final CardPlayer[] players = new CardPlayer[gamePlayers.length];
-		final String startPhase = plugin.checkParamsFor(PluginKeyword.START_PHASE);
-		if (!phases.contains(startPhase)) {
-			throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.START_PHASE.toString(), startPhase);
+		// Create Engine Components, or read them from the pack
+		final List<RuleLibrary> libraries = RuleLibrary.include(plugin);
+		final ByteBuffer packed = plugin.getCompiled();
+		final CompiledRules compiled = packed == null ? null : CompiledRules.read(plugin, packed, libraries);
+		final EngineComponentSet<Action> actions;
+		final EngineComponentSet<Condition> conditions;
+		final EngineComponentSet<ControlledAction> cActions;
+		final EngineComponentSet<Phase> phases;
+		final Phase startPhase;
+		final Engine.DirectionOfPlay direction;
+		if (compiled != null) {
+			actions = compiled.actions;
+			conditions = compiled.conditions;
+			cActions = compiled.cActions;
+			phases = compiled.phases;
+			startPhase = compiled.startPhase;
+			direction = compiled.direction;
 		}
-		for (int i = 0; i < players.length; i++) {
-			// Read rules to get direction of play, order players in array accordingly
-			switch (PluginKeyword.DIRECTION_OF_PLAY.checkBoundedParams(plugin, Engine.DirectionOfPlay.class)) {
-			case CCW:
-				// Put players in reverse order
-				players[i] = new CardPlayer(gamePlayers[players.length - 1 - i], pileFactory.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins));
-				break;
-			case CW:
-			default:
-				// Put players in forward order
-				players[i] = new CardPlayer(gamePlayers[i], pileFactory.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins));
-				
-				break;
+		else {
+			EngineComponentFactory comFactory = EngineComponentFactory.getInstance();
+			actions = comFactory.createActions(plugin, libraries);
+			conditions = comFactory.createConditions(plugin, libraries);
+			cActions = comFactory.createControlledActions(plugin, conditions, actions, libraries);
+			phases = comFactory.createPhases(plugin, actions, conditions, cActions);
+			final String startName = plugin.checkParamsFor(PluginKeyword.START_PHASE);
+			if (!phases.contains(startName)) {
+				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.START_PHASE.toString(), startName);
 			}
-			players[i].setStartingPhase(phases.get(startPhase));
+			startPhase = phases.get(startName);
+			direction = PluginKeyword.DIRECTION_OF_PLAY.checkBoundedParams(plugin, Engine.DirectionOfPlay.class);
 		}
 		
-		// Create Deck, Board, and Dealer
-		final Deck deck = DeckFactory.INSTANCE.createDeck(plugin);
-		final CardGameBoard board = CardGameBoardFactory.INSTANCE.createCardGameBoard(boardPlugin, deck);
+		// Create the piles of one player, copied empty for each player of each game
+		final Cards cards = EngineFactory.join(cardsLoad);
+		final Plugin boardPlugin = EngineFactory.join(boardLoad);
+		final Plugin[] pilePlugins = EngineFactory.join(pilesLoad);
+		final CardPileCollection playerPiles = CardPileFactory.INSTANCE.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins);
+		final CardPlayer[] players = { new CardPlayer(plugin.getFilename().getRawName(), playerPiles) };
+		EngineComponentCollecion components = new EngineComponentCollecion(conditions, actions, cActions, phases, cards.aliases);
+		
+		// Create Board and Dealer
+		final CardGameBoard board = CardGameBoardFactory.INSTANCE.createCardGameBoard(boardPlugin, cards.deck);
 		final CardPileCollection commonPiles = board.getCommonPiles();
-		final CardDealer dealer = CardDealerFactory.INSTANCE.createCardDealer(plugin, commonPiles, deck, players);
-		final PlayingCardRanking ranking = PlayingCardFactory.INSTANCE.createCardRanking(plugin);
+		final CardDealer dealer = compiled != null ? compiled.createDealer(commonPiles, cards.deck, players) :
+							CardDealerFactory.INSTANCE.createCardDealer(plugin, commonPiles, cards.deck, players);
 
-		return new CardGameEngine(plugin.getFilename().getConvertedName(), components, ranking, board, dealer, players);
+		return new GameDefinition(plugin.getFilename().getConvertedName(), components, libraries, cards.ranking,
+								  startPhase, direction, board, playerPiles, dealer);
+	}
+	
+	/*
+	 * The deck, card aliases, and ranking of a game, which share one card catalog.
+	 */
+	private static final class Cards {
+		private final Deck deck;
+		private final EngineComponentSet<PlayingCardAlias> aliases;
+		private final PlayingCardRanking ranking;
+		
+		private Cards(final Deck deck, final EngineComponentSet<PlayingCardAlias> aliases, final PlayingCardRanking ranking) {
+			this.deck = deck;
+			this.aliases = aliases;
+			this.ranking = ranking;
+		}
+	}
+	
+	/*
+	 * Create the Deck and card aliases, then the card catalog shared by both, and the ranking of its cards.
+	 * The order is fixed so that every card gets the same id on every load.
+	 */
+	private Cards createCards(final Plugin plugin, final PlayingCardCatalog.Builder cardBuilder) throws PluginException {
+		final Deck deck = DeckFactory.INSTANCE.createDeck(plugin, cardBuilder);
+		final EngineComponentSet<PlayingCardAlias> aliases = EngineComponentFactory.INSTANCE.createAliases(plugin, cardBuilder);
+		final PlayingCardCatalog catalog = cardBuilder.build();
+		return new Cards(deck, aliases, PlayingCardFactory.INSTANCE.createCardRanking(plugin, catalog));
+	}
+	
+/*------------------------------------------------
+    Loading Tasks
+ ------------------------------------------------*/
+	/* A step of loading a game, which may fail with a PluginException */
+	private static interface Step<T> {
+		T run() throws PluginException;
+	}
+	
+	/*
+	 * Run the step, wrapping any PluginException so it can pass through a CompletableFuture.
+	 */
+	private static <T> T call(final Step<T> step) {
+		try {
+			return step.run();
+		} catch (PluginException e) {
+			throw new CompletionException(e);
+		}
+	}
+	
+	/*
+	 * Run the step in the background.
+	 */
+	private static <T> CompletableFuture<T> async(final Step<T> step) {
+		return CompletableFuture.supplyAsync(() -> EngineFactory.call(step));
+	}
+	
+	/*
+	 * Wait for the result of a background step, throwing any PluginException it failed with.
+	 */
+	private static <T> T join(final CompletableFuture<T> future) throws PluginException {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof PluginException) {
+				throw (PluginException)e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw e;
+		}
 	}
 	
 }
\ No newline at end of file
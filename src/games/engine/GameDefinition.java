@@ -0,0 +1,194 @@
+/***********************************************************************//**
+* @file			GameDefinition.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Compiled rules of a card game, shared by every table playing it
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			EngineFactory
+* @see			CardGameEngine
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine;
+
+import java.util.List;
+
+import games.Strings;
+import games.engine.util.CardDealer;
+import games.engine.util.CardGameBoard;
+import games.engine.util.CardPile;
+import games.engine.util.CardPileCollection;
+import games.engine.util.CardPlayer;
+import games.engine.util.GamePlayer;
+import games.engine.util.GameRandom;
+import games.engine.util.PlayingCardRanking;
+
+/******************************************************************//**
+ * The GameDefinition Class
+ * - Everything about a game that does not change during play: its
+ *   components, ranking, deck, board layout, piles, and deal plan,
+ *   parsed and validated once from the rules plugin
+ * - Immutable and thread safe; each table is a <tt>CardGameEngine</tt>
+ *   created from it, which shares all of the above and holds only
+ *   its own piles, players, dealing position, phase and turn
+ * - Create with <tt>EngineFactory.createGameDefinition</tt>
+ ********************************************************************/
+public final class GameDefinition {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private final String name;
+	private final EngineComponentCollecion components;
+	private final List<RuleLibrary> libraries;		// included by the rules, whose components come first
+	private final PlayingCardRanking ranking;
+	private final Phase startPhase;
+	private final Engine.DirectionOfPlay direction;
+	private final CardGameBoard board;				// never played; its piles are copied empty
+	private final CardPileCollection playerPiles;	// piles of one player, never played
+	private final CardDealer dealer;				// never dealt; each table takes a branch sharing its deal plan
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/*
+	 * Construct a game definition from its validated parts.
+	 * The board, piles and dealer must not be used by anything else.
+	 */
+	GameDefinition(final String name,
+				   final EngineComponentCollecion components,
+				   final List<RuleLibrary> libraries,
+				   final PlayingCardRanking ranking,
+				   final Phase startPhase,
+				   final Engine.DirectionOfPlay direction,
+				   final CardGameBoard board,
+				   final CardPileCollection playerPiles,
+				   final CardDealer dealer) {
+		this.name = name;
+		this.components = components;
+		this.libraries = libraries;
+		this.ranking = ranking;
+		this.startPhase = startPhase;
+		this.direction = direction;
+		this.board = board;
+		this.playerPiles = playerPiles;
+		this.dealer = dealer;
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the name of this game.
+	 *
+	 * @return the name of this game
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the ranking of the cards in this game.
+	 *
+	 * @return the card ranking of this game
+	 */
+	public PlayingCardRanking getRanking() {
+		return ranking;
+	}
+
+	/**
+	 * Returns the phase each player starts in.
+	 *
+	 * @return the starting phase of this game
+	 */
+	public Phase getStartPhase() {
+		return startPhase;
+	}
+	
+	/* Returns the components of this game */
+	EngineComponentCollecion getComponents() {
+		return components;
+	}
+	
+	/* Returns the libraries included by the rules of this game */
+	List<RuleLibrary> getLibraries() {
+		return libraries;
+	}
+	
+	/* Returns the direction of play */
+	Engine.DirectionOfPlay getDirection() {
+		return direction;
+	}
+	
+	/* Returns the dealer of this game, which must not deal */
+	CardDealer getDealer() {
+		return dealer;
+	}
+
+/*------------------------------------------------
+    Engines
+ ------------------------------------------------*/
+	/**
+	 * Creates a new table of this game, with piles stored in arrays.
+	 *
+	 * @param gamePlayers the players of the game
+	 * @return a new card game engine
+	 */
+	public CardGameEngine createEngine(final GamePlayer...gamePlayers) {
+		return this.createEngine(CardPile.Storage.ARRAY, new GameRandom(), gamePlayers);
+	}
+
+	/**
+	 * Creates a new table of this game, whose hands are seeded from the specified random stream.
+	 * Nothing is parsed or validated; the table shares every immutable part of this definition,
+	 * and creates only its empty piles, its players, and a dealer bound to them.
+	 * This method may be called from any number of threads at once.
+	 *
+	 * @param storage how the cards in each card pile are stored
+	 * @param random the random stream each hand is seeded from
+	 * @param gamePlayers the players of the game
+	 * @return a new card game engine
+	 */
+	public CardGameEngine createEngine(final CardPile.Storage storage, final GameRandom random, final GamePlayer...gamePlayers) {
+		final CardPlayer[] players = new CardPlayer[gamePlayers.length];
+		for (int i = 0; i < players.length; i++) {
+			// Order players by the direction of play
+			switch (direction) {
+			case CCW:
+				players[i] = new CardPlayer(gamePlayers[players.length - 1 - i], playerPiles.createEmpty(storage));
+				break;
+			case CW:
+			default:
+				players[i] = new CardPlayer(gamePlayers[i], playerPiles.createEmpty(storage));
+				break;
+			}
+			players[i].setStartingPhase(startPhase);
+		}
+		final CardGameBoard table = board.createEmpty(storage);
+		final CardDealer tableDealer = dealer.branch(table.getCommonPiles(), players);
+		return new CardGameEngine(name, components, ranking, table, tableDealer, random, players);
+	}
+
+/*------------------------------------------------
+    Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Return information about this game.
+	 *
+	 * @return string containing information about this game
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Game: ").append(name).append(Strings.NEW_LINE);
+		str.append("Board: ").append(board.getName()).append(Strings.NEW_LINE);
+		str.append("Deck: ").append(board.getDeck().getName()).append(Strings.NEW_LINE);
+		str.append("Start Phase: ").append(startPhase.getName()).append(Strings.NEW_LINE);
+		return str.toString();
+	}
+}
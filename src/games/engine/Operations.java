@@ -51,14 +51,17 @@ public final class Operations {
 		case GOTO:
 			checkNumberOfParams(1, operation, params);
 			engine.getCurrentPlayer().setPhase(params[0].getPhase());
+			engine.touch();
 			break;
 		case PLAYER_WIN:
 			checkNumberOfParams(1, operation, params);
 			params[0].getCardPlayer().wins();
+			engine.touch();
 			break;
 		case PLAYER_LOSE:
 			checkNumberOfParams(1, operation, params);
 			params[0].getCardPlayer().loses();
+			engine.touch();
 			break;
 		case MATCH:
 		case MATCH_RANK:
@@ -79,10 +82,9 @@ public final class Operations {
 				PlayingCardRanking ranking = engine.getRanking();
 				switch (operation) {
 				case MATCH_RANK:
+					final int rank = ranking.valueOf(card);
 					for (final PlayingCard c : cards) {
-						System.out.println(c);
-						if (ranking.compare(card, c) != 0) {
-							System.out.println("NO MATCH!");
+						if (ranking.valueOf(c) != rank) {
 							ret = Operation.Return.Value.FALSE;
 							break;
 						}
@@ -106,13 +108,21 @@ public final class Operations {
 			CardPile pile = params[0].getCardPile(); 
 			cards = pile.removeAll();
 			PlayingCardRanking ranking = engine.getRanking();
+			// Look up each rank once, then sort the primitive keys along with the cards
+			final int[] ranks = new int[cards.length];
+			for (int j = 0; j < cards.length; j++) {
+				ranks[j] = ranking.valueOf(cards[j]);
+			}
 			int i = 0;
 			for (int j = 1; j < cards.length; j++) {
 				card = cards[j];
-				for (i = j-1; i >= 0 && ranking.compare(cards[i], card) < 0; i--) {
+				final int rank = ranks[j];
+				for (i = j-1; i >= 0 && ranks[i] < rank; i--) {
 					cards[i + 1] = cards[i];
+					ranks[i + 1] = ranks[i];
 				}
 				cards[i + 1] = card;
+				ranks[i + 1] = rank;
 			}
 			pile.add(cards);
 			break;
@@ -141,7 +151,7 @@ public final class Operations {
 			break;
 		case PUT_ALL:
 			checkNumberOfParams(2, operation, params);
-			params[1].getCardPile().add(params[0].getCardPile().removeAll());
+			params[0].getCardPile().transferAll(params[1].getCardPile());
 			break;
 		case COMPARE_SIZE_TO:
 			checkNumberOfParams(2, operation, params);
@@ -164,17 +174,8 @@ public final class Operations {
 		case PUT_MULTIPLE:
 			checkNumberOfParams(3, operation, params);
 			cards = Operation.Parameter.Value.asCards(params);
-			for (final PlayingCard c : cards) {
-				if (!params[0].getCardPile().contains(c)) {
-					ret = Operation.Return.Value.FALSE;
-					break;
-				}
-			}
-			if (ret == Operation.Return.Value.TRUE) {
-				for (final PlayingCard c : cards) {
-					params[0].getCardPile().remove(c);
-					params[1].getCardPile().add(c);
-				}
+			if (!params[0].getCardPile().transferMatching(params[1].getCardPile(), cards)) {
+				ret = Operation.Return.Value.FALSE;
 			}
 			break;
 		case EXCHANGE:
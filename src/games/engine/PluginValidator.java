@@ -0,0 +1,117 @@
+/***********************************************************************//**
+* @file			PluginValidator.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Validates many rules plugins at once, across every core
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			EngineFactory
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginList;
+
+/******************************************************************//**
+ * The PluginValidator Class
+ * - Validates rules plugins, with their boards and decks, by creating
+ *   the <tt>GameDefinition</tt> of each; one task per rules plugin,
+ *   spread over a thread for each core
+ * - Plugins are loaded through the <tt>PluginCache</tt>, so a board or
+ *   deck shared by many rule variants is parsed once
+ * - Run as a program to validate a whole plugin directory, for example
+ *   in a build: <tt>java games.engine.PluginValidator [rules.name.txt ...]</tt>
+ *   exits with status 1 if any plugin is invalid
+ ********************************************************************/
+public final class PluginValidator {
+
+	/* Construct nothing; this class is a collection of static methods */
+	private PluginValidator() {}
+
+	/**
+	 * Validates the specified rules plugins in parallel.
+	 *
+	 * @param rules filenames of the rules plugins to validate
+	 * @return the error found in each invalid plugin, in the order given; empty if all are valid
+	 */
+	public static Map<PluginFilename, PluginException> validate(final Collection<PluginFilename> rules) {
+		final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			final List<CompletableFuture<PluginException>> tasks = new ArrayList<CompletableFuture<PluginException>>(rules.size());
+			for (final PluginFilename filename : rules) {
+				tasks.add(CompletableFuture.supplyAsync(() -> PluginValidator.check(filename), executor));
+			}
+			final Map<PluginFilename, PluginException> errors = new LinkedHashMap<PluginFilename, PluginException>();
+			int ndx = 0;
+			for (final PluginFilename filename : rules) {
+				final PluginException error = tasks.get(ndx++).join();
+				if (error != null) {
+					errors.put(filename, error);
+				}
+			}
+			return errors;
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/*
+	 * Returns the error found in the specified rules plugin, or null if it is valid.
+	 */
+	private static PluginException check(final PluginFilename rules) {
+		try {
+			EngineFactory.INSTANCE.createGameDefinition(PluginCache.INSTANCE.get(rules));
+			return null;
+		} catch (PluginException e) {
+			return e;
+		} catch (RuntimeException e) {
+			return new PluginException(e.toString(), e);
+		}
+	}
+
+	/**
+	 * Validates the specified rules plugins, or every rules plugin if none are given,
+	 * and prints each error found.
+	 *
+	 * @param args filenames of rules plugins: rules.name.txt
+	 */
+	public static void main(final String[] args) {
+		final List<PluginFilename> rules = new ArrayList<PluginFilename>();
+		if (args.length == 0) {
+			for (final PluginFilename filename : new PluginList(Plugin.Type.RULES).get()) {
+				rules.add(filename);
+			}
+		}
+		for (final String arg : args) {
+			rules.add(new PluginFilename(arg));
+		}
+		final long start = System.nanoTime();
+		final Map<PluginFilename, PluginException> errors = PluginValidator.validate(rules);
+		for (final Map.Entry<PluginFilename, PluginException> error : errors.entrySet()) {
+			System.out.println(error.getKey() + ": " + error.getValue().getMessage());
+		}
+		System.out.printf("%d of %d rules plugins valid (%.1f ms)%n", rules.size() - errors.size(), rules.size(), (System.nanoTime() - start) / 1e6);
+		if (!errors.isEmpty()) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,194 @@
+/***********************************************************************//**
+* @file			RuleLibrary.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Conditions and actions shared by many rules plugins
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			EngineComponentFactory
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+package games.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+
+/******************************************************************//**
+ * The RuleLibrary Class
+ * - The conditions, actions, and controlled actions of a library
+ *   plugin, <tt>library.name.txt</tt>, written as they would be in a
+ *   rules plugin; rules use them with <tt>include name</tt>
+ * - Components of a library may only refer to others in the same
+ *   library, and a library cannot include another; rules may refer to
+ *   the components of every library they include
+ * - Each library is compiled and validated once per process, and the
+ *   same immutable components are shared by every game including it;
+ *   it is compiled again only when the <tt>PluginCache</tt> reads its
+ *   file again
+ ********************************************************************/
+public final class RuleLibrary {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final ConcurrentHashMap<String, RuleLibrary> LIBRARIES = new ConcurrentHashMap<String, RuleLibrary>();
+
+	private final Plugin plugin;					// plugin this library was compiled from
+	private final EngineComponentSet<Condition> conditions;
+	private final EngineComponentSet<Action> actions;
+	private final EngineComponentSet<ControlledAction> cActions;
+
+	/* Construct a library of the specified components */
+	private RuleLibrary(final Plugin plugin,
+						final EngineComponentSet<Condition> conditions,
+						final EngineComponentSet<Action> actions,
+						final EngineComponentSet<ControlledAction> cActions) {
+		this.plugin = plugin;
+		this.conditions = conditions;
+		this.actions = actions;
+		this.cActions = cActions;
+	}
+
+/*------------------------------------------------
+ 	Lookup
+ ------------------------------------------------*/
+	/**
+	 * Returns the libraries included by the specified rules plugin, in the order they are included.
+	 *
+	 * @param rules the rules plugin
+	 * @return the included libraries; empty if there are none
+	 * @throws PluginException if a library does not exist or is invalid
+	 */
+	public static List<RuleLibrary> include(final Plugin rules) throws PluginException {
+		final List<PluginFilename> includes = rules.checkIncludes();
+		if (includes.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<RuleLibrary> libraries = new ArrayList<RuleLibrary>(includes.size());
+		for (final PluginFilename filename : includes) {
+			libraries.add(RuleLibrary.get(filename));
+		}
+		return Collections.unmodifiableList(libraries);
+	}
+
+	/**
+	 * Returns the library with the specified filename, compiling it only if it has not been
+	 * compiled from the current plugin. Threads asking for the same library wait for one compile.
+	 *
+	 * @param filename the filename of the library: library.name.txt
+	 * @return the compiled library
+	 * @throws PluginException if the library does not exist or is invalid
+	 */
+	public static RuleLibrary get(final PluginFilename filename) throws PluginException {
+		final Plugin plugin = PluginCache.INSTANCE.get(filename);
+		plugin.checkType(Plugin.Type.LIBRARY);
+		final RuleLibrary library = LIBRARIES.get(filename.toString());
+		if (library != null && library.plugin == plugin) {
+			return library;
+		}
+		try {
+			return LIBRARIES.compute(filename.toString(), (name, old) ->
+					old != null && old.plugin == plugin ? old : RuleLibrary.compile(plugin));
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof PluginException) {
+				throw (PluginException)e.getCause();
+			}
+			throw e;
+		}
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the name of this library, as it is included.
+	 *
+	 * @return the name of this library
+	 */
+	public String getName() {
+		return plugin.getFilename().getRawName();
+	}
+
+	/**
+	 * Returns the conditions of this library.
+	 *
+	 * @return set of conditions
+	 */
+	public EngineComponentSet<Condition> getConditions() {
+		return conditions;
+	}
+
+	/**
+	 * Returns the actions of this library.
+	 *
+	 * @return set of actions
+	 */
+	public EngineComponentSet<Action> getActions() {
+		return actions;
+	}
+
+	/**
+	 * Returns the controlled actions of this library.
+	 *
+	 * @return set of controlled actions
+	 */
+	public EngineComponentSet<ControlledAction> getControlledActions() {
+		return cActions;
+	}
+
+	/**
+	 * Return information about this library.
+	 *
+	 * @return string containing information about this library
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append(plugin.getFilename()).append(": ")
+		   .append(conditions.getSize()).append(" conditions, ")
+		   .append(actions.getSize()).append(" actions, ")
+		   .append(cActions.getSize()).append(" controlled actions");
+		return str.toString();
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Compiles and validates the components of the specified library plugin, wrapping any
+	 * PluginException so it can pass out of the map.
+	 */
+	private static RuleLibrary compile(final Plugin plugin) {
+		try {
+			if (plugin.contains(PluginKeyword.INCLUDE)) {
+				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin,
+											 PluginKeyword.INCLUDE.toString(), plugin.getParamsFor(PluginKeyword.INCLUDE));
+			}
+			final EngineComponentFactory factory = EngineComponentFactory.INSTANCE;
+			final List<RuleLibrary> none = Collections.emptyList();
+			final EngineComponentSet<Condition> conditions = factory.createConditions(plugin, none);
+			final EngineComponentSet<Action> actions = factory.createActions(plugin, none);
+			final EngineComponentSet<ControlledAction> cActions = factory.createControlledActions(plugin, conditions, actions, none);
+			if (conditions.isEmpty() && actions.isEmpty() && cActions.isEmpty()) {
+				throw PluginException.create(PluginException.Type.MISSING_KEYWORD, plugin,
+											 PluginKeyword.CONDITION.toString(), PluginKeyword.ACTION.toString());
+			}
+			return new RuleLibrary(plugin, conditions, actions, cActions);
+		} catch (PluginException e) {
+			throw new CompletionException(e);
+		}
+	}
+}
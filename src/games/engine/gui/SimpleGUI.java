@@ -610,6 +610,8 @@ public class SimpleGUI extends BuildableContainer<JFrame> implements Displayable
 		private final CardPlayer player;
 		private final CardPile pile;
 		private JLabel labelOwner;
+		private long shownStamp = -1;		// pile stamp when the cards were last shown
+		private int shownCards = -1;		// number of cards last shown
 		
 		/** Construct this panel with the specified CardPile */
 		private CardPilePanel(final CardPile pile) {
@@ -641,12 +643,19 @@ public class SimpleGUI extends BuildableContainer<JFrame> implements Displayable
 		
 		/** Update this panel */
 		@Override public void refresh() {
+			final int numVisible = getNumVisibleCards();
+			// Nothing to redraw if the pile and the number of visible cards have not changed
+			if (pile.getStamp() == shownStamp && numVisible == shownCards) {
+				return;
+			}
+			shownStamp = pile.getStamp();
+			shownCards = numVisible;
 			final StringBuilder str = new StringBuilder();
 			str.append(pile.getParameters().getOwner()).append(" card pile - ").append(pile.getParameters().getName())
 			   .append(": ").append(pile.getSize()).append(" Cards");
 			labelOwner.setText(str.toString());
 			cardPanel.removeAll();
-			for (PlayingCard card : pile.get(getNumVisibleCards())) {
+			for (PlayingCard card : pile.get(numVisible)) {
 				createAndAddLabel(cardPanel, card.toString());
 			}
 		}
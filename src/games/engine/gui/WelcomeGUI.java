@@ -41,13 +41,13 @@ import javax.swing.SwingConstants;
 import games.Strings;
 import games.engine.Engine;
 import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
 import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginExceptionDialog;
 import games.engine.plugin.PluginFile;
 import games.engine.plugin.PluginFilename;
-import games.engine.plugin.PluginKeyword;
-import games.engine.plugin.PluginList;
-import games.engine.plugin.PluginPattern;
+import games.engine.plugin.PluginIndex;
+import games.engine.plugin.PluginLexer;
 import games.engine.util.GamePlayer;
 
 public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayable, ActionListener {
@@ -61,6 +61,7 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 	private BuildablePanel briefPanel;
 	private JButton playButton;
 	private Plugin plugin;
+	private PluginIndex index;
 	private GamePlayer[] players;
 	
 /*------------------------------------------------
@@ -238,7 +239,7 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 	
 	/* Get the necessary engine components and create the engine */
 	private void createGame() throws PluginException {
-		plugin = new Plugin(group.getSelectedButton().getFilename());
+		plugin = PluginCache.INSTANCE.get(group.getSelectedButton().getFilename());
 		createGamePlayers(getNumPlayers());
 		if (players != null && players.length > 0) {
 			
@@ -274,41 +275,10 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 		}
 	}
 	
-	/* Get Game number of game players, letting user select from options in plugin */
+	/* Get Game number of game players, letting user select from the options in the index */
 	private int getNumPlayers() throws PluginException {
-		final String line = plugin.checkParamsFor(PluginKeyword.PLAYERS);
-		int numPlayers = 0;
-		if (line.contains(PluginPattern.DASH.toString())) {
-			final String[] parts = line.split(PluginPattern.DASH.toString());
-			if (parts.length != 2) {
-				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.PLAYERS.toString(), line);
-			}
-			final int min = convertString(parts[0], plugin);
-			final int max = convertString(parts[1], plugin);
-			if (min >= max) {
-				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.PLAYERS.toString(), line);
-			}
-			final int[] nums = new int[max - min + 1];
-			for (int i = 0; i < nums.length; i++) {
-				nums[i] = i + min;
-			}
-			numPlayers = getNumPlayers(nums);
-		}
-		else if (line.contains(PluginPattern.COMMA.toString())) {
-			final String[] parts = line.split(PluginPattern.COMMA.toString());
-			if (parts.length < 2) {
-				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.PLAYERS.toString(), line);
-			}
-			final int[] nums = new int[parts.length];
-			for (int i = 0; i < nums.length; i++) {
-				nums[i] = convertString(parts[i], plugin);
-			}
-			numPlayers = getNumPlayers(nums);
-		}
-		else {
-			numPlayers = 0;
-		}
-		return numPlayers;
+		final int[] nums = index.checkEntry(group.getSelectedButton().getFilename()).getPlayerCounts();
+		return nums.length == 1 ? nums[0] : getNumPlayers(nums);
 	}
 	
 	/* Get the number of players by displaying a dialog, asking the user for input. */
@@ -318,15 +288,6 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 		return dialog.getSelectedNum();
 	}
 	
-	/* Convert the string to an integer */
-	private int convertString(final String string, final Plugin plugin) throws PluginException {
-		try {
-			return Integer.valueOf(string);
-		} catch (NumberFormatException e) {
-			throw PluginException.create(PluginException.Type.DATA_REPRESENTATION, e, plugin, string);
-		}
-	}
-	
 	/* **********************************************************************
 	 * Nested Class NumPlayersDialog
 	 * 	- Displays all possible parameter options for a selected action
@@ -412,8 +373,7 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 				file = group.getSelectedButton().getFilename().toFile(Plugin.Type.BRIEF);
 				if (file.exists()) {
 					innerPanel.removeAll();
-					lines = Plugin.readPluginFile(file);
-					Plugin.processFileLines(lines, false);
+					lines = PluginLexer.read(file, false);
 					filenameLabel.setText(Strings.toCamelCase(file.getFilename().getRawName()));
 					add(Box.createRigidArea(Constants.SPACER));
 					for (final String s : lines) {
@@ -464,7 +424,7 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 	
 	/* **********************************************************************
 	 * Nested Class GamePanel
-	 * 	- Displays all possible games by searching the plugin directory for rules files.
+	 * 	- Displays all possible games listed in the plugin index.
 	 ************************************************************************/
 	private class GamePanel extends BuildablePanel {
 		private static final long serialVersionUID = 2660893882809373859L;
@@ -474,7 +434,8 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 		@Override public void refresh() {
 			innerPanel.removeAll();
 			group.removeAll();
-			group.createAndAddButtons(Plugin.Type.RULES, innerPanel);
+			index = PluginIndex.open();
+			group.createAndAddButtons(index, innerPanel);
 			group.setFirstButtonAsSelected();
 			//innerPanel.add(Box.createVerticalGlue());
 		}
@@ -573,11 +534,10 @@ public class WelcomeGUI extends BuildableContainer<JFrame> implements Displayabl
 		
 		private static final long serialVersionUID = 6857152407119045203L;
 
-		/** Create PluginFilenameRadioButtons of the specified type and add to this group. */
-		public void createAndAddButtons(final Plugin.Type type, final Container con) {
-			final PluginList pList = new PluginList(type);
-			for (final PluginFilename fName : pList.get()) {
-				PluginFilenameRadioButton button = new PluginFilenameRadioButton(fName);
+		/** Create PluginFilenameRadioButtons for the rules plugins in the index and add to this group. */
+		public void createAndAddButtons(final PluginIndex index, final Container con) {
+			for (final PluginIndex.Entry entry : index.getEntries()) {
+				PluginFilenameRadioButton button = new PluginFilenameRadioButton(entry.getFilename());
 				button.setBackground(con.getBackground());
 				JPanel panel = new JPanel();
 				panel.setLayout(new BoxLayout(panel, BoxLayout.X_AXIS));
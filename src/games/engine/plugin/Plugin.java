@@ -17,11 +17,16 @@ package games.engine.plugin;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import games.Strings;
 
@@ -30,6 +35,8 @@ import games.Strings;
  * - A representation of the component data contained in a game plugin file
  * - Plugin is quasi-immutable
  * - Also contains various static utilities for handing plugin files
+ * - Lines are indexed by their first word as the plugin is read, so
+ *   finding and counting keywords does not scan the file
  ********************************************************************/
 public class Plugin {
 
@@ -45,7 +52,9 @@ public class Plugin {
 		/** Defines the rules of a game */
 		RULES,
 		/** Briefly describe the game to players */
-		BRIEF}
+		BRIEF,
+		/** Defines conditions and actions shared by rules */
+		LIBRARY}
 	
 	/** Directory where plugin files are found. */
 	public static final File DIRECTORY = new File(System.getProperty("user.dir").concat("/plugin"));
@@ -61,8 +70,22 @@ public class Plugin {
 /*------------------------------------------------
  	Constants and Attributes
  ------------------------------------------------*/
+	private static final Map<String, PluginKeyword> KEYWORDS = new HashMap<String, PluginKeyword>();
+	static {
+		for (final PluginKeyword keyword : PluginKeyword.values()) {
+			KEYWORDS.put(keyword.toString(), keyword);
+		}
+	}
+
 	private final PluginFilename filename;	// PluginFile used to create this Plugin
 	private final List<String> lines;		// Each line of the plugin file
+	private final Map<String, int[]> index;	// Lines starting with each first word
+	private final Map<String, int[]> found;	// Lines starting with each string searched for
+	private final PluginSection sections;	// Tree of sections in this plugin
+	Map<String, Plugin> bundle;				// Plugins this one was packed with, by filename
+	ByteBuffer compiled;					// Resolved components stored with packed rules, or null
+	long checksum = PluginLexer.Source.UNKNOWN;	// CRC-32 of the text file this was lexed or packed from
+	private long[] origins;					// Line and column each line was read from, if known
 	
 /*------------------------------------------------
  	Constructor(s)
@@ -104,12 +127,22 @@ public class Plugin {
 	/**
 	 *  Construct a <tt>Plugin</tt> from the given <tt>PluginFile</tt>.
 	 *  Plugins ignore comments, book-end whitespace, and capitalization.
+	 *  The file is lexed by <tt>PluginLexer</tt>, which processes each line as it is read.
 	 * 
 	 * @param pluginFile Plugin File to use
 	 * @throws PluginException if the plugin does not exist or is empty
 	 */
 	public Plugin(final PluginFile pluginFile) throws PluginException {
-		this(readPluginFile(pluginFile), pluginFile.getFilename());
+		this(PluginLexer.readSource(pluginFile, true), pluginFile.getFilename());
+	}
+	
+	/*
+	 * Construct a Plugin from lines lexed from a file, remembering where each was found.
+	 */
+	private Plugin(final PluginLexer.Source source, final PluginFilename pluginFilename) throws PluginException {
+		this(source.lines, pluginFilename, true);
+		this.origins = source.origins;
+		this.checksum = source.checksum;
 	}
 	
 	/**
@@ -121,12 +154,45 @@ public class Plugin {
 	 * @throws PluginException if no keywords are found
 	 */
 	public Plugin(final List<String> lines, final PluginFilename pluginFilename) throws PluginException {
+		this(lines, pluginFilename, false);
+	}
+	
+	/*
+	 * Construct a Plugin from the specified lines, which may already have been processed.
+	 */
+	Plugin(final List<String> lines, final PluginFilename pluginFilename, final boolean isProcessed) throws PluginException {
 		if (lines.isEmpty()) {
 			throw PluginException.create(PluginException.Type.MISSING_KEYWORD, pluginFilename);
 		}
 		this.lines = new ArrayList<String>(lines);
 		this.filename = pluginFilename;
-		processFileLines(this.lines, true);
+		if (!isProcessed) {
+			processFileLines(this.lines, true);
+		}
+		
+		// Index the lines by first word, and note which are keywords
+		final Map<String, List<Integer>> words = new HashMap<String, List<Integer>>();
+		final PluginKeyword[] keywords = new PluginKeyword[this.lines.size()];
+		for (int ndx = 0; ndx < keywords.length; ndx++) {
+			final String word = firstWord(this.lines.get(ndx));
+			List<Integer> list = words.get(word);
+			if (list == null) {
+				list = new ArrayList<Integer>();
+				words.put(word, list);
+			}
+			list.add(ndx);
+			keywords[ndx] = KEYWORDS.get(word);
+		}
+		this.index = new HashMap<String, int[]>(words.size() * 2);
+		for (final Map.Entry<String, List<Integer>> entry : words.entrySet()) {
+			final int[] positions = new int[entry.getValue().size()];
+			for (int i = 0; i < positions.length; i++) {
+				positions[i] = entry.getValue().get(i);
+			}
+			index.put(entry.getKey(), positions);
+		}
+		this.found = new ConcurrentHashMap<String, int[]>();
+		this.sections = PluginSection.build(this, keywords);
 	}
 	
 	/**
@@ -157,6 +223,18 @@ public class Plugin {
 		}
 	}
 	
+	/*
+	 * Returns the first word of the specified line.
+	 */
+	private static String firstWord(final String line) {
+		for (int i = 0; i < line.length(); i++) {
+			if (Character.isWhitespace(line.charAt(i))) {
+				return line.substring(0, i);
+			}
+		}
+		return line;
+	}
+	
 	/**
 	 * Create and return a List of Strings found in the PluginFile.
 	 * 
@@ -198,6 +276,81 @@ public class Plugin {
 		return filename;
 	}
 
+	/**
+	 * Returns the <tt>Plugin</tt> of the specified type and name that this one refers to,
+	 * such as the board or deck of a rules plugin. If this plugin was loaded from a
+	 * <tt>RulePack</tt>, the packed copy is returned; otherwise it comes from the <tt>PluginCache</tt>.
+	 * 
+	 * @param type the type of plugin
+	 * @param rawName raw name of the plugin (no prefix or extension)
+	 * @return the plugin of the specified type and name
+	 * @throws PluginException if the plugin does not exist
+	 */
+	public Plugin open(final Plugin.Type type, final String rawName) throws PluginException {
+		final PluginFilename name = new PluginFilename(type, rawName);
+		if (bundle != null && bundle.containsKey(name.toString())) {
+			return bundle.get(name.toString());
+		}
+		return PluginCache.INSTANCE.get(name);
+	}
+	
+	/**
+	 * Returns the resolved components stored with this rules plugin in a <tt>RulePack</tt>,
+	 * which were validated when the pack was compiled.
+	 * 
+	 * @return a read-only buffer of the resolved components, or null if this plugin was not packed
+	 * @see games.engine.CompiledRules
+	 */
+	public ByteBuffer getCompiled() {
+		return compiled == null ? null : compiled.asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Returns the filenames of the libraries this plugin includes, in the order they are included.
+	 * Each library is named on its own line: <tt>include name</tt>.
+	 * 
+	 * @return the filenames of the included libraries; empty if there are none
+	 * @throws PluginException if a library is not named, or not named properly
+	 */
+	public List<PluginFilename> checkIncludes() throws PluginException {
+		final List<PluginFilename> includes = new ArrayList<PluginFilename>();
+		for (final int ndx : this.positionsOf(PluginKeyword.INCLUDE.toString())) {
+			final String params = this.checkParamsFor(PluginKeyword.INCLUDE, ndx);
+			final String[] words = PluginLexer.words(params);
+			if (words.length != 1 || words[0].indexOf('.') >= 0) {
+				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, this, PluginKeyword.INCLUDE.toString(), params);
+			}
+			final String name = words[0];
+			final PluginFilename filename = new PluginFilename(Plugin.Type.LIBRARY, name);
+			if (includes.stream().anyMatch(f -> f.toString().equals(filename.toString()))) {
+				throw PluginException.create(PluginException.Type.INVALID_PARAMETER, this, PluginKeyword.INCLUDE.toString(), name);
+			}
+			includes.add(filename);
+		}
+		return includes;
+	}
+	
+	/**
+	 * Returns the smallest number of players this rules plugin allows: the first number of its
+	 * player count, as in <tt>players 2-4</tt> or <tt>players 3,5</tt>.
+	 * 
+	 * @param defaultPlayers the number returned if this plugin has no player count
+	 * @return the smallest number of players allowed
+	 * @throws PluginException if the player count does not start with a number
+	 */
+	public int checkMinPlayers(final int defaultPlayers) throws PluginException {
+		final String line = this.getParamsFor(PluginKeyword.PLAYERS);
+		if (line == null) {
+			return defaultPlayers;
+		}
+		final String first = PluginLexer.split(line, PluginPattern.DASH.toString() + PluginPattern.COMMA)[0];
+		try {
+			return Integer.parseInt(first);
+		} catch (NumberFormatException e) {
+			throw PluginException.create(PluginException.Type.INVALID_PARAMETER, e, this, PluginKeyword.PLAYERS.toString(), line);
+		}
+	}
+	
 	/**
 	 * Check if the name parameter of this <tt>Plugin</tt> is correct.
 	 * Returns the name parameter if so.
@@ -251,6 +404,31 @@ public class Plugin {
 		return lines.get(index);
 	}
 	
+	/**
+	 * Returns the number of the line in the plugin file that the specified line was read from,
+	 * counting from 1. If this plugin was not lexed from a text file, such as one loaded from
+	 * a rule pack, the position of the processed line is returned instead.
+	 *
+	 * @param index the index
+	 * @return the line number in the plugin file
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+	 */
+	public int getSourceLine(final int index) throws IndexOutOfBoundsException {
+		return origins == null ? index + 1 : (int)(origins[index] >>> Integer.SIZE);
+	}
+	
+	/**
+	 * Returns the column of the plugin file at which the specified line begins, counting from 1.
+	 * The column is 1 if the position in the file is not known.
+	 *
+	 * @param index the index
+	 * @return the column the line begins at in the plugin file
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size())
+	 */
+	public int getSourceColumn(final int index) throws IndexOutOfBoundsException {
+		return origins == null ? 1 : (int)origins[index];
+	}
+	
 	/**
 	 * Returns <tt>true</tt> if the line at the specified index starts with the specified keyword.
 	 * 
@@ -263,8 +441,8 @@ public class Plugin {
 		String line = this.getLine(lineNdx);
 		String string = keyword.toString();
 		return 	line.startsWith(string) && 								// Obligatory check, but also...
-				line.length() == string.length() ||						// Only word on line OR
-				Character.isWhitespace(line.charAt(string.length()));	// Next character is white space
+				(line.length() == string.length() ||					// Only word on line OR
+				 Character.isWhitespace(line.charAt(string.length())));	// Next character is white space
 	}
 	
 	/**
@@ -282,7 +460,12 @@ public class Plugin {
 		for (int i = startNdx; i < endNdx; i++) {
 			list.add(this.getLine(i));
 		}
-		return new Plugin(list, filename);
+		final Plugin plugin = new Plugin(list, filename, true);
+		plugin.bundle = bundle;
+		if (origins != null) {
+			plugin.origins = Arrays.copyOfRange(origins, startNdx, endNdx);
+		}
+		return plugin;
 	}
 	
 	/**
@@ -422,14 +605,12 @@ public class Plugin {
 	 * @return index of the keyword, or -1 if not found.
 	 */
 	public int getIndexOf(final String string, final int startNdx) {
-		int index = -1;
-		for (int ndx = startNdx; ndx < lines.size(); ++ndx) {
-			if (lines.get(ndx).startsWith(string)) {
-				index = ndx;
-				break;
-			}
+		final int[] positions = this.positionsOf(string);
+		int ndx = Arrays.binarySearch(positions, startNdx);
+		if (ndx < 0) {
+			ndx = -(ndx + 1);
 		}
-		return index;
+		return ndx < positions.length ? positions[ndx] : -1;
 	}
 	
 	/**
@@ -449,15 +630,98 @@ public class Plugin {
 	 * @return number of occurrences
 	 */
 	public int getNumberOf(final String string) {
-		int index = 0;
-		int num = 0;
-		do {
-			index = this.getIndexOf(string, index);
-			if (index >= 0) {
-				num++;
+		return this.positionsOf(string).length;
+	}
+	
+	/*
+	 * Returns the indices of the lines starting with the specified string, in order.
+	 * A string without whitespace can only be the start of a line's first word,
+	 * so the lines are gathered from the index; other strings are searched for once.
+	 */
+	private int[] positionsOf(final String string) {
+		int[] positions = found.get(string);
+		if (positions == null) {
+			final List<int[]> matches = new ArrayList<int[]>();
+			int size = 0;
+			if (firstWord(string).length() == string.length()) {
+				for (final Map.Entry<String, int[]> entry : index.entrySet()) {
+					if (entry.getKey().startsWith(string)) {
+						matches.add(entry.getValue());
+						size += entry.getValue().length;
+					}
+				}
 			}
-		} while (index++ > 0);
-		return num;
+			else {
+				final int[] lineNdx = new int[lines.size()];
+				for (int ndx = 0; ndx < lines.size(); ++ndx) {
+					if (lines.get(ndx).startsWith(string)) {
+						lineNdx[size++] = ndx;
+					}
+				}
+				matches.add(Arrays.copyOf(lineNdx, size));
+			}
+			positions = new int[size];
+			size = 0;
+			for (final int[] match : matches) {
+				System.arraycopy(match, 0, positions, size, match.length);
+				size += match.length;
+			}
+			Arrays.sort(positions);
+			found.put(string, positions);
+		}
+		return positions;
+	}
+	
+/*------------------------------------------------
+	Sections
+ ------------------------------------------------*/
+	/**
+	 * Returns the tree of sections in this <tt>Plugin</tt>, such as the deal, phases, conditions and actions.
+	 * The root of the tree is the whole plugin.
+	 * 
+	 * @return the root section of this plugin
+	 */
+	public PluginSection getSections() {
+		return sections;
+	}
+	
+	/**
+	 * Returns the top level sections of this <tt>Plugin</tt> opened by the specified keyword, in order.
+	 * 
+	 * @param keyword the keyword opening the sections
+	 * @return the sections opened by the keyword
+	 */
+	public List<PluginSection> getSections(final PluginKeyword keyword) {
+		return sections.getChildren(keyword);
+	}
+	
+	/**
+	 * Returns the first top level section of this <tt>Plugin</tt> opened by the specified keyword.
+	 * Throws an exception if there is none, or if it is a block without its closing keyword.
+	 * 
+	 * @param keyword the keyword opening the section
+	 * @return the first section opened by the keyword
+	 * @throws PluginException if the section is not found or not closed
+	 */
+	public PluginSection checkSection(final PluginKeyword keyword) throws PluginException {
+		final List<PluginSection> list = this.getSections(keyword);
+		if (list.isEmpty()) {
+			throw PluginException.create(PluginException.Type.MISSING_KEYWORD, filename, keyword.toString());
+		}
+		this.checkClosed(list.get(0));
+		return list.get(0);
+	}
+	
+	/**
+	 * Checks that the specified section, if it is a block, was ended by its closing keyword.
+	 * 
+	 * @param section a section of this plugin
+	 * @throws PluginException if the closing keyword is missing
+	 */
+	public void checkClosed(final PluginSection section) throws PluginException {
+		if (section.getCloser() != null && !section.isClosed()) {
+			throw PluginException.create(PluginException.Type.MISSING_KEYWORD, filename, section.getCloser().toString());
+		}
 	}
 	
 /*------------------------------------------------
@@ -0,0 +1,367 @@
+/***********************************************************************//**
+* @file			PluginArchive.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Zip or jar bundle of plugin files in the plugin directory
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			PluginFile
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedFileSystemException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.ProviderNotFoundException;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/******************************************************************//**
+ * The PluginArchive Class
+ * - A <tt>.zip</tt> or <tt>.jar</tt> file in the plugin directory,
+ *   holding any number of plugin files, at any depth, named as they
+ *   would be in the directory: <tt>type.name.txt</tt>
+ * - Each archive is opened once through the JDK zip file system; its
+ *   central directory is read into a map from plugin filename to
+ *   entry, and an entry is decompressed only when it is read
+ * - Loose files in the plugin directory take precedence over bundled
+ *   ones, and archives are searched in order of their names
+ * - An archive is opened again when it is replaced or modified, and
+ *   the archives are listed again when the directory changes
+ * - Entries must be read through <tt>readAllBytes</tt> and
+ *   <tt>readAttributes</tt>, which count the readers of each archive:
+ *   a replaced archive is closed only once its last reader is done,
+ *   and a path into an archive already closed is read from wherever
+ *   the file is found now
+ ********************************************************************/
+public final class PluginArchive {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** File extensions of plugin archives */
+	public static final String[] EXTENSIONS = { ".zip", ".jar" };
+
+	private static final Map<FileSystem, PluginArchive> OPEN = new ConcurrentHashMap<FileSystem, PluginArchive>();
+	private static List<PluginArchive> archives = Collections.emptyList();
+	private static long listed = Long.MIN_VALUE;		// modification time of the directory when listed
+
+	private final File file;
+	private final long modified;
+	private final long length;
+	private final FileSystem system;
+	private final Map<String, Path> entries;			// plugin filename -> entry in the archive
+	private int readers;								// reads in progress
+	private boolean isRetired;							// replaced; closed once no one is reading
+	private boolean isClosed;
+
+	/* Construct an archive from an open zip file system and its entries */
+	private PluginArchive(final File file, final FileSystem system, final Map<String, Path> entries) {
+		this.file = file;
+		this.modified = file.lastModified();
+		this.length = file.length();
+		this.system = system;
+		this.entries = entries;
+	}
+
+/*------------------------------------------------
+ 	Lookup
+ ------------------------------------------------*/
+	/**
+	 * Returns the path of the plugin file with the specified name: the loose file in the plugin
+	 * directory if there is one, or else the entry of the first archive holding it, or else the
+	 * loose file that does not exist.
+	 *
+	 * @param filename a plugin filename: type.name.txt
+	 * @return the path of the plugin file
+	 */
+	public static Path resolve(final String filename) {
+		final Path loose = Plugin.DIRECTORY.toPath().resolve(filename);
+		if (Files.exists(loose)) {
+			return loose;
+		}
+		final Path bundled = find(filename);
+		return bundled == null ? loose : bundled;
+	}
+
+	/**
+	 * Returns the entry of the first archive holding the plugin file with the specified name.
+	 *
+	 * @param filename a plugin filename: type.name.txt
+	 * @return the entry in an archive, or null if no archive holds the file
+	 */
+	public static Path find(final String filename) {
+		for (final PluginArchive archive : getArchives()) {
+			final Path entry = archive.entries.get(filename);
+			if (entry != null) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reads every byte of the specified plugin file, loose or bundled. An archive is not closed
+	 * while an entry of it is being read.
+	 *
+	 * @param path the path of a plugin file, as returned by this class
+	 * @return the content of the file
+	 * @throws IOException if the file cannot be read
+	 */
+	public static byte[] readAllBytes(final Path path) throws IOException {
+		return read(path, Files::readAllBytes);
+	}
+
+	/**
+	 * Reads the attributes of the specified plugin file, loose or bundled. An archive is not
+	 * closed while an entry of it is being read.
+	 *
+	 * @param path the path of a plugin file, as returned by this class
+	 * @return the attributes of the file
+	 * @throws IOException if the attributes cannot be read
+	 */
+	public static BasicFileAttributes readAttributes(final Path path) throws IOException {
+		return read(path, entry -> Files.readAttributes(entry, BasicFileAttributes.class));
+	}
+
+	/**
+	 * Returns every plugin file in every archive, by name, without opening any entry.
+	 * Where archives hold files of the same name, the first archive's entry is returned.
+	 *
+	 * @return the entry of each bundled plugin filename
+	 */
+	public static Map<String, Path> list() {
+		final Map<String, Path> bundled = new HashMap<String, Path>();
+		for (final PluginArchive archive : getArchives()) {
+			for (final Map.Entry<String, Path> entry : archive.entries.entrySet()) {
+				bundled.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+		}
+		return bundled;
+	}
+
+	/**
+	 * Returns the archives in the plugin directory, in order of their names, opening any that
+	 * are new or have changed since they were last opened.
+	 *
+	 * @return the current archives
+	 */
+	public static synchronized List<PluginArchive> getArchives() {
+		final long directory = Plugin.DIRECTORY.lastModified();
+		boolean isCurrent = directory == listed;
+		for (final PluginArchive archive : archives) {
+			isCurrent &= archive.isCurrent();
+		}
+		if (isCurrent) {
+			return archives;
+		}
+
+		// Reopen only the archives that changed
+		final Map<File, PluginArchive> open = new HashMap<File, PluginArchive>();
+		for (final PluginArchive archive : archives) {
+			if (archive.isCurrent()) {
+				open.put(archive.file, archive);
+			}
+			else {
+				archive.retire();
+			}
+		}
+		final File[] files = Plugin.DIRECTORY.listFiles(PluginArchive::isArchive);
+		final List<PluginArchive> list = new ArrayList<PluginArchive>();
+		if (files != null) {
+			Arrays.sort(files);
+			for (final File file : files) {
+				final PluginArchive archive = open.containsKey(file) ? open.remove(file) : PluginArchive.open(file);
+				if (archive != null) {
+					list.add(archive);
+				}
+			}
+		}
+		for (final PluginArchive archive : open.values()) {
+			archive.retire();		// deleted since last listed
+		}
+		archives = Collections.unmodifiableList(list);
+		listed = directory;
+		return archives;
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the archive file.
+	 *
+	 * @return the file of this archive
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Returns the number of plugin files in this archive.
+	 *
+	 * @return the number of bundled plugin files
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Return information about this archive.
+	 *
+	 * @return string containing information about this archive
+	 */
+	@Override public String toString() {
+		return file.getName();
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/* Reads a path through the specified reader; see readAllBytes */
+	private interface Reader<T> {
+		T read(Path path) throws IOException;
+	}
+
+	/*
+	 * Reads the specified path while holding its archive open. If the archive was closed since
+	 * the path was found, the file is found again by name; the archives current then are never
+	 * closed first, so this ends.
+	 */
+	private static <T> T read(final Path path, final Reader<T> reader) throws IOException {
+		Path source = path;
+		while (true) {
+			if (source.getFileSystem() == FileSystems.getDefault()) {
+				return reader.read(source);
+			}
+			final PluginArchive archive = OPEN.get(source.getFileSystem());
+			if (archive != null && archive.acquire()) {
+				try {
+					return reader.read(source);
+				} catch (ClosedFileSystemException e) {
+					// Closed by someone else; find the file again
+				} finally {
+					archive.release();
+				}
+			}
+			source = resolve(source.getFileName().toString());
+		}
+	}
+
+	/*
+	 * Counts a reader of this archive, unless it is already closed.
+	 */
+	private synchronized boolean acquire() {
+		if (isClosed) {
+			return false;
+		}
+		++readers;
+		return true;
+	}
+
+	/*
+	 * Counts a reader done, closing this archive if it was retired and this was the last.
+	 */
+	private synchronized void release() {
+		if (--readers == 0 && isRetired) {
+			this.close();
+		}
+	}
+
+	/*
+	 * Stops handing out this archive, and closes it once no one is reading it.
+	 */
+	private synchronized void retire() {
+		isRetired = true;
+		if (readers == 0) {
+			this.close();
+		}
+	}
+
+	/*
+	 * Returns true if the specified file is a plugin archive.
+	 */
+	private static boolean isArchive(final File file) {
+		final String name = file.getName().toLowerCase(Plugin.LOCALE);
+		for (final String extension : EXTENSIONS) {
+			if (name.endsWith(extension)) {
+				return file.isFile();
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Opens the specified archive and maps its plugin files, or returns null if it cannot be read.
+	 */
+	private static PluginArchive open(final File file) {
+		final FileSystem system;
+		try {
+			system = FileSystems.newFileSystem(file.toPath(), (ClassLoader)null);
+		} catch (IOException | ProviderNotFoundException | SecurityException e) {
+			return null;
+		}
+		final Map<String, Path> entries = new HashMap<String, Path>();
+		for (final Path root : system.getRootDirectories()) {
+			try (final Stream<Path> paths = Files.walk(root)) {
+				paths.filter(Files::isRegularFile).forEach(path -> {
+					final String name = path.getFileName().toString();
+					if (!entries.containsKey(name)) {
+						entries.put(name, path);
+					}
+				});
+			} catch (IOException | RuntimeException e) {
+				PluginArchive.close(system);
+				return null;
+			}
+		}
+		final PluginArchive archive = new PluginArchive(file, system, entries);
+		OPEN.put(system, archive);
+		return archive;
+	}
+
+	/*
+	 * Returns true if this archive has not been replaced or modified since it was opened.
+	 */
+	private boolean isCurrent() {
+		return file.lastModified() == modified && file.length() == length;
+	}
+
+	/*
+	 * Closes this archive; its entries can no longer be read.
+	 */
+	private void close() {
+		isClosed = true;
+		OPEN.remove(system);
+		PluginArchive.close(system);
+	}
+
+	/*
+	 * Closes a zip file system, ignoring any error.
+	 */
+	private static void close(final FileSystem system) {
+		try {
+			system.close();
+		} catch (IOException e) {
+			// Nothing more can be done with it
+		}
+	}
+}
@@ -0,0 +1,260 @@
+/***********************************************************************//**
+* @file			PluginCache.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Process wide cache of parsed plugins, reloaded when edited
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Plugin
+* @see			RulePack
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/******************************************************************//**
+ * The PluginCache Enum
+ * - Access statically as PluginCache.INSTANCE.method()
+ *	 or PluginCache cache = PluginCache.getInstance()
+ * - Holds every plugin parsed by this process, keyed by its filename,
+ *   with the checksum of each text file it was built from; plugins are
+ *   quasi-immutable, so one copy is shared by every game
+ * - Checksums are taken from the bytes the lexer parsed, or stored in
+ *   a rule pack when it was compiled, so a file that changes while it
+ *   is parsed is never cached under the checksum of its new content
+ * - A daemon thread watches the plugin directory. Until a file there
+ *   changes, cached plugins are returned without touching the disk;
+ *   after a change, the files of each plugin are checked again when
+ *   it is next requested, and parsed again only if their content differs
+ * - Rules plugins are loaded through <tt>RulePack.open</tt>, so a
+ *   current pack is used on a miss; they are parsed again when their
+ *   board, deck, or a library they include changes, as well as their
+ *   own files
+ * - If the directory cannot be watched, every request checks the files
+ *********************************************************************/
+public enum PluginCache {
+
+	/** The cache shared by the process */
+	INSTANCE;
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final long MISSING = -2;		// checksum of a file that cannot be read; never that of a plugin
+
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+	private volatile long generation;			// changes seen in the plugin directory
+	private volatile boolean isWatching;
+	private volatile boolean isStarted;			// true once watching has been attempted
+
+	/* A cached plugin, and the checksum of each file it was built from */
+	private static final class Entry {
+		private final Plugin plugin;
+		private final Map<String, Long> files;
+		private final long generation;			// directory generation when last checked
+
+		private Entry(final Plugin plugin, final Map<String, Long> files, final long generation) {
+			this.plugin = plugin;
+			this.files = files;
+			this.generation = generation;
+		}
+	}
+
+	/* Constructs this <tt>PluginCache</tt> when first used. */
+	private PluginCache() {}
+
+	/** Return an instance of this <tt>PluginCache</tt>. */
+	public static PluginCache getInstance() {
+		return INSTANCE;
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the <tt>Plugin</tt> with the specified filename, parsing it only if it is not
+	 * cached or its files have changed since.
+	 *
+	 * @param filename the filename of the plugin
+	 * @return the plugin
+	 * @throws PluginException if the plugin does not exist or cannot be read
+	 */
+	public Plugin get(final PluginFilename filename) throws PluginException {
+		if (!isStarted) {
+			this.watch();
+		}
+		final long current = generation;
+		final String key = filename.toString();
+		final Entry entry = entries.get(key);
+		if (entry != null) {
+			if (isWatching && entry.generation == current) {
+				return entry.plugin;
+			}
+			// Something changed; keep the plugin if its own files did not
+			if (isCurrent(entry.files)) {
+				entries.replace(key, entry, new Entry(entry.plugin, entry.files, current));
+				return entry.plugin;
+			}
+		}
+		final Plugin plugin = filename.getType() == Plugin.Type.RULES ? RulePack.open(filename) : new Plugin(filename);
+
+		// The checksums are those of the bytes parsed; the files are not read again
+		final Map<String, Long> files = new LinkedHashMap<String, Long>();
+		files.put(key, plugin.checksum);
+		if (plugin.bundle != null) {
+			for (final Plugin packed : plugin.bundle.values()) {
+				files.putIfAbsent(packed.getFilename().toString(), packed.checksum);
+			}
+		}
+		// Rules are built with their board, deck, and the libraries they include,
+		// so a change to any of them reloads the rules, and the game defined by them
+		if (plugin.getFilename().getType() == Plugin.Type.RULES) {
+			this.dependOn(files, plugin, Plugin.Type.BOARD, PluginKeyword.BOARD);
+			this.dependOn(files, plugin, Plugin.Type.DECK, PluginKeyword.DECK);
+			for (final PluginFilename library : plugin.checkIncludes()) {
+				if (!files.containsKey(library.toString())) {
+					files.put(library.toString(), this.get(library).checksum);
+				}
+			}
+		}
+		entries.put(key, new Entry(plugin, Collections.unmodifiableMap(files), current));
+		return plugin;
+	}
+
+	/**
+	 * Returns the number of plugins in this cache.
+	 *
+	 * @return the number of cached plugins
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns <tt>true</tt> if the plugin directory is being watched for changes.
+	 *
+	 * @return true if the directory is watched
+	 */
+	public boolean isWatching() {
+		return isWatching;
+	}
+
+	/**
+	 * Removes every plugin from this cache.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Starts the thread watching the plugin directory, if it is not already running.
+	 */
+	private synchronized void watch() {
+		if (isStarted) {
+			return;
+		}
+		isStarted = true;
+		final WatchService service;
+		try {
+			final Path directory = Plugin.DIRECTORY.toPath();
+			service = directory.getFileSystem().newWatchService();
+			directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+										StandardWatchEventKinds.ENTRY_MODIFY,
+										StandardWatchEventKinds.ENTRY_DELETE);
+		} catch (IOException | UnsupportedOperationException | SecurityException e) {
+			// Without a watcher every request checks the files
+			return;
+		}
+		final Thread watcher = new Thread(() -> this.listen(service), "plugin-cache-watcher");
+		watcher.setDaemon(true);
+		isWatching = true;
+		watcher.start();
+	}
+
+	/*
+	 * Counts every change to the plugin directory until the watch service fails.
+	 */
+	private void listen(final WatchService service) {
+		try {
+			while (true) {
+				final WatchKey key = service.take();
+				key.pollEvents();
+				++generation;
+				if (!key.reset()) {
+					break;
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Fall through: the directory is no longer watched
+		}
+		isWatching = false;
+		++generation;
+	}
+
+	/*
+	 * Records the checksum of the plugin of the specified type named by the keyword of the rules.
+	 * A plugin that is not named, or cannot be read, is recorded as missing; the error is
+	 * reported when the game is created.
+	 */
+	private void dependOn(final Map<String, Long> files, final Plugin rules, final Plugin.Type type,
+						  final PluginKeyword keyword) {
+		final String rawName = rules.getParamsFor(keyword);
+		if (rawName == null || rawName.isEmpty()) {
+			return;
+		}
+		final PluginFilename filename = new PluginFilename(type, rawName);
+		if (files.containsKey(filename.toString())) {
+			return;
+		}
+		try {
+			files.put(filename.toString(), this.get(filename).checksum);
+		} catch (PluginException e) {
+			files.put(filename.toString(), MISSING);
+		}
+	}
+
+	/*
+	 * Returns true if each of the specified plugin files still has the specified checksum.
+	 */
+	private static boolean isCurrent(final Map<String, Long> files) {
+		for (final Map.Entry<String, Long> file : files.entrySet()) {
+			if (checksumOf(file.getKey()) != file.getValue()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Returns the CRC-32 of the content of the specified plugin file.
+	 */
+	static long checksumOf(final String name) {
+		final CRC32 crc = new CRC32();
+		try {
+			crc.update(PluginArchive.readAllBytes(PluginArchive.resolve(name)));
+		} catch (IOException | SecurityException e) {
+			return MISSING;
+		}
+		return crc.getValue();
+	}
+}
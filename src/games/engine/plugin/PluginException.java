@@ -41,6 +41,7 @@ public class PluginException extends Exception {
 	 * INVALID_NAME - Invalid plugin filename
 	 * INVALID_TYPE - Invalid plugin type
 	 * FILE_READ_ERROR - Error reading pugin file.
+	 * FILE_WRITE_ERROR - Error writing a file compiled from plugins.
 	 */
 	public static enum Type { 	INVALID_CONDITIONAL_STATEMENT,
 								INVALID_COMPONENT,
@@ -54,6 +55,7 @@ public class PluginException extends Exception {
 								INVALID_NAME,
 								INVALID_TYPE,
 								FILE_READ_ERROR,
+								FILE_WRITE_ERROR,
 								DATA_REPRESENTATION,
 								MISMATCH,
 								UNKNOWN};
@@ -241,9 +243,17 @@ public class PluginException extends Exception {
 		case FILE_READ_ERROR:
 			str.append("Error reading plugin file: ");
 			break;
+		case FILE_WRITE_ERROR:
+			str.append("Error writing plugin file: ");
+			break;
 		case DATA_REPRESENTATION:
-			str.append("Data representation error for \"")
-			   .append(var0).append(IN_PLUGIN);
+			str.append("Data representation error for \"").append(var0);
+			if (vars.length > 1) {
+				str.append("\" (").append(var1).append(") in plugin: ");
+			}
+			else {
+				str.append(IN_PLUGIN);
+			}
 			break;
 		case MISMATCH:
 			str.append(var0).append(" data mismatch in file: ");
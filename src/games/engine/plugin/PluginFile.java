@@ -15,6 +15,9 @@
 package games.engine.plugin;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 
 public final class PluginFile extends File {
 
@@ -41,6 +44,54 @@ public final class PluginFile extends File {
 		return filename;
 	}
 	
+	/**
+	 * Returns the path to read this <tt>PluginFile</tt> from: the loose file in the plugin
+	 * directory, or its entry in a <tt>PluginArchive</tt> if there is no loose file.
+	 * 
+	 * @return the path of this plugin file
+	 */
+	public Path getSource() {
+		return super.exists() ? super.toPath() : PluginArchive.resolve(filename.toString());
+	}
+	
+/*------------------------------------------------
+	Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Returns <tt>true</tt> if this plugin file exists, loose or bundled.
+	 * 
+	 * @return true if this file exists
+	 */
+	@Override public boolean exists() {
+		return super.exists() || PluginArchive.find(filename.toString()) != null;
+	}
+	
+	/**
+	 * Returns the time this plugin file was last modified, loose or bundled.
+	 * 
+	 * @return the last modified time in milliseconds, or 0 if the file does not exist
+	 */
+	@Override public long lastModified() {
+		if (super.exists()) {
+			return super.lastModified();
+		}
+		final BasicFileAttributes attributes = this.getBundledAttributes();
+		return attributes == null ? 0L : attributes.lastModifiedTime().toMillis();
+	}
+	
+	/**
+	 * Returns the length of this plugin file, loose or bundled.
+	 * 
+	 * @return the length in bytes, or 0 if the file does not exist
+	 */
+	@Override public long length() {
+		if (super.exists()) {
+			return super.length();
+		}
+		final BasicFileAttributes attributes = this.getBundledAttributes();
+		return attributes == null ? 0L : attributes.size();
+	}
+	
 	/**
 	 * Returns this <tt>PluginFilename</tt> as a string.
 	 *
@@ -48,5 +99,18 @@ public final class PluginFile extends File {
 	 */
 	@Override public String toString() {
 		return filename.toString();
-	}	
+	}
+	
+	/* Returns the attributes of the bundled entry of this file, or null if it has none */
+	private BasicFileAttributes getBundledAttributes() {
+		final Path entry = PluginArchive.find(filename.toString());
+		if (entry == null) {
+			return null;
+		}
+		try {
+			return PluginArchive.readAttributes(entry);
+		} catch (IOException e) {
+			return null;
+		}
+	}
 }
@@ -0,0 +1,465 @@
+/***********************************************************************//**
+* @file			PluginIndex.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Persisted summary of every rules plugin, for listing games
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			PluginList
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/******************************************************************//**
+ * The PluginIndex Class
+ * - The name, players, deck, board, and content hash of each rules
+ *   plugin, kept in one binary file in the plugin directory:
+ *   <tt>plugins.index</tt>
+ * - <tt>open</tt> reads the index and brings it up to date: a rules
+ *   file is read again only if its modification time or length has
+ *   changed, and parsed again only if its content hash has too; the
+ *   index is written back only when something changed
+ * - Listing games therefore reads one small file and the directory,
+ *   however many rules plugins are installed; plugins bundled in a
+ *   <tt>PluginArchive</tt> are checked against its central directory
+ * - Format, version 1, big endian:
+ *   <pre>
+ *   int     magic "KEPI"
+ *   short   version
+ *   int     number of entries
+ *   for each entry:
+ *     string  filename
+ *     long    last modified time
+ *     long    length
+ *     long    CRC-32 of the file
+ *     string  name, players, deck, board
+ *   long    CRC-32 of everything before it
+ *   </pre>
+ *   where each string is an int length, or -1 if absent, followed by
+ *   UTF-8 bytes
+ ********************************************************************/
+public final class PluginIndex {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** Name of the index file in the plugin directory */
+	public static final String FILENAME = "plugins.index";
+	/** Version of the index format written by this class */
+	public static final short VERSION = 1;
+	private static final int MAGIC = 0x4B455049;		// "KEPI"
+	private static final int ABSENT = -1;			// length of a missing string
+	private static final long MISSING = -1;			// hash of a file that cannot be read
+
+	private final Map<String, Entry> entries;		// sorted by filename
+	private final int updated;
+
+	/* Construct an index of the specified entries */
+	private PluginIndex(final Map<String, Entry> entries, final int updated) {
+		this.entries = entries;
+		this.updated = updated;
+	}
+
+/*------------------------------------------------
+ 	Entry
+ ------------------------------------------------*/
+	/******************************************************************//**
+	 * The Entry Class
+	 * - What the game list needs to know about one rules plugin;
+	 *   immutable. Parameters missing from the plugin are <tt>null</tt>
+	 ********************************************************************/
+	public static final class Entry {
+		private final PluginFilename filename;
+		private final long modified;
+		private final long length;
+		private final long hash;
+		private final String name;
+		private final String players;
+		private final String deck;
+		private final String board;
+
+		/* Construct an entry */
+		private Entry(final PluginFilename filename, final long modified, final long length, final long hash,
+					  final String name, final String players, final String deck, final String board) {
+			this.filename = filename;
+			this.modified = modified;
+			this.length = length;
+			this.hash = hash;
+			this.name = name;
+			this.players = players;
+			this.deck = deck;
+			this.board = board;
+		}
+
+		/* Return a copy of this entry for a file touched but not changed */
+		private Entry touch(final long modified, final long length) {
+			return new Entry(filename, modified, length, hash, name, players, deck, board);
+		}
+
+		/** Returns the filename of this rules plugin. */
+		public PluginFilename getFilename() {
+			return filename;
+		}
+
+		/** Returns the CRC-32 of this rules plugin file. */
+		public long getHash() {
+			return hash;
+		}
+
+		/** Returns the name of this game, or null if it has none. */
+		public String getName() {
+			return name;
+		}
+
+		/** Returns the players parameter of this game, such as "2-4", or null if it has none. */
+		public String getPlayers() {
+			return players;
+		}
+
+		/** Returns the raw name of the deck of this game, or null if it has none. */
+		public String getDeck() {
+			return deck;
+		}
+
+		/** Returns the raw name of the board of this game, or null if it has none. */
+		public String getBoard() {
+			return board;
+		}
+
+		/**
+		 * Returns every number of players this game allows, in order. The players parameter
+		 * is a range "min-max", a list "a,b,c", or a single number; every part must be a number.
+		 *
+		 * @return the allowed numbers of players
+		 * @throws PluginException if the players parameter is missing or invalid
+		 */
+		public int[] getPlayerCounts() throws PluginException {
+			if (players == null) {
+				throw PluginException.create(PluginException.Type.MISSING_PARAMETER, filename, PluginKeyword.PLAYERS.toString());
+			}
+			final int[] nums;
+			final String[] range = PluginLexer.split(players, PluginPattern.DASH.toString());
+			if (range.length > 1) {
+				if (range.length != 2) {
+					throw PluginException.create(PluginException.Type.INVALID_PARAMETER, filename, PluginKeyword.PLAYERS.toString(), players);
+				}
+				final int min = this.toInt(range[0]);
+				final int max = this.toInt(range[1]);
+				if (min >= max) {
+					throw PluginException.create(PluginException.Type.INVALID_PARAMETER, filename, PluginKeyword.PLAYERS.toString(), players);
+				}
+				nums = new int[max - min + 1];
+				for (int i = 0; i < nums.length; i++) {
+					nums[i] = i + min;
+				}
+			}
+			else {
+				final String[] list = PluginLexer.split(players, PluginPattern.COMMA.toString());
+				nums = new int[list.length];
+				for (int i = 0; i < nums.length; i++) {
+					nums[i] = this.toInt(list[i]);
+				}
+			}
+			return nums;
+		}
+
+		/* Convert part of the players parameter to an integer */
+		private int toInt(final String string) throws PluginException {
+			try {
+				return Integer.parseInt(string);
+			} catch (NumberFormatException e) {
+				throw PluginException.create(PluginException.Type.DATA_REPRESENTATION, e, filename, string);
+			}
+		}
+
+		/**
+		 * Return information about this entry.
+		 *
+		 * @return string containing information about this entry
+		 */
+		@Override public String toString() {
+			final StringBuilder str = new StringBuilder();
+			str.append(filename).append(": ").append(name)
+			   .append(", players ").append(players)
+			   .append(", deck ").append(deck)
+			   .append(", board ").append(board);
+			return str.toString();
+		}
+	}
+
+/*------------------------------------------------
+ 	Loading
+ ------------------------------------------------*/
+	/**
+	 * Returns the index file.
+	 *
+	 * @return the file the index is kept in
+	 */
+	public static File getFile() {
+		return new File(Plugin.DIRECTORY, FILENAME);
+	}
+
+	/**
+	 * Reads the index of the rules plugins and brings it up to date with the plugin directory,
+	 * writing it back if anything changed. A missing or damaged index is rebuilt.
+	 *
+	 * @return the current index
+	 */
+	public static PluginIndex open() {
+		final Map<String, Entry> previous = read(getFile());
+		final PluginList list = new PluginList(Plugin.Type.RULES);
+		final PluginFilename[] filenames = list.get();
+		Arrays.sort(filenames, Comparator.comparing(PluginFilename::toString));
+		final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(filenames.length * 2);
+		int updated = 0;
+		for (final PluginFilename filename : filenames) {
+			final String key = filename.toString();
+			long modified = 0;
+			long length = MISSING;
+			try {
+				final BasicFileAttributes attributes = PluginArchive.readAttributes(list.getSource(filename));
+				modified = attributes.lastModifiedTime().toMillis();
+				length = attributes.size();
+			} catch (IOException | SecurityException e) {
+				// Read again below, which records the file as unreadable
+			}
+			Entry entry = previous.get(key);
+			if (entry == null || entry.modified != modified || entry.length != length) {
+				entry = scan(filename, list.getSource(filename), modified, length, entry);
+				++updated;
+			}
+			entries.put(key, entry);
+		}
+		if (updated > 0 || entries.size() != previous.size()) {
+			try {
+				write(entries, getFile());
+			} catch (IOException | SecurityException e) {
+				// The index is only a cache; it is built again next time
+			}
+		}
+		return new PluginIndex(Collections.unmodifiableMap(entries), updated);
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns every entry of this index, sorted by filename.
+	 *
+	 * @return the entries of this index
+	 */
+	public List<Entry> getEntries() {
+		return new ArrayList<Entry>(entries.values());
+	}
+
+	/**
+	 * Returns the entry for the specified rules plugin, or null if it is not indexed.
+	 *
+	 * @param filename filename of a rules plugin
+	 * @return the entry of the plugin, or null
+	 */
+	public Entry get(final PluginFilename filename) {
+		return entries.get(filename.toString());
+	}
+
+	/**
+	 * Returns the entry for the specified rules plugin.
+	 *
+	 * @param filename filename of a rules plugin
+	 * @return the entry of the plugin
+	 * @throws PluginException if the plugin is not indexed
+	 */
+	public Entry checkEntry(final PluginFilename filename) throws PluginException {
+		final Entry entry = this.get(filename);
+		if (entry == null) {
+			throw PluginException.create(PluginException.Type.DOES_NOT_EXIST, filename);
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the number of entries in this index.
+	 *
+	 * @return the number of indexed rules plugins
+	 */
+	public int getSize() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of rules files read again when this index was opened.
+	 *
+	 * @return the number of new or modified files
+	 */
+	public int getUpdated() {
+		return updated;
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the entry for a new or modified rules file, parsing it only if its content changed.
+	 */
+	private static Entry scan(final PluginFilename filename, final Path source, final long modified, final long length, final Entry previous) {
+		final byte[] bytes;
+		try {
+			bytes = PluginArchive.readAllBytes(source);
+		} catch (IOException | SecurityException e) {
+			return new Entry(filename, modified, length, MISSING, null, null, null, null);
+		}
+		final CRC32 crc = new CRC32();
+		crc.update(bytes);
+		final long hash = crc.getValue();
+		if (previous != null && previous.hash == hash) {
+			return previous.touch(modified, length);
+		}
+		try {
+			final List<String> lines = PluginLexer.lex(Plugin.CHARSET.decode(ByteBuffer.wrap(bytes)), true);
+			final Plugin plugin = new Plugin(lines, filename, true);
+			return new Entry(filename, modified, length, hash,
+							 plugin.getParamsFor(PluginKeyword.NAME),
+							 plugin.getParamsFor(PluginKeyword.PLAYERS),
+							 plugin.getParamsFor(PluginKeyword.DECK),
+							 plugin.getParamsFor(PluginKeyword.BOARD));
+		} catch (PluginException e) {
+			// Listed anyway; the error is reported when the game is played
+			return new Entry(filename, modified, length, hash, null, null, null, null);
+		}
+	}
+
+	/*
+	 * Returns the entries of the specified index file, or none if it is missing or damaged.
+	 */
+	private static Map<String, Entry> read(final File file) {
+		final Map<String, Entry> entries = new HashMap<String, Entry>();
+		if (!file.isFile()) {
+			return entries;
+		}
+		try {
+			final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			final int length = buffer.limit() - Long.BYTES;
+			final CRC32 crc = new CRC32();
+			crc.update(buffer.array(), 0, length);
+			if (buffer.getLong(length) != crc.getValue() || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+				return entries;
+			}
+			final int numEntries = buffer.getInt();
+			for (int i = 0; i < numEntries; i++) {
+				final PluginFilename filename = new PluginFilename(readString(buffer));
+				final Entry entry = new Entry(filename, buffer.getLong(), buffer.getLong(), buffer.getLong(),
+											  readString(buffer), readString(buffer), readString(buffer), readString(buffer));
+				entries.put(filename.toString(), entry);
+			}
+		} catch (IOException | SecurityException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			entries.clear();
+		}
+		return entries;
+	}
+
+	/*
+	 * Writes the specified entries to the index file, replacing it in one step.
+	 */
+	private static void write(final Map<String, Entry> entries, final File file) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeInt(entries.size());
+		for (final Entry entry : entries.values()) {
+			writeString(out, entry.filename.toString());
+			out.writeLong(entry.modified);
+			out.writeLong(entry.length);
+			out.writeLong(entry.hash);
+			writeString(out, entry.name);
+			writeString(out, entry.players);
+			writeString(out, entry.deck);
+			writeString(out, entry.board);
+		}
+		out.flush();
+		final CRC32 crc = new CRC32();
+		crc.update(bytes.toByteArray());
+		out.writeLong(crc.getValue());
+		out.flush();
+
+		final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (final BufferedOutputStream stream = new BufferedOutputStream(new FileOutputStream(temp))) {
+			bytes.writeTo(stream);
+		}
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			temp.delete();
+			throw e;
+		}
+	}
+
+	/*
+	 * Writes a string as its length in bytes followed by its UTF-8 bytes, or -1 if it is null.
+	 */
+	private static void writeString(final DataOutputStream out, final String string) throws IOException {
+		if (string == null) {
+			out.writeInt(ABSENT);
+			return;
+		}
+		final byte[] bytes = string.getBytes(Plugin.CHARSET);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * Reads a string written by writeString.
+	 */
+	private static String readString(final ByteBuffer buffer) {
+		final int length = buffer.getInt();
+		if (length == ABSENT) {
+			return null;
+		}
+		final byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, Plugin.CHARSET);
+	}
+
+	/**
+	 * Brings the index up to date and prints every entry.
+	 *
+	 * @param args not used
+	 */
+	public static void main(final String[] args) {
+		final long start = System.nanoTime();
+		final PluginIndex index = PluginIndex.open();
+		final long time = System.nanoTime() - start;
+		for (final Entry entry : index.getEntries()) {
+			System.out.println(entry);
+		}
+		System.out.printf("%d rules plugins, %d read (%.1f ms)%n", index.getSize(), index.getUpdated(), time / 1e6);
+	}
+}
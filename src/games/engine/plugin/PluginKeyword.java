@@ -103,6 +103,9 @@ public enum PluginKeyword {
 	/** End-Allow - end of allowed actions */
 	END_ALLOW,
 	
+	/** Include - name of a library of components to use */
+	INCLUDE,
+	
 /*------------------------------------------------
  	Board Specific Keywords
  ------------------------------------------------*/
@@ -0,0 +1,271 @@
+/***********************************************************************//**
+* @file			PluginLexer.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Character level lexer for plugin files
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Plugin
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/******************************************************************//**
+ * The PluginLexer Class
+ * - Reads plugin files through NIO: small files are read into one
+ *   buffer, large files are memory mapped, bundled files are inflated
+ *   from their archive, and the bytes are decoded once into a
+ *   <tt>CharBuffer</tt>
+ * - Lines are trimmed, stripped of comments, and lower cased while
+ *   they are scanned, with no regular expressions; the only strings
+ *   created are the lines that are kept
+ * - Parameters of a line are split into tokens the same way
+ * - The line and column each kept line begins at in the file are
+ *   kept with it, so errors can be reported where they are in the file
+ * - The checksum of the bytes lexed is kept as well, so a cache can
+ *   tell whether the file has changed without reading it again
+ ********************************************************************/
+public final class PluginLexer {
+
+/*------------------------------------------------
+ 	Constants
+ ------------------------------------------------*/
+	private static final int MAP_SIZE = 1 << 16;	// files at least this large are memory mapped
+	private static final char COMMENT = '#';
+
+	/* Construct nothing; this class is a collection of static methods */
+	private PluginLexer() {}
+
+/*------------------------------------------------
+ 	Lines
+ ------------------------------------------------*/
+	/**
+	 * Reads the lines of the specified plugin file, removing all comments, blank lines,
+	 * and leading/trailing whitespace, as <tt>Plugin.processFileLines</tt> does.
+	 *
+	 * @param pluginFile the plugin file to read
+	 * @param toLowerCase set to <tt>true</tt> to make all text lower case
+	 * @return the processed lines of the file
+	 * @throws PluginException if the file does not exist or cannot be read
+	 */
+	public static List<String> read(final PluginFile pluginFile, final boolean toLowerCase) throws PluginException {
+		return PluginLexer.readSource(pluginFile, toLowerCase).lines;
+	}
+
+	/*
+	 * Reads the lines of the specified plugin file, with where each was found in the file.
+	 */
+	static Source readSource(final PluginFile pluginFile, final boolean toLowerCase) throws PluginException {
+		if (!pluginFile.exists() || pluginFile.isDirectory()) {
+			throw PluginException.create(PluginException.Type.DOES_NOT_EXIST, pluginFile.getFilename());
+		}
+		final CharBuffer chars;
+		final CRC32 crc = new CRC32();
+		try {
+			final ByteBuffer bytes = PluginLexer.readBytes(pluginFile.getSource());
+			crc.update(bytes.duplicate());
+			chars = Plugin.CHARSET.newDecoder()
+								  .onMalformedInput(CodingErrorAction.REPORT)
+								  .onUnmappableCharacter(CodingErrorAction.REPORT)
+								  .decode(bytes);
+		} catch (CharacterCodingException e) {
+			throw PluginException.create(PluginException.Type.FILE_READ_ERROR, e, pluginFile.getFilename());
+		} catch (IOException | SecurityException e) {
+			throw PluginException.create(PluginException.Type.FILE_READ_ERROR, e, pluginFile.getFilename());
+		}
+		return PluginLexer.lexSource(chars, toLowerCase, crc.getValue());
+	}
+
+	/**
+	 * Splits the specified text into lines, removing all comments, blank lines,
+	 * and leading/trailing whitespace. Lines end at "\n", "\r", or "\r\n".
+	 *
+	 * @param text the text to lex
+	 * @param toLowerCase set to <tt>true</tt> to make all text lower case
+	 * @return the processed lines of the text
+	 */
+	public static List<String> lex(final CharBuffer text, final boolean toLowerCase) {
+		return PluginLexer.lexSource(text, toLowerCase, Source.UNKNOWN).lines;
+	}
+
+	/*
+	 * Splits the specified text into processed lines, noting where each begins in the text,
+	 * and the checksum of the bytes the text was decoded from.
+	 */
+	static Source lexSource(final CharBuffer text, final boolean toLowerCase, final long checksum) {
+		final List<String> lines = new ArrayList<String>();
+		long[] origins = new long[64];
+		final int limit = text.limit();
+		char[] scratch = new char[64];
+		int pos = text.position();
+		int number = 0;		// number of the line being scanned, from 1
+		while (pos < limit) {
+			++number;
+			// Find the end of this line
+			int end = pos;
+			while (end < limit && text.get(end) != '\n' && text.get(end) != '\r') {
+				++end;
+			}
+			final int next = end < limit && text.get(end) == '\r' && end + 1 < limit && text.get(end + 1) == '\n' ? end + 2 : end + 1;
+
+			// Trim the line, and cut it at the first comment
+			int start = pos;
+			while (start < end && text.get(start) <= ' ') {
+				++start;
+			}
+			if (start < end && text.get(start) != COMMENT) {
+				int stop = start;
+				while (stop < end && text.get(stop) != COMMENT) {
+					++stop;
+				}
+				while (stop > start && text.get(stop - 1) <= ' ') {
+					--stop;
+				}
+
+				// Copy the line, lower casing ascii letters on the way
+				final int length = stop - start;
+				if (scratch.length < length) {
+					scratch = new char[Math.max(length, scratch.length * 2)];
+				}
+				boolean isAscii = true;
+				for (int i = 0; i < length; i++) {
+					char c = text.get(start + i);
+					if (c >= 0x80) {
+						isAscii = false;
+					}
+					else if (toLowerCase && c >= 'A' && c <= 'Z') {
+						c += 'a' - 'A';
+					}
+					scratch[i] = c;
+				}
+				final String line = new String(scratch, 0, length);
+				if (lines.size() == origins.length) {
+					origins = Arrays.copyOf(origins, origins.length * 2);
+				}
+				origins[lines.size()] = Source.origin(number, start - pos + 1);
+				lines.add(toLowerCase && !isAscii ? line.toLowerCase(Plugin.LOCALE) : line);
+			}
+			pos = next;
+		}
+		return new Source(lines, Arrays.copyOf(origins, lines.size()), checksum);
+	}
+
+	/*
+	 * Processed lines of a plugin file, the line and column each begins at in the file,
+	 * and the checksum of the file.
+	 */
+	static final class Source {
+		static final long UNKNOWN = -1;		// checksum of text not read from a file
+
+		final List<String> lines;
+		final long[] origins;		// line number in the high half, column in the low half
+		final long checksum;		// CRC-32 of the bytes lexed
+
+		/* Construct a source of the specified lines */
+		Source(final List<String> lines, final long[] origins, final long checksum) {
+			this.lines = lines;
+			this.origins = origins;
+			this.checksum = checksum;
+		}
+
+		/* Packs a line number and column into an origin */
+		static long origin(final int line, final int column) {
+			return ((long)line << Integer.SIZE) | column;
+		}
+	}
+
+/*------------------------------------------------
+ 	Tokens
+ ------------------------------------------------*/
+	/**
+	 * Splits the parameters of a line into tokens at each of the specified separators,
+	 * trimming whitespace from each token. Empty tokens are kept, so a separator at
+	 * either end, or two in a row, can be reported as an error.
+	 *
+	 * @param params the parameters to split, as in <tt>2-4</tt> or <tt>3,5</tt>
+	 * @param separators the characters that separate tokens
+	 * @return the tokens in order; the trimmed parameters alone if there is no separator
+	 */
+	public static String[] split(final String params, final String separators) {
+		final List<String> tokens = new ArrayList<String>();
+		int start = 0;
+		for (int pos = 0; pos <= params.length(); pos++) {
+			if (pos == params.length() || separators.indexOf(params.charAt(pos)) >= 0) {
+				tokens.add(params.substring(start, pos).trim());
+				start = pos + 1;
+			}
+		}
+		return tokens.toArray(new String[tokens.size()]);
+	}
+
+	/**
+	 * Splits the parameters of a line into the words between runs of whitespace.
+	 *
+	 * @param params the parameters to split
+	 * @return the words in order; none if the parameters are blank
+	 */
+	public static String[] words(final String params) {
+		final List<String> words = new ArrayList<String>();
+		final int length = params.length();
+		int pos = 0;
+		while (pos < length) {
+			while (pos < length && params.charAt(pos) <= ' ') {
+				++pos;
+			}
+			int end = pos;
+			while (end < length && params.charAt(end) > ' ') {
+				++end;
+			}
+			if (end > pos) {
+				words.add(params.substring(pos, end));
+			}
+			pos = end;
+		}
+		return words.toArray(new String[words.size()]);
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the bytes of the specified file: an archive entry is inflated, a large file is
+	 * memory mapped, and a small file is read into one buffer.
+	 */
+	private static ByteBuffer readBytes(final Path path) throws IOException {
+		if (path.getFileSystem() != FileSystems.getDefault()) {
+			return ByteBuffer.wrap(PluginArchive.readAllBytes(path));
+		}
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size >= MAP_SIZE) {
+				return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			}
+			final ByteBuffer bytes = ByteBuffer.allocate((int)size);
+			while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+				// keep reading until the buffer is full
+			}
+			bytes.flip();
+			return bytes;
+		}
+	}
+}
@@ -16,6 +16,9 @@ package games.engine.plugin;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public final class PluginList { 
 	
@@ -23,6 +26,7 @@ public final class PluginList {
  	Constants and Attributes
  ------------------------------------------------*/
 	private final String[] list;
+	private final Map<String, Path> sources;		// filename -> loose file or archive entry
 	
 /*------------------------------------------------
  	Constructors
@@ -35,15 +39,25 @@ public final class PluginList {
 	 */
 	public PluginList(final Plugin.Type type) {
 		final String prefix = type.toString().toLowerCase(Plugin.LOCALE);
-		this.list = Plugin.DIRECTORY.list(new FilenameFilter() {
+		final String[] loose = Plugin.DIRECTORY.list(new FilenameFilter() {
 			@Override public boolean accept(final File dir, final String name) {
-				final String nameLC = name.toLowerCase(Plugin.LOCALE);
-				return 	nameLC.startsWith(prefix) &&
-						nameLC.endsWith(Plugin.EXTENSION) &&
-						!(	nameLC.contains("template") || 
-							nameLC.contains("test"));
+				return isListed(prefix, name);
 			}
 		});
+		
+		// Add plugins bundled in archives, unless a loose file of the same name exists
+		this.sources = new LinkedHashMap<String, Path>();
+		if (loose != null) {
+			for (final String name : loose) {
+				sources.put(name, Plugin.DIRECTORY.toPath().resolve(name));
+			}
+		}
+		for (final Map.Entry<String, Path> entry : PluginArchive.list().entrySet()) {
+			if (isListed(prefix, entry.getKey())) {
+				sources.putIfAbsent(entry.getKey(), entry.getValue());
+			}
+		}
+		this.list = sources.keySet().toArray(new String[sources.size()]);
 	}
 	
 /*------------------------------------------------
@@ -63,6 +77,17 @@ public final class PluginList {
 		return pList;
 	}
 	
+	/**
+	 * Returns the path to read the specified listed plugin from: a loose file in the plugin
+	 * directory, or an entry in a <tt>PluginArchive</tt>.
+	 * 
+	 * @param filename a plugin filename in this list
+	 * @return the path of the plugin, or null if it is not in this list
+	 */
+	public Path getSource(final PluginFilename filename) {
+		return sources.get(filename.toString());
+	}
+	
 /*------------------------------------------------
 	Overridden Methods
  ------------------------------------------------*/
@@ -70,6 +95,14 @@ public final class PluginList {
 /*------------------------------------------------
 	Static Methods
  ------------------------------------------------*/
+	/* Returns true if the named file is a listed plugin of the type with the specified prefix */
+	private static boolean isListed(final String prefix, final String name) {
+		final String nameLC = name.toLowerCase(Plugin.LOCALE);
+		return 	nameLC.startsWith(prefix) &&
+				nameLC.endsWith(Plugin.EXTENSION) &&
+				!(	nameLC.contains("template") || 
+					nameLC.contains("test"));
+	}
 
 
 }
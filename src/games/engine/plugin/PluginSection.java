@@ -0,0 +1,257 @@
+/***********************************************************************//**
+* @file			PluginSection.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		A section of a plugin file opened by a keyword
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Plugin
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The PluginSection Class
+ * - A run of lines in a <tt>Plugin</tt>, from the line holding the keyword
+ *   that opens it up to the line that ends it
+ * - Blocks (deal, phase) end at their own closing keyword, which is not
+ *   part of the section
+ * - Items (condition, action, controlled-action, cardpile, and the player
+ *   and common piles of a deal) end where the next item or the end of
+ *   their list begins
+ * - Sections form a tree: the piles of a deal are children of the deal
+ * - The tree for a whole plugin is built in one pass over its lines
+ ********************************************************************/
+public final class PluginSection {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/* Keywords that close each block */
+	private static final Map<PluginKeyword, PluginKeyword> CLOSERS = new EnumMap<PluginKeyword, PluginKeyword>(PluginKeyword.class);
+	/* Keywords that end each item, without belonging to it */
+	private static final Map<PluginKeyword, Set<PluginKeyword>> TERMINATORS = new EnumMap<PluginKeyword, Set<PluginKeyword>>(PluginKeyword.class);
+	static {
+		CLOSERS.put(PluginKeyword.DEAL, PluginKeyword.END_DEAL);
+		CLOSERS.put(PluginKeyword.PHASE, PluginKeyword.END_PHASE);
+		TERMINATORS.put(PluginKeyword.CONDITION, EnumSet.of(PluginKeyword.CONDITION, PluginKeyword.END_CONDITION));
+		TERMINATORS.put(PluginKeyword.ACTION, EnumSet.of(PluginKeyword.ACTION, PluginKeyword.END_ACTION));
+		TERMINATORS.put(PluginKeyword.CONTROLLED_ACTION, EnumSet.of(PluginKeyword.CONTROLLED_ACTION, PluginKeyword.END_CONTROLLED_ACTION));
+		TERMINATORS.put(PluginKeyword.CARDPILE, EnumSet.of(PluginKeyword.CARDPILE, PluginKeyword.BOARD_LAYOUT));
+		TERMINATORS.put(PluginKeyword.PLAYER_PILES, EnumSet.of(PluginKeyword.PLAYER_PILES, PluginKeyword.COMMON_PILES));
+		TERMINATORS.put(PluginKeyword.COMMON_PILES, EnumSet.of(PluginKeyword.PLAYER_PILES, PluginKeyword.COMMON_PILES));
+	}
+
+	private final Plugin plugin;
+	private final PluginKeyword keyword;		// null for the root of the tree
+	private final int start;					// index of the line holding the keyword
+	private final List<PluginSection> children;
+	private int end;							// index after the last line
+	private boolean closed;						// true if ended by its closing keyword
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/*
+	 * Construct an open section of the plugin, starting at the specified line.
+	 */
+	private PluginSection(final Plugin plugin, final PluginKeyword keyword, final int start) {
+		this.plugin = plugin;
+		this.keyword = keyword;
+		this.start = start;
+		this.children = new ArrayList<PluginSection>();
+		this.end = plugin.getSize();
+	}
+
+	/*
+	 * Builds the tree of sections of the specified plugin, in one pass over its lines.
+	 * The first word of each line must be given, or null if it is not a keyword.
+	 */
+	static PluginSection build(final Plugin plugin, final PluginKeyword[] keywords) {
+		final PluginSection root = new PluginSection(plugin, null, -1);
+		final List<PluginSection> open = new ArrayList<PluginSection>();
+		open.add(root);
+		for (int ndx = 0; ndx < keywords.length; ndx++) {
+			final PluginKeyword keyword = keywords[ndx];
+			if (keyword == null) {
+				continue;
+			}
+			// A closing keyword ends its block, and any items still open within it
+			int closes = open.size() - 1;
+			while (closes > 0 && CLOSERS.get(open.get(closes).keyword) != keyword) {
+				--closes;
+			}
+			if (closes > 0) {
+				open.get(closes).closed = true;
+				while (open.size() > closes) {
+					open.remove(open.size() - 1).end = ndx;
+				}
+				continue;
+			}
+			// Otherwise end any items this keyword terminates, then open its own section
+			PluginSection top = open.get(open.size() - 1);
+			while (TERMINATORS.containsKey(top.keyword) && TERMINATORS.get(top.keyword).contains(keyword)) {
+				top.end = ndx;
+				open.remove(open.size() - 1);
+				top = open.get(open.size() - 1);
+			}
+			if (CLOSERS.containsKey(keyword) || TERMINATORS.containsKey(keyword)) {
+				final PluginSection section = new PluginSection(plugin, keyword, ndx);
+				top.children.add(section);
+				open.add(section);
+			}
+		}
+		return root;
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the keyword that opens this section, or <tt>null</tt> for the root of a plugin.
+	 *
+	 * @return the keyword of this section
+	 */
+	public PluginKeyword getKeyword() {
+		return keyword;
+	}
+
+	/**
+	 * Returns the index in the plugin of the line holding the keyword that opens this section.
+	 *
+	 * @return index of the first line of this section
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Returns the index in the plugin of the line after this section, which holds the keyword that ended it, if any.
+	 *
+	 * @return index after the last line of this section
+	 */
+	public int getEnd() {
+		return end;
+	}
+
+	/**
+	 * Returns the number of lines in this section, including the line holding its keyword.
+	 *
+	 * @return the number of lines in this section
+	 */
+	public int getSize() {
+		return end - start;
+	}
+
+	/**
+	 * Returns the keyword that closes this section, or <tt>null</tt> if it is ended by the next section instead.
+	 *
+	 * @return the closing keyword of this section
+	 */
+	public PluginKeyword getCloser() {
+		return CLOSERS.get(keyword);
+	}
+
+	/**
+	 * Returns <tt>true</tt> if this section is a block that was ended by its closing keyword.
+	 *
+	 * @return true if this section was closed
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Returns the specified line of this section; line 0 holds the keyword.
+	 *
+	 * @param offset index of the line within this section
+	 * @return the line of this section
+	 * @throws IndexOutOfBoundsException if the offset is out of range (offset < 0 || offset >= getSize())
+	 */
+	public String getLine(final int offset) throws IndexOutOfBoundsException {
+		if (offset < 0 || offset >= this.getSize()) {
+			throw new IndexOutOfBoundsException("Line " + offset + " of a section of " + this.getSize() + " lines");
+		}
+		return plugin.getLine(start + offset);
+	}
+
+	/**
+	 * Returns the parameter(s) after the keyword that opens this section, such as its name.
+	 *
+	 * @return the parameters of this section
+	 * @throws PluginException if there are no parameters
+	 */
+	public String checkName() throws PluginException {
+		return plugin.checkParamsFor(keyword, start);
+	}
+
+	/**
+	 * Returns the sections within this one, in order.
+	 *
+	 * @return the children of this section
+	 */
+	public List<PluginSection> getChildren() {
+		return Collections.unmodifiableList(children);
+	}
+
+	/**
+	 * Returns the sections within this one that are opened by the specified keyword, in order.
+	 *
+	 * @param keyword the keyword opening the sections
+	 * @return the children of this section opened by the keyword
+	 */
+	public List<PluginSection> getChildren(final PluginKeyword keyword) {
+		final List<PluginSection> list = new ArrayList<PluginSection>();
+		for (final PluginSection child : children) {
+			if (child.keyword == keyword) {
+				list.add(child);
+			}
+		}
+		return list;
+	}
+
+/*------------------------------------------------
+	Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Returns the outline of this section and its children as a string.
+	 *
+	 * @return the outline of this section as a string
+ 	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		this.outline(str, 0);
+		return str.toString();
+	}
+
+	/*
+	 * Append the outline of this section, indented to the specified depth.
+	 */
+	private void outline(final StringBuilder str, final int depth) {
+		if (keyword != null) {
+			for (int i = 1; i < depth; i++) {
+				str.append('\t');
+			}
+			str.append(keyword).append(" [").append(start).append(", ").append(end).append(')').append(Strings.NEW_LINE);
+		}
+		for (final PluginSection child : children) {
+			child.outline(str, depth + 1);
+		}
+	}
+}
@@ -0,0 +1,334 @@
+/***********************************************************************//**
+* @file			RulePack.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Compiled binary form of a game's plugins, for fast startup
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Plugin
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import games.engine.CompiledRules;
+import games.engine.EngineFactory;
+import games.engine.GameDefinition;
+import games.engine.util.GamePlayer;
+
+/******************************************************************//**
+ * The RulePack Class
+ * - A rules plugin together with the board, deck, and library plugins
+ *   it uses, validated and written to one binary file beside them:
+ *   <tt>rules.name.pack</tt>
+ * - Lines are stored already processed, so loading a pack skips
+ *   reading, trimming, and stripping the text files; the components,
+ *   phases, and deal plan of the rules are stored resolved, so they
+ *   are neither tokenized nor validated again (see <tt>CompiledRules</tt>)
+ * - The file is read whole into memory and closed, so a pack may be
+ *   compiled again while games loaded from it are running
+ * - Format, version 4, big endian:
+ *   <pre>
+ *   int     magic "KERP"
+ *   short   version
+ *   short   number of plugins; the rules plugin is first
+ *   for each plugin:
+ *     string  filename
+ *     long    CRC-32 of the text file, as it was lexed
+ *     int     number of lines
+ *     string  each line
+ *   int     length of the resolved components of the rules, then each byte
+ *   long    CRC-32 of everything before it
+ *   </pre>
+ *   where each string is an int length followed by UTF-8 bytes
+ * - A pack is stale once the content of any of its text files changes; <tt>open</tt>
+ *   falls back to the text files until the pack is compiled again
+ * - Compile packs by running this class:
+ *   <tt>java games.engine.plugin.RulePack [rules.name.txt ...]</tt>
+ ********************************************************************/
+public final class RulePack {
+
+/*------------------------------------------------
+ 	Constants
+ ------------------------------------------------*/
+	/** File extension of rule packs */
+	public static final String EXTENSION = "pack";
+	/** Version of the pack format written by this class */
+	public static final short VERSION = 4;
+	private static final int MAGIC = 0x4B455250;		// "KERP"
+	private static final int DEFAULT_PLAYERS = 2;	// used to validate rules without a player count
+
+	/* Construct nothing; this class is a collection of static methods */
+	private RulePack() {}
+
+/*------------------------------------------------
+ 	Loading
+ ------------------------------------------------*/
+	/**
+	 * Returns the pack file for the specified rules plugin.
+	 *
+	 * @param rules filename of a rules plugin
+	 * @return the file the rules are packed to
+	 */
+	public static File getFile(final PluginFilename rules) {
+		return new File(Plugin.DIRECTORY, rules.getTypePrefix() + '.' + rules.getRawName() + '.' + EXTENSION);
+	}
+
+	/**
+	 * Returns the rules <tt>Plugin</tt> with the specified filename, loaded from its pack if
+	 * the pack is current, or from the text files otherwise.
+	 *
+	 * @param rules filename of a rules plugin
+	 * @return the rules plugin
+	 * @throws PluginException if the plugin does not exist or is invalid
+	 */
+	public static Plugin open(final PluginFilename rules) throws PluginException {
+		if (getFile(rules).isFile()) {
+			try {
+				final Plugin plugin = read(rules);
+				if (isCurrent(plugin)) {
+					return plugin;
+				}
+			} catch (PluginException e) {
+				// A damaged or outdated pack is ignored; the text files are authoritative
+			}
+		}
+		return new Plugin(rules);
+	}
+
+	/**
+	 * Reads the rules <tt>Plugin</tt> with the specified filename from its pack.
+	 * The board and deck plugins packed with it are returned by <tt>Plugin.open</tt>.
+	 *
+	 * @param rules filename of a rules plugin
+	 * @return the packed rules plugin
+	 * @throws PluginException if the pack does not exist, cannot be read, or is damaged
+	 */
+	public static Plugin read(final PluginFilename rules) throws PluginException {
+		final File file = getFile(rules);
+		if (!file.isFile()) {
+			throw PluginException.create(PluginException.Type.DOES_NOT_EXIST, rules);
+		}
+		final ByteBuffer buffer;
+		try {
+			buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		} catch (IOException | SecurityException e) {
+			throw PluginException.create(PluginException.Type.FILE_READ_ERROR, e, rules);
+		}
+		try {
+			// Check the checksum before trusting anything else in the pack
+			final int length = buffer.limit() - Long.BYTES;
+			final CRC32 crc = new CRC32();
+			final ByteBuffer body = buffer.duplicate();
+			body.limit(length);
+			crc.update(body);
+			if (buffer.getLong(length) != crc.getValue() || buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+				throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+			}
+
+			final int numPlugins = buffer.getShort();
+			final Map<String, Plugin> bundle = new HashMap<String, Plugin>(numPlugins * 2);
+			Plugin first = null;
+			for (int i = 0; i < numPlugins; i++) {
+				final PluginFilename filename = new PluginFilename(readString(buffer));
+				final long checksum = buffer.getLong();
+				final int numLines = buffer.getInt();
+				final List<String> lines = new ArrayList<String>(numLines);
+				for (int n = 0; n < numLines; n++) {
+					lines.add(readString(buffer));
+				}
+				final Plugin plugin = new Plugin(lines, filename, true);
+				plugin.bundle = bundle;
+				plugin.checksum = checksum;
+				bundle.put(filename.toString(), plugin);
+				if (first == null) {
+					first = plugin;
+				}
+			}
+			if (first == null || !first.getFilename().toString().equals(rules.toString())) {
+				throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+			}
+			final int compiledLength = buffer.getInt();
+			if (compiledLength != length - buffer.position()) {
+				throw PluginException.create(PluginException.Type.MISMATCH, rules, "Rule pack");
+			}
+			final ByteBuffer compiled = buffer.slice();
+			compiled.limit(compiledLength);
+			first.compiled = compiled.slice();
+			return first;
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw PluginException.create(PluginException.Type.MISMATCH, e, rules, "Rule pack");
+		}
+	}
+
+	/**
+	 * Returns <tt>true</tt> if each text file of the specified packed plugin still has the content
+	 * it was packed from. The checksums stored are those of the bytes lexed, so a file edited while
+	 * it was being packed makes the pack stale; a file only touched does not.
+	 *
+	 * @param plugin a plugin read from a pack
+	 * @return true if the pack is current
+	 */
+	public static boolean isCurrent(final Plugin plugin) {
+		if (plugin.bundle == null) {
+			return false;
+		}
+		for (final Plugin packed : plugin.bundle.values()) {
+			if (PluginCache.checksumOf(packed.getFilename().toString()) != packed.checksum) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+/*------------------------------------------------
+ 	Compiling
+ ------------------------------------------------*/
+	/**
+	 * Validates the specified rules plugin by building a game engine from it, then
+	 * writes it to a pack together with the board, deck, and library plugins it uses,
+	 * and its resolved components.
+	 *
+	 * @param rules filename of a rules plugin
+	 * @return the file written
+	 * @throws PluginException if the plugins are invalid or the pack cannot be written
+	 */
+	public static File compile(final PluginFilename rules) throws PluginException {
+		final Plugin plugin = new Plugin(rules);
+		plugin.checkType(Plugin.Type.RULES);
+		final GamePlayer[] players = new GamePlayer[plugin.checkMinPlayers(DEFAULT_PLAYERS)];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = new GamePlayer("Player " + (i + 1));
+		}
+		final GameDefinition definition = EngineFactory.getInstance().getGameDefinition(plugin);
+		definition.createEngine(players);
+		final List<Plugin> plugins = new ArrayList<Plugin>();
+		plugins.add(plugin);
+		plugins.add(plugin.open(Plugin.Type.BOARD, plugin.checkParamsFor(PluginKeyword.BOARD)));
+		plugins.add(plugin.open(Plugin.Type.DECK, plugin.checkParamsFor(PluginKeyword.DECK)));
+		for (final PluginFilename library : plugin.checkIncludes()) {
+			// Packed only so that isCurrent notices when a library changes
+			plugins.add(PluginCache.INSTANCE.get(library));
+		}
+		final File file = getFile(rules);
+		write(plugins, CompiledRules.write(definition), file);
+		return file;
+	}
+
+	/*
+	 * Writes the specified plugins and resolved components to a pack file.
+	 */
+	private static void write(final List<Plugin> plugins, final byte[] compiled, final File file) throws PluginException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			final DataOutputStream out = new DataOutputStream(bytes);
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeShort(plugins.size());
+			for (final Plugin plugin : plugins) {
+				writeString(out, plugin.getFilename().toString());
+				out.writeLong(plugin.checksum);
+				out.writeInt(plugin.getSize());
+				for (int i = 0; i < plugin.getSize(); i++) {
+					writeString(out, plugin.getLine(i));
+				}
+			}
+			out.writeInt(compiled.length);
+			out.write(compiled);
+			out.flush();
+			final CRC32 crc = new CRC32();
+			crc.update(bytes.toByteArray());
+			out.writeLong(crc.getValue());
+			out.flush();
+		} catch (IOException e) {
+			throw PluginException.create(PluginException.Type.FILE_WRITE_ERROR, e, plugins.get(0));
+		}
+
+		// Write to a temporary file, then replace the pack, so a reader never sees half of one
+		final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (final BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+			bytes.writeTo(out);
+		} catch (IOException | SecurityException e) {
+			throw PluginException.create(PluginException.Type.FILE_WRITE_ERROR, e, plugins.get(0));
+		}
+		try {
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | SecurityException e) {
+			temp.delete();
+			throw PluginException.create(PluginException.Type.FILE_WRITE_ERROR, e, plugins.get(0));
+		}
+	}
+
+	/**
+	 * Compiles the specified rules plugins, or every rules plugin if none are given, into packs.
+	 *
+	 * @param args filenames of rules plugins: rules.name.txt
+	 */
+	public static void main(final String[] args) {
+		final List<PluginFilename> names = new ArrayList<PluginFilename>();
+		if (args.length == 0) {
+			for (final PluginFilename name : new PluginList(Plugin.Type.RULES).get()) {
+				names.add(name);
+			}
+		}
+		for (final String arg : args) {
+			names.add(new PluginFilename(arg));
+		}
+		int failures = 0;
+		for (final PluginFilename name : names) {
+			try {
+				final long start = System.nanoTime();
+				final File file = compile(name);
+				System.out.printf("%s -> %s (%d bytes, %.1f ms)%n", name, file.getName(), file.length(), (System.nanoTime() - start) / 1e6);
+			} catch (PluginException e) {
+				System.out.println(name + ": " + e.getMessage());
+				++failures;
+			}
+		}
+		if (failures > 0) {
+			System.exit(1);
+		}
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Writes a string as its length in bytes followed by its UTF-8 bytes.
+	 */
+	private static void writeString(final DataOutputStream out, final String string) throws IOException {
+		final byte[] bytes = string.getBytes(Plugin.CHARSET);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/*
+	 * Reads a string written by writeString.
+	 */
+	private static String readString(final ByteBuffer buffer) {
+		final byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, Plugin.CHARSET);
+	}
+}
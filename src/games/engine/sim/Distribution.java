@@ -0,0 +1,183 @@
+/***********************************************************************//**
+* @file			Distribution.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Mergeable histogram of small whole numbers
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			SimulationStats
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.Arrays;
+
+/******************************************************************//**
+ * The Distribution Class
+ * - Counts how often each value from 0 up was seen, such as the length
+ *   of a game or the size of a card pile at its end
+ * - Two distributions merge by adding their counts, so partial results
+ *   from any number of workers combine to the same distribution in any
+ *   order
+ * - Not thread safe; each worker adds to its own distribution
+ ********************************************************************/
+public final class Distribution {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final int INITIAL_SIZE = 16;
+
+	private long[] counts = new long[INITIAL_SIZE];	// number of times each value was seen
+	private long count;
+	private long sum;
+	private int max = -1;
+
+	/**
+	 * Construct an empty <tt>Distribution</tt>.
+	 */
+	public Distribution() {}
+
+/*------------------------------------------------
+ 	Recording
+ ------------------------------------------------*/
+	/**
+	 * Adds one occurrence of the specified value.
+	 *
+	 * @param value the value seen
+	 * @throws IllegalArgumentException if the value is negative
+	 */
+	public void add(final int value) throws IllegalArgumentException {
+		if (value < 0) {
+			throw new IllegalArgumentException("Value cannot be negative: " + value);
+		}
+		if (value >= counts.length) {
+			counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+		}
+		++counts[value];
+		++count;
+		sum += value;
+		max = Math.max(max, value);
+	}
+
+	/**
+	 * Adds every occurrence counted by the specified distribution to this one.
+	 *
+	 * @param other the distribution to merge into this one
+	 */
+	public void merge(final Distribution other) {
+		if (other.max >= counts.length) {
+			counts = Arrays.copyOf(counts, other.max + 1);
+		}
+		for (int value = 0; value <= other.max; value++) {
+			counts[value] += other.counts[value];
+		}
+		count += other.count;
+		sum += other.sum;
+		max = Math.max(max, other.max);
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of values seen.
+	 *
+	 * @return the number of values
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the values seen.
+	 *
+	 * @return the sum of the values
+	 */
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * Returns the number of times the specified value was seen.
+	 *
+	 * @param value the value
+	 * @return the number of times it was seen
+	 */
+	public long getCount(final int value) {
+		return value < 0 || value > max ? 0 : counts[value];
+	}
+
+	/**
+	 * Returns the smallest value seen.
+	 *
+	 * @return the smallest value, or -1 if none was seen
+	 */
+	public int getMin() {
+		for (int value = 0; value <= max; value++) {
+			if (counts[value] != 0) {
+				return value;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the largest value seen.
+	 *
+	 * @return the largest value, or -1 if none was seen
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns the mean of the values seen.
+	 *
+	 * @return the mean, or 0 if none was seen
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double)sum / count;
+	}
+
+	/**
+	 * Returns the smallest value at or below which the specified fraction of the values fall.
+	 *
+	 * @param fraction the fraction of values, from 0 to 1; 0.5 is the median
+	 * @return the value at that fraction, or -1 if none was seen
+	 * @throws IllegalArgumentException if the fraction is not between 0 and 1
+	 */
+	public int getPercentile(final double fraction) throws IllegalArgumentException {
+		if (!(fraction >= 0 && fraction <= 1)) {
+			throw new IllegalArgumentException("Fraction must be from 0 to 1: " + fraction);
+		}
+		final long rank = Math.max(1, (long)Math.ceil(fraction * count));
+		long seen = 0;
+		for (int value = 0; value <= max; value++) {
+			seen += counts[value];
+			if (seen >= rank) {
+				return value;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Return a summary of this distribution.
+	 *
+	 * @return string containing the mean, and the minimum, median, 90th percentile, and maximum
+	 */
+	@Override public String toString() {
+		if (count == 0) {
+			return "none";
+		}
+		return String.format("mean %.1f, min %d, median %d, p90 %d, max %d",
+							 this.getMean(), this.getMin(), this.getPercentile(0.5), this.getPercentile(0.9), max);
+	}
+}
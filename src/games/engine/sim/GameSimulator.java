@@ -0,0 +1,311 @@
+/***********************************************************************//**
+* @file			GameSimulator.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Plays batches of games headless, with automated players
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameStrategy
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import games.engine.AllowedAction;
+import games.engine.CardGameEngine;
+import games.engine.EngineException;
+import games.engine.EngineFactory;
+import games.engine.Operation;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.util.CardPile;
+import games.engine.util.CardPlayer;
+import games.engine.util.GamePlayer;
+import games.engine.util.GameRandom;
+
+/******************************************************************//**
+ * The GameSimulator Class
+ * - Loads a rules plugin and plays complete games of it, each player
+ *   choosing moves through a <tt>GameStrategy</tt> instead of a GUI;
+ *   nothing in <tt>java.awt</tt> or <tt>javax.swing</tt> is used
+ * - A game ends when a player wins, when the current player is allowed
+ *   no action, at the move limit, or when the engine fails. A move the
+ *   engine will not perform is rejected, as the GUI would report it,
+ *   and the same player moves again
+ * - Games are reproducible: each game is seeded from the seed of the
+ *   run and its number alone, so the same seed and strategies play the
+ *   same hands and moves, whether the games are played here one after
+ *   another or spread over threads by a <tt>ParallelSimulator</tt>
+ * - Run as a program to measure the engine:
+ *   <tt>java games.engine.sim.GameSimulator rules.name.txt [games] [players] [seed] [threads]</tt>
+ *   plays on one thread unless a number of threads is given
+ ********************************************************************/
+public final class GameSimulator {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** Default number of moves after which a game is stopped */
+	public static final int DEFAULT_MOVE_LIMIT = 5000;
+	private static final int DEFAULT_GAMES = 100;
+	private static final int DEFAULT_PLAYERS = 2;	// used for rules without a player count
+	private static final long GAMMA = 0x9E3779B97F4A7C15L;	// odd constant spacing the seeds of games
+
+	/** How a simulated game ended */
+	public static enum Outcome {
+		/** A player won */
+		WON,
+		/** The current player was allowed no action */
+		STALLED,
+		/** No one won within the move limit */
+		MOVE_LIMIT,
+		/** The engine could not continue the game */
+		FAILED}
+
+	private final Plugin rules;
+	private final int numPlayers;
+	private int moveLimit = DEFAULT_MOVE_LIMIT;
+
+	/**
+	 * Construct a simulator of the specified game, creating its definition up front.
+	 *
+	 * @param rules the rules plugin of the game
+	 * @param numPlayers the number of players in each game
+	 * @throws PluginException if the game cannot be created from its plugins
+	 * @throws IllegalArgumentException if the number of players is not positive
+	 */
+	public GameSimulator(final Plugin rules, final int numPlayers) throws PluginException, IllegalArgumentException {
+		if (numPlayers <= 0) {
+			throw new IllegalArgumentException("Number of players must be positive: " + numPlayers);
+		}
+		EngineFactory.INSTANCE.getGameDefinition(rules);
+		this.rules = rules;
+		this.numPlayers = numPlayers;
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of players in each game.
+	 *
+	 * @return the number of players
+	 */
+	public int getNumberOfPlayers() {
+		return numPlayers;
+	}
+
+	/**
+	 * Returns the number of moves after which a game is stopped.
+	 *
+	 * @return the move limit
+	 */
+	public int getMoveLimit() {
+		return moveLimit;
+	}
+
+	/**
+	 * Sets the number of moves after which a game is stopped.
+	 *
+	 * @param limit the move limit
+	 * @throws IllegalArgumentException if the limit is not positive
+	 */
+	public void setMoveLimit(final int limit) throws IllegalArgumentException {
+		if (limit <= 0) {
+			throw new IllegalArgumentException("Move limit must be positive: " + limit);
+		}
+		moveLimit = limit;
+	}
+
+/*------------------------------------------------
+ 	Simulation
+ ------------------------------------------------*/
+	/**
+	 * Plays the specified number of games with every player choosing at random.
+	 *
+	 * @param games the number of games to play
+	 * @param seed the seed of the hands and moves
+	 * @return the stats of the games
+	 * @throws PluginException if an engine cannot be created
+	 */
+	public SimulationStats run(final long games, final long seed) throws PluginException {
+		return this.run(games, seed, RandomStrategy.INSTANCE);
+	}
+
+	/**
+	 * Plays the specified number of games on one engine, one after another.
+	 *
+	 * @param games the number of games to play
+	 * @param seed the seed of the hands and moves
+	 * @param strategies the strategy of each seat, or one strategy for every seat
+	 * @return the stats of the games
+	 * @throws PluginException if an engine cannot be created
+	 * @throws IllegalArgumentException if there is not one strategy, or one for each player
+	 */
+	public SimulationStats run(final long games, final long seed, final GameStrategy...strategies) throws PluginException, IllegalArgumentException {
+		final GameStrategy[] seats = this.seat(strategies);
+		final CardGameEngine engine = this.createEngine();
+		final SimulationStats stats = new SimulationStats(numPlayers);
+		final long start = System.nanoTime();
+		for (long game = 0; game < games; game++) {
+			this.play(engine, seats, seed, game, stats);
+		}
+		stats.addElapsed(System.nanoTime() - start);
+		return stats;
+	}
+
+	/*
+	 * Returns the strategy of each seat.
+	 */
+	GameStrategy[] seat(final GameStrategy[] strategies) throws IllegalArgumentException {
+		if (strategies.length != 1 && strategies.length != numPlayers) {
+			throw new IllegalArgumentException("Need 1 or " + numPlayers + " strategies, not " + strategies.length);
+		}
+		final GameStrategy[] seats = new GameStrategy[numPlayers];
+		for (int seat = 0; seat < seats.length; seat++) {
+			seats[seat] = strategies[strategies.length == 1 ? 0 : seat];
+			if (seats[seat] == null) {
+				throw new IllegalArgumentException("Strategy cannot be null!");
+			}
+		}
+		return seats;
+	}
+
+	/*
+	 * Creates an engine for this game; each game played on it is seeded by its number.
+	 */
+	CardGameEngine createEngine() throws PluginException {
+		final GamePlayer[] players = new GamePlayer[numPlayers];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = new GamePlayer("Player " + (i + 1));
+		}
+		return EngineFactory.INSTANCE.createCardGameEngine(rules, CardPile.Storage.ARRAY, new GameRandom(0), players);
+	}
+
+	/*
+	 * Plays the game of the specified number in the run of the specified seed, records how it ended,
+	 * and returns the seat of the winner, or -1 if no one won.
+	 * The hand and the moves depend only on those numbers, not on what the engine played before.
+	 */
+	int play(final CardGameEngine engine, final GameStrategy[] seats, final long seed, final long game, final SimulationStats stats) {
+		final GameRandom random = new GameRandom(GameSimulator.seedOf(seed, game));
+		engine.reset(random.nextLong());
+		final GameRandom rand = random.split();
+		int moves = 0;
+		int rejected = 0;
+		try {
+			engine.start();
+			final CardPlayer[] players = engine.getPlayers();
+			while (moves < moveLimit) {
+				final AllowedAction[] actions = engine.getAllowedActions().toArray();
+				if (actions.length == 0) {
+					stats.record(Outcome.STALLED, -1, moves, rejected, engine);
+					return -1;
+				}
+				final GameStrategy strategy = seats[GameSimulator.seatOf(players, engine.getCurrentPlayer())];
+				final AllowedAction action = strategy.chooseAction(engine, actions, rand);
+				++moves;
+				try {
+					final List<Operation.Parameter.Value> values = strategy.chooseParameters(engine, action, engine.getOptions(action), rand);
+					if (!engine.perform(action, values)) {
+						++rejected;
+					}
+				} catch (EngineException | PluginException | IllegalArgumentException e) {
+					// The GUI reports these, such as a move from an empty pile, and the player moves again
+					++rejected;
+				}
+				for (int seat = 0; seat < players.length; seat++) {
+					if (players[seat].hasWon()) {
+						stats.record(Outcome.WON, seat, moves, rejected, engine);
+						return seat;
+					}
+				}
+			}
+			stats.record(Outcome.MOVE_LIMIT, -1, moves, rejected, engine);
+		} catch (NoSuchFieldException | EngineException | PluginException | RuntimeException e) {
+			stats.fail(e, game, moves, rejected, engine);
+		}
+		return -1;
+	}
+
+	/*
+	 * Returns the seed of the game of the specified number in the run of the specified seed:
+	 * the SplitMix64 output for that position, so neighboring games get unrelated seeds.
+	 */
+	static long seedOf(final long seed, final long game) {
+		long z = seed + (game + 1) * GAMMA;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/*
+	 * Returns the seat of the specified player.
+	 */
+	private static int seatOf(final CardPlayer[] players, final CardPlayer player) {
+		for (int seat = 0; seat < players.length; seat++) {
+			if (players[seat] == player) {
+				return seat;
+			}
+		}
+		throw new IllegalStateException("Unknown player: " + player);
+	}
+
+/*------------------------------------------------
+ 	Program
+ ------------------------------------------------*/
+	/**
+	 * Plays games of the specified rules plugin at random and prints their stats.
+	 *
+	 * @param args rules.name.txt (or name), then optionally the number of games,
+	 * 			   the number of players (the fewest the rules allow by default), the seed,
+	 * 			   and the number of threads to play on (0 for every core)
+	 */
+	public static void main(final String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: java games.engine.sim.GameSimulator rules.name.txt [games] [players] [seed] [threads]");
+			System.exit(2);
+		}
+		try {
+			final PluginFilename filename = args[0].indexOf('.') < 0 ? new PluginFilename(Plugin.Type.RULES, args[0])
+																	  : new PluginFilename(args[0]);
+			final Plugin rules = PluginCache.INSTANCE.get(filename);
+			final long games = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_GAMES;
+			final int players = args.length > 2 ? Integer.parseInt(args[2]) : rules.checkMinPlayers(DEFAULT_PLAYERS);
+			final long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+			final int threads = args.length > 4 ? Integer.parseInt(args[4]) : -1;
+			final long start = System.nanoTime();
+			final GameSimulator simulator = new GameSimulator(rules, players);
+			System.out.printf("%s: %d players, seed %d (loaded in %.1f ms)%n", filename, players, seed, (System.nanoTime() - start) / 1e6);
+			if (threads < 0) {
+				System.out.println(simulator.run(games, seed));
+			}
+			else {
+				final ForkJoinPool pool = threads == 0 ? new ForkJoinPool() : new ForkJoinPool(threads);
+				try {
+					final ParallelSimulator parallel = new ParallelSimulator(simulator, pool);
+					System.out.printf("Threads: %d%n", parallel.getParallelism());
+					System.out.println(parallel.run(games, seed));
+				} finally {
+					pool.shutdown();
+				}
+			}
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			System.exit(1);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.exit(2);
+		}
+	}
+}
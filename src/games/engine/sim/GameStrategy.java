@@ -0,0 +1,52 @@
+/***********************************************************************//**
+* @file			GameStrategy.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		API for automated players
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameSimulator
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.List;
+
+import games.engine.AllowedAction;
+import games.engine.CardGameEngine;
+import games.engine.Operation;
+import games.engine.util.GameRandom;
+
+public interface GameStrategy {
+
+	/**
+	 * Chooses the move of the current player of the engine, as a player would click a button.
+	 * The same engine state and random stream must always produce the same choice.
+	 *
+	 * @param engine the engine being played; it must not be changed
+	 * @param actions the actions the current player is allowed, of which there is at least one
+	 * @param rand the source of randomness for the choice
+	 * @return one of the allowed actions
+	 */
+	public AllowedAction chooseAction(CardGameEngine engine, AllowedAction[] actions, GameRandom rand);
+
+	/**
+	 * Chooses the parameters of the chosen action, as a player would pick from each option dialog.
+	 * The option lists must not be changed.
+	 *
+	 * @param engine the engine being played; it must not be changed
+	 * @param action the action chosen
+	 * @param options the values to choose from for each parameter of the action, in order
+	 * @param rand the source of randomness for the choice
+	 * @return the values chosen, in order
+	 */
+	public List<Operation.Parameter.Value> chooseParameters(CardGameEngine engine, AllowedAction action,
+															 List<Operation.Parameter.OptionList> options, GameRandom rand);
+
+}
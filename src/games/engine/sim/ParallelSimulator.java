@@ -0,0 +1,176 @@
+/***********************************************************************//**
+* @file			ParallelSimulator.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Plays batches of simulated games across every core
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameSimulator
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import games.engine.CardGameEngine;
+import games.engine.plugin.PluginException;
+
+/******************************************************************//**
+ * The ParallelSimulator Class
+ * - Plays the games of a <tt>GameSimulator</tt> on a <tt>ForkJoinPool</tt>:
+ *   the range of game numbers is halved until each task holds a batch,
+ *   and the stats of the halves are merged on the way back up
+ * - Each batch plays on an engine of its own, taken from those left by
+ *   finished batches, so there are only as many engines as batches
+ *   running at once, and no engine is shared between threads
+ * - Each game is seeded from the seed of the run and its number, and
+ *   the stats merge the same in any order, so a run gives the same
+ *   stats on any number of cores, and the same as the simulator alone
+ ********************************************************************/
+public final class ParallelSimulator {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** Most games played by a task before it is divided */
+	public static final int BATCH_SIZE = 16;
+
+	private final GameSimulator simulator;
+	private final ForkJoinPool pool;
+
+	/**
+	 * Construct a parallel simulator playing on the common pool.
+	 *
+	 * @param simulator the simulator of the game to play
+	 */
+	public ParallelSimulator(final GameSimulator simulator) {
+		this(simulator, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Construct a parallel simulator playing on the specified pool.
+	 *
+	 * @param simulator the simulator of the game to play
+	 * @param pool the pool whose threads play the games
+	 */
+	public ParallelSimulator(final GameSimulator simulator, final ForkJoinPool pool) {
+		this.simulator = simulator;
+		this.pool = pool;
+	}
+
+/*------------------------------------------------
+ 	Simulation
+ ------------------------------------------------*/
+	/**
+	 * Plays the specified number of games with every player choosing at random.
+	 *
+	 * @param games the number of games to play
+	 * @param seed the seed of the hands and moves
+	 * @return the merged stats of the games
+	 * @throws PluginException if an engine cannot be created
+	 */
+	public SimulationStats run(final long games, final long seed) throws PluginException {
+		return this.run(games, seed, RandomStrategy.INSTANCE);
+	}
+
+	/**
+	 * Plays the specified number of games across the threads of the pool.
+	 * The strategies are shared by every thread, so they must hold no state.
+	 *
+	 * @param games the number of games to play
+	 * @param seed the seed of the hands and moves
+	 * @param strategies the strategy of each seat, or one strategy for every seat
+	 * @return the merged stats of the games
+	 * @throws PluginException if an engine cannot be created
+	 * @throws IllegalArgumentException if there is not one strategy, or one for each player
+	 */
+	public SimulationStats run(final long games, final long seed, final GameStrategy...strategies) throws PluginException, IllegalArgumentException {
+		final GameStrategy[] seats = simulator.seat(strategies);
+		final Queue<CardGameEngine> engines = new ConcurrentLinkedQueue<CardGameEngine>();
+		engines.add(simulator.createEngine());
+		final long start = System.nanoTime();
+		final SimulationStats stats;
+		try {
+			stats = pool.invoke(new Batch(seats, engines, seed, 0, games));
+		} catch (CompletionException e) {
+			// A failure on another worker may be rethrown wrapped again; find the engine's exception
+			for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+				if (cause instanceof PluginException) {
+					throw (PluginException)cause;
+				}
+			}
+			throw e;
+		}
+		stats.addElapsed(System.nanoTime() - start);
+		return stats;
+	}
+
+	/**
+	 * Returns the number of threads playing games.
+	 *
+	 * @return the parallelism of the pool
+	 */
+	public int getParallelism() {
+		return pool.getParallelism();
+	}
+
+/*------------------------------------------------
+ 	Tasks
+ ------------------------------------------------*/
+	/*
+	 * The games of a range of numbers, played as one batch or divided in two.
+	 */
+	private final class Batch extends RecursiveTask<SimulationStats> {
+		private static final long serialVersionUID = 1L;
+
+		private final GameStrategy[] seats;
+		private final Queue<CardGameEngine> engines;	// engines not in use by a batch
+		private final long seed;
+		private final long from;						// first game number (inclusive)
+		private final long to;							// last game number (exclusive)
+
+		private Batch(final GameStrategy[] seats, final Queue<CardGameEngine> engines, final long seed, final long from, final long to) {
+			this.seats = seats;
+			this.engines = engines;
+			this.seed = seed;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override protected SimulationStats compute() {
+			if (to - from > BATCH_SIZE) {
+				final long mid = from + (to - from) / 2;
+				final Batch first = new Batch(seats, engines, seed, from, mid);
+				first.fork();
+				final SimulationStats second = new Batch(seats, engines, seed, mid, to).compute();
+				final SimulationStats stats = first.join();
+				stats.merge(second);
+				return stats;
+			}
+			CardGameEngine engine = engines.poll();
+			if (engine == null) {
+				try {
+					engine = simulator.createEngine();
+				} catch (PluginException e) {
+					throw new CompletionException(e);
+				}
+			}
+			final SimulationStats stats = new SimulationStats(seats.length);
+			for (long game = from; game < to; game++) {
+				simulator.play(engine, seats, seed, game, stats);
+			}
+			engines.offer(engine);
+			return stats;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+/***********************************************************************//**
+* @file			RandomStrategy.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Automated player choosing uniformly among its moves
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameStrategy
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import games.engine.AllowedAction;
+import games.engine.CardGameEngine;
+import games.engine.Operation;
+import games.engine.util.GameRandom;
+
+/******************************************************************//**
+ * The RandomStrategy Enum
+ * - Access statically as RandomStrategy.INSTANCE.method()
+ *	 or GameStrategy strategy = RandomStrategy.getInstance()
+ * - Chooses any allowed action, and one value from each option list,
+ *   with equal chance; where several values may be chosen, each
+ *   further value is added with an even chance
+ * - Holds no state, so one instance may play every seat of every game
+ *   on any number of threads
+ *********************************************************************/
+public enum RandomStrategy implements GameStrategy {
+
+	/** The random strategy */
+	INSTANCE;
+
+	/* Constructs this <tt>RandomStrategy</tt> when first used. */
+	private RandomStrategy() {}
+
+	/** Return an instance of this <tt>RandomStrategy</tt>. */
+	public static RandomStrategy getInstance() {
+		return INSTANCE;
+	}
+
+	@Override public AllowedAction chooseAction(final CardGameEngine engine, final AllowedAction[] actions, final GameRandom rand) {
+		return actions[rand.nextIndex(actions.length)];
+	}
+
+	@Override public List<Operation.Parameter.Value> chooseParameters(final CardGameEngine engine, final AllowedAction action,
+																	   final List<Operation.Parameter.OptionList> options, final GameRandom rand) {
+		if (options.isEmpty()) {
+			return Collections.emptyList();
+		}
+		final List<Operation.Parameter.Value> values = new ArrayList<Operation.Parameter.Value>(options.size());
+		for (final Operation.Parameter.OptionList list : options) {
+			final List<Operation.Parameter.Value> choices = list.getOptions();
+			if (choices.isEmpty()) {
+				continue;
+			}
+			if (!list.isMultiple()) {
+				values.add(choices.get(rand.nextIndex(choices.size())));
+				continue;
+			}
+			// Pick from the choices not yet picked, by swapping each pick out of range
+			final int[] order = new int[choices.size()];
+			for (int i = 0; i < order.length; i++) {
+				order[i] = i;
+			}
+			int left = order.length;
+			do {
+				final int pick = rand.nextIndex(left--);
+				values.add(choices.get(order[pick]));
+				order[pick] = order[left];
+			} while (left > 0 && rand.nextIndex(2) == 0);
+		}
+		return values;
+	}
+}
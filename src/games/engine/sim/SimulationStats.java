@@ -0,0 +1,402 @@
+/***********************************************************************//**
+* @file			SimulationStats.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Mergeable outcomes, lengths, and throughput of simulated games
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameSimulator
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import games.Strings;
+import games.engine.CardGameEngine;
+import games.engine.plugin.Plugin;
+import games.engine.util.CardPile;
+import games.engine.util.CardPileParameter;
+import games.engine.util.CardPlayer;
+
+/******************************************************************//**
+ * The SimulationStats Class
+ * - Counts the outcome of each simulated game, the wins of each seat,
+ *   the moves and turns the games took, and the size of each card pile
+ *   when they ended
+ * - A move is one action chosen by a player; a rejected move is one
+ *   the engine would not perform, as the GUI would report it invalid
+ * - Stats of separate batches merge into the stats of all the games;
+ *   every count is a sum, and the error kept is that of the first game
+ *   by number, so the result does not depend on how the games were
+ *   divided or in what order the batches merged
+ * - Not thread safe; each worker records into its own stats
+ ********************************************************************/
+public final class SimulationStats {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	private final long[] wins;				// games won by each seat
+	private long games;
+	private long stalled;
+	private long limited;
+	private long failed;
+	private long rejected;
+	private final Distribution moves = new Distribution();		// moves of each game
+	private final Distribution turns = new Distribution();		// turns of each game
+	private final Distribution wonMoves = new Distribution();	// moves of each game won
+	private final Map<String, Distribution> piles = new TreeMap<String, Distribution>();	// owner.name -> final sizes
+	private long elapsed;					// nanoseconds spent playing
+	private String error;					// first error a game failed with
+	private long errorGame = Long.MAX_VALUE;	// number of the game that failed with it
+
+	/**
+	 * Construct empty stats for games of the specified number of players.
+	 *
+	 * @param numPlayers the number of seats in each game
+	 * @throws IllegalArgumentException if the number of players is not positive
+	 */
+	public SimulationStats(final int numPlayers) throws IllegalArgumentException {
+		if (numPlayers <= 0) {
+			throw new IllegalArgumentException("Number of players must be positive: " + numPlayers);
+		}
+		this.wins = new long[numPlayers];
+	}
+
+/*------------------------------------------------
+ 	Recording
+ ------------------------------------------------*/
+	/*
+	 * Records a game that ended on the specified engine; the winner is the seat of the winning
+	 * player, or less than zero if no one won.
+	 */
+	void record(final GameSimulator.Outcome outcome, final int winner, final int gameMoves, final int gameRejected,
+				final CardGameEngine engine) {
+		++games;
+		rejected += gameRejected;
+		moves.add(gameMoves);
+		turns.add(engine.getTurnNumber());
+		switch (outcome) {
+		case WON:
+			++wins[winner];
+			wonMoves.add(gameMoves);
+			break;
+		case STALLED:
+			++stalled;
+			break;
+		case MOVE_LIMIT:
+			++limited;
+			break;
+		case FAILED:
+		default:
+			++failed;
+			return;			// the piles were left mid move
+		}
+		for (final CardPlayer player : engine.getPlayers()) {
+			this.recordPiles(player.getPlayerPiles().toArray());
+		}
+		this.recordPiles(engine.getGameBoard().getCommonPiles().toArray());
+	}
+
+	/*
+	 * Records the specified game, which failed on the engine with the specified exception.
+	 */
+	void fail(final Exception e, final long game, final int gameMoves, final int gameRejected, final CardGameEngine engine) {
+		if (game < errorGame) {
+			error = e.toString();
+			errorGame = game;
+		}
+		this.record(GameSimulator.Outcome.FAILED, -1, gameMoves, gameRejected, engine);
+	}
+
+	/*
+	 * Records the size of each of the specified piles.
+	 */
+	private void recordPiles(final CardPile[] cardPiles) {
+		for (final CardPile pile : cardPiles) {
+			final CardPileParameter p = pile.getParameters();
+			final String name = p.getOwner().toString().toLowerCase(Plugin.LOCALE) + '.' + p.getName();
+			Distribution sizes = piles.get(name);
+			if (sizes == null) {
+				sizes = new Distribution();
+				piles.put(name, sizes);
+			}
+			sizes.add(pile.getSize());
+		}
+	}
+
+	/*
+	 * Adds to the time spent playing.
+	 */
+	void addElapsed(final long nanos) {
+		elapsed += nanos;
+	}
+
+	/**
+	 * Adds the games recorded by the specified stats to these. The time spent playing is not
+	 * added, as batches may have been played at the same time.
+	 *
+	 * @param other stats of other games of the same number of players
+	 * @throws IllegalArgumentException if the stats are of a different number of players
+	 */
+	public void merge(final SimulationStats other) throws IllegalArgumentException {
+		if (other.wins.length != wins.length) {
+			throw new IllegalArgumentException("Cannot merge stats of " + other.wins.length + " players into " + wins.length);
+		}
+		for (int seat = 0; seat < wins.length; seat++) {
+			wins[seat] += other.wins[seat];
+		}
+		games += other.games;
+		stalled += other.stalled;
+		limited += other.limited;
+		failed += other.failed;
+		rejected += other.rejected;
+		moves.merge(other.moves);
+		turns.merge(other.turns);
+		wonMoves.merge(other.wonMoves);
+		for (final Map.Entry<String, Distribution> entry : other.piles.entrySet()) {
+			Distribution sizes = piles.get(entry.getKey());
+			if (sizes == null) {
+				sizes = new Distribution();
+				piles.put(entry.getKey(), sizes);
+			}
+			sizes.merge(entry.getValue());
+		}
+		if (other.errorGame < errorGame) {
+			error = other.error;
+			errorGame = other.errorGame;
+		}
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of seats in each game.
+	 *
+	 * @return the number of players
+	 */
+	public int getNumberOfPlayers() {
+		return wins.length;
+	}
+
+	/**
+	 * Returns the number of games played.
+	 *
+	 * @return the number of games
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games won by the player in the specified seat.
+	 *
+	 * @param seat the seat of the player, from 0
+	 * @return the games won from that seat
+	 * @throws IndexOutOfBoundsException if there is no such seat
+	 */
+	public long getWins(final int seat) throws IndexOutOfBoundsException {
+		return wins[seat];
+	}
+
+	/**
+	 * Returns the number of games won by any player.
+	 *
+	 * @return the games won
+	 */
+	public long getWon() {
+		return Arrays.stream(wins).sum();
+	}
+
+	/**
+	 * Returns the number of games that ended with no action allowed and no winner.
+	 *
+	 * @return the games stalled
+	 */
+	public long getStalled() {
+		return stalled;
+	}
+
+	/**
+	 * Returns the number of games stopped at the move limit with no winner.
+	 *
+	 * @return the games stopped
+	 */
+	public long getMoveLimited() {
+		return limited;
+	}
+
+	/**
+	 * Returns the number of games the engine failed to play.
+	 *
+	 * @return the games failed
+	 */
+	public long getFailed() {
+		return failed;
+	}
+
+	/**
+	 * Returns the first error a game failed with.
+	 *
+	 * @return the first error, or null if no game failed
+	 */
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * Returns the number of moves made in every game.
+	 *
+	 * @return the total moves
+	 */
+	public long getMoves() {
+		return moves.getSum();
+	}
+
+	/**
+	 * Returns the number of moves the engine would not perform.
+	 *
+	 * @return the total rejected moves
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Returns the number of turns taken in every game.
+	 *
+	 * @return the total turns
+	 */
+	public long getTurns() {
+		return turns.getSum();
+	}
+
+	/**
+	 * Returns the average number of moves per game.
+	 *
+	 * @return the average game length in moves, or 0 if no game was played
+	 */
+	public double getAverageMoves() {
+		return moves.getMean();
+	}
+
+	/**
+	 * Returns the average number of turns per game.
+	 *
+	 * @return the average game length in turns, or 0 if no game was played
+	 */
+	public double getAverageTurns() {
+		return turns.getMean();
+	}
+
+	/**
+	 * Returns the distribution of the number of moves per game.
+	 *
+	 * @return the game lengths in moves
+	 */
+	public Distribution getMoveDistribution() {
+		return moves;
+	}
+
+	/**
+	 * Returns the distribution of the number of turns per game.
+	 *
+	 * @return the game lengths in turns
+	 */
+	public Distribution getTurnDistribution() {
+		return turns;
+	}
+
+	/**
+	 * Returns the distribution of the number of moves per game won.
+	 *
+	 * @return the lengths of won games in moves
+	 */
+	public Distribution getWonMoveDistribution() {
+		return wonMoves;
+	}
+
+	/**
+	 * Returns the distribution of the size of each card pile at the end of each game that did
+	 * not fail, by owner and name: <tt>player.hand</tt>, <tt>common.discard</tt>. The piles
+	 * of every player are counted together.
+	 *
+	 * @return the final pile sizes, by pile
+	 */
+	public Map<String, Distribution> getPileSizes() {
+		return Collections.unmodifiableMap(piles);
+	}
+
+	/**
+	 * Returns the time spent playing, in nanoseconds.
+	 *
+	 * @return the elapsed time
+	 */
+	public long getElapsedNanos() {
+		return elapsed;
+	}
+
+	/**
+	 * Returns the number of games played per second.
+	 *
+	 * @return the game throughput
+	 */
+	public double getGamesPerSecond() {
+		return elapsed == 0 ? 0 : games * NANOS_PER_SECOND / elapsed;
+	}
+
+	/**
+	 * Returns the number of moves made per second.
+	 *
+	 * @return the move throughput
+	 */
+	public double getMovesPerSecond() {
+		return elapsed == 0 ? 0 : moves.getSum() * NANOS_PER_SECOND / elapsed;
+	}
+
+	/**
+	 * Return a report of these stats.
+	 *
+	 * @return string containing the throughput, lengths, and outcomes of the games
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append(String.format("Games: %d in %.1f ms (%.1f games/s, %.0f moves/s)",
+								 games, elapsed / 1e6, this.getGamesPerSecond(), this.getMovesPerSecond()))
+		   .append(Strings.NEW_LINE.toString())
+		   .append("Moves per game: ").append(moves).append(Strings.NEW_LINE.toString())
+		   .append("Turns per game: ").append(turns).append(Strings.NEW_LINE.toString())
+		   .append("Moves per game won: ").append(wonMoves).append(Strings.NEW_LINE.toString())
+		   .append(String.format("Rejected: %d of %d moves", rejected, moves.getSum()))
+		   .append(Strings.NEW_LINE.toString())
+		   .append("Outcomes: ").append(this.getWon()).append(" won, ")
+		   .append(stalled).append(" stalled, ")
+		   .append(limited).append(" at move limit, ")
+		   .append(failed).append(" failed");
+		for (int seat = 0; seat < wins.length; seat++) {
+			str.append(Strings.NEW_LINE.toString())
+			   .append(String.format("  Seat %d: %d wins (%.1f%%)", seat + 1, wins[seat], games == 0 ? 0 : 100.0 * wins[seat] / games));
+		}
+		for (final Map.Entry<String, Distribution> entry : piles.entrySet()) {
+			str.append(Strings.NEW_LINE.toString())
+			   .append("  Size of ").append(entry.getKey()).append(": ").append(entry.getValue());
+		}
+		if (error != null) {
+			str.append(Strings.NEW_LINE.toString()).append("First error (game ").append(errorGame).append("): ").append(error);
+		}
+		return str.toString();
+	}
+}
@@ -0,0 +1,169 @@
+/***********************************************************************//**
+* @file			Standing.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Record of one entrant in a tournament
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Tournament
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+/******************************************************************//**
+ * The Standing Class
+ * - The games an entrant of a tournament won, lost, and drew, and the
+ *   points they earned: 1 for each game won, and an equal share of 1
+ *   for each game no one won
+ * - Updated only by the tournament, one game at a time
+ ********************************************************************/
+public final class Standing {
+
+/*------------------------------------------------
+ 	Attributes
+ ------------------------------------------------*/
+	private final String name;
+	private final int entrant;		// order the entrant was added in
+	private int wins;
+	private int losses;
+	private int draws;
+	private int byes;
+	private double points;
+
+	/* Construct the empty standing of the specified entrant */
+	Standing(final String name, final int entrant) {
+		this.name = name;
+		this.entrant = entrant;
+	}
+
+/*------------------------------------------------
+ 	Recording
+ ------------------------------------------------*/
+	/* Records a game won */
+	void win() {
+		++wins;
+		points += 1;
+	}
+
+	/* Records a game lost */
+	void lose() {
+		++losses;
+	}
+
+	/* Records a game no one won, and the share of its point */
+	void draw(final double share) {
+		++draws;
+		points += share;
+	}
+
+	/* Records a round without a match, and the points it is worth */
+	void bye(final double worth) {
+		++byes;
+		points += worth;
+	}
+
+/*------------------------------------------------
+ 	Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the name of this entrant.
+	 *
+	 * @return the name of the entrant
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the order in which this entrant was added to the tournament, from 0.
+	 *
+	 * @return the number of the entrant
+	 */
+	public int getEntrant() {
+		return entrant;
+	}
+
+	/**
+	 * Returns the number of games this entrant played.
+	 *
+	 * @return the games played
+	 */
+	public int getGames() {
+		return wins + losses + draws;
+	}
+
+	/**
+	 * Returns the number of games this entrant won.
+	 *
+	 * @return the games won
+	 */
+	public int getWins() {
+		return wins;
+	}
+
+	/**
+	 * Returns the number of games another entrant won.
+	 *
+	 * @return the games lost
+	 */
+	public int getLosses() {
+		return losses;
+	}
+
+	/**
+	 * Returns the number of games no one won.
+	 *
+	 * @return the games drawn
+	 */
+	public int getDraws() {
+		return draws;
+	}
+
+	/**
+	 * Returns the number of rounds this entrant sat out.
+	 *
+	 * @return the byes
+	 */
+	public int getByes() {
+		return byes;
+	}
+
+	/**
+	 * Returns the points this entrant earned.
+	 *
+	 * @return the points
+	 */
+	public double getPoints() {
+		return points;
+	}
+
+	/**
+	 * Returns the fraction of the games played that this entrant won.
+	 *
+	 * @return the win rate, or 0 if no game was played
+	 */
+	public double getWinRate() {
+		final int games = this.getGames();
+		return games == 0 ? 0 : (double)wins / games;
+	}
+
+	/**
+	 * Return information about this standing.
+	 *
+	 * @return string containing the name, points, and record of this entrant
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append(String.format("%-16s %8.2f pts  %d-%d-%d", name, points, wins, losses, draws));
+		if (byes > 0) {
+			str.append("  (").append(byes).append(byes == 1 ? " bye)" : " byes)");
+		}
+		return str.toString();
+	}
+}
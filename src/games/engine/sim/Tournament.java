@@ -0,0 +1,605 @@
+/***********************************************************************//**
+* @file			Tournament.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Round robin and Swiss tournaments between game strategies
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			GameSimulator
+* @see			Standing
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.sim;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import games.Strings;
+import games.engine.CardGameEngine;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+
+/******************************************************************//**
+ * The Tournament Class
+ * - Plays matches between named strategies, as many to a match as the
+ *   game of the <tt>GameSimulator</tt> has players, either every group
+ *   of entrants against each other (round robin) or in rounds pairing
+ *   entrants of similar points who have not met (Swiss)
+ * - Each match is played from every seat: the entrants rotate through
+ *   the seats, with the set number of games at each seating
+ * - Each game is its own task, submitted as soon as its match is
+ *   paired; where the JVM has virtual threads each game gets one, so a
+ *   strategy that blocks, such as one waiting on another process, only
+ *   parks its own game, and hundreds of thousands of games can wait at
+ *   once. Elsewhere games share a fixed pool of platform threads
+ * - Games take engines left by finished games, and record into the
+ *   stats kept with each engine, so no lock is held while a game plays.
+ *   Strategies should not block while holding a monitor, which would
+ *   pin the carrier thread of a virtual thread
+ * - Tournaments are reproducible: each game is seeded from the seed of
+ *   the tournament and its number, numbers are given as matches are
+ *   paired, and results are tallied in pairing order
+ ********************************************************************/
+public final class Tournament {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** Platform threads per core playing games when there are no virtual threads */
+	public static final int THREADS_PER_CORE = 8;
+	private static final Method VIRTUAL = Tournament.findVirtualExecutor();
+	private static final Comparator<Standing> RANK =
+			Comparator.comparingDouble(Standing::getPoints).reversed()
+					  .thenComparing(Comparator.comparingInt(Standing::getWins).reversed())
+					  .thenComparingInt(Standing::getEntrant);
+
+	/** Format of a tournament */
+	public static enum Format {
+		/** Every group of entrants plays one match */
+		ROUND_ROBIN,
+		/** Entrants of similar points are paired each round */
+		SWISS}
+
+	private final GameSimulator simulator;
+	private final ExecutorService executor;			// null to create one for each tournament
+	private final List<String> names = new ArrayList<String>();
+	private final List<GameStrategy> strategies = new ArrayList<GameStrategy>();
+	private int gamesPerSeating = 1;
+
+	/**
+	 * Construct a tournament of the specified game, played on threads of its own.
+	 *
+	 * @param simulator the simulator of the game to play
+	 */
+	public Tournament(final GameSimulator simulator) {
+		this(simulator, null);
+	}
+
+	/**
+	 * Construct a tournament of the specified game, played by the specified executor.
+	 * The executor is not shut down by the tournament.
+	 *
+	 * @param simulator the simulator of the game to play
+	 * @param executor the executor running each game, or null to create one for each tournament
+	 */
+	public Tournament(final GameSimulator simulator, final ExecutorService executor) {
+		this.simulator = simulator;
+		this.executor = executor;
+	}
+
+/*------------------------------------------------
+ 	Entrants
+ ------------------------------------------------*/
+	/**
+	 * Adds an entrant to this tournament. The strategy is called from many threads at once,
+	 * so it must hold no state, or guard what it holds.
+	 *
+	 * @param name the unique name of the entrant
+	 * @param strategy the strategy of the entrant
+	 * @throws IllegalArgumentException if either is null, or the name is taken
+	 */
+	public void addEntrant(final String name, final GameStrategy strategy) throws IllegalArgumentException {
+		if (name == null || strategy == null) {
+			throw new IllegalArgumentException("Entrant cannot be null!");
+		}
+		if (names.contains(name)) {
+			throw new IllegalArgumentException("Duplicate entrant: " + name);
+		}
+		names.add(name);
+		strategies.add(strategy);
+	}
+
+	/**
+	 * Returns the number of entrants in this tournament.
+	 *
+	 * @return the number of entrants
+	 */
+	public int getNumberOfEntrants() {
+		return names.size();
+	}
+
+	/**
+	 * Returns the number of games played at each seating of a match.
+	 *
+	 * @return the games per seating
+	 */
+	public int getGamesPerSeating() {
+		return gamesPerSeating;
+	}
+
+	/**
+	 * Sets the number of games played at each seating of a match; a match is this many games
+	 * times the number of players.
+	 *
+	 * @param games the games per seating
+	 * @throws IllegalArgumentException if the number is not positive
+	 */
+	public void setGamesPerSeating(final int games) throws IllegalArgumentException {
+		if (games <= 0) {
+			throw new IllegalArgumentException("Games per seating must be positive: " + games);
+		}
+		gamesPerSeating = games;
+	}
+
+/*------------------------------------------------
+ 	Tournaments
+ ------------------------------------------------*/
+	/**
+	 * Plays one match between every group of entrants, all at once.
+	 *
+	 * @param seed the seed of the hands and moves
+	 * @return the results of the tournament
+	 * @throws PluginException if an engine cannot be created
+	 * @throws InterruptedException if interrupted while waiting for the games
+	 * @throws IllegalArgumentException if there are fewer entrants than players
+	 */
+	public Results roundRobin(final long seed) throws PluginException, InterruptedException, IllegalArgumentException {
+		this.checkEntrants();
+		return this.play(Format.ROUND_ROBIN, 1, seed);
+	}
+
+	/**
+	 * Plays a Swiss tournament of as many rounds as it takes to halve the field down to one
+	 * entrant: the base 2 logarithm of the number of entrants, rounded up.
+	 *
+	 * @param seed the seed of the hands and moves
+	 * @return the results of the tournament
+	 * @throws PluginException if an engine cannot be created
+	 * @throws InterruptedException if interrupted while waiting for the games
+	 * @throws IllegalArgumentException if there are fewer entrants than players
+	 */
+	public Results swiss(final long seed) throws PluginException, InterruptedException, IllegalArgumentException {
+		final int n = names.size();
+		return this.swiss(n <= 1 ? 1 : Integer.SIZE - Integer.numberOfLeadingZeros(n - 1), seed);
+	}
+
+	/**
+	 * Plays a Swiss tournament of the specified number of rounds. Each round, entrants are
+	 * ranked by points and each match is filled from the top of the rankings, preferring
+	 * entrants who have not met; any left over sit the round out, the lowest ranked of those
+	 * with the fewest byes first, and score as if they had drawn every game of a match.
+	 *
+	 * @param rounds the number of rounds to play
+	 * @param seed the seed of the hands and moves
+	 * @return the results of the tournament
+	 * @throws PluginException if an engine cannot be created
+	 * @throws InterruptedException if interrupted while waiting for the games
+	 * @throws IllegalArgumentException if there are fewer entrants than players, or the rounds are not positive
+	 */
+	public Results swiss(final int rounds, final long seed) throws PluginException, InterruptedException, IllegalArgumentException {
+		this.checkEntrants();
+		if (rounds <= 0) {
+			throw new IllegalArgumentException("Rounds must be positive: " + rounds);
+		}
+		return this.play(Format.SWISS, rounds, seed);
+	}
+
+/*------------------------------------------------
+ 	Results
+ ------------------------------------------------*/
+	/******************************************************************//**
+	 * The Results Class
+	 * - The standings of the entrants of a finished tournament, from
+	 *   first to last, and the stats of every game played
+	 ********************************************************************/
+	public static final class Results {
+		private final Format format;
+		private final int rounds;
+		private final List<Standing> standings;
+		private final SimulationStats stats;
+		private final boolean isVirtual;
+
+		/* Construct the results of a tournament */
+		private Results(final Format format, final int rounds, final List<Standing> standings,
+						final SimulationStats stats, final boolean isVirtual) {
+			this.format = format;
+			this.rounds = rounds;
+			this.standings = standings;
+			this.stats = stats;
+			this.isVirtual = isVirtual;
+		}
+
+		/**
+		 * Returns the format of the tournament.
+		 *
+		 * @return the format
+		 */
+		public Format getFormat() {
+			return format;
+		}
+
+		/**
+		 * Returns the number of rounds played.
+		 *
+		 * @return the rounds
+		 */
+		public int getRounds() {
+			return rounds;
+		}
+
+		/**
+		 * Returns the standings of the entrants, ranked by points, then wins, then the order
+		 * they were added in.
+		 *
+		 * @return the standings, from first to last
+		 */
+		public List<Standing> getStandings() {
+			return standings;
+		}
+
+		/**
+		 * Returns the stats of every game of the tournament.
+		 *
+		 * @return the merged stats
+		 */
+		public SimulationStats getStats() {
+			return stats;
+		}
+
+		/**
+		 * Returns true if the tournament gave each game a virtual thread of its own; false if
+		 * it played on platform threads, or on an executor it was given.
+		 *
+		 * @return <tt>true</tt> if played on virtual threads
+		 */
+		public boolean isVirtual() {
+			return isVirtual;
+		}
+
+		/**
+		 * Return information about these results.
+		 *
+		 * @return string containing the standings and the stats of the games
+		 */
+		@Override public String toString() {
+			final StringBuilder str = new StringBuilder();
+			str.append(format).append(": ").append(rounds).append(rounds == 1 ? " round, " : " rounds, ")
+			   .append(standings.size()).append(" entrants, on ")
+			   .append(isVirtual ? "virtual threads" : "platform threads").append(Strings.NEW_LINE.toString());
+			for (int i = 0; i < standings.size(); i++) {
+				str.append(String.format("%4d. ", i + 1)).append(standings.get(i)).append(Strings.NEW_LINE.toString());
+			}
+			str.append(stats);
+			return str.toString();
+		}
+	}
+
+/*------------------------------------------------
+ 	Executors
+ ------------------------------------------------*/
+	/**
+	 * Returns true if this JVM can start a virtual thread for each game.
+	 *
+	 * @return <tt>true</tt> if there are virtual threads
+	 */
+	public static boolean hasVirtualThreads() {
+		return VIRTUAL != null;
+	}
+
+	/**
+	 * Creates the executor a tournament plays on when it is not given one: a new virtual
+	 * thread for each game if the JVM has them, or else a fixed pool of platform threads,
+	 * <tt>THREADS_PER_CORE</tt> for each core, so some games play while others block.
+	 *
+	 * @return a new executor, to be shut down by the caller
+	 */
+	public static ExecutorService newGameExecutor() {
+		final ExecutorService virtual = Tournament.newVirtualExecutor();
+		return virtual != null ? virtual : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * THREADS_PER_CORE);
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the factory of virtual thread executors, which is looked up rather than called
+	 * so the engine still builds and runs on a JRE without one.
+	 */
+	private static Method findVirtualExecutor() {
+		try {
+			return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+		} catch (NoSuchMethodException | SecurityException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Returns a new executor starting a virtual thread for each task, or null if there is none.
+	 */
+	private static ExecutorService newVirtualExecutor() {
+		if (VIRTUAL == null) {
+			return null;
+		}
+		try {
+			return (ExecutorService)VIRTUAL.invoke(null);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			return null;		// such as a preview release with previews disabled
+		}
+	}
+
+	/*
+	 * Throws an exception if there are too few entrants to fill a match.
+	 */
+	private void checkEntrants() throws IllegalArgumentException {
+		if (names.size() < simulator.getNumberOfPlayers()) {
+			throw new IllegalArgumentException("Need at least " + simulator.getNumberOfPlayers()
+											 + " entrants, not " + names.size());
+		}
+	}
+
+	/*
+	 * Plays a tournament of the specified format, shutting down the executor if it was made here.
+	 */
+	private Results play(final Format format, final int rounds, final long seed) throws PluginException, InterruptedException {
+		final ExecutorService virtual = executor == null ? Tournament.newVirtualExecutor() : null;
+		final ExecutorService games = executor != null ? executor : virtual != null ? virtual : Tournament.newGameExecutor();
+		try {
+			return new Run(games, seed).play(format, rounds, virtual != null);
+		} finally {
+			if (executor == null) {
+				games.shutdown();
+			}
+		}
+	}
+
+	/*
+	 * Adds every ascending group of entrants below the specified number, filling the specified
+	 * match from the specified seat.
+	 */
+	private static void combine(final int[] match, final int seat, final int from, final int entrants, final List<int[]> matches) {
+		if (seat == match.length) {
+			matches.add(match.clone());
+			return;
+		}
+		for (int entrant = from; entrant <= entrants - (match.length - seat); entrant++) {
+			match[seat] = entrant;
+			Tournament.combine(match, seat + 1, entrant + 1, entrants, matches);
+		}
+	}
+
+	/*
+	 * One tournament being played.
+	 */
+	private final class Run {
+		private final ExecutorService games;
+		private final long seed;
+		private final int numPlayers = simulator.getNumberOfPlayers();
+		private final Standing[] standings = new Standing[names.size()];
+		private final boolean[][] met = new boolean[names.size()][names.size()];
+		private final Queue<Table> tables = new ConcurrentLinkedQueue<Table>();	// tables not in use by a game
+		private final List<Table> all = Collections.synchronizedList(new ArrayList<Table>());
+		private long next;								// number of the next game
+
+		private Run(final ExecutorService games, final long seed) {
+			this.games = games;
+			this.seed = seed;
+			for (int i = 0; i < standings.length; i++) {
+				standings[i] = new Standing(names.get(i), i);
+			}
+		}
+
+		/* Plays every round and returns the results */
+		private Results play(final Format format, final int rounds, final boolean isVirtual) throws PluginException, InterruptedException {
+			final long start = System.nanoTime();
+			if (format == Format.ROUND_ROBIN) {
+				final List<int[]> matches = new ArrayList<int[]>();
+				Tournament.combine(new int[numPlayers], 0, 0, standings.length, matches);
+				this.playRound(matches);
+			}
+			else {
+				for (int round = 0; round < rounds; round++) {
+					this.playRound(this.pairSwiss());
+				}
+			}
+			final SimulationStats stats = new SimulationStats(numPlayers);
+			for (final Table table : all) {
+				stats.merge(table.stats);
+			}
+			stats.addElapsed(System.nanoTime() - start);
+			final Standing[] ranked = standings.clone();
+			Arrays.sort(ranked, RANK);
+			return new Results(format, rounds, Collections.unmodifiableList(Arrays.asList(ranked)), stats, isVirtual);
+		}
+
+		/* Submits every game of the specified matches, then tallies them in order */
+		private void playRound(final List<int[]> matches) throws PluginException, InterruptedException {
+			final List<int[]> seatings = new ArrayList<int[]>();
+			final List<Future<Integer>> winners = new ArrayList<Future<Integer>>();
+			for (final int[] match : matches) {
+				for (int rotation = 0; rotation < numPlayers; rotation++) {
+					final int[] seating = new int[numPlayers];
+					for (int seat = 0; seat < numPlayers; seat++) {
+						seating[seat] = match[(seat + rotation) % numPlayers];
+					}
+					for (int i = 0; i < gamesPerSeating; i++) {
+						final long game = next++;
+						seatings.add(seating);
+						winners.add(games.submit(() -> this.playGame(seating, game)));
+					}
+				}
+			}
+			for (int i = 0; i < winners.size(); i++) {
+				final int winner;
+				try {
+					winner = winners.get(i).get();
+				} catch (ExecutionException e) {
+					for (final Future<Integer> future : winners) {
+						future.cancel(true);
+					}
+					if (e.getCause() instanceof PluginException) {
+						throw (PluginException)e.getCause();
+					}
+					throw new IllegalStateException(e.getCause());
+				}
+				final int[] seating = seatings.get(i);
+				for (int seat = 0; seat < numPlayers; seat++) {
+					if (winner < 0) {
+						standings[seating[seat]].draw(1.0 / numPlayers);
+					}
+					else if (seat == winner) {
+						standings[seating[seat]].win();
+					}
+					else {
+						standings[seating[seat]].lose();
+					}
+				}
+			}
+		}
+
+		/* Plays one game of the specified seating on a free table; called by the executor */
+		private int playGame(final int[] seating, final long game) throws PluginException {
+			Table table = tables.poll();
+			if (table == null) {
+				table = new Table(simulator.createEngine(), new SimulationStats(numPlayers));
+				all.add(table);
+			}
+			final GameStrategy[] seats = new GameStrategy[numPlayers];
+			for (int seat = 0; seat < numPlayers; seat++) {
+				seats[seat] = strategies.get(seating[seat]);
+			}
+			final int winner = simulator.play(table.engine, seats, seed, game, table.stats);
+			tables.offer(table);
+			return winner;
+		}
+
+		/* Returns the matches of the next Swiss round, giving byes to any left over */
+		private List<int[]> pairSwiss() {
+			final List<Standing> ranked = new ArrayList<Standing>(Arrays.asList(standings));
+			Collections.sort(ranked, RANK);
+
+			// Byes go to the lowest ranked of those with the fewest
+			final int left = ranked.size() % numPlayers;
+			if (left > 0) {
+				final List<Standing> bottom = new ArrayList<Standing>(ranked);
+				Collections.reverse(bottom);
+				Collections.sort(bottom, Comparator.comparingInt(Standing::getByes));
+				for (final Standing bye : bottom.subList(0, left)) {
+					bye.bye(gamesPerSeating);
+					ranked.remove(bye);
+				}
+			}
+
+			// Fill each match from the top, preferring entrants who have met no one at it
+			final List<int[]> matches = new ArrayList<int[]>();
+			while (!ranked.isEmpty()) {
+				final int[] match = new int[numPlayers];
+				match[0] = ranked.remove(0).getEntrant();
+				for (int seat = 1; seat < numPlayers; seat++) {
+					int pick = 0;
+					search: for (int i = 0; i < ranked.size(); i++) {
+						for (int other = 0; other < seat; other++) {
+							if (met[match[other]][ranked.get(i).getEntrant()]) {
+								continue search;
+							}
+						}
+						pick = i;
+						break;
+					}
+					match[seat] = ranked.remove(pick).getEntrant();
+				}
+				for (final int a : match) {
+					for (final int b : match) {
+						met[a][b] = true;
+					}
+				}
+				matches.add(match);
+			}
+			return matches;
+		}
+	}
+
+	/*
+	 * An engine, and the stats of the games played on it.
+	 */
+	private static final class Table {
+		private final CardGameEngine engine;
+		private final SimulationStats stats;
+
+		private Table(final CardGameEngine engine, final SimulationStats stats) {
+			this.engine = engine;
+			this.stats = stats;
+		}
+	}
+
+/*------------------------------------------------
+ 	Program
+ ------------------------------------------------*/
+	/**
+	 * Plays a tournament between players choosing at random and prints the results.
+	 *
+	 * @param args rules.name.txt (or name), then optionally the number of entrants,
+	 * 			   the number of Swiss rounds (0 for a round robin), the games per seating,
+	 * 			   the number of players, and the seed
+	 */
+	public static void main(final String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage: java games.engine.sim.Tournament rules.name.txt [entrants] [rounds] [games] [players] [seed]");
+			System.exit(2);
+		}
+		try {
+			final PluginFilename filename = args[0].indexOf('.') < 0 ? new PluginFilename(Plugin.Type.RULES, args[0])
+																	  : new PluginFilename(args[0]);
+			final Plugin rules = PluginCache.INSTANCE.get(filename);
+			final int entrants = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+			final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+			final int games = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+			final int players = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+			final long seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+			final Tournament tournament = new Tournament(new GameSimulator(rules, players));
+			for (int i = 1; i <= entrants; i++) {
+				tournament.addEntrant("Random " + i, RandomStrategy.INSTANCE);
+			}
+			tournament.setGamesPerSeating(games);
+			System.out.printf("%s: %d players, seed %d%n", filename, players, seed);
+			System.out.println(rounds == 0 ? tournament.roundRobin(seed) : tournament.swiss(rounds, seed));
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			System.exit(1);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.exit(2);
+		} catch (InterruptedException e) {
+			System.out.println("Interrupted");
+			System.exit(1);
+		}
+	}
+}
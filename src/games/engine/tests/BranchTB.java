@@ -0,0 +1,192 @@
+package games.engine.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import games.engine.AllowedAction;
+import games.engine.CardGameEngine;
+import games.engine.EngineException;
+import games.engine.EngineFactory;
+import games.engine.Operation;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.sim.RandomStrategy;
+import games.engine.util.*;
+
+public final class BranchTB {
+
+	private final static String GAME_NAME = "idiot";
+	private final static long SEED = 7;
+	private final static int HANDS = 3;
+	private final static int MOVES = 300;
+	private final static int BRANCH_EVERY = 10;		// moves between branches
+	private final static int BRANCH_MOVES = 5;		// moves played on each branch
+	private final static int THREADS = 4;			// threads branching one engine at once
+
+	private BranchTB() {}
+
+	public static void main(String[] args) {
+
+		final Plugin rules;
+		try {
+			rules = new Plugin(Plugin.Type.RULES, GAME_NAME);
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+
+		for (final CardPile.Storage storage : CardPile.Storage.values()) {
+			try {
+				// Branching must not change what the original engine deals or picks
+				final List<String> plain = play(rules, storage, false);
+				final List<String> branched = play(rules, storage, true);
+				System.out.println(storage + ": " + plain.size() + " moves, same with branches? " + plain.equals(branched));
+
+				// A branch must go on exactly as the engine it was taken from
+				final CardGameEngine engine = create(rules, storage, SEED);
+				engine.start();
+				final GameRandom moves = new GameRandom(SEED);
+				for (int i = 0; i < MOVES / 2; i++) {
+					move(engine, moves);
+				}
+				final CardGameEngine branch = engine.branch();
+				final GameRandom branchMoves = moves.copy();
+				boolean same = true;
+				for (int i = 0; i < MOVES / 2; i++) {
+					move(engine, moves);
+					move(branch, branchMoves);
+					same &= snapshot(engine).equals(snapshot(branch));
+				}
+				engine.reset();
+				branch.reset();
+				same &= snapshot(engine).equals(snapshot(branch));
+				System.out.println(storage + ": branch continues the engine? " + same);
+				System.out.println(storage + ": branched by " + THREADS + " threads at once? " + concurrent(rules, storage));
+			} catch (PluginException | EngineException | NoSuchFieldException e) {
+				System.out.println(e.getMessage());
+			}
+		}
+	}
+
+	/* Plays the hands of the seed, optionally playing a branch every few moves, and returns each position */
+	private static List<String> play(final Plugin rules, final CardPile.Storage storage, final boolean branching)
+																throws PluginException, EngineException, NoSuchFieldException {
+		final CardGameEngine engine = create(rules, storage, SEED);
+		final GameRandom moves = new GameRandom(SEED);
+		final GameRandom branchMoves = new GameRandom(SEED + 1);
+		final List<String> positions = new ArrayList<String>();
+		for (int hand = 0; hand < HANDS; hand++) {
+			engine.reset();
+			engine.start();
+			for (int i = 0; i < MOVES; i++) {
+				if (branching && i % BRANCH_EVERY == 0) {
+					final CardGameEngine branch = engine.branch();
+					for (int j = 0; j < BRANCH_MOVES; j++) {
+						move(branch, branchMoves);
+					}
+					branch.reset();
+				}
+				move(engine, moves);
+				positions.add(snapshot(engine));
+			}
+		}
+		return positions;
+	}
+
+	/* Branches an engine from several threads at once, and returns true if no branch or the engine saw another change */
+	private static boolean concurrent(final Plugin rules, final CardPile.Storage storage)
+														throws PluginException, EngineException, NoSuchFieldException {
+		final CardGameEngine engine = create(rules, storage, SEED);
+		engine.start();
+		final GameRandom moves = new GameRandom(SEED);
+		for (int i = 0; i < MOVES / 2; i++) {
+			move(engine, moves);
+		}
+		final String before = snapshot(engine);
+		final CardGameEngine[] kept = new CardGameEngine[THREADS];
+		final AtomicBoolean same = new AtomicBoolean(true);
+		final CountDownLatch start = new CountDownLatch(1);
+		final Thread[] threads = new Thread[THREADS];
+		for (int t = 0; t < THREADS; t++) {
+			final int thread = t;
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+					kept[thread] = engine.branch();
+					final GameRandom rand = new GameRandom(SEED + thread);
+					for (int i = 0; i < BRANCH_EVERY; i++) {
+						final CardGameEngine branch = engine.branch();
+						if (!snapshot(branch).equals(before)) {
+							same.set(false);
+						}
+						for (int j = 0; j < BRANCH_MOVES; j++) {
+							move(branch, rand);
+						}
+					}
+				} catch (InterruptedException | PluginException | EngineException | NoSuchFieldException | RuntimeException e) {
+					same.set(false);
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (final Thread thread : threads) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				return false;
+			}
+		}
+		boolean result = same.get() && snapshot(engine).equals(before);
+
+		// Changes to the engine after the branches must not reach them
+		for (int i = 0; i < MOVES / 2; i++) {
+			move(engine, moves);
+		}
+		for (final CardGameEngine branch : kept) {
+			result &= branch != null && snapshot(branch).equals(before);
+		}
+		return result;
+	}
+
+	/* Creates a seeded engine with two players */
+	static CardGameEngine create(final Plugin rules, final CardPile.Storage storage, final long seed) throws PluginException {
+		return EngineFactory.getInstance().createCardGameEngine(rules, storage, new GameRandom(seed),
+																 new GamePlayer("One"), new GamePlayer("Two"));
+	}
+
+	/* Performs a random move, ignoring moves the engine rejects */
+	static void move(final CardGameEngine engine, final GameRandom rand)
+														throws PluginException, NoSuchFieldException, EngineException {
+		final AllowedAction[] actions = engine.getAllowedActions().toArray();
+		if (actions.length == 0) {
+			return;
+		}
+		final AllowedAction action = RandomStrategy.INSTANCE.chooseAction(engine, actions, rand);
+		try {
+			final List<Operation.Parameter.Value> values =
+					RandomStrategy.INSTANCE.chooseParameters(engine, action, engine.getOptions(action), rand);
+			engine.perform(action, values);
+		} catch (EngineException | PluginException | IllegalArgumentException e) {
+			// Rejected, as the GUI would report it
+		}
+	}
+
+	/* Returns the cards of every pile, and the set of each, and whose turn it is */
+	static String snapshot(final CardGameEngine engine) {
+		final StringBuilder str = new StringBuilder();
+		for (final CardPlayer player : engine.getPlayers()) {
+			for (final CardPile pile : player.getPlayerPiles().toArray()) {
+				str.append(Arrays.toString(pile.get())).append(pile.getCardSet()).append('|');
+			}
+		}
+		for (final CardPile pile : engine.getGameBoard().getCommonPiles().toArray()) {
+			str.append(Arrays.toString(pile.get())).append(pile.getCardSet()).append('|');
+		}
+		str.append(engine.getCurrentPlayer().getName()).append('|').append(engine.getHandSeed());
+		return str.toString();
+	}
+}
@@ -0,0 +1,92 @@
+package games.engine.tests;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class CardSetTB {
+
+	private final static String GAME_NAME = "idiot";
+
+	private CardSetTB() {}
+
+	public static void main(String[] args) {
+
+		final Plugin rules;
+		final Plugin board;
+		final PlayingCardCatalog.Builder builder = new PlayingCardCatalog.Builder();
+		Deck deck = null;
+		PlayingCardCatalog catalog = null;
+		PlayingCardRanking ranking = null;
+		CardPile[] piles = null;
+		try {
+			rules = new Plugin(Plugin.Type.RULES, GAME_NAME);
+			board = new Plugin(Plugin.Type.BOARD, GAME_NAME);
+			deck = DeckFactory.getInstance().createDeck(rules, builder);
+			catalog = builder.build();
+			ranking = PlayingCardFactory.getInstance().createCardRanking(rules, catalog);
+			final Plugin[] pilePlugins = CardPileFactory.INSTANCE.createPlugins(board);
+			piles = new CardPile[2];
+			piles[0] = CardPileFactory.INSTANCE.createCardPile(pilePlugins[0]);
+			piles[1] = CardPileFactory.INSTANCE.createCardPile(pilePlugins[1], CardPile.Storage.PERSISTENT);
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			e.printStackTrace();
+			System.exit(0);
+		}
+
+		System.out.println(catalog);
+		System.out.println("All cards: " + catalog.getCardSet().size());
+		for (final PlayingCardGroup group : catalog.getGroups()) {
+			System.out.println(group + ": " + catalog.getGroupMask(group).size());
+		}
+		for (final PlayingCardFace face : catalog.getFaces()) {
+			System.out.println(face + ": " + catalog.getFaceMask(face).size());
+		}
+		System.out.println();
+
+		// The rank masks must agree with the ranking itself
+		boolean passed = true;
+		for (final PlayingCard a : catalog.getCards()) {
+			final int rank = ranking.valueOf(a);
+			final CardSet atLeast = ranking.getMaskAtLeast(rank);
+			final CardSet above = ranking.getMaskAbove(rank);
+			for (final PlayingCard b : catalog.getCards()) {
+				final int cmp = ranking.compare(b, a);
+				passed &= atLeast.contains(b) == (cmp >= 0);
+				passed &= above.contains(b) == (cmp > 0);
+				passed &= ranking.getRankMask(rank).contains(b) == (cmp == 0);
+			}
+		}
+		System.out.println("Rank masks match ranking? " + passed);
+
+		// The pile mirrors must follow every change to the piles
+		deck.shuffle();
+		piles[0].add(deck.dealAll());
+		piles[0].transferTop(piles[1], 10);
+		piles[1].removeTop();
+		piles[1].removeRandom();
+		piles[1].transferMatching(piles[0], piles[1].getBottom());
+		final PlayingCard bottom = piles[1].getBottom();
+		final int size = piles[1].getSize();
+		System.out.println("Matching onto the same pile moves to the top? "
+						 + (piles[1].transferMatching(piles[1], bottom) && piles[1].getTop().equals(bottom) && piles[1].getSize() == size));
+		final CardPile branch = piles[1].branch();
+		piles[1].transferAll(piles[0]);
+		passed = true;
+		for (final CardPile pile : new CardPile[] {piles[0], piles[1], branch}) {
+			final CardSet set = CardSet.of(pile.get());
+			passed &= set.equals(pile.getCardSet()) && pile.containsAll(set);
+			for (final PlayingCard card : catalog.getCards()) {
+				passed &= pile.contains(card) == set.contains(card);
+			}
+		}
+		System.out.println("Pile mirrors match piles? " + passed);
+
+		final PlayingCard top = branch.getTop();
+		final CardSet playable = ranking.getMaskAtLeast(ranking.valueOf(top));
+		System.out.println("Top card: " + top);
+		System.out.println("Branch can play on it? " + branch.containsAny(playable));
+		System.out.println(branch.getCardSet().and(playable));
+	}
+}
@@ -0,0 +1,163 @@
+package games.engine.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class DealGeneratorTB {
+
+	private final static String[] FACES = { "low", "middle", "high" };
+	private final static String[] GROUPS = { "left", "right" };
+	private final static int HAND_SIZE = 2;
+	private final static int CANONICAL_DEALS = 48;		// of the 90 ways to deal two hands of two from six cards
+	private final static int DEALS = 90;
+	private final static int SAMPLES = 2000;
+	private final static int STRATIFIED = 60;
+	private final static int STRATA = 3;
+	private final static double EPSILON = 1e-9;
+
+	private DealGeneratorTB() {}
+
+	public static void main(String[] args) throws PluginException {
+
+		// Six cards in two suits that can be interchanged, dealt as two hands of two; the rest is the stock
+		final PlayingCardCatalog.Builder builder = new PlayingCardCatalog.Builder();
+		final Map<PlayingCardFace, Integer> faceRanks = new HashMap<PlayingCardFace, Integer>();
+		final Map<PlayingCardGroup, Integer> groupRanks = new HashMap<PlayingCardGroup, Integer>();
+		final PlayingCardGroup[] groups = new PlayingCardGroup[GROUPS.length];
+		for (int g = 0; g < GROUPS.length; g++) {
+			groups[g] = builder.createGroup(GROUPS[g]);
+			groupRanks.put(groups[g], 1);
+		}
+		final List<PlayingCard> cards = new ArrayList<PlayingCard>();
+		final PlayingCard[] named = new PlayingCard[GROUPS.length];
+		for (int f = 0; f < FACES.length; f++) {
+			final PlayingCardFace face = builder.createFace(FACES[f]);
+			faceRanks.put(face, f + 1);
+			for (int g = 0; g < GROUPS.length; g++) {
+				cards.add(builder.createPlayingCard(face, groups[g]));
+				if (f == 0) {
+					named[g] = cards.get(cards.size() - 1);
+				}
+			}
+		}
+		final PlayingCardCatalog catalog = builder.build();
+		final PlayingCardRanking ranking = new PlayingCardRanking(faceRanks, groupRanks, catalog.getCards());
+		final Deck deck = new Deck("tb-small", "suits", cards.toArray(new PlayingCard[cards.size()]));
+
+		final CardPileFactory factory = CardPileFactory.getInstance();
+		final Plugin[] pilePlugins = factory.createPlugins(new Plugin(Plugin.Type.BOARD, "test"));
+		final CardPileCollection common = factory.createCardPileCollection(CardPileParameter.Owner.COMMON, pilePlugins);
+		final CardPlayer[] players = {
+				new CardPlayer("One", factory.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins)),
+				new CardPlayer("Two", factory.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins)) };
+		final CardDealerSet playerPairs = new CardDealerSet(1);
+		playerPairs.add(new CardDealerPair("reserve-fd", HAND_SIZE));
+		final CardDealerSet commonPairs = new CardDealerSet(1);
+		commonPairs.add(new CardDealerPair("stock", deck.getSize()));
+		final CardDealer dealer = new CardDealer(common, deck, players, CardDealer.Direction.CW, false, true, playerPairs, commonPairs);
+
+		// Every canonical deal once, weighted by the deals it stands for, and dealt as generated
+		final DealGenerator generator = new DealGenerator(deck, dealer, ranking);
+		System.out.println(generator.getNumberOfSymmetries() + " symmetries, " + generator.getNumberOfHands() + " hands");
+		final Set<String> canonical = new HashSet<String>();
+		final double[] weight = new double[1];
+		final boolean[] isDealt = { true };
+		final long count = generator.enumerate(new GameRandom(1), deal -> {
+			canonical.add(hands(deal, generator.getNumberOfHands()));
+			weight[0] += deal.getWeight();
+			dealer.reset(deal.getOrder());
+			for (final CardPlayer player : players) {
+				player.getPlayerPiles().get("reserve-fd").clear();
+			}
+			common.get("stock").clear();
+			dealer.dealAll();
+			for (int p = 0; p < players.length; p++) {
+				isDealt[0] &= sorted(players[p].getPlayerPiles().get("reserve-fd").get()).equals(Arrays.toString(deal.getHand(p)));
+			}
+			return true;
+		});
+		System.out.println("Canonical deals: " + count + ", total weight " + weight[0]);
+		System.out.println("Counted each canonical deal once? " + (count == CANONICAL_DEALS && canonical.size() == CANONICAL_DEALS));
+		System.out.println("Weights add up to every deal? " + (Math.abs(weight[0] - DEALS) < EPSILON));
+		System.out.println("Dealt as generated? " + isDealt[0]);
+
+		// Naming a card of each suit keeps the suits apart, so every deal is its own
+		final DealGenerator asymmetric = new DealGenerator(deck, dealer, ranking, named);
+		System.out.println("Named cards count every deal? " + (asymmetric.getNumberOfSymmetries() == 1 &&
+				asymmetric.enumerate(new GameRandom(1), deal -> deal.getWeight() == 1) == DEALS));
+		System.out.println("Enumeration stops when asked? " + (generator.enumerate(new GameRandom(1), deal -> false) == 1));
+
+		// Sampled deals are canonical, and reproduced by the same stream
+		final GameRandom random = new GameRandom(5);
+		boolean isCanonical = true;
+		for (int i = 0; i < SAMPLES; i++) {
+			isCanonical &= canonical.contains(hands(generator.sample(random), generator.getNumberOfHands()));
+		}
+		System.out.println("Samples canonical? " + isCanonical);
+		System.out.println("Samples reproducible? " + hands(generator.sample(new GameRandom(7)), generator.getNumberOfHands())
+				.equals(hands(generator.sample(new GameRandom(7)), generator.getNumberOfHands())));
+
+		// Strata hold equal shares, ordered by the strength of the first player's hand, weighted by probability
+		final List<DealGenerator.Deal> stratified = generator.sample(STRATIFIED, STRATA, 0, new GameRandom(9));
+		final int[] perStratum = new int[STRATA];
+		final int[] weakest = new int[STRATA];
+		final int[] strongest = new int[STRATA];
+		Arrays.fill(weakest, Integer.MAX_VALUE);
+		double total = 0;
+		for (final DealGenerator.Deal deal : stratified) {
+			final int s = deal.getStratum();
+			final int strength = strength(deal.getHand(0), ranking);
+			++perStratum[s];
+			weakest[s] = Math.min(weakest[s], strength);
+			strongest[s] = Math.max(strongest[s], strength);
+			total += deal.getWeight();
+		}
+		boolean isOrdered = true;
+		for (int s = 1; s < STRATA; s++) {
+			isOrdered &= perStratum[s] == 0 || perStratum[s - 1] == 0 || strongest[s - 1] <= weakest[s];
+		}
+		System.out.println("Stratified: " + Arrays.toString(perStratum) + ", total weight " + total);
+		System.out.println("Strata ordered by strength? " + isOrdered);
+		System.out.println("Stratified weights add up to one? " + (stratified.size() <= STRATIFIED && Math.abs(total - 1) < EPSILON));
+		boolean isRejected = false;
+		try {
+			generator.sample(0, STRATA, 0, random);
+		} catch (IllegalArgumentException e) {
+			isRejected = true;
+		}
+		System.out.println("Empty sample rejected? " + isRejected);
+	}
+
+	/* Returns the hands of a deal, each in order of id */
+	private static String hands(final DealGenerator.Deal deal, final int numHands) {
+		final StringBuilder str = new StringBuilder();
+		for (int h = 0; h < numHands; h++) {
+			str.append(Arrays.toString(deal.getHand(h)));
+		}
+		return str.toString();
+	}
+
+	/* Returns the cards in order of id, as a deal lists them */
+	private static String sorted(final PlayingCard[] cards) {
+		Arrays.sort(cards, (a, b) -> Integer.compare(a.getId(), b.getId()));
+		return Arrays.toString(cards);
+	}
+
+	/* Returns the sum of the ranks of the cards */
+	private static int strength(final PlayingCard[] cards, final PlayingCardRanking ranking) {
+		int sum = 0;
+		for (final PlayingCard card : cards) {
+			sum += ranking.valueOf(card);
+		}
+		return sum;
+	}
+}
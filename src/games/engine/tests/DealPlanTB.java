@@ -0,0 +1,255 @@
+package games.engine.tests;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class DealPlanTB {
+
+	private final static int ALL = -1;		// deal all cards, as the keyword does
+	private final static String[][] PLAYER_PLANS = {
+			{ "hand", "3" },
+			{ "reserve-fd", "2", "reserve-fu", "0", "hand", "5" },
+			{ "hand", "" + ALL },
+			{ "reserve-fd", "4", "hand", "7" } };
+	private final static String[][] COMMON_PLANS = {
+			{ "stock", "" + ALL },
+			{ "discard", "1", "stock", "" + ALL },
+			{ },
+			{ "discard", "2" } };
+	private final static int[] DECK_SIZES = { 1, 7, 20, 52 };
+	private final static int[] NUM_PLAYERS = { 1, 2, 3, 5 };
+	private final static int ORDERS = 3;		// arrangements of each deck
+
+	private DealPlanTB() {}
+
+	public static void main(String[] args) throws PluginException {
+
+		// Numbered cards, so any deck size can be taken from the front
+		final PlayingCardCatalog.Builder builder = new PlayingCardCatalog.Builder();
+		final PlayingCardGroup group = builder.createGroup("only");
+		final PlayingCard[] cards = new PlayingCard[DECK_SIZES[DECK_SIZES.length - 1]];
+		for (int c = 0; c < cards.length; c++) {
+			cards[c] = builder.createPlayingCard(builder.createFace("c" + c), group);
+		}
+		builder.build();
+		final Plugin[] pilePlugins = CardPileFactory.getInstance().createPlugins(new Plugin(Plugin.Type.BOARD, "test"));
+
+		// The bulk deal, the card by card deal, and a branch from every point must all match the old order
+		final GameRandom random = new GameRandom(3);
+		int deals = 0;
+		boolean isAll = true;
+		boolean isNext = true;
+		boolean isBranched = true;
+		boolean isSized = true;
+		for (final CardPile.Storage storage : CardPile.Storage.values()) {
+			for (final CardDealer.Direction direction : CardDealer.Direction.values()) {
+				for (final boolean collate : new boolean[] { false, true }) {
+					for (final int numPlayers : NUM_PLAYERS) {
+						for (int plan = 0; plan < PLAYER_PLANS.length; plan++) {
+							for (final int size : DECK_SIZES) {
+								final PlayingCard[] deckCards = new PlayingCard[size];
+								System.arraycopy(cards, 0, deckCards, 0, size);
+								final Deck deck = new Deck("tb-plan", "suits", deckCards);
+								final CardPileCollection common = CardPileFactory.getInstance()
+										.createCardPileCollection(CardPileParameter.Owner.COMMON, storage, pilePlugins);
+								final CardPlayer[] players = new CardPlayer[numPlayers];
+								for (int p = 0; p < numPlayers; p++) {
+									players[p] = new CardPlayer("p" + p, CardPileFactory.getInstance()
+											.createCardPileCollection(CardPileParameter.Owner.PLAYER, storage, pilePlugins));
+								}
+								final CardDealerSet playerPairs = pairs(PLAYER_PLANS[plan], size);
+								final CardDealerSet commonPairs = pairs(COMMON_PLANS[plan], size);
+								final CardDealer dealer = new CardDealer(common, deck, players, direction, collate, true, playerPairs, commonPairs);
+								for (int o = 0; o < ORDERS; o++) {
+									final PlayingCard[] order = shuffled(deckCards, random);
+									final Map<String, List<PlayingCard>> expected = new HashMap<String, List<PlayingCard>>();
+									final List<Integer> sizes = new ArrayList<Integer>();
+									final int dealt = deal(order, players, direction, collate, playerPairs, commonPairs, expected, sizes);
+
+									clear(common, players);
+									dealer.reset(order);
+									dealer.dealAll();
+									isAll &= matches(expected, common, players) && dealer.toString().equals(summary(dealt, size));
+
+									clear(common, players);
+									dealer.reset(order);
+									int calls = 0;
+									while (!dealer.isDone()) {
+										dealer.dealNext();
+										++calls;
+									}
+									isNext &= matches(expected, common, players) && calls == dealt;
+
+									for (int k = 0; k <= dealt; k++) {
+										clear(common, players);
+										dealer.reset(order);
+										for (int i = 0; i < k; i++) {
+											dealer.dealNext();
+										}
+										final CardPileCollection branchCommon = common.branch();
+										final CardPlayer[] branchPlayers = new CardPlayer[numPlayers];
+										for (int p = 0; p < numPlayers; p++) {
+											branchPlayers[p] = players[p].branch();
+										}
+										final CardDealer branch = dealer.branch(branchCommon, branchPlayers);
+										branch.dealAll();
+										dealer.dealAll();
+										isBranched &= matches(expected, branchCommon, branchPlayers) && matches(expected, common, players);
+									}
+
+									final int[] targets = dealer.getTargetSizes();
+									boolean isSame = targets.length == sizes.size();
+									for (int t = 0; isSame && t < targets.length; t++) {
+										isSame = targets[t] == sizes.get(t);
+									}
+									isSized &= isSame;
+									++deals;
+								}
+							}
+						}
+					}
+				}
+			}
+		}
+		System.out.println(deals + " deals checked");
+		System.out.println("Bulk deal matches the old order? " + isAll);
+		System.out.println("Card by card deal matches the old order? " + isNext);
+		System.out.println("Branches from every card match? " + isBranched);
+		System.out.println("Target sizes match the old order? " + isSized);
+	}
+
+	/*
+	 * Deals the cards in the specified order as the dealer did before it was planned:
+	 * the player piles, one pair at a time and each player in turn, then the common piles,
+	 * stopping when the cards run out. Returns the number of cards dealt.
+	 */
+	private static int deal(final PlayingCard[] order, final CardPlayer[] players, final CardDealer.Direction direction,
+							final boolean collate, final CardDealerSet playerPairs, final CardDealerSet commonPairs,
+							final Map<String, List<PlayingCard>> piles, final List<Integer> sizes) {
+		final CardPlayer[] ordered = new CardPlayer[players.length];
+		for (int p = 0; p < players.length; p++) {
+			ordered[p] = direction == CardDealer.Direction.CCW ? players[players.length - 1 - p] : players[p];
+		}
+		int next = 0;
+		for (int i = 0; i < playerPairs.getSize(); i++) {
+			final String name = playerPairs.getCardPileName(i);
+			final int count = playerPairs.getNumCardsToDeal(i);
+			final int first = sizes.size();
+			for (int p = 0; p < ordered.length; p++) {
+				sizes.add(0);
+			}
+			for (int a = 0; a < (collate ? count : ordered.length); a++) {
+				for (int b = 0; b < (collate ? ordered.length : count); b++) {
+					final int p = collate ? b : a;
+					if (next < order.length) {
+						add(piles, key(ordered[p], name), order[next++]);
+						sizes.set(first + p, sizes.get(first + p) + 1);
+					}
+				}
+			}
+		}
+		for (int i = 0; i < commonPairs.getSize(); i++) {
+			final String name = commonPairs.getCardPileName(i);
+			final int first = sizes.size();
+			sizes.add(0);
+			for (int c = 0; c < commonPairs.getNumCardsToDeal(i) && next < order.length; c++) {
+				add(piles, key(null, name), order[next++]);
+				sizes.set(first, sizes.get(first) + 1);
+			}
+		}
+		return next;
+	}
+
+	/* Returns true if every pile holds exactly the expected cards, in order */
+	private static boolean matches(final Map<String, List<PlayingCard>> expected, final CardPileCollection common, final CardPlayer[] players) {
+		for (final CardPile pile : common.toArray()) {
+			if (!same(expected.get(key(null, pile.getParameters().getName())), pile.get())) {
+				return false;
+			}
+		}
+		for (final CardPlayer player : players) {
+			for (final CardPile pile : player.getPlayerPiles().toArray()) {
+				if (!same(expected.get(key(player, pile.getParameters().getName())), pile.get())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/* Returns true if the cards, top first, are those expected in the order dealt, treating no list as an empty pile */
+	private static boolean same(final List<PlayingCard> expected, final PlayingCard[] cards) {
+		if (expected == null) {
+			return cards.length == 0;
+		}
+		if (expected.size() != cards.length) {
+			return false;
+		}
+		for (int c = 0; c < cards.length; c++) {
+			if (expected.get(c) != cards[cards.length - 1 - c]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Returns the dealer set of the specified pile names and counts */
+	private static CardDealerSet pairs(final String[] plan, final int deckSize) {
+		final CardDealerSet set = new CardDealerSet(plan.length / 2);
+		for (int i = 0; i < plan.length; i += 2) {
+			final int count = Integer.parseInt(plan[i + 1]);
+			set.add(new CardDealerPair(plan[i], count == ALL ? deckSize : count));
+		}
+		return set;
+	}
+
+	/* Returns the cards in an order drawn from the stream */
+	private static PlayingCard[] shuffled(final PlayingCard[] cards, final GameRandom random) {
+		final PlayingCard[] order = cards.clone();
+		for (int i = order.length - 1; i > 0; i--) {
+			final int j = random.nextInt(i + 1);
+			final PlayingCard swap = order[i];
+			order[i] = order[j];
+			order[j] = swap;
+		}
+		return order;
+	}
+
+	/* Empties every pile of the table */
+	private static void clear(final CardPileCollection common, final CardPlayer[] players) {
+		for (final CardPile pile : common.toArray()) {
+			pile.clear();
+		}
+		for (final CardPlayer player : players) {
+			for (final CardPile pile : player.getPlayerPiles().toArray()) {
+				pile.clear();
+			}
+		}
+	}
+
+	/* Adds a card to the expected pile */
+	private static void add(final Map<String, List<PlayingCard>> piles, final String key, final PlayingCard card) {
+		List<PlayingCard> pile = piles.get(key);
+		if (pile == null) {
+			pile = new ArrayList<PlayingCard>();
+			piles.put(key, pile);
+		}
+		pile.add(card);
+	}
+
+	/* Returns the key of a pile of the player, or of the common piles */
+	private static String key(final CardPlayer player, final String name) {
+		return (player == null ? "common." : "player." + player.getName() + ".") + name;
+	}
+
+	/* Returns what the dealer reports after the specified cards are dealt */
+	private static String summary(final int dealt, final int size) {
+		return "Dealt " + dealt + " of " + size + " cards.";
+	}
+}
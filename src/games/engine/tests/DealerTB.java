@@ -23,6 +23,7 @@ public final class DealerTB {
 		players[2] = new CardPlayer("Lovedeep", factory.createCardPileCollection(CardPileParameter.Owner.PLAYER, pilePlugins));
 		
 		final CardDealer dealer = CardDealerFactory.INSTANCE.createCardDealer(rulesPlugin, commonPileCollecion, deck, players);
+		dealer.reset(new GameRandom(1));
 		
 		System.out.println(dealer.toString());
 		while(!dealer.isDone()){
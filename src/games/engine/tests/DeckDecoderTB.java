@@ -0,0 +1,83 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.util.Deck;
+import games.engine.util.DeckFactory;
+
+public final class DeckDecoderTB {
+
+	private final static String NAME = "tb-decoder";
+	// The cards start on line 8
+	private final static String HEADER = "name " + NAME + "\nsize 4\nfaces a,b,c\ngrouping suits\ngroups x,y\n" +
+										 "specify-quantity yes\ncards\n";
+
+	// The cards of each malformed deck, and the position and problem its error must give
+	private final static String[][] MALFORMED = {
+		{ "\t0,0,2, 1,1,1",				"line 8, column 14: found 3 of 4 cards" },
+		{ "\t0,0,2, 3,1,2",				"line 8, column 9: no face 3" },
+		{ "\t0,0,2\n\t1,2,2",			"line 9, column 4: no group 2" },
+		{ "\t0,,0,2, 1,1,2",			"line 8, column 4: empty value" },
+		{ "\t0,0,2, 1,1,3",				"line 8, column 13: more than 4 cards" },
+		{ "\t0,0,2, 1,1,2, 2",			"line 8, column 16: more than 4 cards" },
+		{ "\t0,0,99999999999",			"line 8, column 6: value too large" },
+		{ "\t0,0,2, 1,1",				"line 8, column 12: missing quantity of card 3" },
+		{ "\t0,0,2\n# two of b\n  1,1,5",	"line 10, column 7: more than 4 cards" },
+	};
+
+	// Well formed decks that look unusual: decimals, comments, trailing commas, and values split across lines
+	private final static String[] WELL_FORMED = {
+		"\t0,0,2, 1,1,2",
+		"\t0, 0.9, 2,\t# two of a\n\t1,\n\t1, 2.0,",
+		"\t0,0,\n\t2,1\n\t1,2",
+	};
+	private final static String EXPECTED = "[Playing Card: a - x, Playing Card: a - x, Playing Card: b - y, Playing Card: b - y]";
+
+	private DeckDecoderTB() {}
+
+	public static void main(String[] args) throws IOException, PluginException {
+
+		final PluginFilename filename = new PluginFilename(Plugin.Type.DECK, NAME);
+		final File file = new File(Plugin.DIRECTORY, filename.toString());
+		try {
+			boolean isDecoded = true;
+			for (final String cards : WELL_FORMED) {
+				write(file, cards);
+				final Deck deck = DeckFactory.INSTANCE.createDeck(new Plugin(filename));
+				isDecoded &= Arrays.toString(deck.getCards()).equals(EXPECTED);
+			}
+			System.out.println(Arrays.toString(DeckFactory.INSTANCE.createDeck(new Plugin(filename)).getCards()));
+			System.out.println("Well formed decks decoded? " + isDecoded);
+
+			// Each error names the line and column in the file, and what was wrong there
+			boolean isReported = true;
+			for (final String[] malformed : MALFORMED) {
+				write(file, malformed[0]);
+				String message = "no error";
+				try {
+					DeckFactory.INSTANCE.createDeck(new Plugin(filename));
+				} catch (PluginException e) {
+					message = e.getType() == PluginException.Type.DATA_REPRESENTATION ? e.getMessage() : e.toString();
+				}
+				final boolean isExpected = message.contains("(" + malformed[1] + ")");
+				System.out.println((isExpected ? "  " : "? ") + message);
+				isReported &= isExpected;
+			}
+			System.out.println("Malformed decks reported where they fail? " + isReported);
+		} finally {
+			Files.deleteIfExists(file.toPath());
+		}
+	}
+
+	/* Writes a deck plugin with the header and the specified cards */
+	private static void write(final File file, final String cards) throws IOException {
+		Files.write(file.toPath(), (HEADER + cards + "\n").getBytes(StandardCharsets.UTF_8));
+	}
+}
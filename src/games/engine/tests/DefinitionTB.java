@@ -0,0 +1,119 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import games.engine.CardGameEngine;
+import games.engine.EngineFactory;
+import games.engine.GameDefinition;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+import games.engine.util.GamePlayer;
+
+public final class DefinitionTB {
+
+	private final static String NAME = "tb-definition";
+	private final static String[] EDIT = { "size 108", "size 112", "0,1,1, 0,2,1, 0,3,1, 0,4,1", "0,1,2, 0,2,2, 0,3,2, 0,4,2" };
+	private final static int THREADS = 8;
+	private final static long TIMEOUT = 10000;		// ms to wait for the watcher to see a change
+	private final static long POLL = 20;
+
+	private DefinitionTB() {}
+
+	public static void main(String[] args) throws IOException, InterruptedException, PluginException {
+
+		// Uno, with a deck of its own that can be edited
+		final String rulesText = read(new PluginFilename(Plugin.Type.RULES, "uno"))
+				.replace(PluginKeyword.DECK + " uno", PluginKeyword.DECK + " " + NAME);
+		final String deckText = read(new PluginFilename(Plugin.Type.DECK, "uno"))
+				.replace(PluginKeyword.NAME + " uno", PluginKeyword.NAME + " " + NAME);
+		final PluginFilename rules = new PluginFilename(Plugin.Type.RULES, NAME);
+		final PluginFilename deck = new PluginFilename(Plugin.Type.DECK, NAME);
+		final File[] files = { write(rules, rulesText), write(deck, deckText) };
+		try {
+			// Every engine of a cached plugin shares one definition, even when asked for at once
+			final Plugin plugin = PluginCache.INSTANCE.get(rules);
+			final AtomicReferenceArray<GameDefinition> found = new AtomicReferenceArray<GameDefinition>(THREADS);
+			final CountDownLatch start = new CountDownLatch(1);
+			final Thread[] threads = new Thread[THREADS];
+			for (int i = 0; i < THREADS; i++) {
+				final int ndx = i;
+				threads[i] = new Thread(() -> {
+					try {
+						start.await();
+						found.set(ndx, EngineFactory.getInstance().getGameDefinition(plugin));
+					} catch (InterruptedException | PluginException e) {
+						// Left null, which fails the check below
+					}
+				});
+				threads[i].start();
+			}
+			start.countDown();
+			boolean isShared = true;
+			for (int i = 0; i < THREADS; i++) {
+				threads[i].join();
+				isShared &= found.get(i) != null && found.get(i) == found.get(0);
+			}
+			final GameDefinition first = found.get(0);
+			System.out.print(first);
+			System.out.println("Created once for " + THREADS + " threads? " + isShared);
+			System.out.println("Reused? " + (first == EngineFactory.getInstance().getGameDefinition(PluginCache.INSTANCE.get(rules))));
+
+			// Editing only the deck makes a new definition, with the new deck
+			write(deck, deckText.replace(EDIT[0], EDIT[1]).replace(EDIT[2], EDIT[3]));
+			final long end = System.currentTimeMillis() + TIMEOUT;
+			Plugin current = PluginCache.INSTANCE.get(rules);
+			while (current == plugin && System.currentTimeMillis() < end) {
+				Thread.sleep(POLL);
+				current = PluginCache.INSTANCE.get(rules);
+			}
+			final GameDefinition edited = EngineFactory.getInstance().getGameDefinition(current);
+			System.out.println("Edited deck makes a new definition? " + (edited != first && deckSize(edited) == 112));
+			System.out.println("Old definition unchanged? " + (deckSize(first) == 108));
+
+			// A definition that fails is not kept; each request reports the error
+			Files.delete(files[1].toPath());
+			final Plugin missing = new Plugin(rules);
+			System.out.println("Missing deck reported each time? " + (fails(missing) && fails(missing)));
+		} finally {
+			for (final File file : files) {
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+	}
+
+	/* Returns the number of cards in the deck of a game created from the definition */
+	private static int deckSize(final GameDefinition definition) {
+		final CardGameEngine engine = definition.createEngine(new GamePlayer("One"), new GamePlayer("Two"));
+		return engine.getGameBoard().getDeck().getSize();
+	}
+
+	/* Returns true if the definition of the rules cannot be created because a plugin is missing */
+	private static boolean fails(final Plugin rules) {
+		try {
+			EngineFactory.getInstance().getGameDefinition(rules);
+			return false;
+		} catch (PluginException e) {
+			return e.getType() == PluginException.Type.DOES_NOT_EXIST;
+		}
+	}
+
+	/* Returns the text of a plugin in the plugin directory */
+	private static String read(final PluginFilename filename) throws IOException {
+		return new String(Files.readAllBytes(new File(Plugin.DIRECTORY, filename.toString()).toPath()), StandardCharsets.UTF_8);
+	}
+
+	/* Writes a plugin with the specified filename and text to the plugin directory */
+	private static File write(final PluginFilename filename, final String text) throws IOException {
+		final File file = new File(Plugin.DIRECTORY, filename.toString());
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,94 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import games.engine.RuleLibrary;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+
+public final class LibraryTB {
+
+	private final static String SHARED = "tb-shared";
+	private final static String NESTED = "tb-nested";
+	private final static String EMPTY = "tb-empty";
+	private final static String MISSING = "tb-missing";
+	private final static String[][] BAD_INCLUDES = {
+			{ "include " + SHARED + " " + EMPTY },
+			{ "include " + SHARED + "\t" + EMPTY },
+			{ "include " + SHARED + ".txt" },
+			{ "include " + SHARED, "include " + SHARED } };
+
+	private final static String SHARED_TEXT =
+			"condition is-skip\n\tmatch-rank common.discard.top skip\n\n" +
+			"condition is-wild\n\tmatch-rank playing-card wild\n\n" +
+			"condition is-special-card\n\tis-skip OR\n\tis-wild\n\nend-condition\n";
+	private final static String NESTED_TEXT = "include " + SHARED + "\n\n" + SHARED_TEXT;
+	private final static String EMPTY_TEXT = "name " + EMPTY + "\n";
+
+	private LibraryTB() {}
+
+	public static void main(String[] args) throws IOException, PluginException {
+
+		final File[] files = { write(SHARED, SHARED_TEXT), write(NESTED, NESTED_TEXT), write(EMPTY, EMPTY_TEXT) };
+		try {
+			try {
+				final RuleLibrary shared = RuleLibrary.get(new PluginFilename(Plugin.Type.LIBRARY, SHARED));
+				System.out.println(shared);
+				System.out.println("Compiled once? " + (shared == RuleLibrary.get(new PluginFilename(Plugin.Type.LIBRARY, SHARED))));
+				System.out.println("Three conditions? " + (shared.getConditions().getSize() == 3));
+			} catch (PluginException e) {
+				System.out.println("Unexpected: " + e.getMessage());
+			}
+
+			// A library may not include another; the error names the include
+			System.out.println("Nested include rejected? " + fails(NESTED, PluginException.Type.INVALID_PARAMETER,
+																   "\"" + PluginKeyword.INCLUDE + "\""));
+			System.out.println("Empty library rejected? " + fails(EMPTY, PluginException.Type.MISSING_KEYWORD,
+																  "\"" + PluginKeyword.CONDITION + "\""));
+			System.out.println("Missing library rejected? " + fails(MISSING, PluginException.Type.DOES_NOT_EXIST, MISSING));
+
+			// Each include names one library, once
+			final Plugin rules = new Plugin(Arrays.asList("include " + SHARED, "include  " + EMPTY), new PluginFilename(Plugin.Type.RULES, "tb-includes"));
+			System.out.println("Includes read? " + rules.checkIncludes().toString().equals(Arrays.asList(
+					new PluginFilename(Plugin.Type.LIBRARY, SHARED), new PluginFilename(Plugin.Type.LIBRARY, EMPTY)).toString()));
+			boolean isRejected = true;
+			for (final String[] lines : BAD_INCLUDES) {
+				try {
+					new Plugin(Arrays.asList(lines), new PluginFilename(Plugin.Type.RULES, "tb-includes")).checkIncludes();
+					isRejected = false;
+				} catch (PluginException e) {
+					isRejected &= e.getType() == PluginException.Type.INVALID_PARAMETER;
+				}
+			}
+			System.out.println("Bad includes rejected? " + isRejected);
+		} finally {
+			for (final File file : files) {
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+	}
+
+	/* Returns true if getting the library fails with the specified type, naming the specified text */
+	private static boolean fails(final String name, final PluginException.Type type, final String text) {
+		try {
+			RuleLibrary.get(new PluginFilename(Plugin.Type.LIBRARY, name));
+			return false;
+		} catch (PluginException e) {
+			System.out.println("  " + e.getMessage());
+			return e.getType() == type && e.getMessage().contains(text);
+		}
+	}
+
+	/* Writes a library with the specified name and text to the plugin directory */
+	private static File write(final String name, final String text) throws IOException, PluginException {
+		final File file = new File(Plugin.DIRECTORY, new PluginFilename(Plugin.Type.LIBRARY, name).toString());
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
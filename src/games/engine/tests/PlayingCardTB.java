@@ -1,8 +1,8 @@
 package games.engine.tests;
 
 import games.engine.util.PlayingCard;
+import games.engine.util.PlayingCardCatalog;
 import games.engine.util.PlayingCardFace;
-import games.engine.util.PlayingCardFactory;
 import games.engine.util.PlayingCardGroup;
 
 public final class PlayingCardTB {
@@ -18,7 +18,7 @@ public final class PlayingCardTB {
 		// Comparators for sorting
 		// New Deck
 		
-		PlayingCardFactory factory = PlayingCardFactory.getInstance();
+		PlayingCardCatalog.Builder factory = new PlayingCardCatalog.Builder();
 		
 		//factory.createFace(null);
 		//factory.createFace(2);
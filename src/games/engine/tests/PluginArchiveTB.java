@@ -0,0 +1,97 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginArchive;
+
+public final class PluginArchiveTB {
+
+	private final static String ARCHIVE = "archive-tb.zip";
+	private final static String ENTRY = "brief.archive-tb.txt";
+	private final static int READERS = 4;
+	private final static int RELOADS = 200;
+
+	private PluginArchiveTB() {}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+
+		final File file = new File(Plugin.DIRECTORY, ARCHIVE);
+		final byte[][] versions = new byte[2][];
+		for (int v = 0; v < versions.length; v++) {
+			final StringBuilder str = new StringBuilder();
+			for (int i = 0; i <= 1000 * (v + 1); i++) {
+				str.append("version ").append(v).append(" line ").append(i).append('\n');
+			}
+			versions[v] = str.toString().getBytes(Plugin.CHARSET);
+		}
+		try {
+			write(file, versions[0]);
+			PluginArchive.getArchives();
+
+			// A path found before the archive is replaced must still read, from the new archive
+			final Path before = PluginArchive.resolve(ENTRY);
+			write(file, versions[1]);
+			PluginArchive.getArchives();
+			System.out.println("Path from a replaced archive reads the new entry? "
+							   + Arrays.equals(PluginArchive.readAllBytes(before), versions[1]));
+
+			// Readers must never fail while the archive is replaced under them
+			final AtomicLong reads = new AtomicLong();
+			final AtomicLong failures = new AtomicLong();
+			final Thread[] readers = new Thread[READERS];
+			final AtomicBoolean done = new AtomicBoolean();
+			for (int r = 0; r < READERS; r++) {
+				readers[r] = new Thread(() -> {
+					while (!done.get()) {
+						try {
+							final byte[] bytes = PluginArchive.readAllBytes(PluginArchive.resolve(ENTRY));
+							if (!Arrays.equals(bytes, versions[0]) && !Arrays.equals(bytes, versions[1])) {
+								failures.incrementAndGet();
+							}
+							PluginArchive.readAttributes(PluginArchive.resolve(ENTRY));
+						} catch (IOException | RuntimeException e) {
+							failures.incrementAndGet();
+						}
+						reads.incrementAndGet();
+					}
+				});
+				readers[r].start();
+			}
+			for (int i = 0; i < RELOADS; i++) {
+				write(file, versions[i % 2]);
+				PluginArchive.getArchives();
+			}
+			done.set(true);
+			for (final Thread reader : readers) {
+				reader.join();
+			}
+			System.out.println("Reads: " + reads.get() + " during " + RELOADS + " reloads, failures: " + failures.get());
+		} finally {
+			Files.deleteIfExists(file.toPath());
+			PluginArchive.getArchives();
+		}
+	}
+
+	/* Replaces the archive with one holding the entry with the specified content */
+	private static void write(final File file, final byte[] content) throws IOException {
+		final File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+		try (final OutputStream out = Files.newOutputStream(temp.toPath());
+			 final ZipOutputStream zip = new ZipOutputStream(out)) {
+			zip.putNextEntry(new ZipEntry(ENTRY));
+			zip.write(content);
+			zip.closeEntry();
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
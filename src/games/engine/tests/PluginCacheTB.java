@@ -0,0 +1,94 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+
+public final class PluginCacheTB {
+
+	private final static String NAME = "tb-cache";
+	private final static String PROBE = "tb-probe";		// edited to tell when earlier changes have been seen
+	private final static String LIBRARY_TEXT = "condition tb-first\n\tis-empty common.discard\nend-condition\n";
+	private final static String EDITED_TEXT = "condition tb-second\n\tis-empty common.discard\nend-condition\n";
+	private final static String RULES_TEXT = "name " + NAME + "\n" + PluginKeyword.INCLUDE + " " + NAME + "\n";
+	private final static long TIMEOUT = 10000;		// ms to wait for the watcher to see a change
+	private final static long POLL = 20;
+
+	private static int probes;
+
+	private PluginCacheTB() {}
+
+	public static void main(String[] args) throws IOException, InterruptedException, PluginException {
+
+		final PluginFilename library = new PluginFilename(Plugin.Type.LIBRARY, NAME);
+		final PluginFilename rules = new PluginFilename(Plugin.Type.RULES, NAME);
+		final PluginFilename probe = new PluginFilename(Plugin.Type.LIBRARY, PROBE);
+		final File[] files = { write(library, LIBRARY_TEXT), write(rules, RULES_TEXT), write(probe, "probe 0\n") };
+		try {
+			final Plugin first = PluginCache.INSTANCE.get(library);
+			final Plugin firstRules = PluginCache.INSTANCE.get(rules);
+			PluginCache.INSTANCE.get(probe);
+			System.out.println("Watching? " + PluginCache.INSTANCE.isWatching());
+			System.out.println("Cached? " + (first == PluginCache.INSTANCE.get(library) && firstRules == PluginCache.INSTANCE.get(rules)));
+
+			// Writing the same text is a change to the directory, but not to the plugin
+			write(library, LIBRARY_TEXT);
+			awaitChanges(probe);
+			System.out.println("Same text kept? " + (first == PluginCache.INSTANCE.get(library) && firstRules == PluginCache.INSTANCE.get(rules)));
+
+			// Editing the library reloads it, and the rules that include it
+			write(library, EDITED_TEXT);
+			final Plugin edited = await(library, first);
+			System.out.println("Edited file reloaded? " + (edited != first && edited.getLine(0).equals(PluginKeyword.CONDITION + " tb-second")));
+			System.out.println("Including rules reloaded? " + (PluginCache.INSTANCE.get(rules) != firstRules));
+			System.out.println("Reloaded once? " + (edited == PluginCache.INSTANCE.get(library)));
+
+			// A deleted file is not returned from the cache
+			Files.delete(files[0].toPath());
+			awaitChanges(probe);
+			boolean isMissing = false;
+			try {
+				PluginCache.INSTANCE.get(library);
+			} catch (PluginException e) {
+				isMissing = e.getType() == PluginException.Type.DOES_NOT_EXIST;
+			}
+			System.out.println("Deleted file missing? " + isMissing);
+		} finally {
+			for (final File file : files) {
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+	}
+
+	/* Returns the plugin with the specified filename once it is no longer the specified one */
+	private static Plugin await(final PluginFilename filename, final Plugin old) throws InterruptedException, PluginException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		Plugin plugin = PluginCache.INSTANCE.get(filename);
+		while (plugin == old && System.currentTimeMillis() < end) {
+			Thread.sleep(POLL);
+			plugin = PluginCache.INSTANCE.get(filename);
+		}
+		return plugin;
+	}
+
+	/* Edits the probe, and waits until the cache reloads it, so every earlier change has been seen */
+	private static void awaitChanges(final PluginFilename probe) throws IOException, InterruptedException, PluginException {
+		final Plugin old = PluginCache.INSTANCE.get(probe);
+		write(probe, "probe " + ++probes + "\n");
+		await(probe, old);
+	}
+
+	/* Writes a plugin with the specified filename and text to the plugin directory */
+	private static File write(final PluginFilename filename, final String text) throws IOException {
+		final File file = new File(Plugin.DIRECTORY, filename.toString());
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,119 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginIndex;
+import games.engine.plugin.PluginKeyword;
+
+public final class PluginIndexTB {
+
+	private final static String[] GAME_NAMES = { "idiot", "uno" };
+	private final static String NAME = "tb-index";
+	private final static String TEXT = "name " + NAME + "\nplayers 3-5\ndeck uno\nboard uno\n";
+	private final static String EDITED_TEXT = "name " + NAME + "\nplayers 2,4,6\ndeck uno\nboard uno\n";
+	private final static String[] SPACED_PLAYERS = { "3 - 5", "2 , 4 ,6" };
+	private final static int[][] SPACED_COUNTS = { { 3, 4, 5 }, { 2, 4, 6 } };
+	private final static String[] BAD_PLAYERS = { "3-", "-5", "5-3", "2-4-6", "2,,4", "2,4,", "two" };
+
+	private PluginIndexTB() {}
+
+	public static void main(String[] args) throws IOException, PluginException {
+
+		final File index = PluginIndex.getFile();
+		final boolean existed = index.isFile();
+		final PluginFilename filename = new PluginFilename(Plugin.Type.RULES, NAME);
+		final File file = new File(Plugin.DIRECTORY, filename.toString());
+		try {
+			PluginIndex current = PluginIndex.open();
+			System.out.println(current.getSize() + " rules indexed, " + current.getUpdated() + " read");
+
+			// Each entry holds what the rules plugin says
+			boolean isSame = true;
+			for (final String name : GAME_NAMES) {
+				final PluginFilename rules = new PluginFilename(Plugin.Type.RULES, name);
+				final Plugin plugin = new Plugin(rules);
+				final PluginIndex.Entry entry = current.checkEntry(rules);
+				System.out.println("  " + entry);
+				isSame &= same(entry.getName(), plugin.getParamsFor(PluginKeyword.NAME)) &&
+						  same(entry.getPlayers(), plugin.getParamsFor(PluginKeyword.PLAYERS)) &&
+						  same(entry.getDeck(), plugin.getParamsFor(PluginKeyword.DECK)) &&
+						  same(entry.getBoard(), plugin.getParamsFor(PluginKeyword.BOARD));
+			}
+			System.out.println("Entries match the plugins? " + isSame);
+			System.out.println("Unchanged directory reads nothing? " + (PluginIndex.open().getUpdated() == 0));
+
+			// A new file is read; one only touched keeps its entry; an edited one is read again
+			write(file, TEXT, 1000000);
+			current = PluginIndex.open();
+			final PluginIndex.Entry added = current.get(filename);
+			System.out.println("New file indexed? " + (current.getUpdated() == 1 && added != null && NAME.equals(added.getName()) &&
+													   Arrays.equals(added.getPlayerCounts(), new int[] { 3, 4, 5 })));
+			file.setLastModified(2000000);
+			current = PluginIndex.open();
+			System.out.println("Touched file keeps its entry? " + (current.getUpdated() == 1 && current.get(filename).getHash() == added.getHash()));
+			write(file, EDITED_TEXT, 3000000);
+			current = PluginIndex.open();
+			final PluginIndex.Entry edited = current.get(filename);
+			System.out.println("Edited file read again? " + (current.getUpdated() == 1 && edited.getHash() != added.getHash() &&
+															 Arrays.equals(edited.getPlayerCounts(), new int[] { 2, 4, 6 })));
+
+			// Each part of the player count is a number, with or without spaces around it
+			long modified = 4000000;
+			boolean isRead = true;
+			for (int i = 0; i < SPACED_PLAYERS.length; i++) {
+				write(file, "name " + NAME + "\nplayers " + SPACED_PLAYERS[i] + "\n", modified += 1000000);
+				isRead &= Arrays.equals(PluginIndex.open().get(filename).getPlayerCounts(), SPACED_COUNTS[i]) &&
+						  new Plugin(filename).checkMinPlayers(0) == SPACED_COUNTS[i][0];
+			}
+			System.out.println("Spaced player counts read? " + isRead);
+			boolean isRejected = true;
+			for (final String players : BAD_PLAYERS) {
+				write(file, "name " + NAME + "\nplayers " + players + "\n", modified += 1000000);
+				try {
+					PluginIndex.open().get(filename).getPlayerCounts();
+					isRejected = false;
+				} catch (PluginException e) {
+					// Rejected, as expected
+				}
+			}
+			System.out.println("Bad player counts rejected? " + isRejected);
+			write(file, EDITED_TEXT, modified + 1000000);
+			current = PluginIndex.open();
+
+			// A deleted file is dropped, and a damaged index is rebuilt
+			final int size = current.getSize();
+			Files.delete(file.toPath());
+			current = PluginIndex.open();
+			System.out.println("Deleted file dropped? " + (current.getSize() == size - 1 && current.get(filename) == null));
+			Files.write(index.toPath(), "not an index".getBytes(StandardCharsets.UTF_8));
+			current = PluginIndex.open();
+			System.out.println("Damaged index rebuilt? " + (current.getUpdated() == current.getSize() && PluginIndex.open().getUpdated() == 0));
+		} finally {
+			Files.deleteIfExists(file.toPath());
+			if (existed) {
+				PluginIndex.open();
+			}
+			else {
+				Files.deleteIfExists(index.toPath());
+			}
+		}
+	}
+
+	/* Returns true if the strings are equal, or both null */
+	private static boolean same(final String a, final String b) {
+		return a == null ? b == null : a.equals(b);
+	}
+
+	/* Writes the specified text to a file, and sets when it was modified */
+	private static void write(final File file, final String text, final long modified) throws IOException {
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(modified);
+	}
+}
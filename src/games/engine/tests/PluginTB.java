@@ -0,0 +1,145 @@
+package games.engine.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+import games.engine.plugin.PluginSection;
+
+public final class PluginTB {
+
+	private final static String[] FILENAMES = { "rules.idiot.txt", "rules.uno.txt", "board.idiot.txt", "deck.uno.txt" };
+	private final static String[] PREFIXES = { "end", "name idiot", "players", "is-", "nothing" };
+	private final static int SMALL = 5000;		// conditions in the smaller generated plugin
+	private final static int SCALE = 8;			// the larger one has this many times as many
+	private final static int ROUNDS = 3;
+
+	private PluginTB() {}
+
+	public static void main(String[] args) throws PluginException {
+
+		for (final String filename : FILENAMES) {
+			final Plugin plugin = new Plugin(new PluginFilename(filename));
+			System.out.println(filename + ": " + plugin.getSize() + " lines");
+			System.out.println("Index matches a scan? " + matchesScan(plugin));
+			System.out.println("Sections match their keywords? " + matchesSections(plugin));
+		}
+		System.out.println();
+
+		// Items end at the next item or the end of their list; blocks need their closer
+		final Plugin phases = new Plugin(Arrays.asList(
+				"phase 1", "allow go-to-2", "end-allow", "end-phase",
+				"deal", "player-piles", "hand 3", "common-piles", "draw all", "end-deal",
+				"phase 2", "allow go-to-1"), new PluginFilename(Plugin.Type.RULES, "tb-sections"));
+		System.out.println(phases.getSections());
+		final List<PluginSection> blocks = phases.getSections(PluginKeyword.PHASE);
+		final PluginSection deal = phases.getSections(PluginKeyword.DEAL).get(0);
+		System.out.println("Closed phase? " + (blocks.get(0).isClosed() && blocks.get(0).getEnd() == 3));
+		System.out.println("Deal has its piles? " + (deal.getChildren().size() == 2 &&
+				deal.getChildren(PluginKeyword.PLAYER_PILES).get(0).getEnd() == 7 &&
+				deal.getChildren(PluginKeyword.COMMON_PILES).get(0).getEnd() == 9));
+		boolean isRejected = false;
+		try {
+			phases.checkClosed(blocks.get(1));
+		} catch (PluginException e) {
+			isRejected = e.getType() == PluginException.Type.MISSING_KEYWORD;
+		}
+		System.out.println("Unclosed phase rejected? " + (!blocks.get(1).isClosed() && isRejected));
+		System.out.println();
+
+		// Loading a plugin and finding each of its items must not be quadratic in its length
+		long small = Long.MAX_VALUE;
+		long large = Long.MAX_VALUE;
+		for (int i = 0; i < ROUNDS; i++) {
+			small = Math.min(small, load(SMALL));
+			large = Math.min(large, load(SMALL * SCALE));
+		}
+		System.out.printf("%d conditions: %.1f ms, %d conditions: %.1f ms%n", SMALL, small / 1e6, SMALL * SCALE, large / 1e6);
+		// Quadratic loading would take SCALE * SCALE times as long; allow for noise on a small machine
+		System.out.println("Not quadratic? " + (large < small * SCALE * SCALE / 2));
+	}
+
+	/* Returns true if the index finds the same lines as scanning every line would */
+	private static boolean matchesScan(final Plugin plugin) {
+		final List<String> strings = new ArrayList<String>(Arrays.asList(PREFIXES));
+		for (final PluginKeyword keyword : PluginKeyword.values()) {
+			strings.add(keyword.toString());
+		}
+		for (final String string : strings) {
+			int count = 0;
+			for (int ndx = 0; ndx < plugin.getSize(); ndx++) {
+				if (plugin.getLine(ndx).startsWith(string)) {
+					++count;
+				}
+				if (plugin.getIndexOf(string, ndx) != scan(plugin, string, ndx)) {
+					return false;
+				}
+			}
+			if (plugin.getNumberOf(string) != count) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Returns the index of the first line at or after the specified one starting with the string */
+	private static int scan(final Plugin plugin, final String string, final int startNdx) {
+		for (int ndx = startNdx; ndx < plugin.getSize(); ndx++) {
+			if (plugin.getLine(ndx).startsWith(string)) {
+				return ndx;
+			}
+		}
+		return -1;
+	}
+
+	/* Returns true if each top level section starts at a line holding its keyword, in order */
+	private static boolean matchesSections(final Plugin plugin) {
+		int end = 0;
+		for (final PluginSection section : plugin.getSections().getChildren()) {
+			if (section.getStart() < end || !plugin.lineStartsWith(section.getKeyword(), section.getStart()) ||
+				(section.getCloser() != null && !section.isClosed())) {
+				return false;
+			}
+			end = section.getEnd();
+		}
+		for (final PluginKeyword keyword : Arrays.asList(PluginKeyword.CONDITION, PluginKeyword.ACTION, PluginKeyword.PHASE)) {
+			if (plugin.getSections(keyword).size() != countWord(plugin, keyword)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/* Returns the number of lines whose first word is the specified keyword */
+	private static int countWord(final Plugin plugin, final PluginKeyword keyword) {
+		int count = 0;
+		for (int ndx = 0; ndx < plugin.getSize(); ndx++) {
+			if (plugin.lineStartsWith(keyword, ndx)) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	/* Returns the ns taken to load a plugin of the specified number of conditions, and look up each */
+	private static long load(final int conditions) throws PluginException {
+		final List<String> lines = new ArrayList<String>(conditions * 2 + 1);
+		for (int i = 0; i < conditions; i++) {
+			lines.add(PluginKeyword.CONDITION + " tb-" + i);
+			lines.add("is-empty common.discard");
+		}
+		lines.add(PluginKeyword.END_CONDITION.toString());
+		final long start = System.nanoTime();
+		final Plugin plugin = new Plugin(lines, new PluginFilename(Plugin.Type.RULES, "tb-large"));
+		int found = 0;
+		for (final PluginSection section : plugin.getSections(PluginKeyword.CONDITION)) {
+			found += plugin.getIndexOf(PluginKeyword.CONDITION, section.getStart()) == section.getStart() ? 1 : 0;
+		}
+		final long time = System.nanoTime() - start;
+		return found == conditions ? time : Long.MAX_VALUE;
+	}
+}
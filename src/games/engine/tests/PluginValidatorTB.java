@@ -0,0 +1,186 @@
+package games.engine.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import games.engine.CardGameEngine;
+import games.engine.EngineFactory;
+import games.engine.GameDefinition;
+import games.engine.PluginValidator;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+import games.engine.util.CardPile;
+import games.engine.util.GamePlayer;
+import games.engine.util.GameRandom;
+
+public final class PluginValidatorTB {
+
+	private final static String[] GAME_NAMES = { "idiot", "uno" };
+	private final static int VARIANTS = 6;			// valid copies of each game
+	private final static String MISSING = "tb-missing";
+	private final static int THREADS = 8;
+	private final static long SEED = 11;
+
+	private PluginValidatorTB() {}
+
+	public static void main(String[] args) throws IOException, InterruptedException, PluginException {
+
+		// Valid copies of each game, and copies broken in a background step or in the components
+		final Map<PluginFilename, String> texts = new LinkedHashMap<PluginFilename, String>();
+		for (final String game : GAME_NAMES) {
+			final String text = read(new PluginFilename(Plugin.Type.RULES, game));
+			for (int v = 0; v < VARIANTS; v++) {
+				variant(texts, text, game, "tb-valid-" + game + "-" + v);
+			}
+			variant(texts, text.replaceFirst("\n" + PluginKeyword.DECK + " .*\n", "\n" + PluginKeyword.DECK + " " + MISSING + "\n"),
+					game, "tb-no-deck-" + game);
+			variant(texts, text.replaceFirst("\n" + PluginKeyword.BOARD + " .*\n", "\n" + PluginKeyword.BOARD + " " + MISSING + "\n"),
+					game, "tb-no-board-" + game);
+			variant(texts, text.replaceFirst("\n" + PluginKeyword.START_PHASE + " .*\n", "\n" + PluginKeyword.START_PHASE + " " + MISSING + "\n"),
+					game, "tb-no-phase-" + game);
+		}
+		final List<File> files = new ArrayList<File>();
+		try {
+			for (final Map.Entry<PluginFilename, String> entry : texts.entrySet()) {
+				files.add(write(entry.getKey(), entry.getValue()));
+			}
+			final List<PluginFilename> rules = new ArrayList<PluginFilename>(texts.keySet());
+
+			// Created one at a time, each broken copy reports the error of its step, unwrapped
+			final Map<PluginFilename, String> expected = new LinkedHashMap<PluginFilename, String>();
+			for (final PluginFilename filename : rules) {
+				try {
+					EngineFactory.getInstance().createGameDefinition(new Plugin(filename));
+				} catch (PluginException e) {
+					expected.put(filename, describe(e));
+				}
+			}
+			System.out.println(expected.size() + " of " + rules.size() + " rules plugins invalid");
+			boolean isReported = expected.size() == GAME_NAMES.length * 3;
+			for (final Map.Entry<PluginFilename, String> error : expected.entrySet()) {
+				final String name = error.getKey().getRawName();
+				final PluginException.Type type = name.startsWith("tb-no-phase") ? PluginException.Type.INVALID_PARAMETER :
+																				   PluginException.Type.DOES_NOT_EXIST;
+				isReported &= !name.startsWith("tb-valid") && error.getValue().startsWith(type.toString());
+			}
+			System.out.println("Background failures reported unwrapped? " + isReported);
+
+			// Validated in parallel, the same errors are found, in the order given
+			final Map<PluginFilename, PluginException> errors = PluginValidator.validate(rules);
+			final Map<PluginFilename, String> found = new LinkedHashMap<PluginFilename, String>();
+			for (final Map.Entry<PluginFilename, PluginException> error : errors.entrySet()) {
+				found.put(error.getKey(), describe(error.getValue()));
+			}
+			System.out.println("Parallel validation finds the same errors? " + (found.equals(expected) &&
+					new ArrayList<PluginFilename>(found.keySet()).equals(new ArrayList<PluginFilename>(expected.keySet()))));
+
+			// Definitions created at once deal exactly as one created alone, so card ids are unchanged
+			boolean isSame = true;
+			for (final String game : GAME_NAMES) {
+				final PluginFilename filename = new PluginFilename(Plugin.Type.RULES, game);
+				final String alone = deal(EngineFactory.getInstance().createGameDefinition(new Plugin(filename)));
+				final AtomicReferenceArray<String> deals = new AtomicReferenceArray<String>(THREADS);
+				final CountDownLatch start = new CountDownLatch(1);
+				final Thread[] threads = new Thread[THREADS];
+				for (int i = 0; i < THREADS; i++) {
+					final int ndx = i;
+					threads[i] = new Thread(() -> {
+						try {
+							start.await();
+							deals.set(ndx, deal(EngineFactory.getInstance().createGameDefinition(new Plugin(filename))));
+						} catch (InterruptedException | PluginException e) {
+							// Left null, which fails the check below
+						}
+					});
+					threads[i].start();
+				}
+				start.countDown();
+				for (int i = 0; i < THREADS; i++) {
+					threads[i].join();
+					isSame &= alone.equals(deals.get(i));
+				}
+			}
+			System.out.println("Concurrent definitions deal as one alone? " + isSame);
+
+			// As a program, it exits with 0 when every plugin is valid, and 1 with each error otherwise
+			final List<String> valid = new ArrayList<String>();
+			for (final PluginFilename filename : rules) {
+				if (!expected.containsKey(filename)) {
+					valid.add(filename.toString());
+				}
+			}
+			final String[] output = new String[1];
+			System.out.println("Valid plugins exit 0? " + (run(valid, output) == 0));
+			final PluginFilename broken = expected.keySet().iterator().next();
+			final List<String> mixed = new ArrayList<String>(valid);
+			mixed.add(broken.toString());
+			System.out.println("Invalid plugin exits 1? " + (run(mixed, output) == 1 && output[0].contains(broken.toString())));
+		} finally {
+			for (final File file : files) {
+				Files.deleteIfExists(file.toPath());
+			}
+		}
+	}
+
+	/* Returns the cards dealt by an engine of the definition, with a fixed seed */
+	private static String deal(final GameDefinition definition) {
+		final CardGameEngine engine = definition.createEngine(CardPile.Storage.ARRAY, new GameRandom(SEED),
+															  new GamePlayer("One"), new GamePlayer("Two"));
+		engine.reset(SEED);
+		engine.dealAllCards();
+		return BranchTB.snapshot(engine);
+	}
+
+	/* Returns the type and message of the error */
+	private static String describe(final PluginException e) {
+		return e.getType() + ": " + e.getMessage();
+	}
+
+	/* Runs the validator as a program on the specified plugins, returning its exit status and output */
+	private static int run(final List<String> rules, final String[] output) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<String>(Arrays.asList(
+				new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath(),
+				"-cp", System.getProperty("java.class.path"), PluginValidator.class.getName()));
+		command.addAll(rules);
+		final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (final InputStream in = process.getInputStream()) {
+			final byte[] buffer = new byte[4096];
+			for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+				bytes.write(buffer, 0, n);
+			}
+		}
+		output[0] = new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+		return process.waitFor();
+	}
+
+	/* Adds a copy of the game's rules with the specified name */
+	private static void variant(final Map<PluginFilename, String> texts, final String text, final String game, final String name) {
+		texts.put(new PluginFilename(Plugin.Type.RULES, name), text.replace(PluginKeyword.NAME + " " + game, PluginKeyword.NAME + " " + name));
+	}
+
+	/* Returns the text of a plugin in the plugin directory */
+	private static String read(final PluginFilename filename) throws IOException {
+		return new String(Files.readAllBytes(new File(Plugin.DIRECTORY, filename.toString()).toPath()), StandardCharsets.UTF_8);
+	}
+
+	/* Writes a plugin with the specified filename and text to the plugin directory */
+	private static File write(final PluginFilename filename, final String text) throws IOException {
+		final File file = new File(Plugin.DIRECTORY, filename.toString());
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,103 @@
+package games.engine.tests;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import games.engine.util.*;
+
+public final class RankingTB {
+
+	// Face ranks are sparse, tied, and missing for the last face; the last group has no rank
+	private final static String[] FACES = { "ten", "three", "seven", "also-three", "unranked" };
+	private final static int[] FACE_RANKS = { 10, 3, 7, 3 };
+	private final static String[] GROUPS = { "high", "low", "unranked" };
+	private final static int[] GROUP_RANKS = { 5, 1 };
+	private final static int PRECOMPUTED = 9;		// cards ranked when the partial ranking is created
+
+	private RankingTB() {}
+
+	public static void main(String[] args) {
+
+		final PlayingCardCatalog.Builder builder = new PlayingCardCatalog.Builder();
+		final Map<PlayingCardFace, Integer> faceRanks = new HashMap<PlayingCardFace, Integer>();
+		final Map<PlayingCardGroup, Integer> groupRanks = new HashMap<PlayingCardGroup, Integer>();
+		final PlayingCardGroup[] groups = new PlayingCardGroup[GROUPS.length];
+		for (int g = 0; g < GROUPS.length; g++) {
+			groups[g] = builder.createGroup(GROUPS[g]);
+			if (g < GROUP_RANKS.length) {
+				groupRanks.put(groups[g], GROUP_RANKS[g]);
+			}
+		}
+		for (int f = 0; f < FACES.length; f++) {
+			final PlayingCardFace face = builder.createFace(FACES[f]);
+			if (f < FACE_RANKS.length) {
+				faceRanks.put(face, FACE_RANKS[f]);
+			}
+			for (final PlayingCardGroup group : groups) {
+				builder.createPlayingCard(face, group);
+			}
+			builder.createPlayingCard(face, null);
+		}
+		final PlayingCardCatalog catalog = builder.build();
+		final PlayingCard[] cards = catalog.getCards();
+
+		// Looked up in the maps each time, as every ranking was before the tables
+		final PlayingCardRanking lookedUp = new PlayingCardRanking(faceRanks, groupRanks);
+		final PlayingCardRanking tabled = new PlayingCardRanking(faceRanks, groupRanks, cards);
+		// Cards created after a ranking fall back to the maps
+		final PlayingCardRanking partial = new PlayingCardRanking(faceRanks, groupRanks, Arrays.copyOf(cards, PRECOMPUTED));
+		System.out.println(cards.length + " cards, " + PRECOMPUTED + " precomputed in the partial ranking");
+
+		boolean sameValues = true;
+		boolean sameCompare = true;
+		boolean sameFaceThenGroup = true;
+		boolean samePartial = true;
+		for (final PlayingCard a : cards) {
+			sameValues &= tabled.valueOf(a) == lookedUp.valueOf(a) && tabled.valueOf(a.getId()) == lookedUp.valueOf(a);
+			samePartial &= partial.valueOf(a) == tabled.valueOf(a) && partial.packedValueOf(a) == tabled.packedValueOf(a);
+			for (final PlayingCard b : cards) {
+				final int expected = Integer.signum(lookedUp.compare(a, b));
+				sameCompare &= Integer.signum(tabled.compare(a, b)) == expected &&
+							   Integer.signum(tabled.compare(a.getId(), b.getId())) == expected;
+				final int faceThenGroup = Integer.signum(compareFaceThenGroup(a, b, faceRanks, groupRanks));
+				sameFaceThenGroup &= Integer.signum(tabled.compareFaceThenGroup(a, b)) == faceThenGroup &&
+									 Integer.signum(partial.compareFaceThenGroup(a, b)) == faceThenGroup &&
+									 Integer.signum(Integer.compare(tabled.packedValueOf(a.getId()), tabled.packedValueOf(b.getId()))) == faceThenGroup;
+			}
+		}
+		System.out.println("Tabled values match the maps? " + sameValues);
+		System.out.println("Tabled comparisons match the maps? " + sameCompare);
+		System.out.println("Packed ranks order by face, then group? " + sameFaceThenGroup);
+		System.out.println("Cards created later ranked from the maps? " + samePartial);
+
+		// Sorting by the packed rank gives the order of the map comparison
+		final PlayingCard[] byMaps = cards.clone();
+		final PlayingCard[] byTable = cards.clone();
+		Arrays.sort(byMaps, (a, b) -> compareFaceThenGroup(a, b, faceRanks, groupRanks));
+		Arrays.sort(byTable, tabled::compareFaceThenGroup);
+		System.out.println(Arrays.toString(byTable));
+		System.out.println("Same sorted order? " + Arrays.equals(byMaps, byTable));
+	}
+
+	/*
+	 * Compares two cards by face rank, then group rank, looking each up in the maps.
+	 * A face or group without a rank is lower than any with one.
+	 */
+	private static int compareFaceThenGroup(final PlayingCard a, final PlayingCard b,
+											final Map<PlayingCardFace, Integer> faceRanks,
+											final Map<PlayingCardGroup, Integer> groupRanks) {
+		final int faces = compareRanks(faceRanks, a.getFace(), b.getFace());
+		return faces != 0 ? faces : compareRanks(groupRanks, a.getGroup(), b.getGroup());
+	}
+
+	/* Compares the ranks of two keys in the map; a key without a rank is the lowest */
+	private static <K> int compareRanks(final Map<K, Integer> ranks, final K a, final K b) {
+		final boolean hasA = a != null && ranks.containsKey(a);
+		final boolean hasB = b != null && ranks.containsKey(b);
+		if (!hasA || !hasB) {
+			return Boolean.compare(hasA, hasB);
+		}
+		return Integer.compare(ranks.get(a), ranks.get(b));
+	}
+}
@@ -0,0 +1,104 @@
+package games.engine.tests;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.plugin.PluginKeyword;
+import games.engine.plugin.RulePack;
+import games.engine.sim.GameSimulator;
+
+public final class RulePackTB {
+
+	private final static String[] GAME_NAMES = { "idiot", "uno" };
+	private final static String SHARED = "tb-pack";		// uno, with its conditions moved to a library
+	private final static long GAMES = 20;
+	private final static long SEED = 7;
+
+	private RulePackTB() {}
+
+	public static void main(String[] args) throws IOException, PluginException {
+
+		// Move the conditions of uno into a library, so components come from both
+		final String uno = new String(Files.readAllBytes(file(Plugin.Type.RULES, "uno").toPath()), StandardCharsets.UTF_8);
+		final int start = uno.indexOf(PluginKeyword.CONDITION + " is-skip");
+		final int end = uno.indexOf(PluginKeyword.END_CONDITION.toString(), start) + PluginKeyword.END_CONDITION.toString().length();
+		final File library = write(Plugin.Type.LIBRARY, SHARED, uno.substring(start, end) + "\n");
+		final File rules = write(Plugin.Type.RULES, SHARED, uno.substring(0, start) + PluginKeyword.INCLUDE + " " + SHARED + "\n" + uno.substring(end));
+
+		final String[] names = { GAME_NAMES[0], GAME_NAMES[1], SHARED };
+		try {
+			for (final String name : names) {
+				final PluginFilename filename = new PluginFilename(Plugin.Type.RULES, name);
+				RulePack.compile(filename);
+				final Plugin packed = RulePack.open(filename);
+				System.out.println(name + ": " + RulePack.getFile(filename).length() + " bytes");
+				System.out.println("Loaded resolved components? " + (packed.getCompiled() != null));
+
+				// The resolved components must play exactly as the text they were compiled from
+				System.out.println("Plays as the text files? " + play(packed).equals(play(new Plugin(filename))));
+
+				// The pack is read into memory, so it can be replaced while loaded
+				RulePack.compile(filename);
+				System.out.println("Compiled again while loaded? " + (RulePack.open(filename).getCompiled() != null));
+				System.out.println();
+			}
+
+			// Touching a library leaves the packs including it current; changing it makes them stale
+			final PluginFilename filename = new PluginFilename(Plugin.Type.RULES, SHARED);
+			library.setLastModified(library.lastModified() + 2000);
+			System.out.println("Touched library keeps pack? " + (RulePack.open(filename).getCompiled() != null));
+			Files.write(library.toPath(), "# changed\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+			System.out.println("Changed library makes pack stale? " + (RulePack.open(filename).getCompiled() == null));
+
+			// A damaged pack is rejected, and the text files are used
+			RulePack.compile(filename);
+			try (final RandomAccessFile pack = new RandomAccessFile(RulePack.getFile(filename), "rw")) {
+				pack.seek(pack.length() / 2);
+				final int b = pack.read();
+				pack.seek(pack.length() / 2);
+				pack.write(b ^ 0xFF);
+			}
+			boolean rejected = false;
+			try {
+				RulePack.read(filename);
+			} catch (PluginException e) {
+				rejected = e.getType() == PluginException.Type.MISMATCH;
+			}
+			System.out.println("Damaged pack rejected? " + (rejected && RulePack.open(filename).getCompiled() == null));
+		} catch (PluginException e) {
+			System.out.println("Unexpected: " + e.getMessage());
+		} finally {
+			for (final String name : names) {
+				Files.deleteIfExists(RulePack.getFile(new PluginFilename(Plugin.Type.RULES, name)).toPath());
+			}
+			Files.deleteIfExists(library.toPath());
+			Files.deleteIfExists(rules.toPath());
+		}
+	}
+
+	/* Returns the results of a simulation of the specified rules */
+	private static String play(final Plugin rules) throws PluginException {
+		final GameSimulator simulator = new GameSimulator(rules, 2);
+		simulator.setMoveLimit(1000);
+		return SimulatorTB.results(simulator.run(GAMES, SEED));
+	}
+
+	/* Returns the text file of the plugin with the specified type and name */
+	private static File file(final Plugin.Type type, final String name) throws PluginException {
+		return new File(Plugin.DIRECTORY, new PluginFilename(type, name).toString());
+	}
+
+	/* Writes a plugin with the specified type, name and text to the plugin directory */
+	private static File write(final Plugin.Type type, final String name, final String text) throws IOException, PluginException {
+		final File file = file(type, name);
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+}
@@ -0,0 +1,101 @@
+package games.engine.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class ShoeTB {
+
+	private final static String GAME_NAME = "idiot";
+	private final static int DECKS = 6;
+	private final static double PENETRATION = 0.75;
+	private final static int HANDS = 2000;
+	private final static int KEPT = 3;			// hands whose cards stay on the table
+
+	private ShoeTB() {}
+
+	public static void main(String[] args) {
+
+		final PlayingCardCatalog.Builder builder = new PlayingCardCatalog.Builder();
+		final Shoe shoe;
+		final CardPile[] table = new CardPile[KEPT + 1];
+		final CardPile[] players = new CardPile[2];
+		try {
+			final Plugin rules = new Plugin(Plugin.Type.RULES, GAME_NAME);
+			shoe = DeckFactory.getInstance().createShoe(rules, builder, DECKS, new GameRandom(1), PENETRATION);
+			final Plugin[] pilePlugins = CardPileFactory.INSTANCE.createPlugins(new Plugin(Plugin.Type.BOARD, GAME_NAME));
+			for (int i = 0; i < table.length; i++) {
+				table[i] = CardPileFactory.INSTANCE.createCardPile(pilePlugins[0]);
+			}
+			for (int i = 0; i < players.length; i++) {
+				players[i] = CardPileFactory.INSTANCE.createCardPile(pilePlugins[1]);
+			}
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+		System.out.print(shoe);
+
+		// Cards still on the table must never be shuffled back in, even when the shoe runs out mid hand
+		shoe.shuffle(new GameRandom(2));
+		boolean unique = true;
+		int shuffles = 0;
+		for (int hand = 0; hand < HANDS; hand++) {
+			if (shoe.shuffleIfCut(new GameRandom(hand))) {
+				++shuffles;
+			}
+			final CardPile pile = table[hand % table.length];
+			shoe.discard(pile);
+			shoe.dealTo(pile, 40 + hand % 20);		// deep enough to run the shoe out mid hand
+			shoe.dealTo(players, 2);
+			unique &= countOnTable(table, players) <= DECKS;
+			for (final CardPile player : players) {
+				shoe.discard(player);
+			}
+		}
+		System.out.println("Shuffles between hands: " + shuffles);
+		System.out.println("No card on the table more often than there are decks? " + unique);
+		System.out.println("Cards accounted for? " + (shoe.getRemaining() + shoe.getDiscarded() + shoe.getInPlay() == shoe.getSize()));
+
+		// Every card in play means nothing can be reshuffled
+		final Shoe empty = new Shoe(shoe);
+		boolean threw = false;
+		try {
+			for (int i = 0; i <= empty.getSize(); i++) {
+				empty.deal();
+			}
+		} catch (java.util.NoSuchElementException e) {
+			threw = true;
+		}
+		System.out.println("Empty shoe with every card in play throws? " + threw);
+
+		// Copies of a shoe deal the same cards, and copying draws nothing from the original
+		final Shoe a = new Shoe(shoe);
+		final Shoe b = new Shoe(shoe);
+		a.shuffle(new GameRandom(3));
+		b.shuffle(new GameRandom(3));
+		boolean same = true;
+		for (int i = 0; i < a.getSize(); i++) {
+			same &= a.deal() == b.deal();
+		}
+		System.out.println("Same seed, same order? " + same);
+	}
+
+	/* Returns the most copies of one card on the table */
+	private static int countOnTable(final CardPile[] table, final CardPile[] players) {
+		final Map<PlayingCard, Integer> counts = new HashMap<PlayingCard, Integer>();
+		int most = 0;
+		for (final CardPile[] piles : new CardPile[][] {table, players}) {
+			for (final CardPile pile : piles) {
+				for (final PlayingCard card : pile.get()) {
+					final int count = counts.merge(card, 1, Integer::sum);
+					most = Math.max(most, count);
+				}
+			}
+		}
+		return most;
+	}
+}
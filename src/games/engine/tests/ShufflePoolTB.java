@@ -0,0 +1,103 @@
+package games.engine.tests;
+
+import java.util.Arrays;
+
+import games.engine.CardGameEngine;
+import games.engine.EngineException;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class ShufflePoolTB {
+
+	private final static String GAME_NAME = "idiot";
+	private final static long SEED = 11;
+	private final static int ENGINES = 4;
+	private final static int HANDS = 2000;
+
+	private ShufflePoolTB() {}
+
+	public static void main(String[] args) {
+
+		final CardGameEngine[] pooled = new CardGameEngine[ENGINES];
+		final CardGameEngine inline;
+		try {
+			final Plugin rules = new Plugin(Plugin.Type.RULES, GAME_NAME);
+			for (int i = 0; i < ENGINES; i++) {
+				pooled[i] = BranchTB.create(rules, CardPile.Storage.ARRAY, SEED + i);
+				pooled[i].useShufflePool(true);
+			}
+			inline = BranchTB.create(rules, CardPile.Storage.ARRAY, SEED);
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+
+		// Every engine with the deck shares one pool, and one thread filling it
+		final ShufflePool pool = ShufflePool.getInstance(inline.getGameBoard().getDeck(), Shuffler.FISHER_YATES);
+		System.out.println("Shared by every engine? " + (pool == ShufflePool.getInstance(pooled[ENGINES - 1].getGameBoard().getDeck(), Shuffler.FISHER_YATES)));
+		System.out.println("One thread for " + ENGINES + " engines? " + (countProducers() == 1));
+
+		// Every hand must be the one its seed calls for, whether the pool had it ready or not
+		boolean same = true;
+		for (int i = 0; i < HANDS && same; i++) {
+			if (i % 100 == 0) {
+				try {
+					Thread.sleep(20);	// let the pool fill now and then
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+			final CardGameEngine engine = pooled[i % ENGINES];
+			engine.reset();
+			inline.reset(engine.getHandSeed());
+			try {
+				engine.start();
+				inline.start();
+			} catch (EngineException | PluginException e) {
+				System.out.println(e.getMessage());
+				break;
+			}
+			same &= deal(engine).equals(deal(inline));
+		}
+		System.out.print(pool);
+		System.out.println("Hits: " + (HANDS - pool.getMisses()) + " of " + HANDS);
+		System.out.println("Pooled hands replay from their seeds? " + same);
+		System.out.println("Pool bounded? " + (pool.size() <= ShufflePool.CAPACITY));
+
+		// Changing the shuffler moves the engine to the pool of the new algorithm
+		pooled[0].setShuffler(Shuffler.RIFFLE);
+		inline.setShuffler(Shuffler.RIFFLE);
+		try {
+			Thread.sleep(20);
+			pooled[0].reset();
+			inline.reset(pooled[0].getHandSeed());
+			pooled[0].start();
+			inline.start();
+		} catch (InterruptedException | EngineException | PluginException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+		System.out.println("New shuffler replays? " + (deal(pooled[0]).equals(deal(inline)) && countProducers() == 2));
+	}
+
+	/* Returns the number of threads filling shuffle pools */
+	private static int countProducers() {
+		int count = 0;
+		for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+			count += thread.getName().startsWith("shuffle-pool-") ? 1 : 0;
+		}
+		return count;
+	}
+
+	/* Returns the cards dealt to each player */
+	private static String deal(final CardGameEngine engine) {
+		final StringBuilder str = new StringBuilder();
+		for (final CardPlayer player : engine.getPlayers()) {
+			for (final CardPile pile : player.getPlayerPiles().toArray()) {
+				str.append(Arrays.toString(pile.get())).append('|');
+			}
+		}
+		return str.toString();
+	}
+}
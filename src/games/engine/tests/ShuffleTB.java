@@ -0,0 +1,99 @@
+package games.engine.tests;
+
+import games.engine.util.GameRandom;
+import games.engine.util.Shuffler;
+
+public final class ShuffleTB {
+
+	private final static int TRIALS = 200000;
+	private final static int SMALL = 8;				// cards in the bias test
+	private final static double CRITICAL = 85.35;	// chi-square, 49 degrees of freedom, p = 0.001
+	private final static int DECK = 52;
+	private final static int SHOE = 312;			// six decks
+	private final static int REPEATS = 100000;
+
+	private ShuffleTB() {}
+
+	public static void main(String[] args) {
+
+		for (final Shuffler shuffler : Shuffler.values()) {
+			System.out.println(shuffler);
+
+			// Every card should be equally likely in every position
+			final GameRandom rand = new GameRandom(1);
+			final long[][] counts = new long[SMALL][SMALL];
+			final Integer[] items = new Integer[SMALL];
+			for (int t = 0; t < TRIALS; t++) {
+				for (int i = 0; i < SMALL; i++) {
+					items[i] = i;
+				}
+				shuffler.shuffle(items, 0, SMALL, rand);
+				for (int i = 0; i < SMALL; i++) {
+					++counts[i][items[i]];
+				}
+			}
+			final double expected = (double)TRIALS / SMALL;
+			double chi = 0;
+			for (final long[] row : counts) {
+				for (final long count : row) {
+					chi += (count - expected) * (count - expected) / expected;
+				}
+			}
+			System.out.printf("Position chi-square: %.1f (uniform if below %.2f)%n", chi, CRITICAL);
+
+			// A uniform shuffle of n cards averages (n + 1) / 2 rising sequences; riffles leave fewer
+			final Integer[] deck = new Integer[DECK];
+			long rising = 0;
+			for (int t = 0; t < TRIALS / 10; t++) {
+				for (int i = 0; i < DECK; i++) {
+					deck[i] = i;
+				}
+				shuffler.shuffle(deck, 0, DECK, rand);
+				final int[] position = new int[DECK];
+				for (int i = 0; i < DECK; i++) {
+					position[deck[i]] = i;
+				}
+				rising += 1;
+				for (int card = 1; card < DECK; card++) {
+					if (position[card] < position[card - 1]) {
+						++rising;
+					}
+				}
+			}
+			System.out.printf("Rising sequences: %.2f (uniform %.2f)%n", (double)rising / (TRIALS / 10), (DECK + 1) / 2.0);
+
+			// Packed ids must be shuffled into the same order as objects
+			final Integer[] objects = new Integer[SHOE];
+			final short[] ids = new short[SHOE];
+			for (int i = 0; i < SHOE; i++) {
+				objects[i] = i;
+				ids[i] = (short)i;
+			}
+			shuffler.shuffle(objects, 0, SHOE, new GameRandom(2));
+			shuffler.shuffle(ids, 0, SHOE, new GameRandom(2));
+			boolean same = true;
+			for (int i = 0; i < SHOE; i++) {
+				same &= objects[i] == ids[i];
+			}
+			System.out.println("Packed ids match objects? " + same);
+
+			// Throughput
+			for (final int size : new int[] {DECK, SHOE}) {
+				final Integer[] cards = new Integer[size];
+				for (int i = 0; i < size; i++) {
+					cards[i] = i;
+				}
+				for (int i = 0; i < REPEATS; i++) {
+					shuffler.shuffle(cards, 0, size, rand);
+				}
+				final long start = System.nanoTime();
+				for (int i = 0; i < REPEATS; i++) {
+					shuffler.shuffle(cards, 0, size, rand);
+				}
+				final long elapsed = System.nanoTime() - start;
+				System.out.printf("%d cards: %.0f ns per shuffle%n", size, (double)elapsed / REPEATS);
+			}
+			System.out.println();
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package games.engine.tests;
+
+import java.util.concurrent.ForkJoinPool;
+
+import games.Strings;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.sim.GameSimulator;
+import games.engine.sim.ParallelSimulator;
+import games.engine.sim.SimulationStats;
+
+public final class SimulatorTB {
+
+	private final static String[] GAME_NAMES = { "idiot", "uno" };
+	private final static long GAMES = 40;
+	private final static long SEED = 5;
+	private final static int[] THREADS = { 1, 3, 8 };
+
+	private SimulatorTB() {}
+
+	public static void main(String[] args) {
+
+		for (final String name : GAME_NAMES) {
+			try {
+				final GameSimulator simulator = new GameSimulator(PluginCache.INSTANCE.get(new PluginFilename(Plugin.Type.RULES, name)), 2);
+				simulator.setMoveLimit(1000);
+				final SimulationStats sequential = simulator.run(GAMES, SEED);
+				System.out.println(name + ": " + sequential.getGames() + " games, " + sequential.getWon() + " won");
+				System.out.println("Same seed, same stats? " + results(sequential).equals(results(simulator.run(GAMES, SEED))));
+
+				// The stats of a parallel run must not depend on the number of threads
+				for (final int threads : THREADS) {
+					final ForkJoinPool pool = new ForkJoinPool(threads);
+					try {
+						final SimulationStats parallel = new ParallelSimulator(simulator, pool).run(GAMES, SEED);
+						System.out.println(threads + " threads match sequential? " + results(sequential).equals(results(parallel)));
+					} finally {
+						pool.shutdown();
+					}
+				}
+			} catch (PluginException e) {
+				System.out.println(e.getMessage());
+			}
+			System.out.println();
+		}
+	}
+
+	/* Returns the stats as text, without how long the games took */
+	static String results(final SimulationStats stats) {
+		final StringBuilder str = new StringBuilder();
+		for (final String line : stats.toString().split(Strings.NEW_LINE.toString())) {
+			if (!line.startsWith("Games:")) {
+				str.append(line).append(Strings.NEW_LINE.toString());
+			}
+		}
+		return str.toString();
+	}
+}
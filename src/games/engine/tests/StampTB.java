@@ -0,0 +1,129 @@
+package games.engine.tests;
+
+import java.util.Arrays;
+
+import games.engine.CardGameEngine;
+import games.engine.EngineException;
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.util.*;
+
+public final class StampTB {
+
+	private final static String GAME_NAME = "idiot";
+	private final static long SEED = 3;
+	private final static int MOVES = 2000;
+
+	private StampTB() {}
+
+	/* Something done to a pile, and perhaps to another */
+	private static interface Change {
+		void apply(CardPile pile, CardPile other);
+	}
+
+	public static void main(String[] args) {
+
+		final Plugin rules;
+		final Deck deck;
+		final Plugin[] pilePlugins;
+		try {
+			rules = new Plugin(Plugin.Type.RULES, GAME_NAME);
+			deck = DeckFactory.getInstance().createDeck(rules);
+			pilePlugins = CardPileFactory.INSTANCE.createPlugins(new Plugin(Plugin.Type.BOARD, GAME_NAME));
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+			return;
+		}
+		final PlayingCard[] cards = deck.getCards();
+		final PlayingCard missing = cards[cards.length - 1];
+		final GameRandom rand = new GameRandom(SEED);
+
+		// Every change to the cards of a pile increases its stamp; nothing else does
+		final String[] names = { "add", "query", "shuffle", "remove", "remove missing", "transfer top", "transfer matching",
+								 "transfer to itself", "transfer all", "clear", "clear empty" };
+		final Change[] changes = {
+			(pile, other) -> pile.add(Arrays.copyOf(cards, cards.length - 1)),
+			(pile, other) -> { pile.get(); pile.getTop(); pile.contains(cards[0]); pile.getCardSet(); pile.getSize(); },
+			(pile, other) -> pile.shuffle(rand),
+			(pile, other) -> pile.remove(cards[0]),
+			(pile, other) -> pile.remove(missing),
+			(pile, other) -> pile.transferTop(other, 3),
+			(pile, other) -> pile.transferMatching(other, cards[1], cards[2]),
+			(pile, other) -> pile.transferAll(pile),
+			(pile, other) -> other.transferAll(pile),
+			(pile, other) -> pile.clear(),
+			(pile, other) -> pile.clear() };
+		final boolean[] changesPile = { true, false, true, true, false, true, true, false, true, true, false };
+		final boolean[] changesOther = { false, false, false, false, false, true, true, false, true, false, false };
+		for (final CardPile.Storage storage : CardPile.Storage.values()) {
+			final CardPile pile;
+			final CardPile other;
+			try {
+				pile = CardPileFactory.INSTANCE.createCardPile(pilePlugins[0], storage);
+				other = CardPileFactory.INSTANCE.createCardPile(pilePlugins[1], storage);
+			} catch (PluginException e) {
+				System.out.println(e.getMessage());
+				return;
+			}
+			boolean isStamped = true;
+			for (int i = 0; i < changes.length; i++) {
+				final long before = pile.getStamp();
+				final long otherBefore = other.getStamp();
+				changes[i].apply(pile, other);
+				final boolean isRight = (pile.getStamp() > before) == changesPile[i] && (other.getStamp() > otherBefore) == changesOther[i];
+				if (!isRight) {
+					System.out.println("? " + names[i] + " changed the stamp from " + before + " to " + pile.getStamp());
+				}
+				isStamped &= isRight && pile.getStamp() >= before && other.getStamp() >= otherBefore;
+			}
+			System.out.println(storage + ": every change stamped, and nothing else? " + isStamped);
+
+			// A branch starts with the stamp of its pile, and each changes on its own
+			pile.add(cards);
+			final long stamp = pile.getStamp();
+			final CardPile branch = pile.branch();
+			branch.removeTop();
+			System.out.println(storage + ": branch stamped on its own? " + (pile.getStamp() == stamp && branch.getStamp() > stamp));
+		}
+
+		// An engine's stamp covers its piles and turn: a stamp seen before means the same table
+		try {
+			final CardGameEngine engine = BranchTB.create(rules, CardPile.Storage.PERSISTENT, SEED);
+			engine.start();
+			final GameRandom moves = new GameRandom(SEED);
+			long stamp = engine.getStamp();
+			String table = BranchTB.snapshot(engine);
+			boolean isSameTable = true;
+			boolean isQuiet = true;
+			int changed = 0;
+			for (int i = 0; i < MOVES; i++) {
+				final long before = engine.getStamp();
+				engine.getAllowedActions();
+				isQuiet &= engine.getStamp() == before;
+				BranchTB.move(engine, moves);
+				final String after = BranchTB.snapshot(engine);
+				if (engine.getStamp() == stamp) {
+					isSameTable &= after.equals(table);
+				}
+				else {
+					isSameTable &= engine.getStamp() > stamp;
+					++changed;
+				}
+				stamp = engine.getStamp();
+				table = after;
+			}
+			engine.reset();
+			System.out.println(changed + " of " + MOVES + " moves changed the table");
+			System.out.println("Queries leave the stamp? " + isQuiet);
+			System.out.println("Same stamp, same table? " + isSameTable);
+			System.out.println("Reset stamped? " + (engine.getStamp() > stamp));
+			long sum = 0;
+			for (final CardPile pile : engine.getGameBoard().getCommonPiles().toArray()) {
+				sum += pile.getStamp();
+			}
+			System.out.println("Collection stamp is the sum of its piles? " + (sum == engine.getGameBoard().getCommonPiles().getStamp()));
+		} catch (PluginException | EngineException | NoSuchFieldException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package games.engine.tests;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginCache;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginFilename;
+import games.engine.sim.GameSimulator;
+import games.engine.sim.RandomStrategy;
+import games.engine.sim.Tournament;
+
+public final class TournamentTB {
+
+	private final static String GAME_NAME = "idiot";
+	private final static int ENTRANTS = 5;
+	private final static int GAMES_PER_SEATING = 2;
+	private final static int ROUNDS = 3;
+	private final static long SEED = 11;
+
+	private TournamentTB() {}
+
+	public static void main(String[] args) throws InterruptedException {
+
+		try {
+			final GameSimulator simulator = new GameSimulator(PluginCache.INSTANCE.get(new PluginFilename(Plugin.Type.RULES, GAME_NAME)), 2);
+			simulator.setMoveLimit(1000);
+
+			final Tournament.Results robin = TournamentTB.create(simulator, null).roundRobin(SEED);
+			System.out.println(robin);
+			System.out.println();
+
+			// Every entrant plays at random, so the games are those of a sequential run of the same seed
+			final long games = robin.getStats().getGames();
+			System.out.println("Round robin matches sequential run? "
+							 + SimulatorTB.results(robin.getStats()).equals(SimulatorTB.results(simulator.run(games, SEED))));
+
+			// The results must not depend on the executor playing the games
+			final ExecutorService single = Executors.newSingleThreadExecutor();
+			final ExecutorService fixed = Executors.newFixedThreadPool(4);
+			try {
+				System.out.println("Round robin same on one thread? "
+								 + TournamentTB.same(robin, TournamentTB.create(simulator, single).roundRobin(SEED)));
+				System.out.println("Round robin same on four threads? "
+								 + TournamentTB.same(robin, TournamentTB.create(simulator, fixed).roundRobin(SEED)));
+
+				final Tournament.Results swiss = TournamentTB.create(simulator, null).swiss(ROUNDS, SEED);
+				System.out.println("Swiss same on one thread? "
+								 + TournamentTB.same(swiss, TournamentTB.create(simulator, single).swiss(ROUNDS, SEED)));
+				System.out.println("Swiss same on four threads? "
+								 + TournamentTB.same(swiss, TournamentTB.create(simulator, fixed).swiss(ROUNDS, SEED)));
+				System.out.println("Swiss matches sequential run? "
+								 + SimulatorTB.results(swiss.getStats()).equals(SimulatorTB.results(simulator.run(swiss.getStats().getGames(), SEED))));
+			} finally {
+				single.shutdown();
+				fixed.shutdown();
+			}
+		} catch (PluginException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+
+	/* Returns a tournament of entrants playing at random on the specified executor */
+	private static Tournament create(final GameSimulator simulator, final ExecutorService executor) {
+		final Tournament tournament = new Tournament(simulator, executor);
+		for (int i = 1; i <= ENTRANTS; i++) {
+			tournament.addEntrant("Random " + i, RandomStrategy.INSTANCE);
+		}
+		tournament.setGamesPerSeating(GAMES_PER_SEATING);
+		return tournament;
+	}
+
+	/* Returns true if both tournaments ended with the same standings and stats */
+	private static boolean same(final Tournament.Results a, final Tournament.Results b) {
+		return a.getStandings().toString().equals(b.getStandings().toString())
+			&& SimulatorTB.results(a.getStats()).equals(SimulatorTB.results(b.getStats()));
+	}
+}
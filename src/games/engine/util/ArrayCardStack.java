@@ -0,0 +1,98 @@
+/***********************************************************************//**
+* @file			ArrayCardStack.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Growable array storage for a pile of cards
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 7 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardStack
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+
+/******************************************************************//**
+ * The ArrayCardStack Class
+ * - Default storage for a <tt>CardPile</tt>
+ * - A branch is a full copy of the array
+ **********************************************************************/
+final class ArrayCardStack extends CardStack {
+
+	private static final int INITIAL_CAPACITY = 8;
+	
+	private PlayingCard[] cards;
+	private int size;
+	
+	ArrayCardStack() {
+		this(new PlayingCard[INITIAL_CAPACITY], 0);
+	}
+	
+	private ArrayCardStack(final PlayingCard[] cards, final int size) {
+		this.cards = cards;
+		this.size = size;
+	}
+	
+	@Override CardPile.Storage getStorage() {
+		return CardPile.Storage.ARRAY;
+	}
+	
+	@Override int size() {
+		return size;
+	}
+	
+	@Override PlayingCard get(final int ndx) {
+		return cards[ndx];
+	}
+	
+	@Override void set(final int ndx, final PlayingCard card) {
+		cards[ndx] = card;
+	}
+	
+	@Override void push(final PlayingCard[] cards, final int offset, final int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(cards, offset, this.cards, size, length);
+		size += length;
+	}
+	
+	@Override void push(final CardStack from, final int ndx, final int length) {
+		ensureCapacity(size + length);
+		from.copyTo(ndx, this.cards, size, length);
+		size += length;
+	}
+	
+	@Override void truncate(final int size) {
+		Arrays.fill(cards, size, this.size, null);
+		this.size = size;
+	}
+	
+	@Override void copyTo(final int ndx, final PlayingCard[] dest, final int destNdx, final int length) {
+		System.arraycopy(cards, ndx, dest, destNdx, length);
+	}
+	
+	@Override CardStack branch() {
+		return new ArrayCardStack(Arrays.copyOf(cards, Math.max(size, INITIAL_CAPACITY)), size);
+	}
+	
+	@Override PlayingCard removeAt(final int ndx) {
+		final PlayingCard card = cards[ndx];
+		System.arraycopy(cards, ndx + 1, cards, ndx, size - ndx - 1);
+		cards[--size] = null;
+		return card;
+	}
+	
+	/*
+	 * Grow the backing array so that it holds at least the specified number of cards.
+	 */
+	private void ensureCapacity(final int capacity) {
+		if (capacity > cards.length) {
+			cards = Arrays.copyOf(cards, Math.max(capacity, cards.length << 1));
+		}
+	}
+}
@@ -16,6 +16,8 @@
 
 package games.engine.util;
 
+import java.util.Arrays;
+
 /******************************************************************//**
  * The CardDealer Class
  * - This class represents the CardDealer in a card game.
@@ -41,20 +43,23 @@ public final class CardDealer {
 /*------------------------------------------------
  	Constants and Attributes
  ------------------------------------------------*/
-	private final Deck deck;
+	private Deck deck;
+	private boolean ownsDeck;				// false while the deck is shared with another dealer
 	private final CardPileCollection commonPiles;
+	private final CardDealer.Direction direction;
 	private final boolean collate;
 	private final CardPlayer[] players;
 	private final CardDealerSet playerPairs;
 	private final CardDealerSet commonPairs;
 	private final boolean shouldShuffle;
+	private CardShuffler shuffler;			// how the deck is shuffled on each reset
+	private ShufflePool pool;				// decks shuffled ahead of time, or null
+	private final Block[] plan;				// the deal, compiled once and shared by every branch
+	private final CardPile[][] targets;		// the piles of each block of the plan, at this table
 	
 	private boolean isDoneDealing;			// true when done dealing to all piles
-	private boolean isDoneWithPlayerPiles;	// true when done dealing to player piles
-	private boolean isDoneWithCommonPiles;	// true when done dealing to common piles
-	private int nextPileNdx;				// index to next pile in array to be dealt a card
-	private int cardsDealtToPile;			// current number of cards dealt to current pile
-	private int nextPlayerNdx;				// index to next player in array to be dealt a card
+	private int blockNdx;					// index of the block currently being dealt
+	private int dealtInBlock;				// number of cards dealt from the current block
 	private int totalDealt;
 
 /*------------------------------------------------
@@ -63,6 +68,7 @@ public final class CardDealer {
 	/**
 	 * Constructs a new <tt>CardDealer</tt> with the given attributes.
 	 * Dealer is best constructed using the <tt>CardDealerFactory</tt>.
+	 * The deck is not shuffled until the dealer is reset with a random stream.
 	 *
 	 * @param deck the deck of cards from which to deal
 	 * @param players array of players to be dealt cards
@@ -77,63 +83,358 @@ public final class CardDealer {
 					  final CardDealer.Direction direction, final boolean collate, final boolean shuffle,
 					  final CardDealerSet playerPairs, final CardDealerSet commonPairs) {
 		this.deck = deck;
+		this.ownsDeck = true;
 		this.commonPiles = commonPiles.copy();
+		this.direction = direction;
 		this.collate = collate;
 		this.playerPairs = playerPairs;
 		this.commonPairs = commonPairs;
 		this.shouldShuffle = shuffle;
-		this.isDoneDealing = false;
-		this.isDoneWithPlayerPiles = false;
-		this.isDoneWithCommonPiles = false;
-		this.nextPileNdx = 0;
-		this.cardsDealtToPile = 0;
-		this.nextPlayerNdx = 0;
-		this.totalDealt = 0;
-		
-		// Get references to card players (do this manually to reorder players if necessary)
-		this.players = new CardPlayer[players.length];
+		this.shuffler = Shuffler.FISHER_YATES;
+		this.players = CardDealer.order(players, direction);
+		this.plan = this.compile();
+		this.targets = this.bind();
+		this.rewind();
+	}
+	
+	/*
+	 * Constructs a dealer in the same state as the specified dealer, dealing to the given piles.
+	 * The deal plan is shared; only the piles of each block are looked up again.
+	 * Once all cards are dealt the deck is not needed until the next reset, so it is shared
+	 * until then; otherwise the branch takes its own copy.
+	 */
+	private CardDealer(final CardDealer that, final CardPileCollection commonPiles, final CardPlayer[] players) {
+		this.deck = that.isDoneDealing ? that.deck : new Deck(that.deck);
+		this.ownsDeck = !that.isDoneDealing;
+		this.commonPiles = commonPiles.copy();
+		this.direction = that.direction;
+		this.collate = that.collate;
+		this.playerPairs = that.playerPairs;
+		this.commonPairs = that.commonPairs;
+		this.shouldShuffle = that.shouldShuffle;
+		this.shuffler = that.shuffler;
+		this.pool = that.pool;
+		this.players = CardDealer.order(players, direction);
+		this.plan = that.plan;
+		this.targets = this.bind();
+		this.isDoneDealing = that.isDoneDealing;
+		this.blockNdx = that.blockNdx;
+		this.dealtInBlock = that.dealtInBlock;
+		this.totalDealt = that.totalDealt;
+	}
+	
+	/*
+	 * Get references to card players (do this manually to reorder players if necessary)
+	 */
+	private static CardPlayer[] order(final CardPlayer[] players, final CardDealer.Direction direction) {
+		final CardPlayer[] ordered = new CardPlayer[players.length];
 		for (int i = 0; i < players.length; i++) {
 			switch (direction) {
 			case CCW:
 				// Put players in reverse order
-				this.players[i] = players[players.length - 1 - i];
+				ordered[i] = players[players.length - 1 - i];
 				break;
 			case CW:
 			default:
 				// Put players in forward order
-				this.players[i] = players[i];
+				ordered[i] = players[i];
 				break;
 			}
 		}
-		
-		// Shuffle the deck
-		if (shuffle) {
-			this.deck.shuffle();
-			this.deck.shuffle();
+		return ordered;
+	}
+	
+	/*
+	 * Compile the player and common pairs into blocks, finding the position of each pile in its
+	 * collection once. Player piles are dealt first, one block per pile name, then each common pile.
+	 * The plan does not depend on the piles or players of a table, so branches share it.
+	 */
+	private Block[] compile() {
+		final Block[] blocks = new Block[playerPairs.getSize() + commonPairs.getSize()];
+		final CardPileCollection playerPiles = players[0].getPlayerPiles();
+		int ndx = 0;
+		for (int i = 0; i < playerPairs.getSize(); i++) {
+			final int pile = playerPiles.getIndexOf(playerPairs.getCardPileName(i));
+			blocks[ndx++] = new Block(pile, playerPairs.getNumCardsToDeal(i), collate, true);
+		}
+		for (int i = 0; i < commonPairs.getSize(); i++) {
+			final int pile = commonPiles.getIndexOf(commonPairs.getCardPileName(i));
+			blocks[ndx++] = new Block(pile, commonPairs.getNumCardsToDeal(i), false, false);
+		}
+		return blocks;
+	}
+	
+	/*
+	 * Returns the piles of this table dealt by each block of the plan: one for each player,
+	 * in dealing order, or the one common pile.
+	 */
+	private CardPile[][] bind() {
+		final CardPile[][] piles = new CardPile[plan.length][];
+		for (int b = 0; b < plan.length; b++) {
+			if (plan[b].ofPlayers) {
+				piles[b] = new CardPile[players.length];
+				for (int p = 0; p < players.length; p++) {
+					piles[b][p] = players[p].getPlayerPiles().get(plan[b].pile);
+				}
+			}
+			else {
+				piles[b] = new CardPile[] { commonPiles.get(plan[b].pile) };
+			}
 		}
+		return piles;
 	}
 	
 /*------------------------------------------------
     Utility Methods
  ------------------------------------------------*/
+	/**
+	 * Returns a new <tt>CardDealer</tt> in the same state as this one, dealing to the specified piles.
+	 * The players must be given in the same order as they were given to this dealer.
+	 * 
+	 * @param commonPiles collection of the common card piles
+	 * @param players array of players to be dealt cards
+	 * @return a branch of this card dealer
+	 */
+	public CardDealer branch(final CardPileCollection commonPiles, final CardPlayer[] players) {
+		return new CardDealer(this, commonPiles, players);
+	}
+	
 	/**
 	 * Reset this <tt>CardDealer</tt> and <tt>Deck</tt> to the default state.
 	 */
 	public void reset() {
-		this.isDoneDealing = false;
-		this.isDoneWithPlayerPiles = false;
-		this.isDoneWithCommonPiles = false;
-		this.nextPileNdx = 0;
-		this.cardsDealtToPile = 0;
-		this.nextPlayerNdx = 0;
-		this.totalDealt = 0;
+		this.reset(new GameRandom());
+	}
+	
+	/**
+	 * Reset this <tt>CardDealer</tt> and <tt>Deck</tt> to the default state,
+	 * shuffling with the specified random stream. The deck is restored to its
+	 * original order first, so the same seed always produces the same deal.
+	 * 
+	 * @param random the source of randomness for the shuffle
+	 */
+	public void reset(final GameRandom random) {
+		if (!ownsDeck) {
+			deck = new Deck(deck);
+			ownsDeck = true;
+		}
 		deck.reset();
 		if (shouldShuffle) {
-			this.deck.shuffle();
-			this.deck.shuffle();
+			this.deck.shuffle(random, shuffler);
+		}
+		this.rewind();
+	}
+	
+	/**
+	 * Reset this <tt>CardDealer</tt> to deal the cards of the <tt>Deck</tt> in the specified order,
+	 * instead of shuffling them. This deals exact, known contents to every pile.
+	 * 
+	 * @param order every card of the deck, in the order they should be dealt
+	 * @throws IllegalArgumentException if the cards are not exactly those of the deck
+	 * @see #getTargetSizes()
+	 */
+	public void reset(final PlayingCard[] order) throws IllegalArgumentException {
+		if (!ownsDeck) {
+			deck = new Deck(deck);
+			ownsDeck = true;
+		}
+		deck.arrange(order);
+		this.rewind();
+	}
+	
+	/**
+	 * Reset this <tt>CardDealer</tt> to deal the <tt>Deck</tt> in an order shuffled ahead of time.
+	 * 
+	 * @param shuffle a shuffled order of the deck
+	 * @throws IllegalArgumentException if the order is for a deck of a different size
+	 * @see #pollShuffle(long)
+	 */
+	public void reset(final ShufflePool.Shuffle shuffle) throws IllegalArgumentException {
+		if (!ownsDeck) {
+			deck = new Deck(deck);
+			ownsDeck = true;
+		}
+		deck.arrange(shuffle);
+		this.rewind();
+	}
+	
+	/**
+	 * Takes the next shuffled order from the shuffle pool of this dealer, without waiting.
+	 * The order carries the seed of the hand it was shuffled for.
+	 * 
+	 * @return a shuffled order, or <tt>null</tt> if this dealer does not shuffle, has no pool, or no order is ready
+	 */
+	public ShufflePool.Shuffle pollShuffle() {
+		return shouldShuffle && pool != null ? pool.poll() : null;
+	}
+	
+	/**
+	 * Sets the pool of decks shuffled ahead of time, or <tt>null</tt> to always shuffle inline.
+	 * 
+	 * @param pool the shuffle pool, which must use the same algorithm as this dealer
+	 * @throws IllegalArgumentException if the pool is for a different deck or algorithm
+	 */
+	public void setShufflePool(final ShufflePool pool) throws IllegalArgumentException {
+		if (pool != null && (pool.getDeckSize() != deck.getSize() || pool.getShuffler() != shuffler)) {
+			throw new IllegalArgumentException("Shuffle pool does not match the deck and shuffler of this dealer!");
+		}
+		this.pool = pool;
+	}
+	
+	/**
+	 * Returns the direction this dealer deals in.
+	 * 
+	 * @return the direction of dealing
+	 */
+	public CardDealer.Direction getDirection() {
+		return direction;
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if each player pile is completed before dealing to the next.
+	 * 
+	 * @return true if the player piles are collated
+	 */
+	public boolean isCollated() {
+		return collate;
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if the deck is shuffled before dealing.
+	 * 
+	 * @return true if the deck is shuffled
+	 */
+	public boolean isShuffled() {
+		return shouldShuffle;
+	}
+	
+	/**
+	 * Returns the names of the player piles dealt to, and the number of cards dealt to each.
+	 * 
+	 * @return the player piles dealt
+	 */
+	public CardDealerSet getPlayerPairs() {
+		return playerPairs;
+	}
+	
+	/**
+	 * Returns the names of the common piles dealt to, and the number of cards dealt to each.
+	 * 
+	 * @return the common piles dealt
+	 */
+	public CardDealerSet getCommonPairs() {
+		return commonPairs;
+	}
+	
+	/**
+	 * Returns the algorithm used to shuffle the deck on each reset.
+	 * 
+	 * @return the shuffling algorithm of this dealer
+	 */
+	public CardShuffler getShuffler() {
+		return shuffler;
+	}
+	
+	/**
+	 * Sets the algorithm used to shuffle the deck on each reset.
+	 * A dealer using a shuffle pool then uses the shared pool of the new algorithm.
+	 * 
+	 * @param shuffler the shuffling algorithm
+	 */
+	public void setShuffler(final CardShuffler shuffler) {
+		this.shuffler = shuffler;
+		if (pool != null && pool.getShuffler() != shuffler) {
+			pool = ShufflePool.getInstance(deck, shuffler);
 		}
 	}
 	
+	/**
+	 * Returns the number of cards dealt to each target pile, in dealing order.
+	 * The targets are each player pile (one target per player) followed by each common pile,
+	 * in the order they are listed in the rules.
+	 * 
+	 * @return the number of cards dealt to each target pile
+	 */
+	public int[] getTargetSizes() {
+		final int[] sizes = new int[this.getNumberOfTargets()];
+		for (final int target : this.getTargetPositions()) {
+			if (target >= 0) {
+				++sizes[target];
+			}
+		}
+		return sizes;
+	}
+	
+	/*
+	 * Returns the number of target piles in the deal plan.
+	 */
+	int getNumberOfTargets() {
+		int number = 0;
+		for (final CardPile[] piles : targets) {
+			number += piles.length;
+		}
+		return number;
+	}
+	
+	/*
+	 * Returns true for each target that is dealt all of the cards that are left.
+	 */
+	boolean[] getRemainderTargets() {
+		final boolean[] remainder = new boolean[this.getNumberOfTargets()];
+		int target = 0;
+		for (int b = 0; b < plan.length; b++) {
+			for (int p = 0; p < targets[b].length; p++) {
+				remainder[target++] = plan[b].count >= deck.getSize();
+			}
+		}
+		return remainder;
+	}
+	
+	/*
+	 * Returns the index of the player who owns each target, as given to this dealer, or -1 for common piles.
+	 */
+	int[] getTargetOwners() {
+		final int[] owners = new int[this.getNumberOfTargets()];
+		int target = 0;
+		for (int b = 0; b < plan.length; b++) {
+			for (int p = 0; p < targets[b].length; p++) {
+				if (plan[b].ofPlayers) {
+					owners[target++] = direction == CardDealer.Direction.CCW ? players.length - 1 - p : p;
+				}
+				else {
+					owners[target++] = -1;
+				}
+			}
+		}
+		return owners;
+	}
+	
+	/*
+	 * Returns the target dealt the card at each position of the deck, or -1 if that card is not dealt.
+	 */
+	int[] getTargetPositions() {
+		final int size = deck.getSize();
+		final int[] positions = new int[size];
+		Arrays.fill(positions, -1);
+		int base = 0;
+		int first = 0;
+		for (int b = 0; b < plan.length; b++) {
+			final Block block = plan[b];
+			final int piles = targets[b].length;
+			for (int p = 0; p < piles; p++) {
+				for (int c = 0; c < block.count; c++) {
+					final long pos = block.isStrided(piles) ? base + (long)c * piles + p : base + (long)p * block.count + c;
+					if (pos < size) {
+						positions[(int)pos] = first + p;
+					}
+				}
+			}
+			base = (int)Math.min(size, base + (long)block.count * piles);
+			first += piles;
+		}
+		return positions;
+	}
+	
 	/**
 	 * Returns <tt>true</tt> if the dealing is done.
 	 * 
@@ -161,131 +462,111 @@ public final class CardDealer {
 	 * @return information about the card dealing
 	 */
 	public String dealNext() {
-		String string = null;
-		if (!this.isDoneWithPlayerPiles) {
-			string = this.dealNextPlayer();
-		}
-		else if (!this.isDoneWithCommonPiles) {
-			string = this.dealNextCommon();
+		if (isDoneDealing) {
+			return "";
 		}
-		else {
-			isDoneDealing = true;
-			string = "";
-		}
-		return string;
+		final Block block = plan[blockNdx];
+		final CardPile[] piles = targets[blockNdx];
+		final int ndx = block.pileFor(dealtInBlock, piles.length);
+		final PlayingCard card = deck.deal();
+		piles[ndx].add(card);
+		++totalDealt;
+		this.advance(1);
+		final StringBuilder str = new StringBuilder();
+		str.append("Dealt ").append(card.toString()).append(" to ")
+		   .append(block.ofPlayers ? "player." + players[ndx].getName() + '.' : "common.")
+		   .append(piles[ndx].getParameters().getName());
+		return str.toString();
 	}
 	
 	/**
 	 * Deal all remaining cards to the appropriate places.
+	 * Each remaining block of the deal is a bulk transfer from the deck into the pile storage.
 	 */
 	public void dealAll() {
-		while(!isDoneDealing) {
-			dealNext();
+		// Finish a partly dealt block one card at a time, then deal whole blocks
+		while (!isDoneDealing && dealtInBlock > 0) {
+			final CardPile[] piles = targets[blockNdx];
+			piles[plan[blockNdx].pileFor(dealtInBlock, piles.length)].add(deck.deal());
+			++totalDealt;
+			this.advance(1);
+		}
+		while (!isDoneDealing) {
+			final Block block = plan[blockNdx];
+			final CardPile[] piles = targets[blockNdx];
+			int dealt = 0;
+			if (block.isStrided(piles.length)) {
+				dealt = deck.dealTo(piles, block.count);
+			}
+			else {
+				for (final CardPile pile : piles) {
+					dealt += deck.dealTo(pile, block.count);
+				}
+			}
+			totalDealt += dealt;
+			this.advance(dealt);
 		}
 	}
 	
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
 	/*
-	 * Deal next card to common piles.
+	 * Start the deal over from the first block.
 	 */
-	private String dealNextCommon() {
-		String string = null;
-		if (cardsDealtToPile < commonPairs.getNumCardsToDeal(this.nextPileNdx)) {
-			final PlayingCard card = deck.deal();
-			if (card == null) {
-				isDoneWithPlayerPiles = true;
-				isDoneWithCommonPiles = true;
-				isDoneDealing = true;
-				return "";
-			}
-			else {
-				final CardPile pile = commonPiles.get(commonPairs.getCardPileName(this.nextPileNdx));
-				pile.add(card);
-				++totalDealt;
-				StringBuilder str = new StringBuilder();
-				str.append("Dealt ").append(card.toString())
-				   .append(" to common.")
-				   .append(pile.getParameters().getName());
-				string = str.toString();
-			}
+	private void rewind() {
+		this.isDoneDealing = false;
+		this.blockNdx = 0;
+		this.dealtInBlock = 0;
+		this.totalDealt = 0;
+		this.advance(0);
+	}
+	
+	/*
+	 * Move the cursor past the specified number of dealt cards, and any empty blocks.
+	 * Dealing is done at the end of the plan, or as soon as the deck runs out.
+	 */
+	private void advance(final int dealt) {
+		dealtInBlock += dealt;
+		while (blockNdx < plan.length && dealtInBlock >= plan[blockNdx].count * targets[blockNdx].length) {
+			dealtInBlock = 0;
+			++blockNdx;
 		}
-		
-		// Handle the deal counts
-		if (++cardsDealtToPile >= commonPairs.getNumCardsToDeal(this.nextPileNdx)) {
-			// Deal to next pile when done dealing to this pile
-			cardsDealtToPile = 0;
-			if (++nextPileNdx == commonPairs.getSize()) {
-				// Done dealing to common piles!
-				this.isDoneWithCommonPiles = true;
-				nextPileNdx = 0;
-				cardsDealtToPile = 0;
-			}
+		if (blockNdx == plan.length || deck.getRemaining() == 0) {
+			isDoneDealing = true;
 		}
-		return string == null ? "" : string;
 	}
 	
+/*------------------------------------------------
+    Deal Plan
+ ------------------------------------------------*/
 	/*
-	 * Deal next card to player piles.
+	 * A number of cards dealt to each of a set of piles, either a whole pile at a time,
+	 * or one card to each pile in turn (collated). Immutable, and independent of the
+	 * piles of any table: the same pile of each player, or one common pile.
 	 */
-	private String dealNextPlayer() {
-		String string = null;
-		if (cardsDealtToPile < playerPairs.getNumCardsToDeal(this.nextPileNdx)) {
-			final PlayingCard card = deck.deal();
-			if (card == null) {
-				isDoneWithPlayerPiles = true;
-				isDoneWithCommonPiles = true;
-				isDoneDealing = true;
-				return "";
-			}
-			else {
-				final CardPile pile = players[nextPlayerNdx].getPlayerPiles().get(playerPairs.getCardPileName(this.nextPileNdx));
-				pile.add(card);
-				++totalDealt;
-				StringBuilder str = new StringBuilder();
-				str.append("Dealt ").append(card.toString())
-				   .append(" to player.")
-				   .append(players[nextPlayerNdx].getName())
-				   .append('.')
-				   .append(pile.getParameters().getName());
-				string = str.toString();
-			}
+	private static final class Block {
+		
+		private final int pile;				// position of the pile in its collection
+		private final int count;			// cards dealt to each pile
+		private final boolean collate;
+		private final boolean ofPlayers;	// one pile for each player, in dealing order
+		
+		private Block(final int pile, final int count, final boolean collate, final boolean ofPlayers) {
+			this.pile = pile;
+			this.count = count;
+			this.collate = collate;
+			this.ofPlayers = ofPlayers;
 		}
 		
-		// Deal 1 card of each pile to each player at a time...
-		if (collate) {
-			// Deal to next player after every card
-			if (++nextPlayerNdx == players.length) {
-				// increment number of cards dealt to pile when dealt to all players
-				nextPlayerNdx = 0;
-				if (++cardsDealtToPile >= playerPairs.getNumCardsToDeal(this.nextPileNdx)) {
-					// Deal to next pile when done dealing to this pile
-					cardsDealtToPile = 0;
-					if (++nextPileNdx == playerPairs.getSize()) {
-						// Done dealing to player piles!
-						this.isDoneWithPlayerPiles = true;
-						nextPileNdx = 0;
-						cardsDealtToPile = 0;
-					}
-				}
-			}
+		/* Returns true if one card is dealt to each of the specified number of piles in turn. */
+		private boolean isStrided(final int piles) {
+			return collate && piles > 1;
 		}
-		// Deal all cards of a pile to each player at a time...
-		else {
-			// increment number of cards dealt to pile after every card
-			if (++cardsDealtToPile >= playerPairs.getNumCardsToDeal(this.nextPileNdx)) {
-				// Deal to next player when done dealing to this pile
-				cardsDealtToPile = 0;
-				if (++nextPlayerNdx == players.length) {
-					// Deal to next pile when done dealing to this player
-					nextPlayerNdx = 0;
-					if (++nextPileNdx == playerPairs.getSize()) {
-						// Done dealing to player piles!
-						this.isDoneWithPlayerPiles = true;
-						nextPileNdx = 0;
-						cardsDealtToPile = 0;
-					}
-				}
-			}
+		
+		/* Returns the index of the pile, of the specified number, dealt the specified card of this block. */
+		private int pileFor(final int dealt, final int piles) {
+			return this.isStrided(piles) ? dealt % piles : dealt / count;
 		}
-		return string == null ? "" : string;
 	}
 }
@@ -19,6 +19,7 @@ import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginKeyword;
 import games.engine.plugin.PluginKeywordCode;
 import games.engine.plugin.PluginPattern;
+import games.engine.plugin.PluginSection;
 
 /******************************************************************//**
  * The CardDealerFactory Enum
@@ -54,10 +55,11 @@ public enum CardDealerFactory {
 	 * @return new CardDealer for a card game
 	 * @throws PluginException for invalid or missing keywords and parameters
 	 */
-	public synchronized CardDealer createCardDealer(final Plugin rulesPlugin, final CardPileCollection commonPileCollecion, 
+	public CardDealer createCardDealer(final Plugin rulesPlugin, final CardPileCollection commonPileCollecion, 
 													final Deck deck, final CardPlayer[] players) throws PluginException {
 		rulesPlugin.checkType(Plugin.Type.RULES);
-		final Plugin plugin = rulesPlugin.divide(PluginKeyword.DEAL, PluginKeyword.END_DEAL);
+		final PluginSection section = rulesPlugin.checkSection(PluginKeyword.DEAL);
+		final Plugin plugin = rulesPlugin.divide(section.getStart() + 1, section.getEnd());
 		
 		// Get Parameters
 		final boolean collate = PluginKeyword.COLLATE.getBooleanParams(plugin);
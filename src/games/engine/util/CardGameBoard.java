@@ -52,6 +52,28 @@ public class CardGameBoard {
 /*------------------------------------------------
     Accessors
  ------------------------------------------------*/
+	/**
+	 * Returns a new <tt>CardGameBoard</tt> with the same deck and layout as this one,
+	 * holding a branch of its common piles.
+	 * 
+	 * @return a branch of this card game board
+	 * @see CardPileCollection#branch()
+	 */
+	public CardGameBoard branch() {
+		return new CardGameBoard(name, deck, commonPiles.branch(), layout);
+	}
+	
+	/**
+	 * Returns a new <tt>CardGameBoard</tt> with the same deck and layout as this one,
+	 * and new, empty common piles.
+	 * 
+	 * @param storage how the cards in each common pile are stored
+	 * @return an empty card game board like this one
+	 */
+	public CardGameBoard createEmpty(final CardPile.Storage storage) {
+		return new CardGameBoard(name, deck, commonPiles.createEmpty(storage), layout);
+	}
+	
 	/**
 	 * Returns the name of this <tt>CardGameBoard</tt>.
 	 * 
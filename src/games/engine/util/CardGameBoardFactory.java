@@ -50,14 +50,27 @@ public enum CardGameBoardFactory {
 	 * @return CardGameBoard created using the specified parameters 
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized CardGameBoard createCardGameBoard(final Plugin plugin, final Deck deck) throws PluginException {
+	public CardGameBoard createCardGameBoard(final Plugin plugin, final Deck deck) throws PluginException {
+		return this.createCardGameBoard(plugin, deck, CardPile.Storage.ARRAY);
+	}
+	
+	/**
+	 * Create and return a <tt>CardGameBoard</tt> whose common piles use the specified type of storage.
+	 * 
+	 * @param pluign Board Plugin used to create this card gameboard
+	 * @param deck the deck of cards used on this board
+	 * @param storage how the cards in each common pile are stored
+	 * @return CardGameBoard created using the specified parameters 
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public CardGameBoard createCardGameBoard(final Plugin plugin, final Deck deck, final CardPile.Storage storage) throws PluginException {
 		// Create Plugins
 		plugin.checkType(Plugin.Type.BOARD);
 		// Mandatory attributes
 		final CardPileFactory factory = CardPileFactory.getInstance();
 		final String name = plugin.getFilename().getConvertedName();
 		final Plugin[] pilePlugins = factory.createPlugins(plugin);
-		final CardPileCollection commonPiles = factory.createCardPileCollection(CardPileParameter.Owner.COMMON, pilePlugins);
+		final CardPileCollection commonPiles = factory.createCardPileCollection(CardPileParameter.Owner.COMMON, storage, pilePlugins);
 		final CardGameBoardLayout layout = this.createCardGameBoardLayout(plugin);
 		return new CardGameBoard(name, deck, commonPiles, layout);
 	}
@@ -69,7 +82,7 @@ public enum CardGameBoardFactory {
 	 * @return card game board layout
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized CardGameBoardLayout createCardGameBoardLayout(final Plugin plugin) throws PluginException {
+	public CardGameBoardLayout createCardGameBoardLayout(final Plugin plugin) throws PluginException {
 		plugin.checkType(Plugin.Type.BOARD);
 		
 		// Mandatory Parameters
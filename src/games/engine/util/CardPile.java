@@ -16,12 +16,9 @@
 
 package games.engine.util;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 import games.engine.util.PlayingCard;
 
 /******************************************************************//**
@@ -29,17 +26,43 @@ import games.engine.util.PlayingCard;
  * - An individual pile of Playing Cards used in a game
  * - Basic attributes are immutable, Playing Cards in pile may change
  * - Cards are Last In - First Out
+ * - Cards are stored bottom to top in a <tt>CardStack</tt>, so moving
+ *   cards between piles is a block copy rather than a card-by-card walk
+ * - With <tt>Storage.PERSISTENT</tt>, a branched pile shares its storage
+ *   with the original until either one changes
+ * - A bitboard mirror of the cards, counted by id, answers membership
+ *   and <tt>CardSet</tt> queries without walking the pile; the cards
+ *   in a pile are expected to come from a single catalog
+ * - A branched pile shares the mirror as well, whatever its storage;
+ *   it is copied the first time either pile changes
+ * - Every change to the cards increases a modification stamp, so
+ *   consumers can skip work when a pile has not changed
  * TODO
  * - Finish sorting methods (and testing)
  * - Integration testing with Board text file
  **********************************************************************/
 public final class CardPile {
 
+/*------------------------------------------------
+ 	Storage Enumeration
+ ------------------------------------------------*/
+	/** Specifies how the cards in a pile are stored. */
+	public static enum Storage {
+		/** A growable array; branching copies every card */
+		ARRAY,
+		/** Shared chunks; branching copies only what later changes */
+		PERSISTENT }
+
 /*------------------------------------------------
  	Constants and Attributes
  ------------------------------------------------*/	
 	private final CardPileParameter params;
-	private final List<PlayingCard> cards;
+	private CardStack cards;
+	private int[] counts;		// copies of each card in this pile, indexed by id
+	private long[] members;		// bit set for each id with a non-zero count
+	private boolean ownsMirror;	// true if no other pile can see the mirror, unless branched since
+	private volatile boolean branched;	// true if branched since the last change
+	private long stamp;			// increased by every change to the cards
 	
 /*------------------------------------------------
  	Constructor(s)
@@ -57,8 +80,30 @@ public final class CardPile {
 	 * @param removal how are cards removed from this pile
 	 */
 	public CardPile(final CardPileParameter params) {
+		this(params, Storage.ARRAY);
+	}
+	
+	/**
+	 * Construct an empty <tt>CardPile</tt> with the specified attributes and type of storage.
+	 * 
+	 * @param params the attributes of this card pile
+	 * @param storage how the cards in this pile are stored
+	 */
+	public CardPile(final CardPileParameter params, final Storage storage) {
+		this(params, CardStack.create(storage), new int[0], new long[0], true, 0);
+	}
+	
+	/*
+	 * Construct a card pile around existing storage and its mirror.
+	 */
+	private CardPile(final CardPileParameter params, final CardStack cards, final int[] counts, final long[] members,
+					 final boolean ownsMirror, final long stamp) {
 		this.params = params;
-		cards = new LinkedList<PlayingCard>();
+		this.cards = cards;
+		this.counts = counts;
+		this.members = members;
+		this.ownsMirror = ownsMirror;
+		this.stamp = stamp;
 	}
 	
 /*------------------------------------------------
@@ -89,7 +134,28 @@ public final class CardPile {
 	 * @return <tt>true</tt> if this <tt>CardPile</tt> is empty
 	 */
 	public boolean isEmpty() {
-		return cards.isEmpty();
+		return cards.size() == 0;
+	}
+	
+	/**
+	 * Returns how the cards in this <tt>CardPile</tt> are stored.
+	 * 
+	 * @return the storage type of this CardPile
+	 */
+	public Storage getStorage() {
+		return cards.getStorage();
+	}
+	
+	/**
+	 * Returns the modification stamp of this <tt>CardPile</tt>.
+	 * The stamp increases every time cards are added, removed, or reordered,
+	 * so a consumer that saw the same stamp before has seen the same cards.
+	 * A branch starts with the stamp of the pile it was branched from.
+	 * 
+	 * @return the modification stamp of this CardPile
+	 */
+	public long getStamp() {
+		return stamp;
 	}
 	
 /*------------------------------------------------
@@ -103,12 +169,23 @@ public final class CardPile {
 	 * @return <tt>True</tt> if any cards were added
 	 */
 	public boolean add(final PlayingCard...cards) {
-		for (final PlayingCard card : cards){
-			this.cards.add(card);
-		}
+		this.add(cards, 0, cards.length);
 		return cards.length > 0 ? true : false;
 	}
 	
+	/*
+	 * Add a range of the specified array to this pile, in order, with a single push.
+	 */
+	void add(final PlayingCard[] cards, final int offset, final int length) {
+		if (length > 0) {
+			this.cards.push(cards, offset, length);
+			for (int i = offset; i < offset + length; i++) {
+				this.countIn(cards[i]);
+			}
+			++stamp;
+		}
+	}
+	
 	/**
 	 * Add the collection of <tt>PlayingCards</tt> to this <tt>CardPile</tt>.
 	 * It is undefined behavior to use this card pile as the specified collection.
@@ -118,8 +195,7 @@ public final class CardPile {
 	 * @throws NullPointerException - if the specified collection is null
 	 */
 	public boolean add(final Collection<PlayingCard> cards) throws NullPointerException {
-		this.cards.addAll(cards);
-		return !cards.isEmpty();
+		return this.add(cards.toArray(new PlayingCard[cards.size()]));
 	}
 	
 	/**
@@ -129,7 +205,38 @@ public final class CardPile {
 	 * @return true is the specified card is found in this pile
 	 */
 	public boolean contains(final PlayingCard card) {
-		return this.cards.contains(card);
+		final int id = card.getId();
+		return id < counts.length && counts[id] > 0;
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if any <tt>PlayingCard</tt> in the specified set is in this <tt>CardPile</tt>.
+	 * 
+	 * @param set the playing cards to be located
+	 * @return true if any card in the set is found in this pile
+	 */
+	public boolean containsAny(final CardSet set) {
+		return CardSet.intersects(members, set.words);
+	}
+	
+	/**
+	 * Returns <tt>true</tt> if every <tt>PlayingCard</tt> in the specified set is in this <tt>CardPile</tt>.
+	 * 
+	 * @param set the playing cards to be located
+	 * @return true if every card in the set is found in this pile
+	 */
+	public boolean containsAll(final CardSet set) {
+		return CardSet.containsAll(members, set.words);
+	}
+	
+	/**
+	 * Returns the set of distinct <tt>PlayingCards</tt> in this <tt>CardPile</tt>.
+	 * The set is a snapshot; later changes to this pile are not reflected in it.
+	 * 
+	 * @return the set of cards in this pile
+	 */
+	public CardSet getCardSet() {
+		return CardSet.copyOf(members);
 	}
 	
 	/**
@@ -140,7 +247,12 @@ public final class CardPile {
 	 * @return false if the specified card is not found
 	 */
 	public boolean remove(final PlayingCard card) {
-		return ((LinkedList<PlayingCard>) cards).removeFirstOccurrence(card);
+		if (!this.contains(card)) {
+			return false;
+		}
+		this.countOut(cards.removeAt(this.indexOf(card, null)));
+		++stamp;
+		return true;
 	}
 	
 	/**
@@ -151,7 +263,8 @@ public final class CardPile {
 	 * @throws NoSuchElementException - if this card pile is empty
 	 */
 	public PlayingCard getTop() throws NoSuchElementException {
-		return ((LinkedList<PlayingCard>) cards).getLast();
+		checkNotEmpty();
+		return cards.get(cards.size() - 1);
 	}
 	
 	/**
@@ -162,29 +275,40 @@ public final class CardPile {
 	 * @throws NoSuchElementException - if this card pile is empty
 	 */
 	public PlayingCard removeTop() throws NoSuchElementException {
-		return ((LinkedList<PlayingCard>) cards).removeLast();
+		checkNotEmpty();
+		final int top = cards.size() - 1;
+		final PlayingCard card = cards.get(top);
+		cards.truncate(top);
+		this.countOut(card);
+		++stamp;
+		return card;
 	}
 	
 	/**
-	 * Returns the top <tt>PlayingCard</tt> from this <tt>CardPile</tt>.
-	 * The top card is that last one that was added.
+	 * Returns the bottom <tt>PlayingCard</tt> from this <tt>CardPile</tt>.
+	 * The bottom card is the first one that was added.
 	 * 
-	 * @return the top PlayingCard from this CardPile
+	 * @return the bottom PlayingCard from this CardPile
 	 * @throws NoSuchElementException - if this card pile is empty
 	 */
 	public PlayingCard getBottom() throws NoSuchElementException {
-		return ((LinkedList<PlayingCard>) cards).getFirst();
+		checkNotEmpty();
+		return cards.get(0);
 	}
 	
 	/**
-	 * Removes and returns the top <tt>PlayingCard</tt> from this <tt>CardPile</tt>.
-	 * The top card is that last one that was added.
+	 * Removes and returns the bottom <tt>PlayingCard</tt> from this <tt>CardPile</tt>.
+	 * The bottom card is the first one that was added.
 	 * 
-	 * @return the top PlayingCard from this CardPile
+	 * @return the bottom PlayingCard from this CardPile
 	 * @throws NoSuchElementException - if this card pile is empty
 	 */
 	public PlayingCard removeBottom() throws NoSuchElementException {
-		return ((LinkedList<PlayingCard>) cards).removeFirst();
+		checkNotEmpty();
+		final PlayingCard card = cards.removeAt(0);
+		this.countOut(card);
+		++stamp;
+		return card;
 	}
 	
 	/**
@@ -193,7 +317,17 @@ public final class CardPile {
 	 * @return a random PlayingCard from this CardPile
 	 */
 	public PlayingCard getRandom() {
-		return cards.get(ThreadLocalRandom.current().nextInt(cards.size()));
+		return this.getRandom(new GameRandom());
+	}
+	
+	/**
+	 * Returns a random <tt>PlayingCard</tt> from this <tt>CardPile</tt>, chosen with the specified random stream.
+	 * 
+	 * @param rand the source of randomness for the choice
+	 * @return a random PlayingCard from this CardPile
+	 */
+	public PlayingCard getRandom(final GameRandom rand) {
+		return cards.get(rand.nextInt(cards.size()));
 	}
 	
 	/**
@@ -202,7 +336,20 @@ public final class CardPile {
 	 * @return a random PlayingCard from this CardPile
 	 */
 	public PlayingCard removeRandom() {
-		return cards.remove(ThreadLocalRandom.current().nextInt(cards.size()));
+		return this.removeRandom(new GameRandom());
+	}
+	
+	/**
+	 * Removes and returns a random <tt>PlayingCard</tt> from this <tt>CardPile</tt>, chosen with the specified random stream.
+	 * 
+	 * @param rand the source of randomness for the choice
+	 * @return a random PlayingCard from this CardPile
+	 */
+	public PlayingCard removeRandom(final GameRandom rand) {
+		final PlayingCard card = cards.removeAt(rand.nextInt(cards.size()));
+		this.countOut(card);
+		++stamp;
+		return card;
 	}
 	
 	/**
@@ -224,14 +371,35 @@ public final class CardPile {
 	public PlayingCard[] get(final int number) {
 		// This is a little strange, but it's correct...
 		// we want to invert the array because index(0) is the bottom (first card to go in)
-		final int num = number > cards.size() ? cards.size() : number;
+		final int size = cards.size();
+		final int num = number > size ? size : number;
 		PlayingCard[] c = new PlayingCard[num];
 		for (int i = 0; i < num; i++) {
-			c[i] = cards.get(cards.size() - i - 1);
+			c[i] = cards.get(size - i - 1);
 		}
 		return c;
 	}
 	
+	/**
+	 * Removes all of the <tt>PlayingCards</tt> from this <tt>CardPile</tt>, without returning them.
+	 */
+	public void clear() {
+		if (cards.size() > 0) {
+			cards.truncate(0);
+			if (this.ownsMirror()) {
+				Arrays.fill(counts, 0);
+				Arrays.fill(members, 0);
+			}
+			else {
+				// Nothing worth copying; start an empty mirror of the same size
+				counts = new int[counts.length];
+				members = new long[members.length];
+				ownsMirror = true;
+			}
+			++stamp;
+		}
+	}
+	
 	/**
 	 * Removes and returns all of the <tt>PlayingCards</tt> from this <tt>CardPile</tt>.
 	 * 
@@ -239,10 +407,92 @@ public final class CardPile {
 	 */
 	public PlayingCard[] removeAll() {
 		final PlayingCard[] temp = this.get();
-		cards.clear();
+		this.clear();
 		return temp;
 	}
 	
+/*------------------------------------------------
+    Bulk Transfer Methods
+ ------------------------------------------------*/
+	/**
+	 * Moves every <tt>PlayingCard</tt> in this <tt>CardPile</tt> onto the top of the specified pile.
+	 * The moved cards keep their order, so the top card of this pile becomes the top card of the other.
+	 * If the other pile is empty the storage is simply exchanged; otherwise this costs one array copy.
+	 * 
+	 * @param to the card pile to receive the cards
+	 * @return the number of cards moved
+	 */
+	public int transferAll(final CardPile to) {
+		final int moved = cards.size();
+		if (to == this || moved == 0) {
+			return 0;
+		}
+		if (to.cards.size() == 0 && to.cards.getStorage() == cards.getStorage()) {
+			final CardStack temp = to.cards;
+			to.cards = this.cards;
+			this.cards = temp;
+			this.swapMirror(to);
+			++this.stamp;
+			++to.stamp;
+		}
+		else {
+			this.moveTop(to, moved);
+		}
+		return moved;
+	}
+	
+	/**
+	 * Moves the top <tt>number</tt> of <tt>PlayingCards</tt> from this <tt>CardPile</tt> as a block
+	 * onto the top of the specified pile. The block keeps its order, as if it were lifted and placed.
+	 * Moves every card if the specified number is larger than the size of this pile.
+	 * 
+	 * @param to the card pile to receive the cards
+	 * @param number how many cards to move
+	 * @return the number of cards moved
+	 */
+	public int transferTop(final CardPile to, final int number) {
+		if (number >= cards.size()) {
+			return this.transferAll(to);
+		}
+		if (to == this || number <= 0) {
+			return 0;
+		}
+		this.moveTop(to, number);
+		return number;
+	}
+	
+	/**
+	 * Moves the specified <tt>PlayingCards</tt> from this <tt>CardPile</tt> onto the top of the
+	 * specified pile, in the order given. Each listed card must match a distinct card in this pile;
+	 * if any card cannot be matched, nothing is moved and <tt>false</tt> is returned.
+	 * If the specified pile is this one, the cards are moved to its top.
+	 * 
+	 * @param to the card pile to receive the cards
+	 * @param cards the playing cards to be moved
+	 * @return <tt>true</tt> if every card was found and moved
+	 */
+	public boolean transferMatching(final CardPile to, final PlayingCard...cards) {
+		if (cards.length == 0) {
+			return true;
+		}
+		final boolean[] taken = new boolean[this.cards.size()];
+		for (final PlayingCard card : cards) {
+			final int ndx = this.indexOf(card, taken);
+			if (ndx < 0) {
+				return false;
+			}
+			taken[ndx] = true;
+		}
+		for (final PlayingCard card : cards) {
+			this.countOut(card);
+		}
+		// single compacting pass over the remaining cards
+		this.cards.removeAll(taken);
+		++stamp;
+		to.add(cards);
+		return true;
+	}
+	
 	/**
 	 * Removes and returns the next <tt>PlayingCards</tt> according to the <tt>Removal</tt> attribute.
 	 * 
@@ -257,18 +507,55 @@ public final class CardPile {
 	 * Shuffle the cards in this <tt>CardPile</tt>.
 	 */
 	public void shuffle() {
-		int ndx = 0;
-		PlayingCard card = null;
-		final Random rand = ThreadLocalRandom.current();
-		// Durstenfeld updated Fisher-Yates shuffle
-		for (int i = cards.size() - 1; i > 0; i--) {
-			ndx = rand.nextInt(i + 1);
-			card = cards.get(ndx);
-			cards.set(ndx, cards.get(i));
-			cards.set(i, card);
+		this.shuffle(new GameRandom());
+	}
+	
+	/**
+	 * Shuffle the cards in this <tt>CardPile</tt>, using the specified random stream.
+	 * 
+	 * @param rand the source of randomness for the shuffle
+	 */
+	public void shuffle(final GameRandom rand) {
+		this.shuffle(rand, Shuffler.FISHER_YATES);
+	}
+	
+	/**
+	 * Shuffle the cards in this <tt>CardPile</tt>, using the specified algorithm.
+	 * 
+	 * @param rand the source of randomness for the shuffle
+	 * @param shuffler the shuffling algorithm
+	 */
+	public void shuffle(final GameRandom rand, final CardShuffler shuffler) {
+		final int size = cards.size();
+		if (size > 1) {
+			final PlayingCard[] array = new PlayingCard[size];
+			cards.copyTo(0, array, 0, size);
+			shuffler.shuffle(array, 0, size, rand);
+			cards.truncate(0);
+			cards.push(array, 0, size);
+			++stamp;
 		}
 	}
 	
+/*------------------------------------------------
+    Branching Methods
+ ------------------------------------------------*/
+	/**
+	 * Returns a new <tt>CardPile</tt> with the same attributes and cards as this one.
+	 * Changes to either pile are not seen by the other. With persistent storage the
+	 * two piles share their cards until one of them changes; otherwise every card is copied.
+	 * The mirror of the cards is shared until either pile changes.
+	 * 
+	 * @return a branch of this card pile
+	 */
+	public CardPile branch() {
+		branched = true;
+		return new CardPile(params, cards.branch(), counts, members, false, stamp);
+	}
+	
+/*------------------------------------------------
+    Sorting Methods
+ ------------------------------------------------*/
 	/**
 	 * Sort this <tt>CardPile</tt> by increasing value of the Cards, if applicable.
 	 */
@@ -315,9 +602,113 @@ public final class CardPile {
 	@Override  public String toString() {
 		final StringBuilder str = new StringBuilder();
 		str.append(params.toString())
-		   .append("Top Card: ").append(cards.isEmpty() ? "NONE" : 
-			   		((LinkedList<PlayingCard>) cards).getLast().toString());
+		   .append("Top Card: ").append(cards.size() == 0 ? "NONE" : cards.get(cards.size() - 1).toString());
 		return str.toString();
 	}
+	
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Move the top cards of this pile, as a block, onto the top of the other pile.
+	 */
+	private void moveTop(final CardPile to, final int number) {
+		final int size = cards.size();
+		final int start = size - number;
+		to.cards.push(cards, start, number);
+		for (int i = start; i < size; i++) {
+			final PlayingCard card = cards.get(i);
+			this.countOut(card);
+			to.countIn(card);
+		}
+		cards.truncate(start);
+		++this.stamp;
+		++to.stamp;
+	}
+	
+	/*
+	 * Exchange bitboard mirrors with the other pile, along with the storage.
+	 */
+	private void swapMirror(final CardPile that) {
+		final int[] tempCounts = that.counts;
+		final long[] tempMembers = that.members;
+		final boolean tempOwns = that.ownsMirror();
+		that.counts = this.counts;
+		that.members = this.members;
+		that.ownsMirror = this.ownsMirror();
+		this.counts = tempCounts;
+		this.members = tempMembers;
+		this.ownsMirror = tempOwns;
+	}
+	
+	/*
+	 * Returns true if no other pile can see the mirror; a mirror seen by a branch since is no longer owned.
+	 */
+	private boolean ownsMirror() {
+		if (branched) {
+			branched = false;
+			ownsMirror = false;
+		}
+		return ownsMirror;
+	}
+	
+	/*
+	 * Copy the mirror first if it may be shared, so it can be changed.
+	 */
+	private void writeMirror() {
+		if (!this.ownsMirror()) {
+			counts = Arrays.copyOf(counts, counts.length);
+			members = Arrays.copyOf(members, members.length);
+			ownsMirror = true;
+		}
+	}
+	
+	/*
+	 * Count one more copy of the card in the mirror.
+	 */
+	private void countIn(final PlayingCard card) {
+		final int id = card.getId();
+		this.writeMirror();
+		if (id >= counts.length) {
+			counts = Arrays.copyOf(counts, Math.max(id + 1, counts.length * 2));
+		}
+		if (counts[id]++ == 0) {
+			members = CardSet.set(members, id);
+		}
+	}
+	
+	/*
+	 * Count one less copy of the card in the mirror.
+	 */
+	private void countOut(final PlayingCard card) {
+		final int id = card.getId();
+		this.writeMirror();
+		if (--counts[id] == 0) {
+			CardSet.clear(members, id);
+		}
+	}
+	
+	/*
+	 * Returns the index of the lowest matching card, skipping any
+	 * positions already taken, or -1 if there is none.
+	 */
+	private int indexOf(final PlayingCard card, final boolean[] taken) {
+		final int size = cards.size();
+		for (int i = 0; i < size; i++) {
+			if ((taken == null || !taken[i]) && cards.get(i).equals(card)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/*
+	 * Throw an exception if there are no cards in this pile.
+	 */
+	private void checkNotEmpty() throws NoSuchElementException {
+		if (cards.size() == 0) {
+			throw new NoSuchElementException("Card pile is empty: " + params.getName());
+		}
+	}
 }
 
@@ -84,6 +84,28 @@ public final class CardPileCollection {
 		return this.getIndexOf(name) < 0 ? false : true;
 	}
 	
+	/**
+	 * Returns the modification stamp of this <tt>CardPileCollecion</tt>, the sum of the stamps of its piles.
+	 * Pile stamps only ever increase, so this stamp changes whenever any pile in this collection changes.
+	 * 
+	 * @return the modification stamp of this collection
+	 * @see CardPile#getStamp()
+	 */
+	public long getStamp() {
+		long stamp = 0;
+		for (final CardPile pile : piles) {
+			stamp += pile.getStamp();
+		}
+		return stamp;
+	}
+	
+	/*
+	 * Returns the <tt>CardPile</tt> at the specified index, as found by <tt>getIndexOf</tt>.
+	 */
+	CardPile get(final int index) {
+		return piles[index];
+	}
+	
 	/*
 	 * Returns the index of the <tt>CardPile</tt> with the given name.
 	 * 
@@ -91,7 +113,7 @@ public final class CardPileCollection {
 	 * @return index of the card pile, or -1 if not found.
 	 * @throws IllegalArgumentException if name is null or blank
 	 */
-	private int getIndexOf(final String name) throws IllegalArgumentException {
+	int getIndexOf(final String name) throws IllegalArgumentException {
 		if (name == null || name.equals("")) {
 			throw new IllegalArgumentException("Name cannot be null or blank!");
 		}
@@ -114,6 +136,36 @@ public final class CardPileCollection {
 		return new CardPileCollection(piles);
 	}
 	
+	/**
+	 * Create and return a branch of this <tt>CardPileCollecion</tt>.
+	 * Unlike a copy, every pile is branched, so later changes to the piles
+	 * of either collection are not seen by the other.
+	 * 
+	 * @return a branch of this card pile collecion
+	 * @see CardPile#branch()
+	 */
+	public CardPileCollection branch() {
+		final CardPile[] branches = new CardPile[piles.length];
+		for (int i = 0; i < piles.length; i++) {
+			branches[i] = piles[i].branch();
+		}
+		return new CardPileCollection(branches);
+	}
+	
+	/**
+	 * Create and return a collection of new, empty piles with the same attributes as the piles of this one.
+	 * 
+	 * @param storage how the cards in each new pile are stored
+	 * @return a collection of empty card piles like these
+	 */
+	public CardPileCollection createEmpty(final CardPile.Storage storage) {
+		final CardPile[] empty = new CardPile[piles.length];
+		for (int i = 0; i < piles.length; i++) {
+			empty[i] = new CardPile(piles[i].getParameters(), storage);
+		}
+		return new CardPileCollection(empty);
+	}
+	
 	/**
 	 * Return information.
 	 *
@@ -14,10 +14,13 @@
 ****************************************************************************/
 package games.engine.util;
 
+import java.util.List;
+
 import games.engine.plugin.Plugin;
 import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginKeyword;
 import games.engine.plugin.PluginKeywordCode;
+import games.engine.plugin.PluginSection;
 
 /******************************************************************//**
  * The CardPileFactory Enum
@@ -51,7 +54,19 @@ public enum CardPileFactory {
 	 * @return a new card pile
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized CardPile createCardPile(final Plugin plugin) throws PluginException {
+	public CardPile createCardPile(final Plugin plugin) throws PluginException {
+		return this.createCardPile(plugin, CardPile.Storage.ARRAY);
+	}
+	
+	/**
+	 * Creates and returns a new <tt>CardPile</tt> using the specified type of storage.
+	 * 
+	 * @param plugin Board Plugin used to create this card pile
+	 * @param storage how the cards in the pile are stored
+	 * @return a new card pile
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public CardPile createCardPile(final Plugin plugin, final CardPile.Storage storage) throws PluginException {
 		
 		String name = plugin.checkParamsFor(PluginKeyword.NAME);
 		
@@ -78,7 +93,7 @@ public enum CardPileFactory {
 			visible = CardPileParameter.Visible.NUMBER;
 			numVisible = PluginKeyword.VISIBLE.checkPositiveNumericParams(plugin);
 		}
-		return new CardPile(new CardPileParameter(name, owner, visibility, visible, numVisible, placement, orientation, tiling, removal));
+		return new CardPile(new CardPileParameter(name, owner, visibility, visible, numVisible, placement, orientation, tiling, removal), storage);
 	}
 	
 	/**
@@ -88,25 +103,20 @@ public enum CardPileFactory {
 	 * @return array of card pile plugins
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized Plugin[] createPlugins(final Plugin plugin) throws PluginException {
+	public Plugin[] createPlugins(final Plugin plugin) throws PluginException {
 		
 		plugin.checkType(Plugin.Type.BOARD);
 		
-		int numPiles = plugin.getNumberOf(PluginKeyword.CARDPILE);
+		plugin.checkIndexOf(PluginKeyword.CARDPILE);
 				
 		// Break Board into individual card piles
-		Plugin[] piles = new Plugin[numPiles];
-		int finish = plugin.checkIndexOf(PluginKeyword.CARDPILE);
-		int start = 0;
+		final List<PluginSection> sections = plugin.getSections(PluginKeyword.CARDPILE);
+		Plugin[] piles = new Plugin[sections.size()];
 				
 		// Create Plugin for each CardPile
-		for (int i = 0; i < numPiles; i++) {
-			start = finish + 1;
-			finish = plugin.getIndexOf(PluginKeyword.CARDPILE, start);
-			if (finish < 0) {
-				finish = plugin.getIndexOf(PluginKeyword.BOARD_LAYOUT);
-			}
-			piles[i] = plugin.divide(start, finish);
+		for (int i = 0; i < piles.length; i++) {
+			final PluginSection section = sections.get(i);
+			piles[i] = plugin.divide(section.getStart() + 1, section.getEnd());
 		}
 		return piles;
 	}
@@ -119,7 +129,21 @@ public enum CardPileFactory {
 	 * @return array of card piles for the specified owner
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized CardPileCollection createCardPileCollection(final CardPileParameter.Owner owner, final Plugin...pilePlugins) throws PluginException {
+	public CardPileCollection createCardPileCollection(final CardPileParameter.Owner owner, final Plugin...pilePlugins) throws PluginException {
+		return this.createCardPileCollection(owner, CardPile.Storage.ARRAY, pilePlugins);
+	}
+	
+	/**
+	 * Create a new <tt>CardPileCollecion</tt> for the specified owner, using the specified type of storage.
+	 * 
+	 * @param owner the owner of the piles to return
+	 * @param storage how the cards in each pile are stored
+	 * @param piles array of plugins to use in creating these card piles
+	 * @return array of card piles for the specified owner
+	 * @throws PluginException for invalid file, keywords, or parameters
+	 */
+	public CardPileCollection createCardPileCollection(final CardPileParameter.Owner owner, final CardPile.Storage storage,
+																	final Plugin...pilePlugins) throws PluginException {
 		// Create search string
 		final StringBuilder str = new StringBuilder();
 		final String searchString = str.append(PluginKeyword.OWNER.toString())
@@ -137,7 +161,7 @@ public enum CardPileFactory {
 		final CardPile[] cardPiles = new CardPile[numOwnedPiles];
 		for (Plugin p : pilePlugins) {
 			if (p.getIndexOf(searchString, 0) >= 0) {
-				cardPiles[pileNdx++] = this.createCardPile(p);
+				cardPiles[pileNdx++] = this.createCardPile(p, storage);
 			}
 		}
 		return new CardPileCollection(cardPiles);
@@ -151,7 +175,7 @@ public enum CardPileFactory {
 	 * @return layout for the card piles of the specified owner
 	 * @throws PluginException for invalid file, keywords, or parameters
 	 */
-	public synchronized CardPileLayout createCardPileLayout(final CardPileParameter.Owner owner, final Plugin plugin) throws PluginException {
+	public CardPileLayout createCardPileLayout(final CardPileParameter.Owner owner, final Plugin plugin) throws PluginException {
 		// Make sure this is a board plugin...
 		plugin.checkType(Plugin.Type.BOARD);
 		
@@ -54,6 +54,14 @@ public class CardPlayer extends GamePlayer {
 		piles = collection.copy();
 	}
 	
+	/*
+	 * Constructs a card player in the same state as the specified player, holding the given piles.
+	 */
+	private CardPlayer(final CardPileCollection collection, final CardPlayer player) {
+		super(player);
+		piles = collection;
+	}
+	
 /*------------------------------------------------
     Accessors and Mutators
  ------------------------------------------------*/
@@ -67,6 +75,16 @@ public class CardPlayer extends GamePlayer {
 		return piles;
 	}
 	
+	/**
+	 * Returns a new <tt>CardPlayer</tt> in the same state as this one, holding a branch of its piles.
+	 * 
+	 * @return a branch of this card player
+	 * @see CardPileCollection#branch()
+	 */
+	public CardPlayer branch() {
+		return new CardPlayer(piles.branch(), this);
+	}
+	
 	@Override public String toString() {
 		return super.toString() + "\n" + piles.toString();
 	}
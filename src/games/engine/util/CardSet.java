@@ -0,0 +1,343 @@
+/***********************************************************************//**
+* @file			CardSet.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		A set of playing cards stored as bits, one per card id
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 7 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			PlayingCard
+* @see			PlayingCardCatalog
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The CardSet Class
+ * - An unordered set of playing cards from a single catalog
+ * - Bit <tt>n</tt> is set if the card with id <tt>n</tt> is in the set
+ * - A standard deck, with or without jokers, fits in one or two words,
+ *   so set operations and membership tests are a few bitwise instructions
+ * - Card sets are immutable; operations return a new set
+ **********************************************************************/
+public final class CardSet {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** The set containing no cards */
+	public static final CardSet EMPTY = new CardSet(new long[0]);
+
+	private static final int WORD_SHIFT = 6;
+
+	final long[] words;		// no trailing zero words, shared with no one
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/*
+	 * Construct a set around the specified words, which must not be shared.
+	 */
+	private CardSet(final long[] words) {
+		this.words = words;
+	}
+
+	/**
+	 * Returns a <tt>CardSet</tt> containing the specified cards.
+	 *
+	 * @param cards the playing cards in the set
+	 * @return a card set containing the specified cards
+	 */
+	public static CardSet of(final PlayingCard...cards) {
+		long[] words = new long[0];
+		for (final PlayingCard card : cards) {
+			words = set(words, card.getId());
+		}
+		return wrap(words, words.length);
+	}
+
+	/**
+	 * Returns a <tt>CardSet</tt> containing the cards with the specified ids.
+	 *
+	 * @param ids the ids of the playing cards in the set
+	 * @return a card set containing the specified cards
+	 * @throws IllegalArgumentException if any id is negative
+	 */
+	public static CardSet ofIds(final int...ids) throws IllegalArgumentException {
+		long[] words = new long[0];
+		for (final int id : ids) {
+			words = set(words, id);
+		}
+		return wrap(words, words.length);
+	}
+
+	/*
+	 * Returns a set around a copy of the specified words, which may be shared.
+	 */
+	static CardSet copyOf(final long[] words) {
+		return wrap(Arrays.copyOf(words, words.length), words.length);
+	}
+
+/*------------------------------------------------
+    Queries
+ ------------------------------------------------*/
+	/**
+	 * Returns <tt>true</tt> if the card with the specified id is in this set.
+	 *
+	 * @param id the id of a playing card
+	 * @return true if the card is in this set
+	 */
+	public boolean contains(final int id) {
+		final int word = id >>> WORD_SHIFT;
+		return word < words.length && (words[word] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Returns <tt>true</tt> if the specified <tt>PlayingCard</tt> is in this set.
+	 *
+	 * @param card the playing card to test
+	 * @return true if the card is in this set
+	 */
+	public boolean contains(final PlayingCard card) {
+		return this.contains(card.getId());
+	}
+
+	/**
+	 * Returns <tt>true</tt> if this set and the specified set have any card in common.
+	 *
+	 * @param that the card set to test against
+	 * @return true if the sets have any card in common
+	 */
+	public boolean intersects(final CardSet that) {
+		return intersects(this.words, that.words);
+	}
+
+	/**
+	 * Returns <tt>true</tt> if every card in the specified set is also in this set.
+	 *
+	 * @param that the card set to test against
+	 * @return true if the specified set is a subset of this one
+	 */
+	public boolean containsAll(final CardSet that) {
+		return containsAll(this.words, that.words);
+	}
+
+	/**
+	 * Returns the number of cards in this set.
+	 *
+	 * @return the number of cards in this set
+	 */
+	public int size() {
+		int size = 0;
+		for (final long word : words) {
+			size += Long.bitCount(word);
+		}
+		return size;
+	}
+
+	/**
+	 * Returns <tt>true</tt> if this set contains no cards.
+	 *
+	 * @return true if this set is empty
+	 */
+	public boolean isEmpty() {
+		return words.length == 0;
+	}
+
+	/**
+	 * Returns the lowest id in this set that is at least the specified id, or -1 if there is none.
+	 * Use this to visit each card in the set:
+	 * <tt>for (int id = set.nextId(0); id >= 0; id = set.nextId(id + 1))</tt>
+	 *
+	 * @param from the lowest id to consider
+	 * @return the next id in this set, or -1
+	 */
+	public int nextId(final int from) {
+		int word = from >>> WORD_SHIFT;
+		if (from < 0 || word >= words.length) {
+			return -1;
+		}
+		long bits = words[word] & (-1L << from);
+		while (bits == 0) {
+			if (++word == words.length) {
+				return -1;
+			}
+			bits = words[word];
+		}
+		return (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+	}
+
+	/**
+	 * Returns the cards in this set, in order of id.
+	 *
+	 * @param catalog the catalog the cards of this set belong to
+	 * @return the playing cards in this set
+	 */
+	public PlayingCard[] getCards(final PlayingCardCatalog catalog) {
+		final PlayingCard[] cards = new PlayingCard[this.size()];
+		int ndx = 0;
+		for (int id = this.nextId(0); id >= 0; id = this.nextId(id + 1)) {
+			cards[ndx++] = catalog.getCard(id);
+		}
+		return cards;
+	}
+
+/*------------------------------------------------
+    Set Operations
+ ------------------------------------------------*/
+	/**
+	 * Returns the cards that are in both this set and the specified set.
+	 *
+	 * @param that the other card set
+	 * @return the intersection of the two sets
+	 */
+	public CardSet and(final CardSet that) {
+		final int length = Math.min(this.words.length, that.words.length);
+		final long[] result = new long[length];
+		for (int i = 0; i < length; i++) {
+			result[i] = this.words[i] & that.words[i];
+		}
+		return wrap(result, length);
+	}
+
+	/**
+	 * Returns the cards that are in either this set or the specified set.
+	 *
+	 * @param that the other card set
+	 * @return the union of the two sets
+	 */
+	public CardSet or(final CardSet that) {
+		final long[] longer = this.words.length >= that.words.length ? this.words : that.words;
+		final long[] shorter = longer == this.words ? that.words : this.words;
+		final long[] result = Arrays.copyOf(longer, longer.length);
+		for (int i = 0; i < shorter.length; i++) {
+			result[i] |= shorter[i];
+		}
+		return new CardSet(result);
+	}
+
+	/**
+	 * Returns the cards in this set that are not in the specified set.
+	 *
+	 * @param that the card set to remove
+	 * @return the difference of the two sets
+	 */
+	public CardSet andNot(final CardSet that) {
+		final long[] result = Arrays.copyOf(this.words, this.words.length);
+		final int length = Math.min(result.length, that.words.length);
+		for (int i = 0; i < length; i++) {
+			result[i] &= ~that.words[i];
+		}
+		return wrap(result, result.length);
+	}
+
+/*------------------------------------------------
+    Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Returns <tt>true</tt> if the specified object is a <tt>CardSet</tt> with the same cards.
+	 *
+	 * @param that object to be compared for equality with this set
+	 * @return true if the specified object is an equal card set
+	 */
+	@Override public boolean equals(final Object that) {
+		return that instanceof CardSet && Arrays.equals(this.words, ((CardSet)that).words);
+	}
+
+	/**
+	 * Returns the hash code associated with this <tt>CardSet</tt>.
+	 *
+	 * @return the hashCode associated with this set
+	 */
+	@Override public int hashCode() {
+		return Arrays.hashCode(words);
+	}
+
+	/**
+	 * Returns the ids in this <tt>CardSet</tt> as a string.
+	 *
+	 * @return the ids in this set as a string
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Card Set: {");
+		for (int id = this.nextId(0); id >= 0; id = this.nextId(id + 1)) {
+			str.append(str.charAt(str.length() - 1) == '{' ? "" : ", ").append(id);
+		}
+		str.append('}').append(Strings.NEW_LINE);
+		return str.toString();
+	}
+
+/*------------------------------------------------
+    Package Utilities
+ ------------------------------------------------*/
+	/*
+	 * Sets the bit for the specified id, growing the words if needed.
+	 */
+	static long[] set(long[] words, final int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Card ids cannot be negative: " + id);
+		}
+		final int word = id >>> WORD_SHIFT;
+		if (word >= words.length) {
+			words = Arrays.copyOf(words, word + 1);
+		}
+		words[word] |= 1L << id;
+		return words;
+	}
+
+	/*
+	 * Clears the bit for the specified id, which must be within the words.
+	 */
+	static void clear(final long[] words, final int id) {
+		words[id >>> WORD_SHIFT] &= ~(1L << id);
+	}
+	
+	/*
+	 * Returns true if the two sets of words have any bit in common.
+	 */
+	static boolean intersects(final long[] a, final long[] b) {
+		final int length = Math.min(a.length, b.length);
+		for (int i = 0; i < length; i++) {
+			if ((a[i] & b[i]) != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * Returns true if every bit in b is also in a.
+	 */
+	static boolean containsAll(final long[] a, final long[] b) {
+		for (int i = 0; i < b.length; i++) {
+			final long bits = i < a.length ? a[i] : 0;
+			if ((b[i] & ~bits) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Returns a set around the first length words, dropping trailing zero words.
+	 */
+	private static CardSet wrap(final long[] words, int length) {
+		while (length > 0 && words[length - 1] == 0) {
+			--length;
+		}
+		if (length == 0) {
+			return EMPTY;
+		}
+		return new CardSet(length == words.length ? words : Arrays.copyOf(words, length));
+	}
+}
@@ -0,0 +1,44 @@
+/***********************************************************************//**
+* @file			CardShuffler.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		API for shuffling algorithms
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Shuffler
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+public interface CardShuffler {
+
+	/**
+	 * Shuffles the elements of the array between the specified indices, in place.
+	 * The same random stream must always produce the same order.
+	 *
+	 * @param items the array to shuffle
+	 * @param from index of the first element to shuffle (inclusive)
+	 * @param to index after the last element to shuffle (exclusive)
+	 * @param rand the source of randomness for the shuffle
+	 */
+	public <T> void shuffle(T[] items, int from, int to, GameRandom rand);
+
+	/**
+	 * Shuffles the card ids of the array between the specified indices, in place.
+	 * Given the same random stream, the ids end up in the same order as the elements
+	 * of an object array would.
+	 *
+	 * @param ids the array of card ids to shuffle
+	 * @param from index of the first id to shuffle (inclusive)
+	 * @param to index after the last id to shuffle (exclusive)
+	 * @param rand the source of randomness for the shuffle
+	 */
+	public void shuffle(short[] ids, int from, int to, GameRandom rand);
+
+}
@@ -0,0 +1,104 @@
+/***********************************************************************//**
+* @file			CardStack.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Storage behind a single pile of cards
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 7 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardPile
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+/******************************************************************//**
+ * The CardStack Class
+ * - Indexed storage for the cards in a <tt>CardPile</tt>
+ * - Index 0 is the bottom card, index size - 1 is the top card
+ * - Implementations decide how storage is shared between branches
+ **********************************************************************/
+abstract class CardStack {
+
+	/**
+	 * Returns a new, empty <tt>CardStack</tt> for the specified storage type.
+	 * 
+	 * @param storage the type of storage to create
+	 * @return a new, empty card stack
+	 */
+	static CardStack create(final CardPile.Storage storage) {
+		switch (storage) {
+		case PERSISTENT:
+			return new PersistentCardStack();
+		case ARRAY:
+		default:
+			return new ArrayCardStack();
+		}
+	}
+	
+	/** Returns the storage type of this stack. */
+	abstract CardPile.Storage getStorage();
+	
+	/** Returns the number of cards in this stack. */
+	abstract int size();
+	
+	/** Returns the card at the specified index. */
+	abstract PlayingCard get(int ndx);
+	
+	/** Replaces the card at the specified index. */
+	abstract void set(int ndx, PlayingCard card);
+	
+	/** Adds the specified cards to the top of this stack, in order. */
+	abstract void push(PlayingCard[] cards, int offset, int length);
+	
+	/** Adds cards from another stack, starting at the specified index, to the top of this stack. */
+	abstract void push(CardStack from, int ndx, int length);
+	
+	/** Removes the top cards so that only the specified number remain. */
+	abstract void truncate(int size);
+	
+	/** Copies cards, starting at the specified index, into the given array. */
+	abstract void copyTo(int ndx, PlayingCard[] dest, int destNdx, int length);
+	
+	/** Returns a stack with the same cards, sharing storage where the type allows it; leaves this stack as it is. */
+	abstract CardStack branch();
+	
+	/**
+	 * Removes the card at the specified index, closing the gap.
+	 * 
+	 * @param ndx index of the card to remove
+	 * @return the removed card
+	 */
+	PlayingCard removeAt(final int ndx) {
+		final int size = this.size();
+		final PlayingCard card = this.get(ndx);
+		for (int i = ndx + 1; i < size; i++) {
+			this.set(i - 1, this.get(i));
+		}
+		this.truncate(size - 1);
+		return card;
+	}
+	
+	/**
+	 * Removes every card whose position is flagged, keeping the order of the rest.
+	 * 
+	 * @param taken flags for the positions to remove
+	 */
+	void removeAll(final boolean[] taken) {
+		final int size = this.size();
+		int keep = 0;
+		while (keep < size && !taken[keep]) {
+			++keep;
+		}
+		for (int i = keep + 1; i < size; i++) {
+			if (!taken[i]) {
+				this.set(keep++, this.get(i));
+			}
+		}
+		this.truncate(keep);
+	}
+}
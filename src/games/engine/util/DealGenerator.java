@@ -0,0 +1,724 @@
+/***********************************************************************//**
+* @file			DealGenerator.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Enumerates and samples distinct deals of a deck
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardDealer
+* @see			Deck
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The DealGenerator Class
+ * - Generates deals for the deal plan of a <tt>CardDealer</tt>, for
+ *   evaluating a rule set over every distinct deal or a spread of them
+ * - A deal is the set of cards dealt to each target pile that is dealt
+ *   a fixed number of cards; the rest of the deck (the stock, for
+ *   example) is placed in a seeded random order
+ * - Groups are interchangeable when swapping them maps the deck onto
+ *   itself without changing any rank, and no card the rules refer to
+ *   by name is in either group. Deals that differ only by such a swap
+ *   are equivalent, so only one canonical deal of each is generated,
+ *   weighted by the number of deals it stands for
+ * - Canonical deals are the lexicographically smallest of their kind,
+ *   and partial deals that cannot lead to one are pruned early
+ * - Not thread safe; each thread should use its own generator
+ **********************************************************************/
+public final class DealGenerator {
+
+/*------------------------------------------------
+ 	Visitor Interface
+ ------------------------------------------------*/
+	/** Receives each deal of an enumeration. */
+	public static interface Visitor {
+		/**
+		 * Visit one canonical deal.
+		 *
+		 * @param deal the deal
+		 * @return <tt>false</tt> to stop the enumeration
+		 */
+		boolean visit(DealGenerator.Deal deal);
+	}
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final int MAX_SYMMETRIES = 5040;		// 7 interchangeable groups
+	private static final int PILOT_PER_STRATUM = 200;	// deals drawn per stratum to place the boundaries
+	private static final int MAX_DRAWS_PER_DEAL = 100;	// give up filling a stratum after this many draws per deal
+
+	private final PlayingCardRanking ranking;
+	private final PlayingCard[] cards;		// distinct cards of the deck, sorted by id
+	private final int[] copies;				// copies of each distinct card in the deck
+	private final int[] positions;			// fixed target dealt each deck position, or -1
+	private final int[] sizes;				// cards dealt to each fixed target
+	private final int[] owners;				// player owning each fixed target, or -1 for common piles
+	private final int[][] symmetries;		// card permutations that preserve the ranking, identity first
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/**
+	 * Constructs a <tt>DealGenerator</tt> for the deal plan of the specified dealer.
+	 *
+	 * @param deck the deck being dealt
+	 * @param dealer the dealer whose plan is followed
+	 * @param ranking the ranking of the cards, which interchangeable groups must preserve
+	 * @param namedCards cards the rules refer to by name, whose groups are never interchanged
+	 */
+	public DealGenerator(final Deck deck, final CardDealer dealer, final PlayingCardRanking ranking, final PlayingCard...namedCards) {
+		this.ranking = ranking;
+
+		// Distinct cards, and how many of each the deck holds
+		final PlayingCard[] deckCards = deck.getCards();
+		Arrays.sort(deckCards, (a, b) -> Integer.compare(a.getId(), b.getId()));
+		final PlayingCard[] distinct = new PlayingCard[deckCards.length];
+		final int[] counts = new int[deckCards.length];
+		int size = 0;
+		for (final PlayingCard card : deckCards) {
+			if (size == 0 || distinct[size - 1].getId() != card.getId()) {
+				distinct[size++] = card;
+			}
+			++counts[size - 1];
+		}
+		this.cards = Arrays.copyOf(distinct, size);
+		this.copies = Arrays.copyOf(counts, size);
+
+		// Targets dealt a fixed number of cards; the others take what is left
+		final int[] targetSizes = dealer.getTargetSizes();
+		final boolean[] remainder = dealer.getRemainderTargets();
+		final int[] targetOwners = dealer.getTargetOwners();
+		final int[] fixedOf = new int[targetSizes.length];
+		int numFixed = 0;
+		for (int t = 0; t < targetSizes.length; t++) {
+			fixedOf[t] = !remainder[t] && targetSizes[t] > 0 ? numFixed++ : -1;
+		}
+		this.sizes = new int[numFixed];
+		this.owners = new int[numFixed];
+		for (int t = 0; t < targetSizes.length; t++) {
+			if (fixedOf[t] >= 0) {
+				sizes[fixedOf[t]] = targetSizes[t];
+				owners[fixedOf[t]] = targetOwners[t];
+			}
+		}
+		this.positions = dealer.getTargetPositions();
+		for (int pos = 0; pos < positions.length; pos++) {
+			positions[pos] = positions[pos] < 0 ? -1 : fixedOf[positions[pos]];
+		}
+		this.symmetries = this.findSymmetries(namedCards);
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of ways the groups can be interchanged, including leaving them as they are.
+	 * Each canonical deal stands for at most this many deals.
+	 *
+	 * @return the number of symmetries of the deck
+	 */
+	public int getNumberOfSymmetries() {
+		return symmetries.length;
+	}
+
+	/**
+	 * Returns the number of target piles dealt a fixed number of cards, which make up a deal.
+	 *
+	 * @return the number of hands in each deal
+	 */
+	public int getNumberOfHands() {
+		return sizes.length;
+	}
+
+/*------------------------------------------------
+    Enumeration
+ ------------------------------------------------*/
+	/**
+	 * Visits every canonical deal, in lexicographic order, until the visitor asks to stop.
+	 * The weights of all canonical deals add up to the number of distinct deals.
+	 * Beware that the number of deals grows very quickly with the size of the hands.
+	 *
+	 * @param random the source of the seed for the remaining cards of each deal
+	 * @param visitor receives each deal
+	 * @return the number of deals visited
+	 */
+	public long enumerate(final GameRandom random, final DealGenerator.Visitor visitor) {
+		final Enumeration e = new Enumeration(random, visitor);
+		final int[] tied = new int[symmetries.length];
+		for (int k = 0; k < tied.length; k++) {
+			tied[k] = k;
+		}
+		this.fill(e, 0, 0, 0, tied);
+		return e.visited;
+	}
+
+	/*
+	 * Fill the hand at the specified position, with cards no lower than the specified card.
+	 * The tied symmetries are those that map the hands filled so far onto themselves.
+	 */
+	private void fill(final Enumeration e, final int hand, final int pos, final int from, final int[] tied) {
+		if (hand == sizes.length) {
+			final long seed = e.random.nextLong();
+			final Deal deal = this.createDeal(e.hands, e.left, seed, (double)symmetries.length / tied.length, -1);
+			++e.visited;
+			e.stopped = !e.visitor.visit(deal);
+			return;
+		}
+		if (pos == sizes[hand]) {
+			final int[] next = this.stillTied(e.hands, hand, tied);
+			if (next != null) {
+				this.fill(e, hand + 1, 0, 0, next);
+			}
+			return;
+		}
+		for (int c = from; c < cards.length && !e.stopped; c++) {
+			if (e.left[c] > 0) {
+				--e.left[c];
+				e.hands[hand][pos] = c;
+				this.fill(e, hand, pos + 1, c, tied);
+				++e.left[c];
+			}
+		}
+	}
+
+	/*
+	 * Returns the symmetries that still map the hands onto themselves once the specified hand is complete,
+	 * or null if any maps them onto a lexicographically smaller deal.
+	 */
+	private int[] stillTied(final int[][] hands, final int hand, final int[] tied) {
+		final int[] next = new int[tied.length];
+		int size = 0;
+		for (final int k : tied) {
+			final int cmp = compare(image(symmetries[k], hands[hand]), hands[hand]);
+			if (cmp < 0) {
+				return null;
+			}
+			if (cmp == 0) {
+				next[size++] = k;
+			}
+		}
+		return Arrays.copyOf(next, size);
+	}
+
+/*------------------------------------------------
+    Sampling
+ ------------------------------------------------*/
+	/**
+	 * Returns the canonical form of a uniformly random deal.
+	 * The deal can be reproduced from its seed.
+	 *
+	 * @param random the source of the seed for the deal
+	 * @return a random canonical deal
+	 */
+	public Deal sample(final GameRandom random) {
+		return this.sample(random.nextLong(), 1.0, -1);
+	}
+
+	/**
+	 * Returns a sample of canonical deals, stratified by the strength of the hands of the specified player.
+	 * Strength is the sum of the ranks of the cards dealt to that player. The strata are chosen from a
+	 * pilot sample to be about equally likely, and each is given an equal share of the deals, so that
+	 * strong and weak hands are both well covered. The weights of the deals add up to one, and weight each
+	 * stratum by its probability. A stratum that cannot be filled within a reasonable number of draws
+	 * (because it is very unlikely) is given fewer deals.
+	 *
+	 * @param number how many deals to sample
+	 * @param strata how many strata to divide the deals into
+	 * @param player index of the player whose hands are measured
+	 * @param random the source of the seed of each deal
+	 * @return a stratified sample of deals
+	 * @throws IllegalArgumentException if the number of deals or strata is not positive
+	 */
+	public List<Deal> sample(final int number, final int strata, final int player, final GameRandom random)
+																			throws IllegalArgumentException {
+		if (number <= 0 || strata <= 0) {
+			throw new IllegalArgumentException("Number of deals and strata must be positive!");
+		}
+		// Place the boundaries between strata using a pilot sample
+		final int pilot = Math.max(PILOT_PER_STRATUM * strata, number);
+		final int[] strengths = new int[pilot];
+		for (int i = 0; i < pilot; i++) {
+			strengths[i] = this.strength(this.sample(random).hands, player);
+		}
+		Arrays.sort(strengths);
+		final int[] bounds = new int[strata - 1];
+		for (int i = 0; i < bounds.length; i++) {
+			bounds[i] = strengths[(int)((long)(i + 1) * pilot / strata)];
+		}
+		final double[] probability = new double[strata];
+		for (final int s : strengths) {
+			probability[stratum(bounds, s)] += 1.0 / pilot;
+		}
+
+		// Draw deals until each stratum has its share
+		final List<List<Deal>> drawn = new ArrayList<List<Deal>>(strata);
+		for (int i = 0; i < strata; i++) {
+			drawn.add(new ArrayList<Deal>());
+		}
+		int accepted = 0;
+		for (long draws = 0; accepted < number && draws < (long)MAX_DRAWS_PER_DEAL * number; draws++) {
+			final Deal deal = this.sample(random);
+			final int s = stratum(bounds, this.strength(deal.hands, player));
+			final int share = (int)((long)number * (s + 1) / strata - (long)number * s / strata);
+			if (drawn.get(s).size() < share) {
+				drawn.get(s).add(deal);
+				++accepted;
+			}
+		}
+		final List<Deal> deals = new ArrayList<Deal>(accepted);
+		for (int s = 0; s < strata; s++) {
+			for (final Deal deal : drawn.get(s)) {
+				deals.add(new Deal(deal, probability[s] / drawn.get(s).size(), s));
+			}
+		}
+		return deals;
+	}
+
+	/*
+	 * Returns the canonical form of the deal with the specified seed.
+	 */
+	private Deal sample(final long seed, final double weight, final int stratum) {
+		// Shuffle the card indices of the whole deck
+		final int[] order = new int[positions.length];
+		int ndx = 0;
+		for (int c = 0; c < cards.length; c++) {
+			for (int n = 0; n < copies[c]; n++) {
+				order[ndx++] = c;
+			}
+		}
+		final GameRandom rand = new GameRandom(seed);
+		for (int i = order.length - 1; i > 0; i--) {
+			final int j = rand.nextInt(i + 1);
+			final int temp = order[j];
+			order[j] = order[i];
+			order[i] = temp;
+		}
+		// Map the whole deal by whichever symmetry makes its hands smallest
+		final int[][] hands = this.hands(order);
+		int[] best = symmetries[0];
+		int[][] bestHands = hands;
+		for (int k = 1; k < symmetries.length; k++) {
+			final int[][] image = new int[hands.length][];
+			int cmp = 0;
+			for (int h = 0; h < hands.length; h++) {
+				image[h] = image(symmetries[k], hands[h]);
+				if (cmp == 0) {
+					cmp = compare(image[h], bestHands[h]);
+				}
+			}
+			if (cmp < 0) {
+				best = symmetries[k];
+				bestHands = image;
+			}
+		}
+		final PlayingCard[] deck = new PlayingCard[order.length];
+		for (int pos = 0; pos < order.length; pos++) {
+			deck[pos] = cards[best[order[pos]]];
+		}
+		return new Deal(this.toCards(bestHands), deck, seed, weight, stratum);
+	}
+
+	/*
+	 * Returns the sorted hands dealt by a deck in the specified order of card indices.
+	 */
+	private int[][] hands(final int[] order) {
+		final int[][] hands = new int[sizes.length][];
+		final int[] next = new int[sizes.length];
+		for (int h = 0; h < sizes.length; h++) {
+			hands[h] = new int[sizes[h]];
+		}
+		for (int pos = 0; pos < order.length; pos++) {
+			if (positions[pos] >= 0) {
+				hands[positions[pos]][next[positions[pos]]++] = order[pos];
+			}
+		}
+		for (final int[] hand : hands) {
+			Arrays.sort(hand);
+		}
+		return hands;
+	}
+
+	/*
+	 * Returns the sum of the ranks of the cards dealt to the specified player.
+	 */
+	private int strength(final PlayingCard[][] hands, final int player) {
+		int strength = 0;
+		for (int h = 0; h < hands.length; h++) {
+			if (owners[h] == player) {
+				for (final PlayingCard card : hands[h]) {
+					strength += ranking.valueOf(card);
+				}
+			}
+		}
+		return strength;
+	}
+
+	/*
+	 * Returns the stratum of the specified strength.
+	 */
+	private static int stratum(final int[] bounds, final int strength) {
+		int s = 0;
+		while (s < bounds.length && strength >= bounds[s]) {
+			++s;
+		}
+		return s;
+	}
+
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Creates a deal from the specified hands, placing the cards left over in a seeded random order.
+	 * The cards of each hand are also placed in a random order within the hand.
+	 */
+	private Deal createDeal(final int[][] hands, final int[] left, final long seed, final double weight, final int stratum) {
+		final GameRandom rand = new GameRandom(seed);
+		final int[][] shuffled = new int[hands.length][];
+		for (int h = 0; h < hands.length; h++) {
+			shuffled[h] = shuffle(Arrays.copyOf(hands[h], hands[h].length), rand);
+		}
+		int numLeft = 0;
+		for (final int n : left) {
+			numLeft += n;
+		}
+		final int[] rest = new int[numLeft];
+		int ndx = 0;
+		for (int c = 0; c < left.length; c++) {
+			for (int n = 0; n < left[c]; n++) {
+				rest[ndx++] = c;
+			}
+		}
+		shuffle(rest, rand);
+		final PlayingCard[] deck = new PlayingCard[positions.length];
+		final int[] next = new int[hands.length];
+		ndx = 0;
+		for (int pos = 0; pos < deck.length; pos++) {
+			final int h = positions[pos];
+			deck[pos] = cards[h >= 0 ? shuffled[h][next[h]++] : rest[ndx++]];
+		}
+		return new Deal(this.toCards(hands), deck, seed, weight, stratum);
+	}
+
+	/*
+	 * Returns the cards of the specified hands of card indices.
+	 */
+	private PlayingCard[][] toCards(final int[][] hands) {
+		final PlayingCard[][] result = new PlayingCard[hands.length][];
+		for (int h = 0; h < hands.length; h++) {
+			result[h] = new PlayingCard[hands[h].length];
+			for (int i = 0; i < hands[h].length; i++) {
+				result[h][i] = cards[hands[h][i]];
+			}
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the card permutations that interchange groups without changing the deck or any rank.
+	 */
+	private int[][] findSymmetries(final PlayingCard[] namedCards) {
+		// Distinct groups of the deck, and which of them may be interchanged
+		final List<PlayingCardGroup> groups = new ArrayList<PlayingCardGroup>();
+		for (final PlayingCard card : cards) {
+			if (card.getGroup() != null && !groups.contains(card.getGroup())) {
+				groups.add(card.getGroup());
+			}
+		}
+		final List<PlayingCardGroup> named = new ArrayList<PlayingCardGroup>();
+		for (final PlayingCard card : namedCards) {
+			if (card.getGroup() != null) {
+				named.add(card.getGroup());
+			}
+		}
+		final List<List<Integer>> classes = new ArrayList<List<Integer>>();
+		for (int g = 0; g < groups.size(); g++) {
+			List<Integer> match = null;
+			for (final List<Integer> c : classes) {
+				if (!named.contains(groups.get(g)) && !named.contains(groups.get(c.get(0))) &&
+					this.interchangeable(groups.get(c.get(0)), groups.get(g))) {
+					match = c;
+					break;
+				}
+			}
+			if (match == null) {
+				match = new ArrayList<Integer>();
+				classes.add(match);
+			}
+			match.add(g);
+		}
+
+		// Every combination of permutations within each class, as a map from group to group
+		List<int[]> maps = new ArrayList<int[]>();
+		final int[] identity = new int[groups.size()];
+		for (int g = 0; g < identity.length; g++) {
+			identity[g] = g;
+		}
+		maps.add(identity);
+		for (final List<Integer> c : classes) {
+			final List<int[]> next = new ArrayList<int[]>();
+			for (final int[] perm : permutations(c.size())) {
+				for (final int[] map : maps) {
+					final int[] m = Arrays.copyOf(map, map.length);
+					for (int i = 0; i < perm.length; i++) {
+						m[c.get(i)] = c.get(perm[i]);
+					}
+					next.add(m);
+				}
+			}
+			if (next.size() > MAX_SYMMETRIES) {
+				// Too many to check each deal against; do without symmetry
+				maps = new ArrayList<int[]>();
+				maps.add(identity);
+				break;
+			}
+			maps = next;
+		}
+
+		// Convert each group map into a card permutation
+		final int[][] perms = new int[maps.size()][cards.length];
+		for (int k = 0; k < perms.length; k++) {
+			for (int c = 0; c < cards.length; c++) {
+				final PlayingCardGroup group = cards[c].getGroup();
+				perms[k][c] = group == null ? c : this.indexOf(cards[c].getFace(), groups.get(maps.get(k)[groups.indexOf(group)]));
+			}
+		}
+		return perms;
+	}
+
+	/*
+	 * Returns true if swapping the two groups maps the deck onto itself without changing any rank.
+	 */
+	private boolean interchangeable(final PlayingCardGroup a, final PlayingCardGroup b) {
+		for (int c = 0; c < cards.length; c++) {
+			final PlayingCardGroup group = cards[c].getGroup();
+			if (group != null && (group.equals(a) || group.equals(b))) {
+				final int other = this.indexOf(cards[c].getFace(), group.equals(a) ? b : a);
+				if (other < 0 || copies[other] != copies[c] ||
+					ranking.valueOf(cards[other]) != ranking.valueOf(cards[c]) ||
+					ranking.packedValueOf(cards[other]) != ranking.packedValueOf(cards[c])) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Returns the index of the distinct card with the specified attributes, or -1.
+	 */
+	private int indexOf(final PlayingCardFace face, final PlayingCardGroup group) {
+		for (int c = 0; c < cards.length; c++) {
+			if (cards[c].has(face, group)) {
+				return c;
+			}
+		}
+		return -1;
+	}
+
+	/*
+	 * Returns every permutation of 0 to n - 1, in lexicographic order, starting with the identity.
+	 */
+	private static List<int[]> permutations(final int n) {
+		final List<int[]> perms = new ArrayList<int[]>();
+		final int[] perm = new int[n];
+		for (int i = 0; i < n; i++) {
+			perm[i] = i;
+		}
+		while (true) {
+			perms.add(Arrays.copyOf(perm, n));
+			int i = n - 2;
+			while (i >= 0 && perm[i] >= perm[i + 1]) {
+				--i;
+			}
+			if (i < 0) {
+				return perms;
+			}
+			int j = n - 1;
+			while (perm[j] <= perm[i]) {
+				--j;
+			}
+			swap(perm, i, j);
+			for (int a = i + 1, b = n - 1; a < b; a++, b--) {
+				swap(perm, a, b);
+			}
+		}
+	}
+
+	/*
+	 * Returns the sorted image of the hand under the permutation.
+	 */
+	private static int[] image(final int[] perm, final int[] hand) {
+		final int[] image = new int[hand.length];
+		for (int i = 0; i < hand.length; i++) {
+			image[i] = perm[hand[i]];
+		}
+		Arrays.sort(image);
+		return image;
+	}
+
+	/*
+	 * Compares two sorted hands of the same size lexicographically.
+	 */
+	private static int compare(final int[] a, final int[] b) {
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] != b[i]) {
+				return a[i] < b[i] ? -1 : 1;
+			}
+		}
+		return 0;
+	}
+
+	/*
+	 * Shuffles the array in place, and returns it.
+	 */
+	private static int[] shuffle(final int[] array, final GameRandom rand) {
+		for (int i = array.length - 1; i > 0; i--) {
+			swap(array, i, rand.nextInt(i + 1));
+		}
+		return array;
+	}
+
+	/*
+	 * Swaps two elements of the array.
+	 */
+	private static void swap(final int[] array, final int i, final int j) {
+		final int temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+
+	/*
+	 * The state of one enumeration.
+	 */
+	private final class Enumeration {
+		private final GameRandom random;
+		private final DealGenerator.Visitor visitor;
+		private final int[][] hands;
+		private final int[] left;
+		private long visited;
+		private boolean stopped;
+
+		private Enumeration(final GameRandom random, final DealGenerator.Visitor visitor) {
+			this.random = random;
+			this.visitor = visitor;
+			this.hands = new int[sizes.length][];
+			for (int h = 0; h < sizes.length; h++) {
+				hands[h] = new int[sizes[h]];
+			}
+			this.left = Arrays.copyOf(copies, copies.length);
+		}
+	}
+
+/*------------------------------------------------
+    Deal
+ ------------------------------------------------*/
+	/******************************************************************//**
+	 * The DealGenerator.Deal Class
+	 * - One deal: the hands, and the order of the whole deck that deals them
+	 * - Deals are immutable
+	 ********************************************************************/
+	public static final class Deal {
+
+		private final PlayingCard[][] hands;
+		private final PlayingCard[] order;
+		private final long seed;
+		private final double weight;
+		private final int stratum;
+
+		/* Construct a deal. */
+		private Deal(final PlayingCard[][] hands, final PlayingCard[] order, final long seed, final double weight, final int stratum) {
+			this.hands = hands;
+			this.order = order;
+			this.seed = seed;
+			this.weight = weight;
+			this.stratum = stratum;
+		}
+
+		/* Construct a copy of a deal with another weight and stratum. */
+		private Deal(final Deal deal, final double weight, final int stratum) {
+			this(deal.hands, deal.order, deal.seed, weight, stratum);
+		}
+
+		/**
+		 * Returns the cards of the deck in the order that deals this deal.
+		 *
+		 * @return the order of the deck
+		 * @see CardDealer#reset(PlayingCard[])
+		 */
+		public PlayingCard[] getOrder() {
+			return Arrays.copyOf(order, order.length);
+		}
+
+		/**
+		 * Returns the cards dealt to the specified hand, in order of id.
+		 * Hands are the target piles dealt a fixed number of cards, in dealing order.
+		 *
+		 * @param hand index of the hand
+		 * @return the cards dealt to the hand
+		 */
+		public PlayingCard[] getHand(final int hand) {
+			return Arrays.copyOf(hands[hand], hands[hand].length);
+		}
+
+		/**
+		 * Returns the seed of this deal, which also seeds the random picks while it is played.
+		 *
+		 * @return the seed of this deal
+		 */
+		public long getSeed() {
+			return seed;
+		}
+
+		/**
+		 * Returns the weight of this deal: the number of deals it stands for when enumerated,
+		 * or its share of the probability when sampled.
+		 *
+		 * @return the weight of this deal
+		 */
+		public double getWeight() {
+			return weight;
+		}
+
+		/**
+		 * Returns the stratum this deal was sampled from, or -1 if it was not stratified.
+		 *
+		 * @return the stratum of this deal
+		 */
+		public int getStratum() {
+			return stratum;
+		}
+
+		/**
+		 * Return information about this deal.
+		 *
+		 * @return string containing information about this deal
+		 */
+		@Override public String toString() {
+			final StringBuilder str = new StringBuilder();
+			str.append("Deal with seed ").append(seed).append(", weight ").append(weight);
+			if (stratum >= 0) {
+				str.append(", stratum ").append(stratum);
+			}
+			str.append(Strings.NEW_LINE);
+			for (final PlayingCard[] hand : hands) {
+				str.append(Arrays.toString(hand)).append(Strings.NEW_LINE);
+			}
+			return str.toString();
+		}
+	}
+}
@@ -17,8 +17,6 @@
 package games.engine.util;
 
 import java.util.Arrays;
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
 
 import games.Strings;
 import games.engine.util.PlayingCard;
@@ -29,6 +27,8 @@ import games.engine.util.PlayingCard;
  * - Card Decks are quasi-immutable
  * - Card Deck is created from a deck text file
  * - Numeric ranking for each card must be passed in if comparing cards
+ * - Resetting a deck restores the original order, so a shuffle with a
+ *   seeded <tt>GameRandom</tt> always produces the same deal
  * Limitations
  * - can't handle special card abilities (for games like Magic & Yugioh)
  ********************************************************************/
@@ -40,7 +40,9 @@ public class Deck {
 	private final String name;					// Name of the deck
 	private final String grouping;				// Deck grouping (categories)
 	private final PlayingCard[] cards;			// Set of cards for this deck	
+	private final PlayingCard[] order;			// Original order of the cards, never changed
 	private int dealNdx;						// Index of next card to be dealt
+	private PlayingCard[] scratch;				// Gathers collated cards for each pile
 	
 /*------------------------------------------------
  	Constructor(s)
@@ -56,16 +58,31 @@ public class Deck {
 		this.name = name;
 		this.grouping = grouping;
 		this.cards = Arrays.copyOf(cards, cards.length);
+		this.order = Arrays.copyOf(cards, cards.length);
 		dealNdx = 0;
 	}
 	
+	/**
+	 * Construct a <tt>Deck</tt> in the same state as the specified deck.
+	 *
+	 * @param deck the deck to copy
+	 */
+	public Deck(final Deck deck) {
+		this.name = deck.name;
+		this.grouping = deck.grouping;
+		this.cards = Arrays.copyOf(deck.cards, deck.cards.length);
+		this.order = deck.order;
+		this.dealNdx = deck.dealNdx;
+	}
+	
 /*------------------------------------------------
     Accessors
  ------------------------------------------------*/
 	/**
-	 * Reset this <tt>Deck</tt> to the default state (no cards dealt).
+	 * Reset this <tt>Deck</tt> to the default state (no cards dealt, original order).
 	 */
 	protected void reset() {
+		System.arraycopy(order, 0, cards, 0, order.length);
 		dealNdx = 0;
 	}
 	
@@ -96,6 +113,24 @@ public class Deck {
 		return cards.length;
 	}
 	
+	/**
+	 * Returns the cards of this <tt>Deck</tt> in their original order.
+	 * 
+	 * @return the cards of this deck
+	 */
+	public PlayingCard[] getCards() {
+		return Arrays.copyOf(order, order.length);
+	}
+	
+	/**
+	 * Returns the number of cards in this <tt>Deck</tt> which have not been dealt.
+	 * 
+	 * @return the number of cards left to deal
+	 */
+	public int getRemaining() {
+		return cards.length - dealNdx;
+	}
+	
 	/**
 	 * Returns <tt>true</tt> if the grouping is specified for this <tt>Deck</tt>.
 	 * 
@@ -167,21 +202,114 @@ public class Deck {
 		return tmpCards;
 	}
 	
+	/**
+	 * Puts every card of this deck, none dealt, in the specified order.
+	 * 
+	 * @param arrangement the cards of this deck in the order they should be dealt
+	 * @throws IllegalArgumentException if the cards are not exactly those of this deck
+	 */
+	void arrange(final PlayingCard[] arrangement) throws IllegalArgumentException {
+		int maxId = 0;
+		for (final PlayingCard card : order) {
+			maxId = Math.max(maxId, card.getId());
+		}
+		// Count each card of the deck, then take away each card of the arrangement
+		final int[] counts = new int[maxId + 1];
+		for (final PlayingCard card : order) {
+			++counts[card.getId()];
+		}
+		boolean valid = arrangement.length == order.length;
+		for (int i = 0; valid && i < arrangement.length; i++) {
+			final PlayingCard card = arrangement[i];
+			valid = card != null && card.getId() <= maxId && --counts[card.getId()] >= 0;
+		}
+		if (!valid) {
+			throw new IllegalArgumentException("Arrangement does not contain the cards of deck: " + name);
+		}
+		System.arraycopy(arrangement, 0, cards, 0, cards.length);
+		dealNdx = 0;
+	}
+	
+	/**
+	 * Puts every card of this deck, none dealt, in the specified shuffled order of its original positions.
+	 * 
+	 * @param shuffle a shuffled order of a deck of this size
+	 * @throws IllegalArgumentException if the order is for a deck of a different size
+	 */
+	void arrange(final ShufflePool.Shuffle shuffle) throws IllegalArgumentException {
+		if (shuffle.getSize() != order.length) {
+			throw new IllegalArgumentException("Shuffled order does not fit deck: " + name);
+		}
+		for (int i = 0; i < cards.length; i++) {
+			cards[i] = order[shuffle.getPosition(i)];
+		}
+		dealNdx = 0;
+	}
+	
+	/**
+	 * Deals a number of cards from the top of this deck onto the specified pile, as one block.
+	 * Deals only the remaining cards if there are not enough.
+	 * 
+	 * @param pile the card pile to deal to
+	 * @param number how many cards to deal
+	 * @return the number of cards dealt
+	 */
+	int dealTo(final CardPile pile, final int number) {
+		final int dealt = Math.max(0, Math.min(number, cards.length - dealNdx));
+		pile.add(cards, dealNdx, dealt);
+		dealNdx += dealt;
+		return dealt;
+	}
+	
+	/**
+	 * Deals a number of cards to each of the specified piles, one card to each pile in turn.
+	 * Each pile then receives its cards as one block. If there are not enough cards,
+	 * dealing stops where it would have run out.
+	 * 
+	 * @param piles the card piles to deal to, in dealing order
+	 * @param number how many cards to deal to each pile
+	 * @return the number of cards dealt
+	 */
+	int dealTo(final CardPile[] piles, final int number) {
+		final int total = (int)Math.max(0, Math.min((long)number * piles.length, cards.length - dealNdx));
+		if (scratch == null) {
+			scratch = new PlayingCard[cards.length];
+		}
+		for (int p = 0; p < piles.length; p++) {
+			int n = 0;
+			for (int i = p; i < total; i += piles.length) {
+				scratch[n++] = cards[dealNdx + i];
+			}
+			piles[p].add(scratch, 0, n);
+		}
+		dealNdx += total;
+		return total;
+	}
+	
 	/**
 	 * Shuffle the cards in this deck which have not been dealt.
 	 */
 	public void shuffle() {
-		int ndx = 0;
-		PlayingCard card = null;
-		final Random rand = ThreadLocalRandom.current();
-		// Durstenfeld updated Fisher-Yates shuffle
-		// Modified to only shuffle cards at and above the deal index!
-		for (int i = cards.length - 1; i >= dealNdx; i--) {
-			ndx = dealNdx + rand.nextInt(i - dealNdx + 1);
-			card = cards[ndx];
-			cards[ndx] = cards[i];
-			cards[i] = card;
-		}
+		this.shuffle(new GameRandom());
+	}
+	
+	/**
+	 * Shuffle the cards in this deck which have not been dealt, using the specified random stream.
+	 * 
+	 * @param rand the source of randomness for the shuffle
+	 */
+	public void shuffle(final GameRandom rand) {
+		this.shuffle(rand, Shuffler.FISHER_YATES);
+	}
+	
+	/**
+	 * Shuffle the cards in this deck which have not been dealt, using the specified algorithm.
+	 * 
+	 * @param rand the source of randomness for the shuffle
+	 * @param shuffler the shuffling algorithm
+	 */
+	public void shuffle(final GameRandom rand, final CardShuffler shuffler) {
+		shuffler.shuffle(cards, dealNdx, cards.length, rand);
 	}
 	
 /*------------------------------------------------
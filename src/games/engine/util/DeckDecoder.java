@@ -0,0 +1,240 @@
+/***********************************************************************//**
+* @file			DeckDecoder.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Streaming decoder of the cards section of a deck plugin
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			DeckFactory
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+package games.engine.util;
+
+import games.engine.plugin.Plugin;
+import games.engine.plugin.PluginException;
+import games.engine.plugin.PluginKeyword;
+
+/******************************************************************//**
+ * The DeckDecoder Class
+ * - Reads the values after the "cards" keyword one at a time, straight
+ *   from the lines of the deck plugin, and places each card as soon as
+ *   its face, group, and quantity are read; nothing is held but the
+ *   card array of the deck and a table of its distinct cards
+ * - Values are comma separated, with a comma implied at the end of each
+ *   line that lacks one. Whitespace and the digits after a decimal
+ *   point are ignored; any other character that is not a digit is
+ *   ignored along with the commas directly after it; empty values at
+ *   the very end are ignored
+ * - Errors give the line and column in the plugin file where they were
+ *   found, and what was wrong
+ ********************************************************************/
+final class DeckDecoder {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final int END = -1;			// returned once the values run out
+	private static final char SEPARATOR = ',';
+	private static final char POINT = '.';
+
+	private final Plugin deck;
+	private final int last;						// index of the last line of the plugin
+	private int ndx;							// index of the line being read
+	private String line;
+	private int length;							// length of the line, with its implied comma
+	private int pos;							// position in the line
+	private boolean isSkipping;					// true after a character that swallows the commas behind it
+	private int emptyNdx = -1;					// line of the first empty value not yet followed by a number
+	private int emptyPos;
+	private int valueNdx;						// line of the last value read
+	private int valuePos;
+
+	/* Construct a decoder of the values starting on the specified line */
+	private DeckDecoder(final Plugin deck, final int first) {
+		this.deck = deck;
+		this.last = deck.getSize() - 1;
+		this.ndx = first - 1;
+		this.valueNdx = ndx;
+	}
+
+/*------------------------------------------------
+ 	Decoding
+ ------------------------------------------------*/
+	/*
+	 * Decodes the cards of the specified deck plugin, with the faces and groups it declares.
+	 * Each card is a face index, then a group index if groups are given, then a quantity if
+	 * specified; cards of the same face and group are the same object, created by the builder
+	 * when first found.
+	 */
+	static PlayingCard[] decode(final Plugin deck,
+								final PlayingCardCatalog.Builder builder,
+								final String[] faces,
+								final String[] groups,
+								final boolean quantitySpecified,
+								final int size) throws PluginException {
+		final DeckDecoder data = new DeckDecoder(deck, deck.checkIndexOf(PluginKeyword.CARDS) + 1);
+		final int numGroups = groups == null ? 1 : groups.length;
+		final PlayingCard[] types = new PlayingCard[faces.length * numGroups];	// by face, then group
+		final PlayingCard[] cards = new PlayingCard[size];
+		int cardNdx = 0;
+		while (cardNdx < size) {
+			final int faceNdx = data.next();
+			if (faceNdx == END) {
+				throw data.error("found " + cardNdx + " of " + size + " cards");
+			}
+			if (faceNdx >= faces.length) {
+				throw data.error("no face " + faceNdx);
+			}
+			int groupNdx = 0;
+			if (groups != null) {
+				groupNdx = data.next();
+				if (groupNdx == END) {
+					throw data.error("missing group of card " + (cardNdx + 1));
+				}
+				if (groupNdx >= groups.length) {
+					throw data.error("no group " + groupNdx);
+				}
+			}
+			PlayingCard card = types[faceNdx * numGroups + groupNdx];
+			if (card == null) {
+				final PlayingCardFace face = builder.createFace(faces[faceNdx]);
+				final PlayingCardGroup group = groups == null ? null : builder.createGroup(groups[groupNdx]);
+				card = builder.createPlayingCard(face, group);
+				types[faceNdx * numGroups + groupNdx] = card;
+			}
+
+			// Make this card again, if specified
+			int quantity = 1;
+			if (quantitySpecified) {
+				quantity = data.next();
+				if (quantity == END) {
+					throw data.error("missing quantity of card " + (cardNdx + 1));
+				}
+				if (quantity > size - cardNdx) {
+					throw data.error("more than " + size + " cards");
+				}
+			}
+			do {
+				cards[cardNdx++] = card;
+			} while (--quantity > 0);
+		}
+		if (data.next() != END) {
+			throw data.error("more than " + size + " cards");
+		}
+		return cards;
+	}
+
+/*------------------------------------------------
+ 	Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the next value, or END if there are no more.
+	 */
+	private int next() throws PluginException {
+		long value = 0;
+		boolean hasDigits = false;
+		while (true) {
+			while (pos < length) {
+				final char c = pos < line.length() ? line.charAt(pos) : SEPARATOR;
+				if (isSkipping) {
+					if (c == SEPARATOR) {
+						++pos;
+						continue;
+					}
+					isSkipping = false;
+				}
+				if (isDigit(c)) {
+					if (!hasDigits) {
+						hasDigits = true;
+						valueNdx = ndx;
+						valuePos = pos;
+					}
+					value = value * 10 + (c - '0');
+					if (value > Integer.MAX_VALUE) {
+						throw this.error("value too large");
+					}
+				}
+				else if (c == SEPARATOR) {
+					++pos;
+					if (hasDigits) {
+						return this.emit((int)value);
+					}
+					if (emptyNdx < 0) {
+						emptyNdx = ndx;
+						emptyPos = pos - 1;
+					}
+					continue;
+				}
+				else if (c == POINT) {
+					while (pos + 1 < line.length() && isDigit(line.charAt(pos + 1))) {
+						++pos;
+					}
+				}
+				else if (!isSpace(c)) {
+					isSkipping = true;
+				}
+				++pos;
+			}
+			if (ndx >= last) {
+				break;
+			}
+
+			// Start the next line; the final comma of the last line is dropped
+			line = deck.getLine(++ndx);
+			pos = 0;
+			length = line.charAt(line.length() - 1) == SEPARATOR ? line.length() : line.length() + 1;
+			if (ndx == last) {
+				--length;
+			}
+		}
+		if (hasDigits) {
+			return this.emit((int)value);
+		}
+		valueNdx = ndx;
+		valuePos = pos;
+		return END;
+	}
+
+	/*
+	 * Returns a value just read, unless an empty value came before it.
+	 */
+	private int emit(final int value) throws PluginException {
+		if (emptyNdx >= 0) {
+			throw this.error(emptyNdx, emptyPos, "empty value");
+		}
+		return value;
+	}
+
+	/*
+	 * Returns an exception at the position of the last value read.
+	 */
+	private PluginException error(final String problem) {
+		return this.error(valueNdx, valuePos, problem);
+	}
+
+	/*
+	 * Returns an exception at the specified position of the specified line.
+	 */
+	private PluginException error(final int lineNdx, final int linePos, final String problem) {
+		final StringBuilder str = new StringBuilder();
+		str.append("line ").append(deck.getSourceLine(lineNdx))
+		   .append(", column ").append(deck.getSourceColumn(lineNdx) + linePos)
+		   .append(": ").append(problem);
+		return PluginException.create(PluginException.Type.DATA_REPRESENTATION, deck, PluginKeyword.CARDS.toString(), str.toString());
+	}
+
+	/* Returns true if the specified character is an ascii digit */
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	/* Returns true if the specified character is whitespace to a regular expression: [ \t\n\x0B\f\r] */
+	private static boolean isSpace(final char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+}
@@ -14,6 +14,8 @@
 ****************************************************************************/
 package games.engine.util;
 
+import java.util.Arrays;
+
 import games.engine.plugin.Plugin;
 import games.engine.plugin.PluginException;
 import games.engine.plugin.PluginKeyword;
@@ -48,18 +50,35 @@ public enum DeckFactory {
 	 * Creates and returns a new <tt>Deck</tt> using the specified <tt>Plugin</tt>.
 	 * If a rules plugin is passed, a deck plugin will be created 
 	 * by parsing the rules for the "deck" keyword.
+	 * The cards of this deck are not shared with any other deck.
+	 * 
+	 * @param plugin Plugin used to create this deck
+	 * @return a new deck of playing cards
+	 * @throws PluginException if the file, keywords, or parameters are invalid
+	 */
+	public Deck createDeck(final Plugin plugin) throws PluginException {
+		return this.createDeck(plugin, new PlayingCardCatalog.Builder());
+	}
+	
+	/**
+	 * Creates and returns a new <tt>Deck</tt> using the specified <tt>Plugin</tt>.
+	 * If a rules plugin is passed, a deck plugin will be created 
+	 * by parsing the rules for the "deck" keyword.
+	 * The cards, faces, and groups of this deck are created by the specified builder,
+	 * so the deck shares them with anything else that builder creates.
 	 * 
 	 * @param plugin Plugin used to create this deck
+	 * @param builder the builder of the game's card catalog
 	 * @return a new deck of playing cards
 	 * @throws PluginException if the file, keywords, or parameters are invalid
 	 */
-	public synchronized Deck createDeck(final Plugin plugin) throws PluginException {
+	public Deck createDeck(final Plugin plugin, final PlayingCardCatalog.Builder builder) throws PluginException {
 		
 		// Get correct Plugin file
 		Plugin deck = null;
 		switch (plugin.getFilename().getType()) {
 		case RULES:
-			deck = new Plugin(Plugin.Type.DECK, plugin.checkParamsFor(PluginKeyword.DECK));
+			deck = plugin.open(Plugin.Type.DECK, plugin.checkParamsFor(PluginKeyword.DECK));
 			break;
 		case DECK:
 			deck = plugin;
@@ -80,67 +99,34 @@ public enum DeckFactory {
 		// Optional specify-quantity
 		final boolean quantitySpecified = PluginKeyword.SPECIFY_QUANTITY.getBooleanParams(deck);
 
-		// Put all of the card data into one string
-		int fileNdx = deck.checkIndexOf(PluginKeyword.CARDS);
-		StringBuilder str = new StringBuilder();
-		while(++fileNdx < deck.getSize()) {		// This is length of the deck file, not the size of the deck!
-			str.append(deck.getLine(fileNdx));
-			// Handle trailing ',' if absent
-			if (str.charAt(str.length() - 1) != ',') {
-				str.append(',');
-			}
-		}
-		str.setLength(Math.max(str.length() - 1, 0));	// remove final ","
-		// This protects against whitespace, negatives, decimal points, trailing decimal places, and non-digits
-		String cardDataString = str.toString().replaceAll("\\.\\d*|\\s|[^\\d,\\s],*", "");	// remove all non integers/commas
-		String[] cardData = cardDataString.split(",");	// Split Card data into individual values (Possibly: face, group, quantity)
-		
 		// Get user specified deck size
 		final int size = PluginKeyword.SIZE.checkPositiveNumericParams(deck);
 
-		// Create Deck of Cards
-		final PlayingCard[] cards = new PlayingCard[size];
-		final PlayingCardFactory factory = PlayingCardFactory.getInstance();
-		PlayingCardFace face = null;
-		PlayingCardGroup group = null;
-		int dataNdx = 0;
-		int quantity = 0;
-		int cardNdx = 0;
-		int faceNdx = 0;
-		int groupNdx = 0;
-		do {
-			try {
-				faceNdx = Integer.parseInt(cardData[dataNdx]);
-				face = factory.createFace(faces[faceNdx]);
-				
-				// Create a playing card
-				if (groupingSpecified) {
-					groupNdx = Integer.parseInt(cardData[dataNdx + 1]);
-					group = factory.createGroup(groups[groupNdx]);
-					cards[cardNdx] = factory.createPlayingCard(face, group);
-					dataNdx+=2;
-				} else {
-					cards[cardNdx] = factory.createPlayingCard(face, null);
-					dataNdx++;
-				}
-				cardNdx++;
-					
-				// Make this card again, if specified
-				if (quantitySpecified) {
-					quantity = Integer.parseInt(cardData[dataNdx]);
-					while (--quantity > 0) {
-						cards[cardNdx] = cards[cardNdx-1];
-						cardNdx++;
-					}
-					dataNdx++;
-				}
-			} catch (ArrayIndexOutOfBoundsException e) {
-				throw PluginException.create(PluginException.Type.DATA_REPRESENTATION, e, deck, "cards");
-			}
-		} while (cardNdx < size);
-		if (cardData.length > dataNdx) {
-			throw PluginException.create(PluginException.Type.DATA_REPRESENTATION, deck, "cards");
-		}
+		// Create Deck of Cards, decoding the data after "cards" (Possibly: face, group, quantity)
+		final PlayingCard[] cards = DeckDecoder.decode(deck, builder, faces, groups, quantitySpecified, size);
 		return new Deck(name, grouping, cards);
 	}
+	
+	/**
+	 * Creates and returns a new <tt>Shoe</tt> combining copies of the <tt>Deck</tt> of the specified <tt>Plugin</tt>.
+	 * The cards of every copy are the same cards, created once by the specified builder.
+	 * 
+	 * @param plugin Plugin used to create the deck
+	 * @param builder the builder of the game's card catalog
+	 * @param numDecks the number of decks in the shoe
+	 * @param random the source of randomness if the shoe reshuffles itself before it is shuffled
+	 * @param penetration the fraction of the shoe dealt before the cut card
+	 * @return a new shoe of playing cards
+	 * @throws PluginException if the file, keywords, or parameters are invalid
+	 * @throws IllegalArgumentException if the number of decks is not positive, or the penetration is invalid
+	 */
+	public Shoe createShoe(final Plugin plugin, final PlayingCardCatalog.Builder builder, final int numDecks,
+						   final GameRandom random, final double penetration) throws PluginException, IllegalArgumentException {
+		if (numDecks <= 0) {
+			throw new IllegalArgumentException("Number of decks must be positive: " + numDecks);
+		}
+		final Deck[] decks = new Deck[numDecks];
+		Arrays.fill(decks, this.createDeck(plugin, builder));
+		return new Shoe(random, penetration, decks);
+	}
 }
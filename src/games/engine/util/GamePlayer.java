@@ -51,6 +51,19 @@ public class GamePlayer {
 		this.hasWon = true;
 	}
 	
+	/**
+	 * Construct a <tt>GamePlayer</tt> in the same state as the specified player.
+	 *
+	 * @param player the player to copy
+	 */
+	protected GamePlayer(final GamePlayer player) {
+		this.name = player.name;
+		this.phase = player.phase;
+		this.startingPhase = player.startingPhase;
+		this.hasLost = player.hasLost;
+		this.hasWon = player.hasWon;
+	}
+	
 /*------------------------------------------------
     Accessors and Mutators
  ------------------------------------------------*/
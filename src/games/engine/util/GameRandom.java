@@ -0,0 +1,203 @@
+/***********************************************************************//**
+* @file			GameRandom.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		A seeded, splittable source of random numbers for one game
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			java.util.SplittableRandom
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/******************************************************************//**
+ * The GameRandom Class
+ * - A stream of random numbers that can be reproduced from its seed
+ * - Splitting a stream creates an independent stream whose seed is
+ *   drawn from this one, so a whole tree of streams is reproducible
+ *   from the seed at its root
+ * - Copying a stream creates one that produces the same numbers from
+ *   where this one is, without drawing from it
+ * - The numbers are those of a <tt>SplittableRandom</tt> of the same
+ *   seed (SplitMix64), computed here so the state can be copied
+ * - Not thread safe; give each thread (or each engine) its own stream
+ **********************************************************************/
+public final class GameRandom {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private static final long MASK = 0xFFFFFFFFL;	// low 32 bits
+	private static final long GAMMA = 0x9E3779B97F4A7C15L;	// step between states, as SplittableRandom
+
+	private final long seed;
+	private long state;
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/**
+	 * Construct a new <tt>GameRandom</tt> with an arbitrary seed.
+	 */
+	public GameRandom() {
+		this(ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * Construct a new <tt>GameRandom</tt> with the specified seed.
+	 * Two streams with the same seed produce the same numbers.
+	 *
+	 * @param seed the seed of this stream
+	 */
+	public GameRandom(final long seed) {
+		this.seed = seed;
+		this.state = seed;
+	}
+
+	/*
+	 * Construct a stream in the same state as the specified stream.
+	 */
+	private GameRandom(final GameRandom that) {
+		this.seed = that.seed;
+		this.state = that.state;
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the seed this <tt>GameRandom</tt> was created with.
+	 *
+	 * @return the seed of this stream
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+/*------------------------------------------------
+    Utilities
+ ------------------------------------------------*/
+	/**
+	 * Returns a new, independent <tt>GameRandom</tt> seeded from this stream.
+	 *
+	 * @return a new stream split from this one
+	 */
+	public GameRandom split() {
+		return new GameRandom(this.nextLong());
+	}
+
+	/**
+	 * Returns a <tt>GameRandom</tt> that produces the same numbers this one will from now on.
+	 * Nothing is drawn from this stream.
+	 *
+	 * @return a copy of this stream
+	 */
+	public GameRandom copy() {
+		return new GameRandom(this);
+	}
+
+	/**
+	 * Returns a random number between 0 (inclusive) and the specified bound (exclusive).
+	 *
+	 * @param bound the upper bound, which must be positive
+	 * @return a random number between 0 and the bound
+	 * @throws IllegalArgumentException if the bound is not positive
+	 */
+	public int nextInt(final int bound) throws IllegalArgumentException {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("bound must be positive");
+		}
+		int r = this.nextInt();
+		final int m = bound - 1;
+		if ((bound & m) == 0) {
+			return r & m;
+		}
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = this.nextInt() >>> 1) {
+			// reject values from the incomplete last range
+		}
+		return r;
+	}
+
+	/**
+	 * Returns a random index between 0 (inclusive) and the specified bound (exclusive).
+	 * Uses Lemire's nearly divisionless method: a multiply maps 32 random bits onto the
+	 * range, and a division is only needed in the rare case the result might be biased.
+	 *
+	 * @param bound the upper bound, which must be positive
+	 * @return a random index between 0 and the bound
+	 * @throws IllegalArgumentException if the bound is not positive
+	 */
+	public int nextIndex(final int bound) throws IllegalArgumentException {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("Bound must be positive: " + bound);
+		}
+		return this.bounded(this.nextInt(), bound);
+	}
+
+	/*
+	 * Maps 32 random bits onto an index below the bound, which must be positive,
+	 * drawing more bits from this stream only when the first would bias the result.
+	 */
+	int bounded(final int bits, final int bound) {
+		long product = (bits & MASK) * bound;
+		if ((product & MASK) < bound) {
+			final long threshold = (MASK + 1 - bound) % bound;
+			while ((product & MASK) < threshold) {
+				product = (this.nextInt() & MASK) * bound;
+			}
+		}
+		return (int)(product >>> 32);
+	}
+
+	/**
+	 * Returns a random <tt>long</tt>.
+	 *
+	 * @return a random long
+	 */
+	public long nextLong() {
+		return mix64(state += GAMMA);
+	}
+
+	/*
+	 * Returns the long this stream will return after skipping the specified number of longs,
+	 * without drawing from it; each number advances the state by the same step.
+	 */
+	long peekLong(final long skip) {
+		return mix64(state + (skip + 1) * GAMMA);
+	}
+
+	/* Returns 64 random bits from the specified state */
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/*
+	 * Returns 32 random bits.
+	 */
+	private int nextInt() {
+		long z = state += GAMMA;
+		z = (z ^ (z >>> 33)) * 0x62A9D9ED799705F5L;
+		return (int)(((z ^ (z >>> 28)) * 0xCB24D0A5C88C35B3L) >>> 32);
+	}
+
+	/**
+	 * Return information about this stream.
+	 *
+	 * @return string containing information about this stream
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Random stream with seed ").append(seed);
+		return str.toString();
+	}
+}
@@ -0,0 +1,153 @@
+/***********************************************************************//**
+* @file			PersistentCardStack.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Structurally shared storage for a pile of cards
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 7 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardStack
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+
+/******************************************************************//**
+ * The PersistentCardStack Class
+ * - Cards are held in fixed size chunks, referenced from a small spine
+ * - A branch copies only the spine; every chunk becomes shared
+ * - A shared chunk is copied the first time either side writes to it,
+ *   so a branch costs one chunk per chunk that actually changes
+ * - Piles mostly change at the top, so the bottom chunks of a pile
+ *   stay shared between branches
+ * - Each stack keeps its own record of the chunks it owns; branching
+ *   only raises a flag, which the stack acts on at its next write, so
+ *   several threads may branch the same stack at once, as long as no
+ *   thread changes it meanwhile
+ **********************************************************************/
+final class PersistentCardStack extends CardStack {
+
+	private static final int SHIFT = 5;
+	private static final int CHUNK_SIZE = 1 << SHIFT;
+	private static final int MASK = CHUNK_SIZE - 1;
+	
+	private PlayingCard[][] chunks;
+	private boolean[] owned;		// true if no other stack can see the chunk, unless branched since
+	private volatile boolean branched;	// true if branched since the last write
+	private int size;
+	
+	PersistentCardStack() {
+		this(new PlayingCard[1][], 0);
+	}
+	
+	private PersistentCardStack(final PlayingCard[][] chunks, final int size) {
+		this.chunks = chunks;
+		this.owned = new boolean[chunks.length];
+		this.size = size;
+	}
+	
+	@Override CardPile.Storage getStorage() {
+		return CardPile.Storage.PERSISTENT;
+	}
+	
+	@Override int size() {
+		return size;
+	}
+	
+	@Override PlayingCard get(final int ndx) {
+		return chunks[ndx >>> SHIFT][ndx & MASK];
+	}
+	
+	@Override void set(final int ndx, final PlayingCard card) {
+		writable(ndx >>> SHIFT)[ndx & MASK] = card;
+	}
+	
+	@Override void push(final PlayingCard[] cards, final int offset, final int length) {
+		final int end = size + length;
+		ensureCapacity(end);
+		int from = offset;
+		while (size < end) {
+			final int pos = size & MASK;
+			final int num = Math.min(CHUNK_SIZE - pos, end - size);
+			System.arraycopy(cards, from, writable(size >>> SHIFT), pos, num);
+			from += num;
+			size += num;
+		}
+	}
+	
+	@Override void push(final CardStack from, final int ndx, final int length) {
+		final int end = size + length;
+		ensureCapacity(end);
+		int src = ndx;
+		while (size < end) {
+			final int pos = size & MASK;
+			final int num = Math.min(CHUNK_SIZE - pos, end - size);
+			from.copyTo(src, writable(size >>> SHIFT), pos, num);
+			src += num;
+			size += num;
+		}
+	}
+	
+	@Override void truncate(final int size) {
+		// Release whole chunks above the new top so they are not kept alive
+		final int firstUnused = (size + MASK) >>> SHIFT;
+		for (int i = firstUnused; i < chunks.length && chunks[i] != null; i++) {
+			chunks[i] = null;
+			owned[i] = false;
+		}
+		this.size = size;
+	}
+	
+	@Override void copyTo(final int ndx, final PlayingCard[] dest, final int destNdx, final int length) {
+		int from = ndx;
+		int to = destNdx;
+		final int end = ndx + length;
+		while (from < end) {
+			final int pos = from & MASK;
+			final int num = Math.min(CHUNK_SIZE - pos, end - from);
+			System.arraycopy(chunks[from >>> SHIFT], pos, dest, to, num);
+			from += num;
+			to += num;
+		}
+	}
+	
+	@Override CardStack branch() {
+		branched = true;
+		final int used = (size + MASK) >>> SHIFT;
+		return new PersistentCardStack(Arrays.copyOf(chunks, Math.max(used, 1)), size);
+	}
+	
+	/*
+	 * Grow the spine so that it can hold at least the specified number of cards.
+	 */
+	private void ensureCapacity(final int capacity) {
+		final int needed = (capacity + MASK) >>> SHIFT;
+		if (needed > chunks.length) {
+			final int length = Math.max(needed, chunks.length << 1);
+			chunks = Arrays.copyOf(chunks, length);
+			owned = Arrays.copyOf(owned, length);
+		}
+	}
+	
+	/*
+	 * Returns the specified chunk, copying it first if it may be shared.
+	 */
+	private PlayingCard[] writable(final int chunk) {
+		if (branched) {
+			// Chunks owned before the branch are now seen by it as well
+			branched = false;
+			Arrays.fill(owned, false);
+		}
+		if (!owned[chunk]) {
+			chunks[chunk] = chunks[chunk] == null ? new PlayingCard[CHUNK_SIZE] : chunks[chunk].clone();
+			owned[chunk] = true;
+		}
+		return chunks[chunk];
+	}
+}
@@ -27,6 +27,7 @@ public final class PlayingCard implements Comparable<PlayingCard>, Cloneable {
 /*------------------------------------------------
  	Constants and Attributes
  ------------------------------------------------*/
+	private final int id;					// Index of this card within its factory
 	private final PlayingCardFace face;		// The name of the card, Ex: "2" or "King"
 	private final PlayingCardGroup group;	// The group of the card, Ex: "Hearts" or "Clubs"
 	
@@ -36,14 +37,16 @@ public final class PlayingCard implements Comparable<PlayingCard>, Cloneable {
 	/**
 	 * Construct a new <tt>PlayingCard</tt> with the given attributes.
 	 * 
+	 * @param id the index of this card within the factory creating it
 	 * @param face the face (title, name, etc) of this card
 	 * @param group the group of this card (suit, color, etc)
 	 * @throws IllegalArgumentException if both parameters are null
 	 */
-	PlayingCard(final PlayingCardFace face, final PlayingCardGroup group) throws IllegalArgumentException {
+	PlayingCard(final int id, final PlayingCardFace face, final PlayingCardGroup group) throws IllegalArgumentException {
 		if (face == null && group == null ) {
 			throw new IllegalArgumentException("Both parameters cannot be null!");
 		}
+		this.id = id;
 		this.face = face;
 		this.group = group;
 	}
@@ -51,6 +54,16 @@ public final class PlayingCard implements Comparable<PlayingCard>, Cloneable {
 /*------------------------------------------------
     Accessors
  ------------------------------------------------*/
+	/**
+	 * Returns the id of this <tt>PlayingCard</tt>.
+	 * Ids are small, dense integers suitable for indexing arrays.
+	 * 
+	 * @return the id of this card
+	 */
+	public int getId() {
+		return id;
+	}
+	
 	/**
 	 * Returns the face on this <tt>PlayingCard</tt>.
 	 * 
@@ -0,0 +1,314 @@
+/***********************************************************************//**
+* @file			PlayingCardCatalog.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Every playing card, face, and group known to one game
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 7 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			PlayingCard
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The PlayingCardCatalog Class
+ * - Holds the flyweight cards, faces, and groups of a single game
+ * - Catalogs are immutable and may be shared by any number of engines
+ * - Card ids are indices into this catalog
+ * - The <tt>CardSet</tt> of each face and group is precomputed
+ * - Catalogs are created with a <tt>PlayingCardCatalog.Builder</tt>
+ ********************************************************************/
+public final class PlayingCardCatalog {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private final PlayingCard[] cards;					// indexed by id
+	private final Map<String, PlayingCardFace> faces;
+	private final Map<String, PlayingCardGroup> groups;
+	private final Map<String, PlayingCard> cardsByKey;
+	private final Map<PlayingCardFace, CardSet> faceMasks;
+	private final Map<PlayingCardGroup, CardSet> groupMasks;
+	private final CardSet allCards;
+	
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/*
+	 * Construct a catalog from a snapshot of the builder.
+	 */
+	private PlayingCardCatalog(final Builder builder) {
+		this.cards = builder.cards.values().toArray(new PlayingCard[builder.cards.size()]);
+		this.faces = Collections.unmodifiableMap(new LinkedHashMap<String, PlayingCardFace>(builder.faces));
+		this.groups = Collections.unmodifiableMap(new LinkedHashMap<String, PlayingCardGroup>(builder.groups));
+		this.cardsByKey = new HashMap<String, PlayingCard>(builder.cards);
+		// Precompute the masks once, so attribute queries are only bitwise operations
+		final Map<PlayingCardFace, long[]> faceWords = new HashMap<PlayingCardFace, long[]>();
+		final Map<PlayingCardGroup, long[]> groupWords = new HashMap<PlayingCardGroup, long[]>();
+		long[] allWords = new long[0];
+		for (final PlayingCard card : cards) {
+			if (card.getFace() != null) {
+				faceWords.put(card.getFace(), CardSet.set(words(faceWords.get(card.getFace())), card.getId()));
+			}
+			if (card.getGroup() != null) {
+				groupWords.put(card.getGroup(), CardSet.set(words(groupWords.get(card.getGroup())), card.getId()));
+			}
+			allWords = CardSet.set(allWords, card.getId());
+		}
+		this.faceMasks = masks(faceWords);
+		this.groupMasks = masks(groupWords);
+		this.allCards = CardSet.copyOf(allWords);
+	}
+	
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of <tt>PlayingCards</tt> in this catalog.
+	 * Every card id is less than this number.
+	 * 
+	 * @return the number of cards in this catalog
+	 */
+	public int getSize() {
+		return cards.length;
+	}
+	
+	/**
+	 * Returns the <tt>PlayingCard</tt> with the specified id.
+	 * 
+	 * @param id the id of the card
+	 * @return the playing card with the specified id
+	 * @throws ArrayIndexOutOfBoundsException if no card has this id
+	 */
+	public PlayingCard getCard(final int id) {
+		return cards[id];
+	}
+	
+	/**
+	 * Returns the <tt>PlayingCard</tt> with the specified attributes, or <tt>null</tt> if there is none.
+	 * 
+	 * @param face the face of the card
+	 * @param group the group of the card
+	 * @return the playing card with the specified attributes, or null
+	 */
+	public PlayingCard getCard(final PlayingCardFace face, final PlayingCardGroup group) {
+		return cardsByKey.get(key(face, group));
+	}
+	
+	/**
+	 * Returns all of the <tt>PlayingCards</tt> in this catalog, indexed by id.
+	 * 
+	 * @return all of the cards in this catalog
+	 */
+	public PlayingCard[] getCards() {
+		return Arrays.copyOf(cards, cards.length);
+	}
+	
+	/**
+	 * Returns the <tt>PlayingCardFace</tt> with the specified name, or <tt>null</tt> if there is none.
+	 * 
+	 * @param face the name of the face
+	 * @return the face with the specified name, or null
+	 */
+	public PlayingCardFace getFace(final String face) {
+		return faces.get(face);
+	}
+	
+	/**
+	 * Returns the <tt>PlayingCardGroup</tt> with the specified name, or <tt>null</tt> if there is none.
+	 * 
+	 * @param group the name of the group
+	 * @return the group with the specified name, or null
+	 */
+	public PlayingCardGroup getGroup(final String group) {
+		return groups.get(group);
+	}
+	
+	/**
+	 * Returns every <tt>PlayingCardFace</tt> in this catalog, in order of creation.
+	 * 
+	 * @return every face in this catalog
+	 */
+	public Collection<PlayingCardFace> getFaces() {
+		return faces.values();
+	}
+	
+	/**
+	 * Returns every <tt>PlayingCardGroup</tt> in this catalog, in order of creation.
+	 * 
+	 * @return every group in this catalog
+	 */
+	public Collection<PlayingCardGroup> getGroups() {
+		return groups.values();
+	}
+	
+	/**
+	 * Returns the set of every <tt>PlayingCard</tt> in this catalog.
+	 * 
+	 * @return the set of every card in this catalog
+	 */
+	public CardSet getCardSet() {
+		return allCards;
+	}
+	
+	/**
+	 * Returns the set of <tt>PlayingCards</tt> in this catalog with the specified face.
+	 * 
+	 * @param face the face of the cards
+	 * @return the set of cards with the specified face, which is empty if there are none
+	 */
+	public CardSet getFaceMask(final PlayingCardFace face) {
+		final CardSet mask = faceMasks.get(face);
+		return mask == null ? CardSet.EMPTY : mask;
+	}
+	
+	/**
+	 * Returns the set of <tt>PlayingCards</tt> in this catalog in the specified group.
+	 * 
+	 * @param group the group of the cards
+	 * @return the set of cards in the specified group, which is empty if there are none
+	 */
+	public CardSet getGroupMask(final PlayingCardGroup group) {
+		final CardSet mask = groupMasks.get(group);
+		return mask == null ? CardSet.EMPTY : mask;
+	}
+	
+	/**
+	 * Return information about this catalog.
+	 *
+	 * @return string containing information about this catalog
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Catalog of ").append(cards.length).append(" cards, ")
+		   .append(faces.size()).append(" faces, and ")
+		   .append(groups.size()).append(" groups.").append(Strings.NEW_LINE);
+		return str.toString();
+	}
+	
+	/*
+	 * Returns the specified words, or no words if null.
+	 */
+	private static long[] words(final long[] words) {
+		return words == null ? new long[0] : words;
+	}
+	
+	/*
+	 * Returns an unmodifiable map of card sets built from the specified words.
+	 */
+	private static <K> Map<K, CardSet> masks(final Map<K, long[]> words) {
+		final Map<K, CardSet> masks = new HashMap<K, CardSet>();
+		for (final Map.Entry<K, long[]> entry : words.entrySet()) {
+			masks.put(entry.getKey(), CardSet.copyOf(entry.getValue()));
+		}
+		return Collections.unmodifiableMap(masks);
+	}
+	
+	/*
+	 * Returns the lookup key for a card with the specified attributes.
+	 */
+	private static String key(final PlayingCardFace face, final PlayingCardGroup group) {
+		final StringBuilder str = new StringBuilder();
+		str.append(face == null ? "" : face.get()).append('\t').append(group == null ? "" : group.get());
+		return str.toString();
+	}
+	
+/*------------------------------------------------
+    Builder
+ ------------------------------------------------*/
+	/******************************************************************//**
+	 * The PlayingCardCatalog.Builder Class
+	 * - Creates the flyweight cards, faces, and groups for one game
+	 * - Not thread safe; a builder is meant to be used by one thread
+	 *   while a game is loaded, and the catalog it builds is then shared
+	 ********************************************************************/
+	public static final class Builder {
+		
+		private final Map<String, PlayingCard> cards;
+		private final Map<String, PlayingCardFace> faces;
+		private final Map<String, PlayingCardGroup> groups;
+		
+		/**
+		 * Construct an empty <tt>Builder</tt>.
+		 */
+		public Builder() {
+			this.cards = new LinkedHashMap<String, PlayingCard>();
+			this.faces = new LinkedHashMap<String, PlayingCardFace>();
+			this.groups = new LinkedHashMap<String, PlayingCardGroup>();
+		}
+		
+		/**
+		 * Creates a new <tt>PlayingCard</tt> (if necessary) and returns a PlayingCard with the given attributes.
+		 * 
+		 * @param face the face (title, name, etc) of this card
+		 * @param group the group of this card (suit, color, etc)
+		 * @return a playing card with the given attributes
+		 * @throws IllegalArgumentException if both parameters are null
+		 */
+		public PlayingCard createPlayingCard(final PlayingCardFace face, final PlayingCardGroup group) throws IllegalArgumentException {
+			final String key = key(face, group);
+			PlayingCard card = cards.get(key);
+			if (card == null) {
+				card = new PlayingCard(cards.size(), face, group);
+				cards.put(key, card);
+			}
+			return card;
+		}
+		
+		/**
+		 * Creates a new <tt>PlayingCardFace</tt> attribute (if necessary) and returns a PlayingCardFace attribute.
+		 * 
+		 * @param face String represented by this attribute
+		 * @return a PlayingCardFace attribute with the specified String
+		 * @throws IllegalArgumentException if the parameter is null
+		 */
+		public PlayingCardFace createFace(final String face) throws IllegalArgumentException {
+			PlayingCardFace f = faces.get(face);
+			if (f == null) {
+				f = new PlayingCardFace(face);
+				faces.put(face, f);
+			}
+			return f;
+		}
+		
+		/**
+		 * Creates a new <tt>PlayingCardGroup</tt> attribute (if necessary) and returns a PlayingCardGroup attribute.
+		 * 
+		 * @param group String represented by this attribute
+		 * @return a PlayingCardGroup attribute with the specified String
+		 * @throws IllegalArgumentException if the parameter is null
+		 */
+		public PlayingCardGroup createGroup(final String group) throws IllegalArgumentException {
+			PlayingCardGroup g = groups.get(group);
+			if (g == null) {
+				g = new PlayingCardGroup(group);
+				groups.put(group, g);
+			}
+			return g;
+		}
+		
+		/**
+		 * Returns an immutable <tt>PlayingCardCatalog</tt> of everything created so far.
+		 * 
+		 * @return a catalog of the cards, faces, and groups created by this builder
+		 */
+		public PlayingCardCatalog build() {
+			return new PlayingCardCatalog(this);
+		}
+	}
+}
@@ -14,8 +14,6 @@
 ****************************************************************************/
 package games.engine.util;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -27,7 +25,9 @@ import games.engine.plugin.PluginPattern;
 
 /******************************************************************//**
  * The PlayingCardFactory Enum
- * - Combination of Flyweight, Singleton, and Factory patterns
+ * - Combination of Singleton and Factory patterns
+ * - The flyweight cards, faces, and groups of each game are held
+ *   in that game's <tt>PlayingCardCatalog</tt>, not in this factory
  * - Access statically as PlayingCardFactory.INSTANCE.method()
  *	 or PlayingCardFactory factory = PlayingCardFactory.getInstance()
  ********************************************************************/
@@ -35,17 +35,10 @@ public enum PlayingCardFactory {
 	
 	INSTANCE;
 	
-	private final List<PlayingCard> cards;
-	private final Map<String, PlayingCardFace> faces;
-	private final Map<String, PlayingCardGroup> groups;
-	
 	/*
 	 * Constructs this <tt>PlayingCardFactory</tt> when first used.
 	 */
 	private PlayingCardFactory() {
-		cards = new ArrayList<PlayingCard>();
-		faces = new ConcurrentHashMap<String, PlayingCardFace>();
-		groups = new ConcurrentHashMap<String, PlayingCardGroup>();
 	}
 	
 	/**
@@ -60,17 +53,19 @@ public enum PlayingCardFactory {
 	
 	/**
 	 * Create and return a <tt>PlayingCardRanking</tt>.
-	 * This ranking must include all know Faces or Groups, if any.
+	 * This ranking must include all Faces or Groups in the catalog, if any.
+	 * The rank of every card in the catalog is precomputed and indexed by card id.
 	 * 
 	 * @param plugin Rules plugin to be searched
+	 * @param catalog the cards, faces, and groups of the game
 	 * @return a <tt>PlayingCardRanking</tt>
 	 * @throws PluginException if no ranking is found, or the ranking is invalid
 	 */	
-	public PlayingCardRanking createCardRanking(final Plugin plugin) throws PluginException {
+	public PlayingCardRanking createCardRanking(final Plugin plugin, final PlayingCardCatalog catalog) throws PluginException {
 		plugin.checkType(Plugin.Type.RULES);
 		
-		final Map<PlayingCardFace, Integer> faceRanking = new ConcurrentHashMap<PlayingCardFace, Integer>(faces.size());
-		final Map<PlayingCardGroup, Integer> groupRanking = new ConcurrentHashMap<PlayingCardGroup, Integer>(groups.size());
+		final Map<PlayingCardFace, Integer> faceRanking = new ConcurrentHashMap<PlayingCardFace, Integer>(catalog.getFaces().size());
+		final Map<PlayingCardGroup, Integer> groupRanking = new ConcurrentHashMap<PlayingCardGroup, Integer>(catalog.getGroups().size());
 		
 		for (final PlayingCardRanking.Type type : PlayingCardRanking.Type.values()) {
 			final int index = getRankingIndex(plugin, type);
@@ -85,7 +80,7 @@ public enum PlayingCardFactory {
 					String rawCSV = parts[2].replaceAll(PluginPattern.WHITESPACE.toString(), PluginPattern.BLANK.toString());
 					String[] csv = rawCSV.split(PluginPattern.COMMA.toString());
 					for (int i = 0; i < csv.length; i++) {
-						putValuesIntoMap(type, faceRanking, groupRanking, csv[i], i, line, plugin);
+						putValuesIntoMap(catalog, type, faceRanking, groupRanking, csv[i], i, line, plugin);
 					}
 				}
 				// Format Option 2: ranking <face, group> /n face value /n face value /n end-ranking
@@ -97,20 +92,20 @@ public enum PlayingCardFactory {
 							throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, line);
 						}
 						try {
-							putValuesIntoMap(type, faceRanking, groupRanking, parts[0], Integer.valueOf(parts[1]), line, plugin);
+							putValuesIntoMap(catalog, type, faceRanking, groupRanking, parts[0], Integer.valueOf(parts[1]), line, plugin);
 						} catch (NumberFormatException e) {
 							throw PluginException.create(PluginException.Type.INVALID_PARAMETER, e, plugin, line, parts[1]); 
 						}
 					}
 				}
-				validateMaps(type, faceRanking, groupRanking, line, plugin);
+				validateMaps(catalog, type, faceRanking, groupRanking, line, plugin);
 			}
 		}
-		return validateCardRanking(plugin, faceRanking, groupRanking);
+		return validateCardRanking(plugin, catalog, faceRanking, groupRanking);
 	}
 	
 	/* Validate rankingMaps and return the final card ranking object */
-	private PlayingCardRanking validateCardRanking(final Plugin plugin, final Map<PlayingCardFace, Integer> faceRanking, 
+	private PlayingCardRanking validateCardRanking(final Plugin plugin, final PlayingCardCatalog catalog, final Map<PlayingCardFace, Integer> faceRanking, 
 												 final Map<PlayingCardGroup, Integer> groupRanking) throws PluginException {
 		plugin.checkType(Plugin.Type.RULES);
 		if (isEmpty(faceRanking) && isEmpty(groupRanking)) {
@@ -120,7 +115,7 @@ public enum PlayingCardFactory {
 			(isEmpty(faceRanking) || isEmpty(groupRanking))) {
 			throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, PluginKeyword.RANKING.toString());
 		}
-		return new PlayingCardRanking(faceRanking, groupRanking);
+		return new PlayingCardRanking(faceRanking, groupRanking, catalog.getCards());
 	}
 	
 	/* Returns the line containing a rank map of the specified type, if any */
@@ -136,14 +131,14 @@ public enum PlayingCardFactory {
 	}
 	
 	/* Ensure the rankings contain every possible face or group, if any */
-	private void validateMaps(final PlayingCardRanking.Type type, final Map<PlayingCardFace, Integer> faceRanking, 
+	private void validateMaps(final PlayingCardCatalog catalog, final PlayingCardRanking.Type type, final Map<PlayingCardFace, Integer> faceRanking, 
 							  final Map<PlayingCardGroup, Integer> groupRanking, final String line, final Plugin plugin) throws PluginException {
 		switch (type) {
 		case GROUP:
 			if (!isEmpty(groupRanking)) {
-				for (final String key : groups.keySet()) {
-					if (!groupRanking.containsKey(groups.get(key))) {
-						throw PluginException.create(PluginException.Type.MISSING_PARAMETER, plugin, line, key);
+				for (final PlayingCardGroup group : catalog.getGroups()) {
+					if (!groupRanking.containsKey(group)) {
+						throw PluginException.create(PluginException.Type.MISSING_PARAMETER, plugin, line, group.toString());
 					}
 				}
 			}
@@ -151,9 +146,9 @@ public enum PlayingCardFactory {
 		case FACE:
 		default:
 			if (!isEmpty(faceRanking)) {
-				for (final String key : faces.keySet()) {
-					if (!faceRanking.containsKey(faces.get(key))) {
-						throw PluginException.create(PluginException.Type.MISSING_PARAMETER, plugin, line, key);
+				for (final PlayingCardFace face : catalog.getFaces()) {
+					if (!faceRanking.containsKey(face)) {
+						throw PluginException.create(PluginException.Type.MISSING_PARAMETER, plugin, line, face.toString());
 					}
 				}
 			}
@@ -162,75 +157,16 @@ public enum PlayingCardFactory {
 	}
 	
 	/* Validate strings and put into appropriate ranking maps */
-	private void putValuesIntoMap(final PlayingCardRanking.Type type, final Map<PlayingCardFace, Integer> faceRanking, final Map<PlayingCardGroup, Integer> groupRanking,
+	private void putValuesIntoMap(final PlayingCardCatalog catalog, final PlayingCardRanking.Type type, final Map<PlayingCardFace, Integer> faceRanking, final Map<PlayingCardGroup, Integer> groupRanking,
 								final String key, final int value, final String line, final Plugin plugin) throws PluginException {
-		if (type == PlayingCardRanking.Type.GROUP && groups.containsKey(key)) {
-			groupRanking.put(groups.get(key), value);
+		if (type == PlayingCardRanking.Type.GROUP && catalog.getGroup(key) != null) {
+			groupRanking.put(catalog.getGroup(key), value);
 		}
-		else if (type == PlayingCardRanking.Type.FACE && faces.containsKey(key)) {
-			faceRanking.put(faces.get(key), value);
+		else if (type == PlayingCardRanking.Type.FACE && catalog.getFace(key) != null) {
+			faceRanking.put(catalog.getFace(key), value);
 		}
 		else {
 			throw PluginException.create(PluginException.Type.INVALID_PARAMETER, plugin, line, key);
 		}
 	}
-	
-	/**
-	 * Creates a new <tt>PlayingCard</tt> (if necessary) and returns a PlayingCard with the given attributes.
-	 * 
-	 * @param face the face (title, name, etc) of this card
-	 * @param group the group of this card (suit, color, etc)
-	 * @return a playing card with the given attributes
-	 * @throws IllegalArgumentException if both parameters are null
-	 */
-	public PlayingCard createPlayingCard(final PlayingCardFace face, final PlayingCardGroup group) throws IllegalArgumentException {
-		PlayingCard card = null;
-		for (final PlayingCard p : cards) {
-			if 	(p.has(face, group)) {
-				card = p;
-				break;
-			}
-		}
-		if (card == null) {
-				card = new PlayingCard(face, group);
-				cards.add(card);
-		}
-		return card;
-	}
-	
-	/**
-	 * Creates a new <tt>PlayingCardFace</tt> attribute (if necessary) and returns a PlayingCardFace attribute.
-	 * 
-	 * @param face String represented by this attribute
-	 * @return a PlayingCardFace attribute with the specified String
-	 * @throws IllegalArgumentException if the parameter is null
-	 */
-	public PlayingCardFace createFace(final String face) throws IllegalArgumentException {
-		if (face != null && faces.containsKey(face)) {
-			return faces.get(face);
-		}
-		else {
-			final PlayingCardFace f = new PlayingCardFace(face);
-			faces.put(face, f);
-			return f;
-		}
-	}
-	
-	/**
-	 * Creates a new <tt>PlayingCardGroup</tt> attribute (if necessary) and returns a PlayingCardGroup attribute.
-	 * 
-	 * @param group String represented by this attribute
-	 * @return a PlayingCardGroup attribute with the specified String
-	 * @throws IllegalArgumentException if the parameter is null
-	 */
-	public PlayingCardGroup createGroup(final String group) throws IllegalArgumentException {
-		if (group != null && groups.containsKey(group)) {
-			return groups.get(group);
-		}
-		else {
-			final PlayingCardGroup att = new PlayingCardGroup(group);
-			groups.put(group, att);
-			return att;
-		}
-	}
 }
@@ -14,6 +14,7 @@
 ****************************************************************************/
 package games.engine.util;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,8 +31,18 @@ public final class PlayingCardRanking implements Comparator<PlayingCard> {
 		GROUP;
 	}
 	
+	private static final int PACKED_SHIFT = 16;
+	
 	private final Map<PlayingCardFace, Integer> faceRanks;
 	private final Map<PlayingCardGroup, Integer> groupRanks;
+	private final PlayingCard[] cards;		// cards with precomputed ranks, indexed by id
+	private final int[] ranks;				// valueOf() for each card, indexed by id
+	private final int[] packedRanks;		// face rank then group rank for each card, indexed by id
+	private final int[] faceValues;			// distinct face ranks, sorted
+	private final int[] groupValues;		// distinct group ranks, sorted
+	private final int[] cardValues;			// distinct ranks of the precomputed cards, sorted
+	private final CardSet[] rankMasks;		// cards with each of cardValues
+	private final CardSet[] atLeastMasks;	// cards ranked at least each of cardValues
 	
 	/**
 	 * Constructs a new <tt>PlayingCardRanking</tt> with the specified mapping.
@@ -40,8 +51,52 @@ public final class PlayingCardRanking implements Comparator<PlayingCard> {
 	 * @param groupRanks mapping of PlayingCard groups to numeric values
 	 */
 	public PlayingCardRanking(final Map<PlayingCardFace, Integer> faceRanks, final Map<PlayingCardGroup, Integer> groupRanks) {
+		this(faceRanks, groupRanks, new PlayingCard[0]);
+	}
+	
+	/**
+	 * Constructs a new <tt>PlayingCardRanking</tt> with the specified mapping, 
+	 * precomputing the rank of each of the specified cards.
+	 * Each card must be stored at the index given by its id.
+	 * 
+	 * @param faceRanks mapping of PlayingCard faces to numeric values
+	 * @param groupRanks mapping of PlayingCard groups to numeric values
+	 * @param cards the cards to precompute ranks for, indexed by id
+	 */
+	public PlayingCardRanking(final Map<PlayingCardFace, Integer> faceRanks, final Map<PlayingCardGroup, Integer> groupRanks,
+							  final PlayingCard...cards) {
 		this.faceRanks = faceRanks == null ? null : new ConcurrentHashMap<PlayingCardFace, Integer>(faceRanks);
 		this.groupRanks = groupRanks == null ? null : new ConcurrentHashMap<PlayingCardGroup, Integer>(groupRanks);
+		this.cards = Arrays.copyOf(cards, cards.length);
+		this.ranks = new int[cards.length];
+		this.packedRanks = new int[cards.length];
+		// Dense ordinals keep each key of the packed rank small, whatever values the plugin used
+		this.faceValues = distinctValues(this.faceRanks);
+		this.groupValues = distinctValues(this.groupRanks);
+		for (int id = 0; id < cards.length; id++) {
+			if (cards[id] == null || cards[id].getId() != id) {
+				throw new IllegalArgumentException("Cards must be indexed by id!");
+			}
+			ranks[id] = this.lookUp(cards[id]);
+			final int face = ordinal(faceValues, this.faceRanks, cards[id].getFace());
+			final int group = ordinal(groupValues, this.groupRanks, cards[id].getGroup());
+			packedRanks[id] = (face << PACKED_SHIFT) | group;
+		}
+		this.cardValues = distinctValues(ranks);
+		this.rankMasks = new CardSet[cardValues.length];
+		this.atLeastMasks = new CardSet[cardValues.length];
+		long[] atLeast = new long[0];
+		for (int i = cardValues.length - 1; i >= 0; i--) {
+			long[] exact = new long[0];
+			for (int id = 0; id < ranks.length; id++) {
+				if (ranks[id] == cardValues[i]) {
+					exact = CardSet.set(exact, id);
+					atLeast = CardSet.set(atLeast, id);
+				}
+			}
+			rankMasks[i] = CardSet.copyOf(exact);
+			atLeastMasks[i] = CardSet.copyOf(atLeast);
+		}
 	}
 	
 	/**
@@ -53,6 +108,119 @@ public final class PlayingCardRanking implements Comparator<PlayingCard> {
 	 * @return numeric value of this playing card, -1 if no is ranking found
 	 */
 	public int valueOf(final PlayingCard card) {
+		if (card != null) {
+			final int id = card.getId();
+			if (id < cards.length && cards[id] == card) {
+				return ranks[id];
+			}
+		}
+		return this.lookUp(card);
+	}
+	
+	/**
+	 * Returns the numeric value of the <tt>PlayingCard</tt> with the specified id.
+	 * The card must have been ranked when this ranking was created.
+	 * 
+	 * @param id the id of the playing card
+	 * @return numeric value of the playing card, -1 if no is ranking found
+	 * @throws ArrayIndexOutOfBoundsException if no card with this id was ranked
+	 */
+	public int valueOf(final int id) {
+		return ranks[id];
+	}
+	
+	/**
+	 * Returns the packed face then group rank of this <tt>PlayingCard</tt>.
+	 * Comparing two packed ranks orders cards by face rank, breaking ties by group rank.
+	 * Cards without a face or group rank sort below those that have one.
+	 * 
+	 * @param card PlayingCard to get value of
+	 * @return packed face and group rank of this playing card
+	 */
+	public int packedValueOf(final PlayingCard card) {
+		final int id = card.getId();
+		if (id < cards.length && cards[id] == card) {
+			return packedRanks[id];
+		}
+		return (ordinal(faceValues, faceRanks, card.getFace()) << PACKED_SHIFT) | ordinal(groupValues, groupRanks, card.getGroup());
+	}
+	
+	/**
+	 * Returns the packed face then group rank of the <tt>PlayingCard</tt> with the specified id.
+	 * The card must have been ranked when this ranking was created.
+	 * 
+	 * @param id the id of the playing card
+	 * @return packed face and group rank of the playing card
+	 * @throws ArrayIndexOutOfBoundsException if no card with this id was ranked
+	 */
+	public int packedValueOf(final int id) {
+		return packedRanks[id];
+	}
+	
+	/**
+	 * Returns the set of precomputed cards with exactly the specified rank.
+	 * 
+	 * @param rank the numeric value of the cards
+	 * @return the set of cards with the specified rank, which is empty if there are none
+	 */
+	public CardSet getRankMask(final int rank) {
+		final int ndx = Arrays.binarySearch(cardValues, rank);
+		return ndx < 0 ? CardSet.EMPTY : rankMasks[ndx];
+	}
+	
+	/**
+	 * Returns the set of precomputed cards ranked at least as high as the specified rank.
+	 * Ex: intersecting a hand with the mask for the rank of the top discard
+	 * tells whether the hand has any card that can be played on it.
+	 * 
+	 * @param rank the lowest numeric value of the cards
+	 * @return the set of cards with at least the specified rank, which is empty if there are none
+	 */
+	public CardSet getMaskAtLeast(final int rank) {
+		int ndx = Arrays.binarySearch(cardValues, rank);
+		if (ndx < 0) {
+			ndx = -ndx - 1;
+		}
+		return ndx < cardValues.length ? atLeastMasks[ndx] : CardSet.EMPTY;
+	}
+	
+	/**
+	 * Returns the set of precomputed cards ranked higher than the specified rank.
+	 * 
+	 * @param rank the numeric value the cards must exceed
+	 * @return the set of cards with a higher rank, which is empty if there are none
+	 */
+	public CardSet getMaskAbove(final int rank) {
+		return rank == Integer.MAX_VALUE ? CardSet.EMPTY : this.getMaskAtLeast(rank + 1);
+	}
+	
+	/**
+	 * Compare the cards with ids A and B using this ranking, without any lookups.
+	 * Both cards must have been ranked when this ranking was created.
+	 * 
+	 * @param A id of the Playing Card to test
+	 * @param B id of the Playing Card to test against
+	 * @return N, where N = {-n,0,n if A <,==,> B}
+	 */
+	public int compare(final int A, final int B) {
+		return ranks[A] - ranks[B];
+	}
+	
+	/**
+	 * Compare <tt>PlayingCard</tt> A to B by face rank, then by group rank.
+	 * 
+	 * @param A Playing Card to test
+	 * @param B Playing Card to test against
+	 * @return N, where N = {-n,0,n if A <,==,> B}
+	 */
+	public int compareFaceThenGroup(final PlayingCard A, final PlayingCard B) {
+		return Integer.compare(packedValueOf(A), packedValueOf(B));
+	}
+	
+	/*
+	 * Look up the value of a card in the rank maps.
+	 */
+	private int lookUp(final PlayingCard card) {
 		int rank = -1;
 		if (card != null) {
 			if (faceRanks != null && card.getFace() != null && 
@@ -79,6 +247,46 @@ public final class PlayingCardRanking implements Comparator<PlayingCard> {
 		return valueOf(A) - valueOf(B);
 	}
 	
+	/*
+	 * Returns the sorted, distinct values in the specified rank map.
+	 */
+	private static <K> int[] distinctValues(final Map<K, Integer> map) {
+		if (map == null) {
+			return new int[0];
+		}
+		final int[] values = new int[map.size()];
+		int ndx = 0;
+		for (final Integer value : map.values()) {
+			values[ndx++] = value;
+		}
+		return distinctValues(values);
+	}
+	
+	/*
+	 * Returns the sorted, distinct values in the specified array.
+	 */
+	private static int[] distinctValues(final int[] array) {
+		final int[] values = Arrays.copyOf(array, array.length);
+		Arrays.sort(values);
+		int size = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (i == 0 || values[i] != values[i - 1]) {
+				values[size++] = values[i];
+			}
+		}
+		return Arrays.copyOf(values, size);
+	}
+	
+	/*
+	 * Returns the dense ordinal of the key's rank, starting at 1, or 0 if the key has no rank.
+	 */
+	private static <K> int ordinal(final int[] values, final Map<K, Integer> map, final K key) {
+		if (map == null || key == null || !map.containsKey(key)) {
+			return 0;
+		}
+		return Arrays.binarySearch(values, map.get(key)) + 1;
+	}
+	
 	/**
 	 * Returns this <tt>PlayingCardRanking</tt> as a string.
 	 *
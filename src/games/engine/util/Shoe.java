@@ -0,0 +1,383 @@
+/***********************************************************************//**
+* @file			Shoe.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		Several decks of Playing Cards combined and dealt from a shoe
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			Deck
+* @see			DeckFactory
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The Shoe Class
+ * - Combines one or more decks into a shoe, as used for games like
+ *   blackjack and baccarat with six to eight decks
+ * - Cards are stored as packed card ids, two bytes each, and looked
+ *   up in a table of the distinct cards when dealt; the table is
+ *   shared by every copy of the shoe, so a large shoe costs each table
+ *   only its array of ids
+ * - Cards dealt are in play until they are discarded to the tray.
+ *   Shuffling puts only the tray back with the cards left in the shoe,
+ *   never the cards in play, so no card is ever on the table twice
+ * - A cut card is placed at the penetration point when the shoe is
+ *   shuffled. Once it is dealt, the shoe should be shuffled before the
+ *   next hand; a shoe that runs out mid hand reshuffles the tray
+ * - Dealing allocates nothing once the scratch array has grown to the
+ *   largest block dealt
+ **********************************************************************/
+public final class Shoe {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	private final String name;
+	private final int numDecks;
+	private final double penetration;		// fraction of the shoe dealt before the cut card
+	private final PlayingCard[] cardsById;	// distinct cards by id, shared by copies
+	private final short[] order;			// original order of the ids, shared by copies
+	private final short[] ids;				// ids in dealing order, up to the limit
+	private final short[] tray;				// ids of the cards discarded since the last shuffle
+	private int limit;						// number of cards in the shoe when last shuffled
+	private int cut;						// index of the first card after the cut card
+	private int discarded;					// number of ids in the tray
+	private CardShuffler shuffler;
+	private GameRandom random;				// used when the shoe reshuffles itself
+	private int dealNdx;					// index of next card to be dealt
+	private PlayingCard[] scratch;			// gathers cards for each pile
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/**
+	 * Construct a <tt>Shoe</tt> combining the specified decks, which must share one catalog.
+	 * The shoe starts in the original order of the decks; shuffle it before dealing.
+	 *
+	 * @param random the source of randomness if the shoe reshuffles itself before it is shuffled
+	 * @param penetration the fraction of the shoe dealt before the cut card, greater than 0 and at most 1
+	 * @param decks the decks to combine
+	 * @throws IllegalArgumentException if there are no decks, too many cards, or the penetration is invalid
+	 */
+	public Shoe(final GameRandom random, final double penetration, final Deck...decks) throws IllegalArgumentException {
+		if (decks.length == 0) {
+			throw new IllegalArgumentException("A shoe needs at least one deck!");
+		}
+		if (!(penetration > 0 && penetration <= 1)) {
+			throw new IllegalArgumentException("Penetration must be greater than 0 and at most 1: " + penetration);
+		}
+		int size = 0;
+		int maxId = 0;
+		for (final Deck deck : decks) {
+			for (final PlayingCard card : deck.getCards()) {
+				maxId = Math.max(maxId, card.getId());
+				++size;
+			}
+		}
+		if (maxId > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Card ids are too large to pack: " + maxId);
+		}
+		this.cardsById = new PlayingCard[maxId + 1];
+		this.order = new short[size];
+		int ndx = 0;
+		for (final Deck deck : decks) {
+			for (final PlayingCard card : deck.getCards()) {
+				cardsById[card.getId()] = card;
+				order[ndx++] = (short)card.getId();
+			}
+		}
+		this.name = decks[0].getName();
+		this.numDecks = decks.length;
+		this.penetration = penetration;
+		this.ids = Arrays.copyOf(order, size);
+		this.tray = new short[size];
+		this.limit = size;
+		this.cut = (int)Math.round(size * penetration);
+		this.shuffler = Shuffler.BATCHED;
+		this.random = random;
+		this.dealNdx = 0;
+	}
+
+	/**
+	 * Construct a copy of the specified <tt>Shoe</tt>, in its original order, with every card in the shoe.
+	 * The copy shares the lookup table of cards, and has its own ids and a copy of the random stream;
+	 * nothing is drawn from the stream of the shoe copied.
+	 *
+	 * @param shoe the shoe to copy
+	 */
+	public Shoe(final Shoe shoe) {
+		this.name = shoe.name;
+		this.numDecks = shoe.numDecks;
+		this.penetration = shoe.penetration;
+		this.cardsById = shoe.cardsById;
+		this.order = shoe.order;
+		this.ids = Arrays.copyOf(order, order.length);
+		this.tray = new short[order.length];
+		this.limit = order.length;
+		this.cut = (int)Math.round(order.length * penetration);
+		this.shuffler = shoe.shuffler;
+		this.random = shoe.random.copy();
+		this.dealNdx = 0;
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the name of the decks in this shoe.
+	 *
+	 * @return the name of this shoe's decks
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Returns the number of decks combined in this shoe.
+	 *
+	 * @return the number of decks in this shoe
+	 */
+	public int getNumberOfDecks() {
+		return numDecks;
+	}
+
+	/**
+	 * Returns the total number of cards in this shoe.
+	 *
+	 * @return the size of this shoe
+	 */
+	public int getSize() {
+		return ids.length;
+	}
+
+	/**
+	 * Returns the number of cards in this shoe which have not been dealt.
+	 *
+	 * @return the number of cards remaining
+	 */
+	public int getRemaining() {
+		return limit - dealNdx;
+	}
+
+	/**
+	 * Returns the number of cards discarded to the tray since this shoe was last shuffled.
+	 *
+	 * @return the number of cards in the tray
+	 */
+	public int getDiscarded() {
+		return discarded;
+	}
+
+	/**
+	 * Returns the number of cards dealt and not yet discarded.
+	 *
+	 * @return the number of cards in play
+	 */
+	public int getInPlay() {
+		return ids.length - this.getRemaining() - discarded;
+	}
+
+	/**
+	 * Returns the fraction of this shoe dealt before the cut card.
+	 *
+	 * @return the penetration of this shoe
+	 */
+	public double getPenetration() {
+		return penetration;
+	}
+
+	/**
+	 * Returns <tt>true</tt> if the cut card has been dealt, and the shoe should be shuffled before the next hand.
+	 *
+	 * @return true if the cut card has been reached
+	 */
+	public boolean isCutCardReached() {
+		return dealNdx >= cut;
+	}
+
+	/**
+	 * Sets the algorithm used to shuffle this shoe.
+	 *
+	 * @param shuffler the shuffling algorithm
+	 */
+	public void setShuffler(final CardShuffler shuffler) {
+		this.shuffler = shuffler;
+	}
+
+/*------------------------------------------------
+    Dealing
+ ------------------------------------------------*/
+	/**
+	 * Deals the next card from this shoe, reshuffling the tray into the shoe first if it is empty.
+	 *
+	 * @return the next card
+	 * @throws NoSuchElementException if every card is in play
+	 */
+	public PlayingCard deal() throws NoSuchElementException {
+		if (dealNdx == limit) {
+			this.reshuffle();
+		}
+		return cardsById[ids[dealNdx++]];
+	}
+
+	/**
+	 * Deals a number of cards from this shoe onto the specified pile, as one block.
+	 * The shoe reshuffles the tray into itself if it runs out part way.
+	 *
+	 * @param pile the pile to deal onto
+	 * @param number the number of cards to deal
+	 * @throws NoSuchElementException if every card is in play before the number is dealt
+	 */
+	public void dealTo(final CardPile pile, int number) throws NoSuchElementException {
+		while (number > 0) {
+			if (dealNdx == limit) {
+				this.reshuffle();
+			}
+			final int count = Math.min(number, limit - dealNdx);
+			final PlayingCard[] block = this.scratch(count);
+			for (int i = 0; i < count; i++) {
+				block[i] = cardsById[ids[dealNdx++]];
+			}
+			pile.add(block, 0, count);
+			number -= count;
+		}
+	}
+
+	/**
+	 * Deals a number of cards to each of the specified piles, one card to each in turn,
+	 * so each pile receives the same cards as if they were dealt one at a time.
+	 *
+	 * @param piles the piles to deal onto
+	 * @param number the number of cards to deal to each pile
+	 * @throws NoSuchElementException if every card is in play before the number is dealt
+	 */
+	public void dealTo(final CardPile[] piles, final int number) throws NoSuchElementException {
+		// The cards of each pile are gathered into their own stretch of the scratch array
+		final PlayingCard[] cards = this.scratch(piles.length * number);
+		for (int n = 0; n < number; n++) {
+			for (int p = 0; p < piles.length; p++) {
+				cards[p * number + n] = this.deal();
+			}
+		}
+		for (int p = 0; p < piles.length; p++) {
+			piles[p].add(cards, p * number, number);
+		}
+	}
+
+	/**
+	 * Returns the specified cards of this shoe to its tray, to be shuffled back in.
+	 *
+	 * @param cards the cards to discard, which must be in play
+	 * @throws IllegalArgumentException if a card is not of this shoe, or more cards are discarded than are in play
+	 */
+	public void discard(final PlayingCard...cards) throws IllegalArgumentException {
+		if (cards.length > this.getInPlay()) {
+			throw new IllegalArgumentException("Only " + this.getInPlay() + " cards are in play!");
+		}
+		for (final PlayingCard card : cards) {
+			final int id = card.getId();
+			if (id >= cardsById.length || cardsById[id] != card) {
+				throw new IllegalArgumentException("Card is not of this shoe: " + card);
+			}
+		}
+		for (final PlayingCard card : cards) {
+			tray[discarded++] = (short)card.getId();
+		}
+	}
+
+	/**
+	 * Removes every card from the specified pile and returns them to the tray of this shoe.
+	 *
+	 * @param pile the pile to empty, whose cards must be in play
+	 * @throws IllegalArgumentException if a card is not of this shoe, or more cards are discarded than are in play
+	 */
+	public void discard(final CardPile pile) throws IllegalArgumentException {
+		this.discard(pile.get());
+		pile.clear();
+	}
+
+	/**
+	 * Shuffles the tray back into the cards left in this shoe, and places the cut card.
+	 * Cards in play stay out until they are discarded.
+	 *
+	 * @param rand the source of randomness for the shuffle; also used if the shoe reshuffles itself
+	 */
+	public void shuffle(final GameRandom rand) {
+		this.random = rand;
+		final int remaining = this.getRemaining();
+		System.arraycopy(ids, dealNdx, ids, 0, remaining);
+		System.arraycopy(tray, 0, ids, remaining, discarded);
+		limit = remaining + discarded;
+		discarded = 0;
+		dealNdx = 0;
+		cut = (int)Math.round(limit * penetration);
+		shuffler.shuffle(ids, 0, limit, rand);
+	}
+
+	/**
+	 * Shuffles this shoe if the cut card has been dealt. Call this between hands.
+	 *
+	 * @param rand the source of randomness for the shuffle
+	 * @return true if the shoe was shuffled
+	 */
+	public boolean shuffleIfCut(final GameRandom rand) {
+		if (this.isCutCardReached()) {
+			this.shuffle(rand);
+			return true;
+		}
+		return false;
+	}
+
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Shuffles the tray into this shoe once it has run out mid hand.
+	 */
+	private void reshuffle() throws NoSuchElementException {
+		if (discarded == 0) {
+			throw new NoSuchElementException("Every card of the shoe is in play!");
+		}
+		this.shuffle(random);
+	}
+
+	/*
+	 * Returns a scratch array of at least the specified size.
+	 */
+	private PlayingCard[] scratch(final int size) {
+		if (scratch == null || scratch.length < size) {
+			scratch = new PlayingCard[size];
+		}
+		return scratch;
+	}
+
+/*------------------------------------------------
+    Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Return information about this shoe.
+	 *
+	 * @return string containing information about this shoe
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Shoe: ").append(numDecks).append(" x ").append(name).append(Strings.NEW_LINE);
+		str.append("Size: ").append(ids.length).append(Strings.NEW_LINE);
+		str.append("Remaining: ").append(this.getRemaining()).append(Strings.NEW_LINE);
+		str.append("Discarded: ").append(discarded).append(Strings.NEW_LINE);
+		str.append("Cut Card: ").append(cut).append(isCutCardReached() ? " (reached)" : "").append(Strings.NEW_LINE);
+		return str.toString();
+	}
+}
@@ -0,0 +1,245 @@
+/***********************************************************************//**
+* @file			ShufflePool.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		A pool of decks shuffled ahead of time by background threads
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardDealer
+* @see			CardShuffler
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import games.Strings;
+
+/******************************************************************//**
+ * The ShufflePool Class
+ * - Keeps a bounded queue of shuffled orders for one size of deck and
+ *   shuffling algorithm, filled by one low priority daemon thread, so
+ *   that a table can be reset without shuffling on the game thread
+ * - There is one pool for each size of deck and algorithm, shared by
+ *   every engine using them. An order depends only on the size of the
+ *   deck and its hand seed, so any deck of that size can deal it
+ * - Each order is a permutation of the positions of the deck, and
+ *   records the hand seed it was shuffled for. An engine taking an
+ *   order adopts that seed as the seed of its hand, so resetting an
+ *   engine with it deals exactly the same cards
+ * - The hand seeds are drawn from a stream of the pool, not of the
+ *   engine; an engine using a pool deals hands that can be replayed
+ *   one by one, but not a sequence set by the seed of the engine
+ * - Taking an order never blocks; it returns <tt>null</tt> when no
+ *   order is ready, so the caller shuffles inline
+ **********************************************************************/
+public final class ShufflePool {
+
+/*------------------------------------------------
+ 	Constants and Attributes
+ ------------------------------------------------*/
+	/** The most orders each pool keeps ready */
+	public static final int CAPACITY = 64;
+
+	/* The pool of each size of deck, for each algorithm, created when first asked for */
+	private static final ConcurrentHashMap<CardShuffler, ConcurrentHashMap<Integer, ShufflePool>> POOLS =
+			new ConcurrentHashMap<CardShuffler, ConcurrentHashMap<Integer, ShufflePool>>();
+
+	private final int deckSize;
+	private final CardShuffler shuffler;
+	private final GameRandom seeds;			// the stream of hand seeds; never drawn from
+	private final BlockingQueue<Shuffle> ready;
+	private final AtomicLong produced;		// number of hand seeds shuffled for
+	private final AtomicLong misses;		// times an order was not ready
+
+/*------------------------------------------------
+ 	Constructor(s)
+ ------------------------------------------------*/
+	/*
+	 * Constructs and starts a pool for decks of the specified size.
+	 */
+	private ShufflePool(final int deckSize, final CardShuffler shuffler) {
+		this.deckSize = deckSize;
+		this.shuffler = shuffler;
+		this.seeds = new GameRandom();
+		this.ready = new ArrayBlockingQueue<Shuffle>(CAPACITY);
+		this.produced = new AtomicLong();
+		this.misses = new AtomicLong();
+		final Thread producer = new Thread(this::produce, "shuffle-pool-" + deckSize + '-' + shuffler);
+		producer.setDaemon(true);
+		producer.setPriority(Thread.MIN_PRIORITY);
+		producer.start();
+	}
+
+	/**
+	 * Returns the pool shared by every dealer of decks like the specified deck shuffled by the specified algorithm,
+	 * creating and starting it the first time it is asked for.
+	 *
+	 * @param deck a deck of the size to shuffle
+	 * @param shuffler the shuffling algorithm
+	 * @return the shared shuffle pool for the deck and algorithm
+	 */
+	public static ShufflePool getInstance(final Deck deck, final CardShuffler shuffler) {
+		return POOLS.computeIfAbsent(shuffler, key -> new ConcurrentHashMap<Integer, ShufflePool>())
+					.computeIfAbsent(deck.getSize(), size -> new ShufflePool(size, shuffler));
+	}
+
+/*------------------------------------------------
+    Accessors
+ ------------------------------------------------*/
+	/**
+	 * Returns the number of cards in the decks of this pool.
+	 *
+	 * @return the size of the decks of this pool
+	 */
+	public int getDeckSize() {
+		return deckSize;
+	}
+
+	/**
+	 * Returns the algorithm used to shuffle the decks of this pool.
+	 *
+	 * @return the shuffling algorithm of this pool
+	 */
+	public CardShuffler getShuffler() {
+		return shuffler;
+	}
+
+	/**
+	 * Returns the number of orders ready.
+	 *
+	 * @return the number of orders in this pool
+	 */
+	public int size() {
+		return ready.size();
+	}
+
+	/**
+	 * Returns the number of times an order was asked for that was not ready.
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+/*------------------------------------------------
+    Utilities
+ ------------------------------------------------*/
+	/**
+	 * Takes the next shuffled order, without waiting.
+	 *
+	 * @return a shuffled order, with the seed of its hand, or <tt>null</tt> if none is ready
+	 */
+	public Shuffle poll() {
+		final Shuffle shuffle = ready.poll();
+		if (shuffle == null) {
+			misses.incrementAndGet();
+		}
+		return shuffle;
+	}
+
+	/**
+	 * Returns the order a dealer using this pool's algorithm shuffles a deck of this size into for the specified hand.
+	 * This is the order <tt>CardGameEngine.reset(handSeed)</tt> deals.
+	 *
+	 * @param handSeed the seed of the hand
+	 * @return the shuffled order for the hand
+	 */
+	public Shuffle create(final long handSeed) {
+		final short[] positions = new short[deckSize];
+		for (int i = 0; i < deckSize; i++) {
+			positions[i] = (short)i;
+		}
+		// The dealer shuffles with the first stream split from the hand
+		shuffler.shuffle(positions, 0, deckSize, new GameRandom(handSeed).split());
+		return new Shuffle(handSeed, positions);
+	}
+
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Keep the queue full, waiting while it is. Each order is shuffled for the next seed of the stream of this pool.
+	 */
+	private void produce() {
+		try {
+			while (true) {
+				ready.put(this.create(seeds.peekLong(produced.getAndIncrement())));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+/*------------------------------------------------
+    Overridden Methods
+ ------------------------------------------------*/
+	/**
+	 * Return information about this pool.
+	 *
+	 * @return string containing information about this pool
+	 */
+	@Override public String toString() {
+		final StringBuilder str = new StringBuilder();
+		str.append("Shuffle Pool: ").append(this.size()).append(" of ").append(CAPACITY).append(" ready").append(Strings.NEW_LINE);
+		str.append("Deck Size: ").append(deckSize).append(Strings.NEW_LINE);
+		str.append("Shuffler: ").append(shuffler).append(Strings.NEW_LINE);
+		str.append("Misses: ").append(this.getMisses()).append(Strings.NEW_LINE);
+		return str.toString();
+	}
+
+/*------------------------------------------------
+    Shuffle
+ ------------------------------------------------*/
+	/******************************************************************//**
+	 * The ShufflePool.Shuffle Class
+	 * - One shuffled order of a deck, and the hand seed it was shuffled for
+	 * - Shuffles are immutable
+	 ********************************************************************/
+	public static final class Shuffle {
+
+		private final long seed;
+		private final short[] positions;
+
+		/* Construct a shuffle. */
+		private Shuffle(final long seed, final short[] positions) {
+			this.seed = seed;
+			this.positions = positions;
+		}
+
+		/**
+		 * Returns the seed of the hand this order was shuffled for.
+		 *
+		 * @return the hand seed of this order
+		 */
+		public long getSeed() {
+			return seed;
+		}
+
+		/**
+		 * Returns the number of cards in this order.
+		 *
+		 * @return the size of this order
+		 */
+		public int getSize() {
+			return positions.length;
+		}
+
+		/*
+		 * Returns the original position in the deck of the card at the specified position of this order.
+		 */
+		int getPosition(final int ndx) {
+			return positions[ndx];
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/***********************************************************************//**
+* @file			Shuffler.java
+* @author		Kurt E. Clothier
+* @date			October 18, 2026
+*
+* @breif		The shuffling algorithms provided by the engine
+*
+* @pre			Compiler: Eclipse - Mars Release (4.5.0)
+* @pre			Java: JRE 8 or greater
+*
+* @see			http://www.projectsbykec.com/
+* @see			CardShuffler
+*
+* @copyright	The MIT License (MIT) - see LICENSE.txt
+****************************************************************************/
+
+package games.engine.util;
+
+import java.util.Arrays;
+
+/******************************************************************//**
+ * The Shuffler Enum
+ * - <tt>FISHER_YATES</tt> is uniform, and is the default
+ * - <tt>BATCHED</tt> is uniform, and draws two indices from each
+ *   64 bit random number; faster for the large decks of a shoe
+ * - <tt>RIFFLE</tt> models seven riffle shuffles by hand, which is
+ *   close to, but measurably not, uniform
+ **********************************************************************/
+public enum Shuffler implements CardShuffler {
+
+	/** Durstenfeld's Fisher-Yates shuffle, using Lemire's bounded random indices */
+	FISHER_YATES {
+		@Override public <T> void shuffle(final T[] items, final int from, final int to, final GameRandom rand) {
+			for (int i = to - 1; i > from; i--) {
+				swap(items, i, from + rand.nextIndex(i - from + 1));
+			}
+		}
+
+		@Override public void shuffle(final short[] ids, final int from, final int to, final GameRandom rand) {
+			for (int i = to - 1; i > from; i--) {
+				swap(ids, i, from + rand.nextIndex(i - from + 1));
+			}
+		}
+	},
+
+	/** Fisher-Yates shuffle drawing two indices from each 64 bit random number */
+	BATCHED {
+		@Override public <T> void shuffle(final T[] items, final int from, final int to, final GameRandom rand) {
+			int i = to - 1;
+			while (i > from) {
+				final long bits = rand.nextLong();
+				swap(items, i, from + rand.bounded((int)(bits >>> 32), i - from + 1));
+				if (--i > from) {
+					swap(items, i, from + rand.bounded((int)bits, i - from + 1));
+					--i;
+				}
+			}
+		}
+
+		@Override public void shuffle(final short[] ids, final int from, final int to, final GameRandom rand) {
+			int i = to - 1;
+			while (i > from) {
+				final long bits = rand.nextLong();
+				swap(ids, i, from + rand.bounded((int)(bits >>> 32), i - from + 1));
+				if (--i > from) {
+					swap(ids, i, from + rand.bounded((int)bits, i - from + 1));
+					--i;
+				}
+			}
+		}
+	},
+
+	/** Seven riffle shuffles, following the Gilbert-Shannon-Reeds model */
+	RIFFLE {
+		@Override public <T> void shuffle(final T[] items, final int from, final int to, final GameRandom rand) {
+			final T[] source = Arrays.copyOfRange(items, from, to);
+			final int[] order = riffle(to - from, rand);
+			for (int i = 0; i < order.length; i++) {
+				items[from + i] = source[order[i]];
+			}
+		}
+
+		@Override public void shuffle(final short[] ids, final int from, final int to, final GameRandom rand) {
+			final short[] source = Arrays.copyOfRange(ids, from, to);
+			final int[] order = riffle(to - from, rand);
+			for (int i = 0; i < order.length; i++) {
+				ids[from + i] = source[order[i]];
+			}
+		}
+	};
+
+/*------------------------------------------------
+ 	Constants
+ ------------------------------------------------*/
+	private static final int RIFFLES = 7;		// enough to mix a standard deck well
+
+/*------------------------------------------------
+    Private Methods
+ ------------------------------------------------*/
+	/*
+	 * Returns the original position of each card after riffle shuffling a deck of the specified size.
+	 */
+	private static int[] riffle(final int size, final GameRandom rand) {
+		final int[] source = new int[size];
+		final int[] order = new int[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		for (int r = 0; r < RIFFLES; r++) {
+			System.arraycopy(order, 0, source, 0, size);
+			// Cut the deck binomially: each card is equally likely to be in either half
+			int cut = 0;
+			for (int i = 0; i < size; i += Long.SIZE) {
+				final long bits = rand.nextLong();
+				cut += Long.bitCount(size - i < Long.SIZE ? bits & ((1L << (size - i)) - 1) : bits);
+			}
+			// Drop cards from each half with probability proportional to its size
+			int left = 0;
+			int right = cut;
+			for (int out = 0; out < size; out++) {
+				if (rand.nextIndex(size - left - right + cut) < cut - left) {
+					order[out] = source[left++];
+				}
+				else {
+					order[out] = source[right++];
+				}
+			}
+		}
+		return order;
+	}
+
+	/*
+	 * Swaps two elements of the array.
+	 */
+	private static <T> void swap(final T[] items, final int i, final int j) {
+		final T temp = items[i];
+		items[i] = items[j];
+		items[j] = temp;
+	}
+
+	/*
+	 * Swaps two ids of the array.
+	 */
+	private static void swap(final short[] ids, final int i, final int j) {
+		final short temp = ids[i];
+		ids[i] = ids[j];
+		ids[j] = temp;
+	}
+}